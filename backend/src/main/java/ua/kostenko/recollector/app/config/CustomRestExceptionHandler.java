@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -46,6 +47,10 @@ public class CustomRestExceptionHandler {
                        UserChangePasswordException.class,
                        UserAccountDeleteException.class,
                        IllegalSpecificationParamException.class,
+                       InvalidCursorException.class,
+                       SearchValidationException.class,
+                       ExportValidationException.class,
+                       ImportValidationException.class,
                        HttpMessageNotReadableException.class,
                        IllegalArgumentException.class,
                        MethodArgumentNotValidException.class,
@@ -92,6 +97,7 @@ public class CustomRestExceptionHandler {
     @ExceptionHandler({UserNotFoundException.class,
                        CategoryNotFoundException.class,
                        ItemNotFoundException.class,
+                       DeletionJobNotFoundException.class,
                        EntityNotFoundException.class})
     public ResponseEntity<Response<Object>> handleNotFoundException(Exception ex, HttpServletRequest request) {
         return buildErrorResponse(ex, request, HttpStatus.NOT_FOUND);
@@ -111,6 +117,56 @@ public class CustomRestExceptionHandler {
         return buildErrorResponse(ex, request, HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    /**
+     * Handles exceptions raised when the auth rate limit of a client IP or an email is exceeded.
+     * The response carries a {@code Retry-After} header with the time until the next call is allowed.
+     *
+     * @param ex      the exception to handle
+     * @param request the HTTP request during which the exception occurred
+     *
+     * @return a {@code ResponseEntity} containing the error response and {@code 429 Too Many Requests} status
+     */
+    @ExceptionHandler(AuthRateLimitExceededException.class)
+    public ResponseEntity<Response<Object>> handleAuthRateLimitExceededException(AuthRateLimitExceededException ex,
+                                                                                 HttpServletRequest request) {
+        var response = buildErrorResponse(ex, request, HttpStatus.TOO_MANY_REQUESTS);
+        return ResponseEntity.status(response.getStatusCode())
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                             .body(response.getBody());
+    }
+
+    /**
+     * Handles exceptions raised when a bounded capacity, such as password hashing or the bootstrap queries,
+     * is exhausted. The response carries a {@code Retry-After} header with the suggested retry delay.
+     *
+     * @param ex      the exception to handle
+     * @param request the HTTP request during which the exception occurred
+     *
+     * @return a {@code ResponseEntity} containing the error response and {@code 503 Service Unavailable} status
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Response<Object>> handleServiceUnavailableException(ServiceUnavailableException ex,
+                                                                              HttpServletRequest request) {
+        var response = buildErrorResponse(ex, request, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                             .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                             .body(response.getBody());
+    }
+
+    /**
+     * Handles exceptions raised when an import file exceeds the maximum size.
+     *
+     * @param ex      the exception to handle
+     * @param request the HTTP request during which the exception occurred
+     *
+     * @return a {@code ResponseEntity} containing the error response and {@code 413 Payload Too Large} status
+     */
+    @ExceptionHandler(ImportTooLargeException.class)
+    public ResponseEntity<Response<Object>> handlePayloadTooLargeException(ImportTooLargeException ex,
+                                                                           HttpServletRequest request) {
+        return buildErrorResponse(ex, request, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     /**
      * Handles cases where no handler is found for a given URL.
      *
@@ -0,0 +1,22 @@
+package ua.kostenko.recollector.app.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling the execution of {@code @Scheduled} background jobs.
+ * <p>
+ * The scheduler runs the jobs on {@code spring.task.scheduling.pool.size} threads, so a long purge does not delay
+ * the short periodic jobs such as the token revocation sync or the last login flush.
+ * </p>
+ * <p>
+ * Scheduling can be turned off with {@code recollector.app.scheduling.enabled=false},
+ * e.g. in tests that should not be affected by background jobs.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "recollector.app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
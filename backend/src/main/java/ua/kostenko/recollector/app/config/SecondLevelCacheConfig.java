@@ -0,0 +1,80 @@
+package ua.kostenko.recollector.app.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Configuration class publishing the metrics of the Hibernate second-level cache.
+ * <p>
+ * Only active with the {@code l2cache} profile, which enables the cache and the Hibernate statistics. For every
+ * cache region the hits, misses and puts are published as counters and the hit ratio as a gauge, all tagged with
+ * the region name, so the cache can be measured per entity under load.
+ * </p>
+ */
+@Configuration
+@Profile("l2cache")
+public class SecondLevelCacheConfig {
+
+    /**
+     * Registers the per-region metrics of the second-level cache.
+     *
+     * @param entityManagerFactory factory providing the Hibernate statistics
+     *
+     * @return the binder registering the metrics
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (var region : statistics.getSecondLevelCacheRegionNames()) {
+                FunctionCounter.builder("recollector.l2cache.requests",
+                                        statistics,
+                                        s -> regionCount(s, region, CacheRegionStatistics::getHitCount))
+                               .tag("region", region)
+                               .tag("result", "hit")
+                               .description("Second-level cache lookups")
+                               .register(registry);
+                FunctionCounter.builder("recollector.l2cache.requests",
+                                        statistics,
+                                        s -> regionCount(s, region, CacheRegionStatistics::getMissCount))
+                               .tag("region", region)
+                               .tag("result", "miss")
+                               .description("Second-level cache lookups")
+                               .register(registry);
+                FunctionCounter.builder("recollector.l2cache.puts",
+                                        statistics,
+                                        s -> regionCount(s, region, CacheRegionStatistics::getPutCount))
+                               .tag("region", region)
+                               .description("Entries put into the second-level cache")
+                               .register(registry);
+                Gauge.builder("recollector.l2cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                     .tag("region", region)
+                     .description("Share of second-level cache lookups served from the cache")
+                     .register(registry);
+            }
+        };
+    }
+
+    private static double regionCount(Statistics statistics, String region,
+                                      ToLongFunction<CacheRegionStatistics> counter) {
+        var regionStatistics = statistics.getCacheRegionStatistics(region);
+        return Objects.isNull(regionStatistics) ? 0 : counter.applyAsLong(regionStatistics);
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        var hits = regionCount(statistics, region, CacheRegionStatistics::getHitCount);
+        var requests = hits + regionCount(statistics, region, CacheRegionStatistics::getMissCount);
+        return requests == 0 ? Double.NaN : hits / requests;
+    }
+}
@@ -1,6 +1,8 @@
 package ua.kostenko.recollector.app.config;
 
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -11,20 +13,26 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import ua.kostenko.recollector.app.security.BoundedPasswordEncoder;
 import ua.kostenko.recollector.app.security.JwtRequestFilter;
+import ua.kostenko.recollector.app.security.PasswordEncoderCalibrator;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Security configuration class for setting up Spring Security in the application.
@@ -40,24 +48,76 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String BCRYPT_ENCODER_ID = "bcrypt";
+
     @Value("${recollector.app.jwt.secret}")
     private String jwtSecretKey;
 
     @Value("${recollector.app.jwt.refresh}")
     private String jwtSecretRefreshKey;
 
+    @Value("${recollector.app.password.hashing.pool-size:2}")
+    private int hashingPoolSize;
+
+    @Value("${recollector.app.password.hashing.queue-capacity:50}")
+    private int hashingQueueCapacity;
+
+    @Value("${recollector.app.password.hashing.background-queue-capacity:10}")
+    private int hashingBackgroundQueueCapacity;
+
+    @Value("${recollector.app.password.hashing.max-wait-ms:3000}")
+    private long hashingMaxWaitMillis;
+
+    @Value("${recollector.app.password.hashing.retry-after-seconds:1}")
+    private long hashingRetryAfterSeconds;
+
+    @Value("${recollector.app.password.hashing.strength:0}")
+    private int hashingStrength;
+
+    @Value("${recollector.app.password.hashing.target-ms:100}")
+    private long hashingTargetMillis;
+
+    @Value("${recollector.app.password.hashing.min-strength:10}")
+    private int hashingMinStrength;
+
+    @Value("${recollector.app.password.hashing.max-strength:14}")
+    private int hashingMaxStrength;
+
     /**
      * Provides a {@code PasswordEncoder} bean for encoding passwords.
      * <p>
      * This bean uses BCrypt hashing for password encoding, which is a widely
-     * accepted and secure method for hashing passwords.
+     * accepted and secure method for hashing passwords. Hashing runs on a dedicated
+     * bounded executor, so authentication bursts cannot occupy all request threads.
+     * </p>
+     * <p>
+     * Unless a fixed strength is configured, the BCrypt strength is calibrated at startup
+     * to meet the target hash latency on the current hardware. New hashes are prefixed with
+     * the encoder ID, hashes without the prefix are still verified with BCrypt and reported
+     * as requiring an upgrade.
      * </p>
      *
+     * @param meterRegistry the registry for the hashing metrics
+     *
      * @return a {@code PasswordEncoder} instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int strength = hashingStrength > 0
+                ? hashingStrength
+                : PasswordEncoderCalibrator.calibrate(hashingTargetMillis, hashingMinStrength, hashingMaxStrength);
+        var bcryptEncoder = new BCryptPasswordEncoder(strength);
+        var delegatingEncoder = new DelegatingPasswordEncoder(BCRYPT_ENCODER_ID,
+                                                              Map.of(BCRYPT_ENCODER_ID, bcryptEncoder));
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(bcryptEncoder);
+
+        return new BoundedPasswordEncoder(delegatingEncoder,
+                                          hashingPoolSize,
+                                          hashingQueueCapacity,
+                                          hashingBackgroundQueueCapacity,
+                                          hashingMaxWaitMillis,
+                                          hashingRetryAfterSeconds,
+                                          meterRegistry);
     }
 
     /**
@@ -108,7 +168,12 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable);
         http.cors(Customizer.withDefaults());
         http.httpBasic(AbstractHttpConfigurer::disable);
-        http.authorizeHttpRequests(auth -> auth.requestMatchers("/", "/public/**", "/static/**", "/js/**",
+        // The async dispatch completes a streamed export whose request was already authorized
+        var exportAsyncDispatch = new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                                        AntPathRequestMatcher.antMatcher("/api/v1/export/**"));
+        http.authorizeHttpRequests(auth -> auth.requestMatchers(exportAsyncDispatch)
+                                               .permitAll()
+                                               .requestMatchers("/", "/public/**", "/static/**", "/js/**",
                                                                 // TODO: investigate why "js" is not under static
                                                                 "api/v1/auth/login",
                                                                 "api/v1/auth/register", "api/v1/auth/refresh-token",
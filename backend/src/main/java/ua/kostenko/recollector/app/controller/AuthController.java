@@ -4,6 +4,7 @@ import io.micrometer.common.util.StringUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import ua.kostenko.recollector.app.dto.UserDto;
 import ua.kostenko.recollector.app.dto.auth.*;
 import ua.kostenko.recollector.app.dto.response.Response;
+import ua.kostenko.recollector.app.security.AuthRateLimiter;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.util.ResponseHelper;
 
@@ -28,18 +30,22 @@ import ua.kostenko.recollector.app.util.ResponseHelper;
 public class AuthController {
 
     private final AuthenticationService authService;
+    private final AuthRateLimiter authRateLimiter;
 
     /**
      * Registers a new user.
      *
      * @param requestDto the registration request containing user details.
+     * @param request    the HTTP request, used to rate limit the client IP.
      *
      * @return a {@link ResponseEntity} with the registered user details and HTTP status {@code 201 Created}.
      */
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Registers a new user by providing user details such as email and password.")
     public ResponseEntity<Response<UserDto>> registerUser(
-            @RequestBody @Parameter(description = "Details of the user to be registered") RegisterRequestDto requestDto) {
+            @RequestBody @Parameter(description = "Details of the user to be registered") RegisterRequestDto requestDto,
+            HttpServletRequest request) {
+        authRateLimiter.acquire(request.getRemoteAddr(), requestDto.getEmail());
         log.info("Registering new user with email: {}", requestDto.getEmail());
         var registeredUser = authService.registerUser(requestDto);
         log.info("User with email {} successfully registered", requestDto.getEmail());
@@ -50,13 +56,16 @@ public class AuthController {
      * Logs in an existing user.
      *
      * @param requestDto the login request containing email and password.
+     * @param request    the HTTP request, used to rate limit the client IP.
      *
      * @return a {@link ResponseEntity} with the user's details, JWT token, and HTTP status {@code 200 OK}.
      */
     @PostMapping("/login")
     @Operation(summary = "Login an existing user", description = "Authenticates a user with the provided email and password, and returns a JWT token.")
     public ResponseEntity<Response<UserDto>> loginUser(
-            @RequestBody @Parameter(description = "User credentials for login") LoginRequestDto requestDto) {
+            @RequestBody @Parameter(description = "User credentials for login") LoginRequestDto requestDto,
+            HttpServletRequest request) {
+        authRateLimiter.acquire(request.getRemoteAddr(), requestDto.getEmail());
         log.info("Attempting to authenticate user with email: {}", requestDto.getEmail());
         var auth = authService.loginUser(requestDto.getEmail(), requestDto.getPassword());
         var email = auth.getUserEmail();
@@ -118,6 +127,20 @@ public class AuthController {
         return ResponseHelper.buildDtoResponse(result, HttpStatus.OK);
     }
 
+    /**
+     * Logs out the authenticated user from all sessions.
+     * All previously issued access and refresh tokens of the user become invalid.
+     *
+     * @return a {@link ResponseEntity} indicating successful logout.
+     */
+    @PostMapping("/logout-all")
+    @Operation(summary = "Logout user from all sessions", description = "Invalidates all access and refresh tokens issued to the authenticated user.")
+    public ResponseEntity<Response<String>> logoutAllSessions() {
+        log.info("Logging out authenticated user from all sessions");
+        var result = authService.logoutAllSessions();
+        return ResponseHelper.buildDtoResponse(result, HttpStatus.OK);
+    }
+
     /**
      * Changes the user's password.
      *
@@ -142,13 +165,16 @@ public class AuthController {
      * Initiates a password reset process.
      *
      * @param requestDto the request containing user email for password reset.
+     * @param request    the HTTP request, used to rate limit the client IP.
      *
      * @return a {@link ResponseEntity} with a message indicating that the password reset link was sent.
      */
     @PostMapping("/forgot-password")
     @Operation(summary = "Initiate password reset", description = "Sends a password reset link to the email provided in the request.")
     public ResponseEntity<Response<String>> forgotPassword(
-            @RequestBody @Parameter(description = "Email of the user requesting password reset") ForgotPasswordRequestDto requestDto) {
+            @RequestBody @Parameter(description = "Email of the user requesting password reset") ForgotPasswordRequestDto requestDto,
+            HttpServletRequest request) {
+        authRateLimiter.acquire(request.getRemoteAddr(), requestDto.getEmail());
         log.info("Processing password reset request for email: {}", requestDto.getEmail());
         authService.forgotPassword(requestDto);
         log.info("Password reset link sent to email: {}", requestDto.getEmail());
@@ -159,13 +185,16 @@ public class AuthController {
      * Resets the user's password.
      *
      * @param requestDto the request containing new password details.
+     * @param request    the HTTP request, used to rate limit the client IP.
      *
      * @return a {@link ResponseEntity} with the updated user details.
      */
     @PostMapping("/reset-password")
     @Operation(summary = "Reset user password", description = "Resets the user's password with the new password provided in the request.")
     public ResponseEntity<Response<UserDto>> resetPassword(
-            @RequestBody @Parameter(description = "New password details") ResetPasswordRequestDto requestDto) {
+            @RequestBody @Parameter(description = "New password details") ResetPasswordRequestDto requestDto,
+            HttpServletRequest request) {
+        authRateLimiter.acquire(request.getRemoteAddr(), requestDto.getEmail());
         log.info("Resetting password for user with email: {}", requestDto.getEmail());
         var user = authService.resetPassword(requestDto);
         log.info("Password reset successfully for user with email: {}", requestDto.getEmail());
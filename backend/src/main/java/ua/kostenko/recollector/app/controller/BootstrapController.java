@@ -0,0 +1,51 @@
+package ua.kostenko.recollector.app.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ua.kostenko.recollector.app.dto.BootstrapDto;
+import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.dto.response.Response;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.service.BootstrapService;
+import ua.kostenko.recollector.app.util.ResponseHelper;
+
+/**
+ * REST controller for the dashboard bootstrap.
+ * Provides an endpoint returning everything the dashboard needs for its first render in one response.
+ */
+@RestController
+@RequestMapping("api/v1/bootstrap")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Bootstrap", description = "Endpoint for loading the dashboard data after login in one request.")
+public class BootstrapController {
+
+    private final AuthenticationService authService;
+    private final BootstrapService bootstrapService;
+
+    /**
+     * Retrieves the settings, the statistics, the item statuses, and the first page of categories of the
+     * authenticated user. The categories page is selected by page number; a cursor in the filter is ignored.
+     *
+     * @param categoryFilter the filter criteria of the categories page
+     *
+     * @return a {@link ResponseEntity} with the bootstrap data and HTTP status {@code 200 OK}
+     */
+    @Operation(summary = "Retrieve dashboard bootstrap data", description = "Retrieves the settings, statistics, item statuses, and the first page of categories of the authenticated user.")
+    @GetMapping
+    public ResponseEntity<Response<BootstrapDto>> getBootstrap(
+            @Parameter(description = "Filter criteria for the categories page") CategoryFilter categoryFilter) {
+        var user = authService.getUserFromAuthContext();
+        log.info("Fetching bootstrap data for user with email: {}", user.email());
+        var dto = bootstrapService.getBootstrap(user, categoryFilter);
+        return ResponseHelper.buildDtoResponse(dto, HttpStatus.OK);
+    }
+}
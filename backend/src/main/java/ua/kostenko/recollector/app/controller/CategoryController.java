@@ -10,10 +10,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ua.kostenko.recollector.app.dto.CategoryDto;
 import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
 import ua.kostenko.recollector.app.dto.response.Response;
 import ua.kostenko.recollector.app.exception.CategoryValidationException;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.service.CategoryService;
+import ua.kostenko.recollector.app.util.CategoryUtils;
 import ua.kostenko.recollector.app.util.ResponseHelper;
 
 import java.util.List;
@@ -44,14 +46,15 @@ public class CategoryController {
     @PostMapping
     public ResponseEntity<Response<CategoryDto>> createCategory(
             @RequestBody @Parameter(description = "Details of the category to be created") CategoryDto category) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Creating category for user with email: {}", email);
-        var dto = categoryService.createCategory(email.getEmail(), category);
+        var user = authService.getUserFromAuthContext();
+        log.info("Creating category for user with email: {}", user.email());
+        var dto = categoryService.createCategory(user, category);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.CREATED);
     }
 
     /**
      * Retrieves all categories for the authenticated user, optionally filtered by certain criteria.
+     * If the filter contains a cursor, the page after the cursor is returned using keyset pagination.
      *
      * @param categoryFilter the filter criteria for categories.
      *
@@ -61,9 +64,15 @@ public class CategoryController {
     @GetMapping
     public ResponseEntity<Response<List<CategoryDto>>> getAllCategories(
             @Parameter(description = "Filter criteria for categories") CategoryFilter categoryFilter) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Retrieving categories for user with email: {}", email);
-        var dto = categoryService.getCategoriesByFilters(email.getEmail(), categoryFilter);
+        var user = authService.getUserFromAuthContext();
+        log.info("Retrieving categories for user with email: {}", user.email());
+        if (Objects.nonNull(categoryFilter.getAfter())) {
+            var slice = categoryService.getCategoriesByCursor(user, categoryFilter);
+            var total = categoryFilter.isIncludeTotal() ? categoryService.countCategoriesByFilters(user,
+                                                                                                   categoryFilter) : null;
+            return ResponseHelper.buildSliceDtoResponse(slice, CategoryUtils::toCursor, total, HttpStatus.OK);
+        }
+        var dto = categoryService.getCategoriesByFilters(user, categoryFilter);
         return ResponseHelper.buildPageDtoResponse(dto, HttpStatus.OK);
     }
 
@@ -78,9 +87,9 @@ public class CategoryController {
     @GetMapping("/{category_id}")
     public ResponseEntity<Response<CategoryDto>> getCategory(
             @PathVariable("category_id") @Parameter(description = "ID of the category to retrieve") Long categoryId) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Retrieving category with ID: {} for user with email: {}", categoryId, email);
-        var dto = categoryService.getCategory(email.getEmail(), categoryId);
+        var user = authService.getUserFromAuthContext();
+        log.info("Retrieving category with ID: {} for user with email: {}", categoryId, user.email());
+        var dto = categoryService.getCategory(user, categoryId);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.OK);
     }
 
@@ -99,8 +108,8 @@ public class CategoryController {
     public ResponseEntity<Response<CategoryDto>> updateCategory(
             @PathVariable("category_id") @Parameter(description = "ID of the category to be updated") Long categoryId,
             @RequestBody @Parameter(description = "Updated category details") CategoryDto category) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Updating category with ID: {} for user with email: {}", categoryId, email);
+        var user = authService.getUserFromAuthContext();
+        log.info("Updating category with ID: {} for user with email: {}", categoryId, user.email());
 
         if (Objects.nonNull(categoryId) && !categoryId.equals(category.getCategoryId())) {
             log.error("Category ID in path ({}) does not match ID in payload ({})",
@@ -109,7 +118,7 @@ public class CategoryController {
             throw new CategoryValidationException("Category id in path and payload mismatch");
         }
 
-        var dto = categoryService.updateCategory(email.getEmail(), category);
+        var dto = categoryService.updateCategory(user, category);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.ACCEPTED);
     }
 
@@ -118,15 +127,15 @@ public class CategoryController {
      *
      * @param categoryId the ID of the category to be deleted.
      *
-     * @return a {@link ResponseEntity} with a message indicating the result of the deletion and HTTP status {@code 200 OK}.
+     * @return a {@link ResponseEntity} with the deletion job purging the category and HTTP status {@code 202 ACCEPTED}.
      */
-    @Operation(summary = "Delete a specific category", description = "Deletes the category with the specified ID.")
+    @Operation(summary = "Delete a specific category", description = "Deletes the category with the specified ID. The category is hidden immediately, its items are purged in the background by the returned deletion job.")
     @DeleteMapping("/{category_id}")
-    public ResponseEntity<Response<String>> deleteCategory(
+    public ResponseEntity<Response<DeletionJobDto>> deleteCategory(
             @PathVariable("category_id") @Parameter(description = "ID of the category to be deleted") Long categoryId) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Deleting category with ID: {} for user with email: {}", categoryId, email);
-        var dto = categoryService.deleteCategory(email.getEmail(), categoryId);
-        return ResponseHelper.buildDtoResponse(dto, HttpStatus.OK);
+        var user = authService.getUserFromAuthContext();
+        log.info("Deleting category with ID: {} for user with email: {}", categoryId, user.email());
+        var dto = categoryService.deleteCategory(user, categoryId);
+        return ResponseHelper.buildDtoResponse(dto, HttpStatus.ACCEPTED);
     }
 }
@@ -0,0 +1,47 @@
+package ua.kostenko.recollector.app.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
+import ua.kostenko.recollector.app.dto.response.Response;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.service.DeletionJobService;
+import ua.kostenko.recollector.app.util.ResponseHelper;
+
+/**
+ * REST controller for the background deletion jobs.
+ * Provides an endpoint for following the progress of a deleted category.
+ */
+@RestController
+@RequestMapping("api/v1/deletion-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Deletion Jobs", description = "Endpoints for following the background deletion of categories.")
+public class DeletionJobController {
+
+    private final AuthenticationService authService;
+    private final DeletionJobService deletionJobService;
+
+    /**
+     * Retrieves a deletion job of the authenticated user with its status and progress.
+     *
+     * @param jobId the ID of the deletion job
+     *
+     * @return a {@link ResponseEntity} with the deletion job and HTTP status {@code 200 OK}
+     */
+    @Operation(summary = "Retrieve a deletion job", description = "Retrieves the status and progress of a deletion job of the authenticated user.")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Response<DeletionJobDto>> getDeletionJob(
+            @PathVariable("jobId") @Parameter(description = "ID of the deletion job") Long jobId) {
+        var user = authService.getUserFromAuthContext();
+        log.info("Fetching deletion job with ID {} by user {}", jobId, user.email());
+        var dto = deletionJobService.getDeletionJob(user, jobId);
+        return ResponseHelper.buildDtoResponse(dto, HttpStatus.OK);
+    }
+}
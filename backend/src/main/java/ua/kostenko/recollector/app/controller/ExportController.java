@@ -0,0 +1,72 @@
+package ua.kostenko.recollector.app.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.service.ExportService;
+import ua.kostenko.recollector.app.util.ExportUtils;
+
+/**
+ * REST controller for the export of the library of the authenticated user.
+ * Provides an endpoint that streams all categories and items of the user into a file.
+ */
+@RestController
+@RequestMapping("api/v1/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Endpoints for exporting all categories and items of the user.")
+public class ExportController {
+
+    private static final MediaType GZIP_MEDIA_TYPE = MediaType.parseMediaType("application/gzip");
+
+    private final AuthenticationService authService;
+    private final ExportService exportService;
+
+    /**
+     * Exports all categories and items of the authenticated user.
+     * The file is written while the rows are read from the database. When the maximum number of exports is
+     * already running, the export is rejected with {@code 503 Service Unavailable}.
+     *
+     * @param format the export format, {@code ndjson} or {@code csv}
+     * @param gzip   whether to compress the file with gzip
+     *
+     * @return a {@link ResponseEntity} streaming the export file with HTTP status {@code 200 OK}
+     */
+    @Operation(summary = "Export library", description = "Streams all categories and items of the authenticated user as NDJSON or CSV, optionally compressed with gzip.")
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportLibrary(
+            @Parameter(description = "Export format: ndjson or csv", example = "ndjson") @RequestParam(required = false) String format,
+            @Parameter(description = "Compress the file with gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+        var user = authService.getUserFromAuthContext();
+        var exportFormat = ExportUtils.parseFormat(format);
+        log.info("Exporting library of user {} as {}", user.email(), exportFormat);
+
+        var contentDisposition = ContentDisposition.attachment()
+                                                   .filename(ExportUtils.fileName(exportFormat, gzip))
+                                                   .build();
+        var mediaType = gzip ? GZIP_MEDIA_TYPE : MediaType.parseMediaType(exportFormat.getMediaType());
+        // Acquired before the response is committed, so a rejected export still gets an error response
+        var permit = exportService.acquirePermit();
+        StreamingResponseBody body = outputStream -> {
+            try (permit) {
+                exportService.exportLibrary(user, exportFormat, gzip, outputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                             .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                             .contentType(mediaType)
+                             .body(body);
+    }
+}
@@ -52,9 +52,9 @@ public class HelperController {
     @Operation(summary = "Retrieve user statistics", description = "Retrieves statistics for the authenticated user based on their email.")
     @GetMapping("/statistics")
     public ResponseEntity<Response<StatisticDto>> getStatistics() {
-        var email = authService.getUserFromAuthContext();
-        log.info("Fetching statistics for user with email: {}", email);
-        var statistics = helperService.getStatistics(email.getEmail());
+        var user = authService.getUserFromAuthContext();
+        log.info("Fetching statistics for user with email: {}", user.email());
+        var statistics = helperService.getStatistics(user);
         return ResponseHelper.buildDtoResponse(statistics, HttpStatus.OK);
     }
 
@@ -66,9 +66,9 @@ public class HelperController {
     @Operation(summary = "Retrieve user settings", description = "Retrieves settings for the authenticated user based on their email.")
     @GetMapping("/settings")
     public ResponseEntity<Response<UserSettingsDto>> getUserSettings() {
-        var email = authService.getUserFromAuthContext();
-        log.info("Fetching settings for user with email: {}", email);
-        var settings = helperService.getUserSettings(email.getEmail());
+        var user = authService.getUserFromAuthContext();
+        log.info("Fetching settings for user with email: {}", user.email());
+        var settings = helperService.getUserSettings(user);
         return ResponseHelper.buildDtoResponse(settings, HttpStatus.OK);
     }
 
@@ -81,9 +81,9 @@ public class HelperController {
     @PutMapping("/settings")
     public ResponseEntity<Response<UserSettingsDto>> updateUserSettings(
             @RequestBody @Parameter(description = "Updated userSettings details") UserSettingsDto userSettingsDto) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Updating settings for user with email: {}", email);
-        var settings = helperService.saveUserSettings(email.getEmail(), userSettingsDto);
+        var user = authService.getUserFromAuthContext();
+        log.info("Updating settings for user with email: {}", user.email());
+        var settings = helperService.saveUserSettings(user, userSettingsDto);
         return ResponseHelper.buildDtoResponse(settings, HttpStatus.OK);
     }
 }
@@ -0,0 +1,77 @@
+package ua.kostenko.recollector.app.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ua.kostenko.recollector.app.dto.ImportResultDto;
+import ua.kostenko.recollector.app.dto.response.Response;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.service.ImportService;
+import ua.kostenko.recollector.app.util.BoundedInputStream;
+import ua.kostenko.recollector.app.util.ImportUtils;
+import ua.kostenko.recollector.app.util.ResponseHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * REST controller for the bulk import of categories and items of the authenticated user.
+ * Provides an endpoint that reads an NDJSON or CSV file in the format of the export.
+ */
+@RestController
+@RequestMapping("api/v1/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Import", description = "Endpoints for importing categories and items of the user in bulk.")
+public class ImportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AuthenticationService authService;
+    private final ImportService importService;
+
+    @Value("${recollector.app.import.max-bytes:104857600}")
+    private long maxBytes;
+
+    /**
+     * Imports the categories and items of the file sent as request body.
+     * The body may be compressed with gzip, which is declared with the {@code Content-Encoding: gzip} header.
+     * The body is limited to {@code recollector.app.import.max-bytes} after decompression; larger files are
+     * rejected with {@code 413 Payload Too Large}.
+     *
+     * @param format  the format of the file, {@code ndjson} or {@code csv}
+     * @param request the HTTP request carrying the file
+     *
+     * @return a {@link ResponseEntity} with the import result and HTTP status {@code 200 OK}
+     *
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(summary = "Import library", description = "Imports categories and items from an NDJSON or CSV file sent as request body. Existing items are kept, rejected rows are reported.")
+    @PostMapping
+    public ResponseEntity<Response<ImportResultDto>> importLibrary(
+            @Parameter(description = "Import format: ndjson or csv", example = "ndjson") @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        var user = authService.getUserFromAuthContext();
+        var importFormat = ImportUtils.parseFormat(format);
+        log.info("Importing library of user {} from {}", user.email(), importFormat);
+
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, BUFFER_SIZE);
+        }
+        var result = importService.importLibrary(user, importFormat, new BoundedInputStream(body, maxBytes));
+        return ResponseHelper.buildDtoResponse(result, HttpStatus.OK);
+    }
+}
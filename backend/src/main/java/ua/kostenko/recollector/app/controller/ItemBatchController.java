@@ -0,0 +1,51 @@
+package ua.kostenko.recollector.app.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.kostenko.recollector.app.dto.ItemBatchRequestDto;
+import ua.kostenko.recollector.app.dto.ItemBatchResultDto;
+import ua.kostenko.recollector.app.dto.response.Response;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.service.ItemBatchService;
+import ua.kostenko.recollector.app.util.ResponseHelper;
+
+/**
+ * REST controller for changing several items of a category in one request.
+ * Provides an endpoint applying create, update, move and delete operations in one transaction.
+ */
+@RestController
+@RequestMapping("api/v1/categories/{categoryId}")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Item Batch", description = "Endpoints for applying several item changes within a category at once.")
+public class ItemBatchController {
+
+    private final AuthenticationService authService;
+    private final ItemBatchService itemBatchService;
+
+    /**
+     * Applies the operations of the batch to the items of the specified category.
+     * Either all operations are applied or none of them.
+     *
+     * @param categoryId   the ID of the category whose items are changed
+     * @param batchRequest the operations to apply
+     *
+     * @return a {@link ResponseEntity} with the batch result and HTTP status {@code 200 OK}
+     */
+    @Operation(summary = "Apply item batch", description = "Creates, updates, moves and deletes items of the specified category in one transaction.")
+    @PostMapping("/items:batch")
+    public ResponseEntity<Response<ItemBatchResultDto>> applyBatch(
+            @PathVariable("categoryId") @Parameter(description = "ID of the category whose items are changed") Long categoryId,
+            @RequestBody @Parameter(description = "Operations to apply to the items") ItemBatchRequestDto batchRequest) {
+        var user = authService.getUserFromAuthContext();
+        log.info("Applying item batch to category ID {} by user {}", categoryId, user.email());
+        var result = itemBatchService.applyBatch(user, categoryId, batchRequest);
+        return ResponseHelper.buildDtoResponse(result, HttpStatus.OK);
+    }
+}
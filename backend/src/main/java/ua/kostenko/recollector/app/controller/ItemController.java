@@ -14,6 +14,7 @@ import ua.kostenko.recollector.app.dto.response.Response;
 import ua.kostenko.recollector.app.exception.ItemValidationException;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.service.ItemService;
+import ua.kostenko.recollector.app.util.ItemUtils;
 import ua.kostenko.recollector.app.util.ResponseHelper;
 
 import java.util.List;
@@ -51,14 +52,15 @@ public class ItemController {
             throw new ItemValidationException("Category id cannot be empty or different in path and body");
         }
 
-        var email = authService.getUserFromAuthContext();
-        log.info("Creating item for category ID {} by user {}", categoryId, email);
-        var dto = itemService.createItem(email.getEmail(), itemDto);
+        var user = authService.getUserFromAuthContext();
+        log.info("Creating item for category ID {} by user {}", categoryId, user.email());
+        var dto = itemService.createItem(user, itemDto);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.CREATED);
     }
 
     /**
      * Retrieves all items within the specified category that match the provided filters.
+     * If the filter contains a cursor, the page after the cursor is returned using keyset pagination.
      *
      * @param categoryId the ID of the category
      * @param itemFilter the filters to apply to the items
@@ -70,9 +72,14 @@ public class ItemController {
     public ResponseEntity<Response<List<ItemDto>>> getAllItems(
             @PathVariable("categoryId") @Parameter(description = "ID of the category") Long categoryId,
             @Parameter(description = "Filter criteria for items") ItemFilter itemFilter) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Fetching items for category ID {} with filters by user {}", categoryId, email);
-        var dto = itemService.getItemsByFilters(email.getEmail(), categoryId, itemFilter);
+        var user = authService.getUserFromAuthContext();
+        log.info("Fetching items for category ID {} with filters by user {}", categoryId, user.email());
+        if (Objects.nonNull(itemFilter.getAfter())) {
+            var slice = itemService.getItemsByCursor(user, categoryId, itemFilter);
+            var total = itemFilter.isIncludeTotal() ? itemService.countItemsByFilters(user, categoryId, itemFilter) : null;
+            return ResponseHelper.buildSliceDtoResponse(slice, ItemUtils::toCursor, total, HttpStatus.OK);
+        }
+        var dto = itemService.getItemsByFilters(user, categoryId, itemFilter);
         return ResponseHelper.buildPageDtoResponse(dto, HttpStatus.OK);
     }
 
@@ -89,9 +96,9 @@ public class ItemController {
     public ResponseEntity<Response<ItemDto>> getItem(
             @PathVariable("categoryId") @Parameter(description = "ID of the category") Long categoryId,
             @PathVariable("itemId") @Parameter(description = "ID of the item to retrieve") Long itemId) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Fetching item ID {} for category ID {} by user {}", itemId, categoryId, email);
-        var dto = itemService.getItem(email.getEmail(), categoryId, itemId);
+        var user = authService.getUserFromAuthContext();
+        log.info("Fetching item ID {} for category ID {} by user {}", itemId, categoryId, user.email());
+        var dto = itemService.getItem(user, categoryId, itemId);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.OK);
     }
 
@@ -116,9 +123,9 @@ public class ItemController {
                     "Path categoryId and Path itemId should be equal to values in item payload");
         }
 
-        var email = authService.getUserFromAuthContext();
-        log.info("Updating item ID {} for category ID {} by user {}", itemId, categoryId, email);
-        var dto = itemService.updateItem(email.getEmail(), itemDto);
+        var user = authService.getUserFromAuthContext();
+        log.info("Updating item ID {} for category ID {} by user {}", itemId, categoryId, user.email());
+        var dto = itemService.updateItem(user, itemDto);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.ACCEPTED);
     }
 
@@ -135,9 +142,9 @@ public class ItemController {
     public ResponseEntity<Response<String>> deleteItem(
             @PathVariable("categoryId") @Parameter(description = "ID of the category") Long categoryId,
             @PathVariable("itemId") @Parameter(description = "ID of the item to delete") Long itemId) {
-        var email = authService.getUserFromAuthContext();
-        log.info("Deleting item ID {} for category ID {} by user {}", itemId, categoryId, email);
-        var dto = itemService.deleteItem(email.getEmail(), categoryId, itemId);
+        var user = authService.getUserFromAuthContext();
+        log.info("Deleting item ID {} for category ID {} by user {}", itemId, categoryId, user.email());
+        var dto = itemService.deleteItem(user, categoryId, itemId);
         return ResponseHelper.buildDtoResponse(dto, HttpStatus.OK);
     }
 }
@@ -0,0 +1,52 @@
+package ua.kostenko.recollector.app.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ua.kostenko.recollector.app.dto.SearchFilter;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.dto.response.Response;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.service.SearchService;
+import ua.kostenko.recollector.app.util.ResponseHelper;
+import ua.kostenko.recollector.app.util.SearchUtils;
+
+import java.util.List;
+
+/**
+ * REST controller for the full-text search of items.
+ * Provides an endpoint for searching the names and notes of all items of the authenticated user.
+ */
+@RestController
+@RequestMapping("api/v1/search")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Search", description = "Endpoints for the full-text search of items across all categories.")
+public class SearchController {
+
+    private final AuthenticationService authService;
+    private final SearchService searchService;
+
+    /**
+     * Searches the names and notes of the items of the authenticated user.
+     * Results are ordered by relevance and paginated with a cursor.
+     *
+     * @param searchFilter the search query and pagination criteria
+     *
+     * @return a {@link ResponseEntity} with the list of search results and HTTP status {@code 200 OK}
+     */
+    @Operation(summary = "Search items", description = "Searches the names and notes of all items of the authenticated user, most relevant first.")
+    @GetMapping
+    public ResponseEntity<Response<List<SearchResultDto>>> searchItems(
+            @Parameter(description = "Search query and pagination criteria") SearchFilter searchFilter) {
+        var user = authService.getUserFromAuthContext();
+        log.info("Searching items by user {}", user.email());
+        var slice = searchService.searchItems(user, searchFilter);
+        return ResponseHelper.buildSliceDtoResponse(slice, SearchUtils::toCursor, null, HttpStatus.OK);
+    }
+}
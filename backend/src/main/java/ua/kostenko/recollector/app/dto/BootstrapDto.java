@@ -0,0 +1,37 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.kostenko.recollector.app.dto.response.MetaInfo;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object with everything the dashboard needs for its first render.
+ * Combines the user settings, the user statistics, the item statuses, and the first page of categories.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Data Transfer Object with the data needed to render the dashboard after login.")
+public class BootstrapDto {
+
+    @Schema(description = "Settings of the user.", implementation = UserSettingsDto.class)
+    private UserSettingsDto settings;
+
+    @Schema(description = "Statistics of the user.", implementation = StatisticDto.class)
+    private StatisticDto statistics;
+
+    @Schema(description = "Available item statuses.", example = "[\"FINISHED\", \"IN_PROGRESS\", \"TODO_LATER\"]")
+    private List<String> itemStatuses;
+
+    @Schema(description = "First page of the categories matching the filter.")
+    private List<CategoryDto> categories;
+
+    @Schema(description = "Pagination information of the categories page.", implementation = MetaInfo.class)
+    private MetaInfo categoriesMeta;
+}
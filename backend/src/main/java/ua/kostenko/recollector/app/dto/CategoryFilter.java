@@ -10,6 +10,7 @@ import org.springframework.data.domain.Sort;
 /**
  * Data Transfer Object for filtering categories.
  * Contains pagination, sorting, and search criteria for categories.
+ * Supports offset pagination by page number and keyset pagination by an opaque cursor.
  */
 @Data
 @Builder
@@ -29,4 +30,10 @@ public class CategoryFilter {
 
     @Schema(description = "Sorting direction for the category list.", example = "ASC", defaultValue = "ASC")
     private Sort.Direction direction = Sort.Direction.ASC;
+
+    @Schema(description = "Cursor of the page to read, taken from 'nextCursor' of the previous page. If the parameter is present, keyset pagination is used and 'page' is ignored; an empty value requests the first page.", example = "MTI6QnV5IGdyb2Nlcmllcw")
+    private String after;
+
+    @Schema(description = "Whether the total number of matching categories is calculated when keyset pagination is used.", example = "false", defaultValue = "false")
+    private boolean includeTotal = false;
 }
\ No newline at end of file
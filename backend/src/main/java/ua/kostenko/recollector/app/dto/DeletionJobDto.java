@@ -0,0 +1,62 @@
+package ua.kostenko.recollector.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing the background deletion of a category or an account.
+ * Contains the status of the job and the numbers of deleted rows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Data Transfer Object representing the background deletion of a category or an account.")
+public class DeletionJobDto {
+
+    @Schema(description = "Unique identifier for the deletion job.", example = "7")
+    private Long jobId;
+
+    @Schema(description = "What the job deletes.", example = "CATEGORY")
+    private DeletionJobType jobType;
+
+    @Schema(description = "ID of the deleted category or user.", example = "10")
+    private Long targetId;
+
+    @Schema(description = "Current status of the job.", example = "RUNNING")
+    private DeletionJobStatus jobStatus;
+
+    @Schema(description = "Number of items to delete.", example = "50000")
+    private long itemsTotal;
+
+    @Schema(description = "Number of items deleted so far.", example = "12000")
+    private long itemsDeleted;
+
+    @Schema(description = "Number of categories to delete.", example = "1")
+    private long categoriesTotal;
+
+    @Schema(description = "Number of categories deleted so far.", example = "0")
+    private long categoriesDeleted;
+
+    @Schema(description = "Number of failed attempts, a job is retried until it completes or runs out of attempts.",
+            example = "0")
+    private int attempts;
+
+    @Schema(description = "Error of the last failed attempt, only present for jobs that failed at least once.")
+    private String errorMessage;
+
+    @Schema(description = "Time the job was created.")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Time the job completed or failed.")
+    private LocalDateTime completedAt;
+}
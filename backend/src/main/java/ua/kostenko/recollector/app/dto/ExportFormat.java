@@ -0,0 +1,43 @@
+package ua.kostenko.recollector.app.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Enum representing the file formats of the library export and import.
+ * Each format defines the media type and the file extension of the file.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    /**
+     * Newline-delimited JSON, one JSON object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /**
+     * Comma-separated values with a header line, quoted as described in RFC 4180.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String fileExtension;
+
+    /**
+     * Finds the format by its file extension, ignoring case and surrounding whitespace.
+     *
+     * @param value the format name, e.g. {@code csv}
+     *
+     * @return the format, or an empty optional if the value is blank or unknown
+     */
+    public static Optional<ExportFormat> fromValue(String value) {
+        if (StringUtils.isBlank(value)) {
+            return Optional.empty();
+        }
+        var name = value.trim();
+        return Arrays.stream(values()).filter(format -> format.fileExtension.equalsIgnoreCase(name)).findFirst();
+    }
+}
@@ -0,0 +1,20 @@
+package ua.kostenko.recollector.app.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the library export: an item together with the category it belongs to.
+ * <p>
+ * Categories without items are exported as a single row whose item fields are {@code null}.
+ *
+ * @param categoryId   the ID of the category
+ * @param categoryName the name of the category
+ * @param itemId       the ID of the item, or {@code null} for an empty category
+ * @param itemName     the name of the item
+ * @param itemStatus   the status of the item
+ * @param itemNotes    the notes of the item
+ * @param createdAt    the time the item was created
+ * @param updatedAt    the time the item was last updated
+ */
+public record ExportRow(Long categoryId, String categoryName, Long itemId, String itemName, String itemStatus,
+                        String itemNotes, LocalDateTime createdAt, LocalDateTime updatedAt) {}
@@ -0,0 +1,24 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing a row of an import file that was not imported.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Row of an import file that was not imported.")
+public class ImportErrorDto {
+
+    @Schema(description = "Number of the row in the file, starting at 1. For CSV files the header is not counted.", example = "42")
+    private long row;
+
+    @Schema(description = "Reason why the row was not imported.", example = "Item already exists in the category")
+    private String message;
+}
@@ -0,0 +1,35 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object with the outcome of a library import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a library import.")
+public class ImportResultDto {
+
+    @Schema(description = "Number of rows read from the file.", example = "1000")
+    private long rowsRead;
+
+    @Schema(description = "Number of categories created.", example = "5")
+    private long categoriesCreated;
+
+    @Schema(description = "Number of items created.", example = "990")
+    private long itemsCreated;
+
+    @Schema(description = "Number of rows that were not imported.", example = "10")
+    private long rowsRejected;
+
+    @Schema(description = "Rows that were not imported with the reason, ordered by row number. Limited to the first rejected rows.")
+    private List<ImportErrorDto> errors;
+}
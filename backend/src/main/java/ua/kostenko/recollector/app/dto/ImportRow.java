@@ -0,0 +1,15 @@
+package ua.kostenko.recollector.app.dto;
+
+/**
+ * One row of a library import file.
+ * <p>
+ * A row without an item name only creates its category. The IDs and timestamps contained in files created by the
+ * export are ignored, imported categories and items get new ones.
+ *
+ * @param row          the number of the row in the file, starting at 1
+ * @param categoryName the name of the category
+ * @param itemName     the name of the item, or {@code null} for a row without item
+ * @param itemStatus   the status of the item
+ * @param itemNotes    the notes of the item
+ */
+public record ImportRow(long row, String categoryName, String itemName, String itemStatus, String itemNotes) {}
@@ -0,0 +1,38 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+
+/**
+ * Data Transfer Object representing one change of a batch item request.
+ * The fields required depend on the operation type.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One change of a batch item request. The fields required depend on the operation type.")
+public class ItemBatchOperationDto {
+
+    @Schema(description = "Type of the operation.", example = "UPDATE")
+    private ItemBatchOperationType type;
+
+    @Schema(description = "ID of the item in the category. Required for UPDATE, MOVE and DELETE.", example = "1")
+    private Long itemId;
+
+    @Schema(description = "Name of the item. Required for CREATE and UPDATE.", example = "Buy groceries")
+    private String itemName;
+
+    @Schema(description = "Status of the item. Required for CREATE and UPDATE.", example = "FINISHED")
+    private ItemStatus itemStatus;
+
+    @Schema(description = "Notes of the item. Used by CREATE and UPDATE.", example = "Need to buy fruits and vegetables.")
+    private String itemNotes;
+
+    @Schema(description = "ID of the category of the user the item is moved to. Required for MOVE.", example = "11")
+    private Long targetCategoryId;
+}
@@ -0,0 +1,23 @@
+package ua.kostenko.recollector.app.dto;
+
+/**
+ * Enum representing the kinds of changes of a batch item operation.
+ */
+public enum ItemBatchOperationType {
+    /**
+     * Creates a new item in the category.
+     */
+    CREATE,
+    /**
+     * Changes the name, status and notes of an item of the category.
+     */
+    UPDATE,
+    /**
+     * Moves an item of the category to another category of the user.
+     */
+    MOVE,
+    /**
+     * Deletes an item of the category.
+     */
+    DELETE
+}
@@ -0,0 +1,23 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for changing several items of a category in one request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Changes of several items of a category, applied together or not at all.")
+public class ItemBatchRequestDto {
+
+    @Schema(description = "Operations to apply. Each item can be referenced by one operation only.")
+    private List<ItemBatchOperationDto> operations;
+}
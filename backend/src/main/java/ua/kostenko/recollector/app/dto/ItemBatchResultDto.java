@@ -0,0 +1,35 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object with the outcome of a batch item request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a batch item request.")
+public class ItemBatchResultDto {
+
+    @Schema(description = "Number of items created.", example = "2")
+    private int created;
+
+    @Schema(description = "Number of items updated.", example = "10")
+    private int updated;
+
+    @Schema(description = "Number of items moved to other categories.", example = "1")
+    private int moved;
+
+    @Schema(description = "Number of items deleted.", example = "1")
+    private int deleted;
+
+    @Schema(description = "Created, updated and moved items in the order of the operations.")
+    private List<ItemDto> items;
+}
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Sort;
 /**
  * Data Transfer Object for filtering items.
  * Includes pagination, sorting, and filtering criteria for items.
+ * Supports offset pagination by page number and keyset pagination by an opaque cursor.
  */
 @Data
 @Builder
@@ -35,4 +36,13 @@ public class ItemFilter {
 
     @Schema(description = "Sorting direction for the item list.", example = "ASC", defaultValue = "ASC")
     private Sort.Direction direction = Sort.Direction.ASC;
+
+    @Schema(description = "Cursor of the page to read, taken from 'nextCursor' of the previous page. If the parameter is present, keyset pagination is used and 'page' is ignored; an empty value requests the first page.", example = "MTI6QnV5IGdyb2Nlcmllcw")
+    private String after;
+
+    @Schema(description = "Whether the total number of matching items is calculated when keyset pagination is used.", example = "false", defaultValue = "false")
+    private boolean includeTotal = false;
+
+    @Schema(description = "Whether the item notes are included. By default only the ID, category, name and status of the items are returned; the notes are available from the item endpoint.", example = "false", defaultValue = "false")
+    private boolean includeNotes = false;
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package ua.kostenko.recollector.app.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for the full-text search of items.
+ * Includes the search query and the keyset pagination criteria.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Data Transfer Object for the full-text search of items, including pagination.")
+public class SearchFilter {
+
+    @Schema(description = "Search query in web search syntax: words, \"quoted phrases\", 'or' and '-' for exclusion.", example = "groceries -milk")
+    private String query;
+
+    @Schema(description = "Number of results per page.", example = "20", defaultValue = "20")
+    private int size = 20;
+
+    @Schema(description = "Cursor of the page to read, taken from 'nextCursor' of the previous page. Empty for the first page.", example = "NDI6MC4wNjA3OTI3MQ")
+    private String after;
+}
@@ -0,0 +1,46 @@
+package ua.kostenko.recollector.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+
+/**
+ * Data Transfer Object representing an item found by the full-text search.
+ * Contains the item details, its category, the relevance rank and the highlighted fragments of the matched text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Data Transfer Object representing an item found by the full-text search.")
+public class SearchResultDto {
+
+    @Schema(description = "Unique identifier for the item.", example = "1")
+    private Long itemId;
+
+    @Schema(description = "Unique identifier for the category to which the item belongs.", example = "10")
+    private Long categoryId;
+
+    @Schema(description = "Name of the category to which the item belongs.", example = "Shopping")
+    private String categoryName;
+
+    @Schema(description = "Name of the item.", example = "Buy groceries")
+    private String itemName;
+
+    @Schema(description = "Current status of the item.", example = "IN_PROGRESS")
+    private ItemStatus itemStatus;
+
+    @Schema(description = "Relevance of the item to the query, higher is more relevant.", example = "0.6079271")
+    private Float rank;
+
+    @Schema(description = "Item name with the matched words wrapped in <b> tags.", example = "Buy <b>groceries</b>")
+    private String itemNameHighlight;
+
+    @Schema(description = "Fragments of the item notes with the matched words wrapped in <b> tags.", example = "Need to buy <b>groceries</b> for the week")
+    private String itemNotesHighlight;
+}
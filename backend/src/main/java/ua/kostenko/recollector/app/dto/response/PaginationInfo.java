@@ -10,6 +10,8 @@ import lombok.NoArgsConstructor;
 /**
  * Data Transfer Object for pagination information.
  * Includes details about the current page, items per page, total pages, and sorting information.
+ * For cursor pagination the page numbers are omitted and the cursor of the next page is provided instead;
+ * the totals are present only if they were requested.
  */
 @Data
 @Builder
@@ -20,20 +22,26 @@ import lombok.NoArgsConstructor;
 public class PaginationInfo {
 
     @Schema(description = "The current page number.", example = "1")
-    private int currentPage;
+    private Integer currentPage;
 
     @Schema(description = "The number of items per page.", example = "10")
     private int itemsPerPage;
 
     @Schema(description = "The total number of pages.", example = "5")
-    private int totalPages;
+    private Integer totalPages;
 
     @Schema(description = "The total number of items across all pages.", example = "47")
-    private long totalItems;
+    private Long totalItems;
 
     @Schema(description = "The field by which the items are sorted.", example = "name")
     private String sortField;
 
     @Schema(description = "The direction of sorting, either ascending or descending.", example = "ASC")
     private String sortDirection;
+
+    @Schema(description = "Whether more items follow the current page. Set for cursor pagination only.", example = "true")
+    private Boolean hasNext;
+
+    @Schema(description = "Opaque cursor of the next page, to be passed as 'after'. Set for cursor pagination only.", example = "MTI6QnV5IGdyb2Nlcmllcw")
+    private String nextCursor;
 }
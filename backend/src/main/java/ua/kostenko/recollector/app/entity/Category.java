@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,9 +21,13 @@ import java.util.List;
  * </p>
  *
  * <p>Includes JPA annotations for persistence management and lifecycle callbacks for timestamps.</p>
+ *
+ * <p>Categories are held in the second-level cache when it is enabled with the {@code l2cache} profile.</p>
  */
 @Entity
 @Table(name = "categories", schema = "recollector")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Data
 @Builder
 @NoArgsConstructor
@@ -78,6 +84,17 @@ public class Category {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    /**
+     * Timestamp for when the category was deleted.
+     * <p>
+     * Maps to the "deleted_at" column. A deleted category is hidden from all reads and purged together with its items
+     * by a background deletion job. The field is only set through
+     * {@link ua.kostenko.recollector.app.repository.CategoryRepository#markDeleted(Long, Long, LocalDateTime)}.
+     * </p>
+     */
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     /**
      * List of items associated with this category.
      * <p>
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
  * Entity class representing the aggregated counts of items for each category.
  * <p>
  * This entity is mapped to the 'category_item_counts' view in the 'recollector' schema.
- * The view aggregates counts of items based on their status and is not a regular table but a custom SQL view.
+ * The view joins each category with its item counters by status from the 'category_stats' table,
+ * which are maintained by database triggers on item changes, so reading it does not scan the items.
  * </p>
  *
  * <p>Includes JPA annotations to map the view and its columns, with no lifecycle callbacks as it is read-only.</p>
@@ -0,0 +1,166 @@
+package ua.kostenko.recollector.app.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the background deletion of a category or an account.
+ * <p>
+ * This entity is mapped to the 'deletion_jobs' table in the 'recollector' schema.
+ * Jobs are created when a category or an account is deleted. The progress columns are updated by
+ * {@link ua.kostenko.recollector.app.service.DeletionPurgeService} while it purges the rows of the job.
+ * </p>
+ */
+@Entity
+@Table(name = "deletion_jobs", schema = "recollector")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionJob {
+
+    /**
+     * Unique identifier for the job.
+     * <p>
+     * Maps to the "job_id" column in the "deletion_jobs" table. This field is the primary key and is generated automatically.
+     * </p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long jobId;
+
+    /**
+     * The ID of the user who deleted the category or the account.
+     * <p>
+     * Maps to the "user_id" column. The column has no foreign key, because the job of an account deletion
+     * is kept after the user is purged.
+     * </p>
+     */
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    /**
+     * The type of the job.
+     * <p>
+     * Maps to the "job_type" column. Holds a {@link DeletionJobType} name.
+     * </p>
+     */
+    @Column(name = "job_type", nullable = false, updatable = false)
+    private String jobType;
+
+    /**
+     * The ID of the deleted category or user.
+     * <p>
+     * Maps to the "target_id" column.
+     * </p>
+     */
+    @Column(name = "target_id", nullable = false, updatable = false)
+    private Long targetId;
+
+    /**
+     * The status of the job.
+     * <p>
+     * Maps to the "job_status" column. Holds a {@link DeletionJobStatus} name.
+     * </p>
+     */
+    @Column(name = "job_status", nullable = false)
+    private String jobStatus;
+
+    /**
+     * The number of items to delete, taken from the item counters when the job was created.
+     * <p>
+     * Maps to the "items_total" column.
+     * </p>
+     */
+    @Column(name = "items_total", nullable = false)
+    private long itemsTotal;
+
+    /**
+     * The number of items deleted so far.
+     * <p>
+     * Maps to the "items_deleted" column.
+     * </p>
+     */
+    @Column(name = "items_deleted", nullable = false)
+    private long itemsDeleted;
+
+    /**
+     * The number of categories to delete.
+     * <p>
+     * Maps to the "categories_total" column.
+     * </p>
+     */
+    @Column(name = "categories_total", nullable = false)
+    private long categoriesTotal;
+
+    /**
+     * The number of categories deleted so far.
+     * <p>
+     * Maps to the "categories_deleted" column.
+     * </p>
+     */
+    @Column(name = "categories_deleted", nullable = false)
+    private long categoriesDeleted;
+
+    /**
+     * The number of failed attempts to run the job.
+     * <p>
+     * Maps to the "attempts" column. Only updated by the purge task.
+     * </p>
+     */
+    @Column(name = "attempts", insertable = false, updatable = false)
+    private int attempts;
+
+    /**
+     * The error of the last failed attempt.
+     * <p>
+     * Maps to the "error_message" column. Only set for jobs that failed at least once.
+     * </p>
+     */
+    @Column(name = "error_message")
+    private String errorMessage;
+
+    /**
+     * Timestamp for when the job was created.
+     * <p>
+     * Maps to the "created_at" column. This field is automatically set when the record is created and cannot be updated.
+     * </p>
+     */
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Timestamp for the last progress of the job.
+     * <p>
+     * Maps to the "updated_at" column. This field is set when the record is created and then updated by the purge task.
+     * </p>
+     */
+    @Column(name = "updated_at", updatable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Timestamp for when the job completed or failed.
+     * <p>
+     * Maps to the "completed_at" column.
+     * </p>
+     */
+    @Column(name = "completed_at", insertable = false, updatable = false)
+    private LocalDateTime completedAt;
+
+    /**
+     * Sets creation and update timestamps before persisting the entity.
+     * <p>
+     * Called before the entity is persisted to ensure "createdAt" and "updatedAt" are set.
+     * </p>
+     */
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,19 @@
+package ua.kostenko.recollector.app.entity;
+
+/**
+ * Enumeration representing the possible statuses of a deletion job.
+ * <p>
+ * <ul>
+ * <li>PENDING - The job is waiting for the purge task, or for its next attempt after an error.</li>
+ * <li>RUNNING - The purge task has started deleting the rows of the job.</li>
+ * <li>COMPLETED - All rows of the job have been deleted.</li>
+ * <li>FAILED - Every attempt of the purge stopped with an error, the rows already deleted stay deleted.</li>
+ * </ul>
+ * </p>
+ */
+public enum DeletionJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package ua.kostenko.recollector.app.entity;
+
+/**
+ * Enumeration representing what a deletion job purges.
+ * <p>
+ * <ul>
+ * <li>CATEGORY - A deleted category and its items.</li>
+ * <li>ACCOUNT - A deleted user with all categories, items, settings and tokens.</li>
+ * </ul>
+ * </p>
+ */
+public enum DeletionJobType {
+    CATEGORY,
+    ACCOUNT
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
  * Entity class representing a token that has been invalidated.
  * <p>
  * This entity is mapped to the 'invalidated_tokens' table in the 'recollector' schema.
- * It holds information about the invalidated token, its expiration time, and the associated user.
+ * It holds the digest of the invalidated token, its expiration time, and the associated user.
  * </p>
  *
  * <p>Includes JPA annotations for persistence management and lifecycle callbacks for timestamps.</p>
@@ -48,14 +48,14 @@ public class InvalidatedToken {
     private User user;
 
     /**
-     * The token that has been invalidated.
+     * The SHA-256 digest of the token that has been invalidated.
      * <p>
-     * Maps to the "token" column. This field is mandatory and holds the token string.
-     * The length is set to 1024 characters to accommodate JWT tokens and other long tokens.
+     * Maps to the "token_digest" column. This field is mandatory and holds the 32-byte digest
+     * instead of the token string, which keeps the unique index on (user_id, token_digest) compact.
      * </p>
      */
-    @Column(nullable = false, length = 1024)
-    private String token;
+    @Column(nullable = false, name = "token_digest", length = 32)
+    private byte[] tokenDigest;
 
     /**
      * The expiration time of the token.
@@ -30,11 +30,15 @@ public class Item {
     /**
      * Unique identifier for the item.
      * <p>
-     * Maps to the "item_id" column in the "items" table. This field is the primary key and is generated automatically.
+     * Maps to the "item_id" column in the "items" table. This field is the primary key. IDs are taken from the sequence
+     * of the column in blocks of 50 before the insert, which allows Hibernate to insert new items in JDBC batches.
+     * The increment of the sequence must match the allocation size.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_item_id_seq")
+    @SequenceGenerator(name = "items_item_id_seq", schema = "recollector", sequenceName = "items_item_id_seq",
+                       allocationSize = 50)
     private Long itemId;
 
     /**
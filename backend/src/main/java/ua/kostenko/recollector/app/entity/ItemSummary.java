@@ -0,0 +1,15 @@
+package ua.kostenko.recollector.app.entity;
+
+/**
+ * Read-only projection of an {@link Item} for list views.
+ * <p>
+ * Contains only the columns shown in item lists, so reading it neither transfers the item notes nor
+ * hydrates the item and its category as managed entities.
+ * </p>
+ *
+ * @param itemId     the ID of the item
+ * @param categoryId the ID of the category the item belongs to
+ * @param itemName   the name of the item
+ * @param itemStatus the status of the item
+ */
+public record ItemSummary(Long itemId, Long categoryId, String itemName, String itemStatus) {}
@@ -2,7 +2,11 @@ package ua.kostenko.recollector.app.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -13,9 +17,16 @@ import java.util.List;
  * <p>
  * This entity maps to the "users" table in the "recollector" schema.
  * </p>
+ * <p>
+ * Users and the resolution of their email to the user ID are held in the second-level cache when it is enabled
+ * with the {@code l2cache} profile.
+ * </p>
  */
 @Entity
 @Table(name = "users", schema = "recollector")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,9 +48,10 @@ public class User {
     /**
      * The email address of the user.
      * <p>
-     * This field maps to the "email" column and must be unique and non-null.
+     * This field maps to the "email" column and must be unique and non-null. It is the natural ID of the user.
      * </p>
      */
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -74,11 +86,36 @@ public class User {
      * The timestamp of the last login by the user.
      * <p>
      * This field maps to the "last_login" column. It can be null if the user has not logged in yet.
+     * It is only written on registration, later logins are written by
+     * {@link ua.kostenko.recollector.app.security.LastLoginRecorder}, so saving a user with an older value
+     * cannot overwrite them.
      * </p>
      */
-    @Column
+    @Column(updatable = false)
     private LocalDateTime lastLogin;
 
+    /**
+     * The version of the JWT tokens issued to the user.
+     * <p>
+     * This field maps to the "token_version" column. It is managed by the database and only changed through
+     * {@link ua.kostenko.recollector.app.repository.UserRepository#incrementTokenVersion(Long)}, which invalidates
+     * every token issued with a lower version.
+     * </p>
+     */
+    @Column(name = "token_version", nullable = false, insertable = false, updatable = false)
+    private Integer tokenVersion;
+
+    /**
+     * The timestamp when the user deleted the account.
+     * <p>
+     * This field maps to the "deleted_at" column. A deleted user cannot log in, and the account data is purged by a
+     * background deletion job. The field is only set through
+     * {@link ua.kostenko.recollector.app.repository.UserRepository#markDeleted(Long, LocalDateTime)}.
+     * </p>
+     */
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     /**
      * The timestamp when the user record was created.
      * <p>
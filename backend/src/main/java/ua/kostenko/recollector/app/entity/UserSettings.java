@@ -5,6 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
@@ -20,9 +24,15 @@ import java.time.LocalDateTime;
  *
  * <p>Fields include category and item settings such as background colors, item colors, floating action button (FAB) colors,
  * and page sizes.</p>
+ *
+ * <p>Settings and the resolution of the user ID to the settings ID are held in the second-level cache when it is
+ * enabled with the {@code l2cache} profile.</p>
  */
 @Entity
 @Table(name = "user_settings", schema = "recollector")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-settings")
+@NaturalIdCache(region = "user-settings-by-user")
 @Data
 @Builder
 @NoArgsConstructor
@@ -56,8 +66,10 @@ public class UserSettings {
      * <p>
      * This field establishes a one-to-one relationship with the {@link User} entity.
      * The relationship is mandatory, and the settings are managed by the "user_id" foreign key.
+     * The user is the natural ID of the settings.
      * </p>
      */
+    @NaturalId
     @OneToOne(fetch = FetchType.LAZY, optional = false, cascade = CascadeType.ALL)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
@@ -42,6 +42,7 @@ public class CategoryItemCountSpecification implements Specification<CategoryIte
      * Category name to filter category item counts by partial match.
      * <p>
      * If provided, the query will include counts where the category name contains this value (case-insensitive).
+     * The predicate is served by the trigram index on {@code lower(category_name)}.
      * </p>
      */
     private String categoryName;
@@ -75,7 +76,9 @@ public class CategoryItemCountSpecification implements Specification<CategoryIte
         // Filter by categoryName if it is not blank
         if (StringUtils.isNotBlank(categoryName)) {
             predicate = cb.and(predicate,
-                               cb.like(cb.lower(root.get("categoryName")), "%" + categoryName.toLowerCase() + "%"));
+                               cb.like(cb.lower(root.get("categoryName")),
+                                       LikePatterns.containsIgnoreCase(categoryName),
+                                       LikePatterns.ESCAPE_CHAR));
         }
 
         return predicate;
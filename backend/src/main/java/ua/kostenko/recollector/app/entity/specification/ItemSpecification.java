@@ -49,6 +49,7 @@ public class ItemSpecification implements Specification<Item> {
      * Item name to filter items by partial match.
      * <p>
      * If provided, the query will include items whose names contain this value (case-insensitive).
+     * The predicate is served by the trigram index on {@code lower(item_name)}.
      * </p>
      */
     private String itemName;
@@ -93,10 +94,15 @@ public class ItemSpecification implements Specification<Item> {
         // Filter by userId and categoryId
         predicate = cb.and(predicate, cb.equal(userJoin.get("userId"), userId));
         predicate = cb.and(predicate, cb.equal(categoryJoin.get("categoryId"), categoryId));
+        // Items of a deleted category are hidden until the category is purged
+        predicate = cb.and(predicate, cb.isNull(categoryJoin.get("deletedAt")));
 
         // Filter by itemName if provided
         if (StringUtils.isNotBlank(itemName)) {
-            predicate = cb.and(predicate, cb.like(cb.lower(root.get("itemName")), "%" + itemName.toLowerCase() + "%"));
+            predicate = cb.and(predicate,
+                               cb.like(cb.lower(root.get("itemName")),
+                                       LikePatterns.containsIgnoreCase(itemName),
+                                       LikePatterns.ESCAPE_CHAR));
         }
 
         // Filter by itemStatus if provided
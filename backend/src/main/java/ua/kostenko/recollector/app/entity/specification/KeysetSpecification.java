@@ -0,0 +1,84 @@
+package ua.kostenko.recollector.app.entity.specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ua.kostenko.recollector.app.exception.IllegalSpecificationParamException;
+import ua.kostenko.recollector.app.util.CursorUtils.Cursor;
+
+import java.util.Objects;
+
+/**
+ * Specification selecting the rows that follow a cursor in a listing sorted by name and ID.
+ * <p>
+ * Combined with the base specification of a listing, it replaces OFFSET with a range condition on
+ * {@code (name, id)}, so the database can start reading right after the previous page regardless of its depth.
+ * </p>
+ *
+ * @param <T> the type of the entity
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetSpecification<T> implements Specification<T> {
+
+    /**
+     * Name of the name attribute the listing is sorted by first.
+     */
+    private String nameField;
+
+    /**
+     * Name of the ID attribute the listing is sorted by second, making the order unique.
+     */
+    private String idField;
+
+    /**
+     * Position of the last row of the previous page. If absent, no rows are excluded.
+     */
+    private Cursor cursor;
+
+    /**
+     * Sorting direction of the listing, applied to both attributes.
+     */
+    private Sort.Direction direction;
+
+    /**
+     * Constructs the predicate matching the rows after the cursor.
+     *
+     * @param root  The root of the query from which attributes are fetched.
+     * @param query The query object being constructed.
+     * @param cb    The CriteriaBuilder used to construct the predicate.
+     *
+     * @return The constructed {@link Predicate} object.
+     *
+     * @throws IllegalSpecificationParamException If the attribute names or the direction are missing.
+     */
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (Objects.isNull(nameField) || Objects.isNull(idField) || Objects.isNull(direction)) {
+            throw new IllegalSpecificationParamException("KeysetSpecification requires nameField, idField and direction");
+        }
+        if (Objects.isNull(cursor)) {
+            return cb.conjunction();
+        }
+
+        var name = root.<String>get(nameField);
+        var id = root.<Long>get(idField);
+
+        // (name, id) > (cursorName, cursorId) for ascending order, < for descending
+        if (direction.isAscending()) {
+            return cb.or(cb.greaterThan(name, cursor.name()),
+                         cb.and(cb.equal(name, cursor.name()), cb.greaterThan(id, cursor.id())));
+        }
+        return cb.or(cb.lessThan(name, cursor.name()),
+                     cb.and(cb.equal(name, cursor.name()), cb.lessThan(id, cursor.id())));
+    }
+}
@@ -0,0 +1,37 @@
+package ua.kostenko.recollector.app.entity.specification;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * Builds LIKE patterns for the case-insensitive substring filters of the specifications.
+ * <p>
+ * The filters compare {@code lower(name)} with the pattern, which matches the expression of the trigram indexes
+ * on item and category names. Wildcards in the search term are escaped, so they are matched literally.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LikePatterns {
+
+    /**
+     * Escape character used in the patterns, to be passed to the LIKE predicate.
+     */
+    static final char ESCAPE_CHAR = '\\';
+
+    /**
+     * Builds a pattern matching values that contain the term, ignoring case.
+     *
+     * @param term the search term
+     *
+     * @return the LIKE pattern
+     */
+    static String containsIgnoreCase(String term) {
+        var escaped = term.toLowerCase(Locale.ROOT)
+                          .replace("\\", "\\\\")
+                          .replace("%", "\\%")
+                          .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -0,0 +1,14 @@
+package ua.kostenko.recollector.app.exception;
+
+import lombok.Getter;
+
+@Getter
+public class AuthRateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AuthRateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class BootstrapUnavailableException extends ServiceUnavailableException {
+
+    public BootstrapUnavailableException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
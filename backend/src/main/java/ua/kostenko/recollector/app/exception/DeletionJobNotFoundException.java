@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class DeletionJobNotFoundException extends RuntimeException {
+
+    public DeletionJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class ExportUnavailableException extends ServiceUnavailableException {
+
+    public ExportUnavailableException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class ExportValidationException extends RuntimeException {
+
+    public ExportValidationException(String message) {
+        super(message);
+    }
+}
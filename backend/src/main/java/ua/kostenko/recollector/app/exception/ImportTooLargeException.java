@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class ImportTooLargeException extends RuntimeException {
+
+    public ImportTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class ImportUnavailableException extends ServiceUnavailableException {
+
+    public ImportUnavailableException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class ImportValidationException extends RuntimeException {
+
+    public ImportValidationException(String message) {
+        super(message);
+    }
+}
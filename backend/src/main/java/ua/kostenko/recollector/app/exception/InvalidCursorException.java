@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class PasswordHashingUnavailableException extends ServiceUnavailableException {
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message, retryAfterSeconds);
+    }
+}
@@ -0,0 +1,8 @@
+package ua.kostenko.recollector.app.exception;
+
+public class SearchValidationException extends RuntimeException {
+
+    public SearchValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package ua.kostenko.recollector.app.exception;
+
+import lombok.Getter;
+
+@Getter
+public abstract class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    protected ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
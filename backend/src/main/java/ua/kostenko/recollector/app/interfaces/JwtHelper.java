@@ -2,18 +2,23 @@ package ua.kostenko.recollector.app.interfaces;
 
 import io.jsonwebtoken.Claims;
 import ua.kostenko.recollector.app.dto.auth.TokensDto;
+import ua.kostenko.recollector.app.security.TokenSubject;
 
 import java.util.Date;
 
 public interface JwtHelper {
 
-    String generateMainJwt(String username, Date timeNow);
-    String generateRefreshJwt(String username, Date timeNow);
-    TokensDto generateJwtTokensPair(String username);
+    String generateMainJwt(TokenSubject subject, Date timeNow);
+    String generateRefreshJwt(TokenSubject subject, Date timeNow);
+    TokensDto generateJwtTokensPair(TokenSubject subject);
 
     boolean validateMainJwtToken(String token, String username);
     boolean validateRefreshJwtToken(String token, String username);
 
     Claims extractClaimsFromMainJwtToken(String token);
     Claims extractClaimsFromRefreshJwtToken(String token);
+
+    boolean isTokenExpired(Claims claims);
+    Long extractUserId(Claims claims);
+    Integer extractTokenVersion(Claims claims);
 }
@@ -2,7 +2,10 @@ package ua.kostenko.recollector.app.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ua.kostenko.recollector.app.dto.StatisticDto;
 import ua.kostenko.recollector.app.entity.CategoryItemCount;
 
 import java.util.Optional;
@@ -14,7 +17,8 @@ import java.util.Optional;
  * as well as support for custom queries using JPA Specifications.
  * </p>
  *
- * <p>Custom query methods include finding category item counts by category ID and user ID.</p>
+ * <p>Custom query methods include finding category item counts by category ID and user ID and summing the counts
+ * of all categories of a user.</p>
  */
 @Repository
 public interface CategoryItemCountRepository extends JpaRepository<CategoryItemCount, Long>, JpaSpecificationExecutor<CategoryItemCount> {
@@ -32,4 +36,26 @@ public interface CategoryItemCountRepository extends JpaRepository<CategoryItemC
      * @return An {@link Optional} containing the found {@link CategoryItemCount}, or an empty {@link Optional} if not found.
      */
     Optional<CategoryItemCount> findByCategoryIdAndUserId(Long categoryId, Long userId);
+
+    /**
+     * Calculates the statistics of a user with a single query over the maintained item counters of the categories.
+     * <p>
+     * The cost depends on the number of categories of the user, not on the number of items.
+     * </p>
+     *
+     * @param userId The ID of the user.
+     *
+     * @return The number of categories and the number of items in total and by status.
+     */
+    @Query("""
+            SELECT new ua.kostenko.recollector.app.dto.StatisticDto(
+                COUNT(c),
+                COALESCE(SUM(c.countTodoLater + c.countInProgress + c.countFinished), 0L),
+                COALESCE(SUM(c.countTodoLater), 0L),
+                COALESCE(SUM(c.countInProgress), 0L),
+                COALESCE(SUM(c.countFinished), 0L))
+            FROM CategoryItemCount c
+            WHERE c.userId = :userId
+            """)
+    StatisticDto getStatisticsByUserId(@Param("userId") Long userId);
 }
@@ -2,29 +2,48 @@ package ua.kostenko.recollector.app.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.kostenko.recollector.app.entity.Category;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Repository interface for {@link Category} entity.
  * Provides methods for database operations related to categories.
  * Extends {@link JpaRepository} for basic CRUD operations and {@link JpaSpecificationExecutor} for complex queries.
+ * The query methods do not return deleted categories, which are kept until the deletion job purges them.
  */
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSpecificationExecutor<Category> {
 
     /**
      * Finds a category by its ID and the user ID associated with it.
+     * <p>
+     * The category is loaded by its ID and checked afterwards, so with the second-level cache enabled it is read
+     * from the cache.
+     * </p>
      *
      * @param categoryId the ID of the category.
      * @param userId     the ID of the user.
      *
-     * @return an {@link Optional} containing the found category, or empty if not found.
+     * @return an {@link Optional} containing the found category, or empty if not found, deleted or owned by
+     * another user.
      */
-    Optional<Category> findByCategoryIdAndUser_UserId(Long categoryId, Long userId);
+    default Optional<Category> findByCategoryIdAndUser_UserId(Long categoryId, Long userId) {
+        if (Objects.isNull(categoryId)) {
+            return Optional.empty();
+        }
+        return findById(categoryId).filter(category -> Objects.isNull(category.getDeletedAt()))
+                                   .filter(category -> category.getUser().getUserId().equals(userId));
+    }
 
     /**
      * Retrieves all categories associated with a specific user.
@@ -33,7 +52,23 @@ public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSp
      *
      * @return a list of {@link Category} objects associated with the user.
      */
-    List<Category> findAllByUser_UserId(Long userId);
+    @Query("SELECT c FROM Category c WHERE c.user.userId = :userId AND c.deletedAt IS NULL")
+    List<Category> findAllByUser_UserId(@Param("userId") Long userId);
+
+    /**
+     * Finds the categories with the given IDs that are associated with a specific user.
+     *
+     * @param userId      the ID of the user.
+     * @param categoryIds the IDs of the categories.
+     *
+     * @return a list of the found {@link Category} objects, categories of other users are not included.
+     */
+    @Query("""
+            SELECT c FROM Category c
+            WHERE c.user.userId = :userId AND c.categoryId IN :categoryIds AND c.deletedAt IS NULL
+            """)
+    List<Category> findAllByUser_UserIdAndCategoryIdIn(@Param("userId") Long userId,
+                                                       @Param("categoryIds") Collection<Long> categoryIds);
 
     /**
      * Counts the number of categories associated with a specific user.
@@ -42,7 +77,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSp
      *
      * @return the number of categories associated with the user.
      */
-    Long countByUser_UserId(Long userId);
+    @Query("SELECT COUNT(c) FROM Category c WHERE c.user.userId = :userId AND c.deletedAt IS NULL")
+    Long countByUser_UserId(@Param("userId") Long userId);
 
     /**
      * Checks if a category with a given name exists for a specific user.
@@ -52,6 +88,28 @@ public interface CategoryRepository extends JpaRepository<Category, Long>, JpaSp
      *
      * @return {@code true} if a category with the given name exists for the user, {@code false} otherwise.
      */
-    boolean existsByCategoryNameAndUser_UserId(String categoryName, Long userId);
+    @Query("""
+            SELECT COUNT(c) > 0 FROM Category c
+            WHERE c.categoryName = :categoryName AND c.user.userId = :userId AND c.deletedAt IS NULL
+            """)
+    boolean existsByCategoryNameAndUser_UserId(@Param("categoryName") String categoryName,
+                                               @Param("userId") Long userId);
 
+    /**
+     * Marks a category as deleted, which hides it from all reads until it is purged.
+     *
+     * @param categoryId the ID of the category.
+     * @param userId     the ID of the user owning the category.
+     * @param deletedAt  the deletion timestamp.
+     *
+     * @return the number of marked categories, {@code 0} if the category is not found or already deleted.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Category c SET c.deletedAt = :deletedAt
+            WHERE c.categoryId = :categoryId AND c.user.userId = :userId AND c.deletedAt IS NULL
+            """)
+    int markDeleted(@Param("categoryId") Long categoryId, @Param("userId") Long userId,
+                    @Param("deletedAt") LocalDateTime deletedAt);
 }
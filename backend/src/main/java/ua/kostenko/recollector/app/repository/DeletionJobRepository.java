@@ -0,0 +1,28 @@
+package ua.kostenko.recollector.app.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ua.kostenko.recollector.app.entity.DeletionJob;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for the {@link DeletionJob} entity.
+ * Provides methods for creating deletion jobs and reading their progress.
+ *
+ * <p>The rows are purged and the progress is updated with plain SQL by
+ * {@link ua.kostenko.recollector.app.service.DeletionPurgeService}.</p>
+ */
+@Repository
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, Long> {
+
+    /**
+     * Finds a deletion job of a user.
+     *
+     * @param jobId  the ID of the job.
+     * @param userId the ID of the user who created the job.
+     *
+     * @return an {@link Optional} containing the found job, or empty if not found for the user.
+     */
+    Optional<DeletionJob> findByJobIdAndUserId(Long jobId, Long userId);
+}
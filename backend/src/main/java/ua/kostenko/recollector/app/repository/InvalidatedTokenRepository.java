@@ -1,11 +1,15 @@
 package ua.kostenko.recollector.app.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.kostenko.recollector.app.entity.InvalidatedToken;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 /**
  * Repository interface for managing {@link InvalidatedToken} entities.
@@ -14,32 +18,68 @@ import java.util.Optional;
  * for {@link InvalidatedToken} entities.
  * </p>
  *
- * <p>Custom query methods include searching tokens by user ID and token, and deleting expired tokens.</p>
+ * <p>Custom query methods include searching tokens by user ID and token digest, and deleting expired tokens in batches.</p>
  */
 @Repository
 public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, Long> {
 
     /**
-     * Finds an {@link InvalidatedToken} entity by user ID and token.
-     * <p>
-     * The method returns an {@link Optional} containing the {@link InvalidatedToken} if found, or an empty
-     * {@link Optional} if no matching entity is found.
-     * </p>
+     * Checks whether a token with the given digest has been invalidated for the user.
      *
-     * @param userId The ID of the user associated with the token.
-     * @param token  The token string to search for.
+     * @param userId      The ID of the user associated with the token.
+     * @param tokenDigest The SHA-256 digest of the token.
      *
-     * @return An {@link Optional} containing the found {@link InvalidatedToken}, or an empty {@link Optional} if not found.
+     * @return {@code true} if the token has been invalidated, {@code false} otherwise.
      */
-    Optional<InvalidatedToken> findByUser_UserIdAndToken(Long userId, String token);
+    boolean existsByUser_UserIdAndTokenDigest(Long userId, byte[] tokenDigest);
 
     /**
-     * Deletes {@link InvalidatedToken} entities that have expired.
+     * Finds all {@link InvalidatedToken} entities that have not expired yet.
+     *
+     * @param now The current timestamp to compare against the token expiry times.
+     *
+     * @return A list of tokens whose expiry timestamp is after the specified time.
+     */
+    List<InvalidatedToken> findAllByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Finds all {@link InvalidatedToken} entities invalidated after the specified time.
+     *
+     * @param since The timestamp to compare against the token invalidation times.
+     *
+     * @return A list of tokens invalidated after the specified time.
+     */
+    List<InvalidatedToken> findAllByInvalidatedAtAfter(LocalDateTime since);
+
+    /**
+     * Counts {@link InvalidatedToken} entities that have expired.
+     *
+     * @param now The current timestamp to compare against the token expiry times.
+     *
+     * @return The number of tokens whose expiry timestamp is before the specified time.
+     */
+    long countByExpiresAtBefore(LocalDateTime now);
+
+    /**
+     * Deletes a bounded batch of {@link InvalidatedToken} entities that have expired.
      * <p>
-     * This method removes tokens from the database where the expiry timestamp is before the specified time.
+     * Each call runs in its own short transaction, so row locks are held only for the rows of one batch.
      * </p>
      *
-     * @param now The current timestamp to compare against the token expiry times.
+     * @param now       The current timestamp to compare against the token expiry times.
+     * @param batchSize The maximum number of tokens to delete.
+     *
+     * @return The number of deleted tokens.
      */
-    void deleteByExpiresAtBefore(LocalDateTime now);
+    @Transactional
+    @Modifying
+    @Query(value = """
+            DELETE FROM recollector.invalidated_tokens
+            WHERE token_id IN (SELECT token_id
+                               FROM recollector.invalidated_tokens
+                               WHERE expires_at < :now
+                               ORDER BY expires_at
+                               LIMIT :batchSize)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,73 @@
+package ua.kostenko.recollector.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.kostenko.recollector.app.dto.ExportRow;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Repository reading the whole library of a user for the export.
+ * <p>
+ * The rows are read with a forward-only cursor in chunks of {@code recollector.app.export.fetch-size} rows
+ * and handed to the consumer one by one, so the memory used does not depend on the size of the library.
+ * PostgreSQL only reads with a cursor inside a transaction, so the caller has to open one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemExportRepository {
+
+    private static final String EXPORT_SQL = """
+            SELECT c.category_id, c.category_name, i.item_id, i.item_name, i.item_status, i.item_notes,
+                   i.created_at, i.updated_at
+            FROM recollector.categories c
+                     LEFT JOIN recollector.items i ON i.category_id = c.category_id
+            WHERE c.user_id = ?
+              AND c.deleted_at IS NULL
+            ORDER BY c.category_id, i.item_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${recollector.app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Reads the categories and items of a user, ordered by category ID and item ID.
+     *
+     * @param userId   the ID of the user whose library is read
+     * @param consumer receives the rows in order
+     *
+     * @return the number of rows read
+     */
+    public long streamLibrary(Long userId, Consumer<ExportRow> consumer) {
+        long[] rows = {0};
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                                                        ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, userId);
+            return statement;
+        }, rs -> {
+            consumer.accept(mapRow(rs));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static ExportRow mapRow(ResultSet rs) throws SQLException {
+        return new ExportRow(rs.getLong("category_id"),
+                             rs.getString("category_name"),
+                             rs.getObject("item_id", Long.class),
+                             rs.getString("item_name"),
+                             rs.getString("item_status"),
+                             rs.getString("item_notes"),
+                             rs.getObject("created_at", LocalDateTime.class),
+                             rs.getObject("updated_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,221 @@
+package ua.kostenko.recollector.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.kostenko.recollector.app.dto.ImportErrorDto;
+import ua.kostenko.recollector.app.dto.ImportRow;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Repository for the bulk import of categories and items.
+ * <p>
+ * The rows of an import file are streamed with {@code COPY} into a temporary staging table and merged from there
+ * into the {@code categories} and {@code items} tables with a few set-based statements. The staging table lives
+ * until the end of the transaction, so all methods have to be called in the same transaction, starting with
+ * {@link #createStagingTable()}.
+ * <p>
+ * Rows that cannot be merged are marked with the reason in the staging table and read with
+ * {@link #findRejectedRows(int)} before the transaction ends.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemImportRepository {
+
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMPORARY TABLE import_rows (
+                source_row    bigint       NOT NULL,
+                category_name varchar(255) NOT NULL,
+                item_name     varchar(255),
+                item_status   varchar(50),
+                item_notes    text,
+                reject_reason text
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_SQL = """
+            COPY import_rows (source_row, category_name, item_name, item_status, item_notes) FROM STDIN (FORMAT csv)
+            """;
+
+    private static final String INSERT_CATEGORIES_SQL = """
+            INSERT INTO recollector.categories (user_id, category_name)
+            SELECT ?, n.category_name
+            FROM (SELECT DISTINCT category_name FROM import_rows) n
+            ON CONFLICT (category_name, user_id) WHERE deleted_at IS NULL DO NOTHING
+            """;
+
+    private static final String MARK_DUPLICATES_SQL = """
+            UPDATE import_rows r
+            SET reject_reason = 'Duplicate item in the import file'
+            FROM (SELECT source_row,
+                         row_number() OVER (PARTITION BY category_name, item_name ORDER BY source_row) AS occurrence
+                  FROM import_rows
+                  WHERE item_name IS NOT NULL) d
+            WHERE r.source_row = d.source_row
+              AND d.occurrence > 1
+            """;
+
+    private static final String MARK_EXISTING_SQL = """
+            UPDATE import_rows r
+            SET reject_reason = 'Item already exists in the category'
+            FROM recollector.categories c
+                     JOIN recollector.items i ON i.category_id = c.category_id
+            WHERE c.user_id = ?
+              AND c.deleted_at IS NULL
+              AND c.category_name = r.category_name
+              AND i.item_name = r.item_name
+              AND r.reject_reason IS NULL
+            """;
+
+    private static final String INSERT_ITEMS_SQL = """
+            INSERT INTO recollector.items (category_id, item_name, item_status, item_notes)
+            SELECT c.category_id, r.item_name, r.item_status, r.item_notes
+            FROM import_rows r
+                     JOIN recollector.categories c ON c.user_id = ? AND c.category_name = r.category_name
+            WHERE c.deleted_at IS NULL
+              AND r.item_name IS NOT NULL
+              AND r.reject_reason IS NULL
+            ORDER BY r.source_row
+            ON CONFLICT (item_name, category_id) DO NOTHING
+            """;
+
+    private static final String COUNT_REJECTED_SQL = """
+            SELECT count(*) FROM import_rows WHERE reject_reason IS NOT NULL
+            """;
+
+    private static final String FIND_REJECTED_SQL = """
+            SELECT source_row, reject_reason
+            FROM import_rows
+            WHERE reject_reason IS NOT NULL
+            ORDER BY source_row
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the staging table of the current transaction.
+     */
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+    }
+
+    /**
+     * Copies the rows into the staging table. The rows are sent in chunks while they are read from the iterator.
+     * The rows must have been validated, a row that violates the staging table columns fails the whole copy.
+     *
+     * @param rows the valid rows of the import file
+     *
+     * @return the number of rows copied
+     */
+    public long copyRows(Iterator<ImportRow> rows) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                long count = 0;
+                var buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+                while (rows.hasNext()) {
+                    appendCsvLine(buffer, rows.next());
+                    count++;
+                    if (buffer.length() >= COPY_BUFFER_CHARS) {
+                        write(copyIn, buffer);
+                    }
+                }
+                write(copyIn, buffer);
+                copyIn.endCopy();
+                return count;
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        // Temporary tables are not analyzed automatically, the merge plans need the row counts
+        jdbcTemplate.execute("ANALYZE import_rows");
+        return Objects.requireNonNullElse(copied, 0L);
+    }
+
+    /**
+     * Creates the categories of the staged rows the user does not have yet.
+     *
+     * @param userId the ID of the user importing the rows
+     *
+     * @return the number of categories created
+     */
+    public int insertCategories(Long userId) {
+        return jdbcTemplate.update(INSERT_CATEGORIES_SQL, userId);
+    }
+
+    /**
+     * Rejects the staged items that repeat an item of an earlier row or that already exist, and creates the rest.
+     * Items created concurrently by another transaction are skipped without being reported.
+     *
+     * @param userId the ID of the user importing the rows
+     *
+     * @return the number of items created
+     */
+    public int insertItems(Long userId) {
+        jdbcTemplate.update(MARK_DUPLICATES_SQL);
+        jdbcTemplate.update(MARK_EXISTING_SQL, userId);
+        return jdbcTemplate.update(INSERT_ITEMS_SQL, userId);
+    }
+
+    /**
+     * Counts the staged rows rejected by {@link #insertItems(Long)}.
+     *
+     * @return the number of rejected rows
+     */
+    public long countRejectedRows() {
+        Long count = jdbcTemplate.queryForObject(COUNT_REJECTED_SQL, Long.class);
+        return Objects.requireNonNullElse(count, 0L);
+    }
+
+    /**
+     * Reads the first staged rows rejected by {@link #insertItems(Long)}.
+     *
+     * @param limit the maximum number of rows
+     *
+     * @return the rejected rows with the reason, ordered by row number
+     */
+    public List<ImportErrorDto> findRejectedRows(int limit) {
+        return jdbcTemplate.query(FIND_REJECTED_SQL,
+                                  (rs, rowNum) -> new ImportErrorDto(rs.getLong("source_row"),
+                                                                     rs.getString("reject_reason")),
+                                  limit);
+    }
+
+    private static void appendCsvLine(StringBuilder buffer, ImportRow row) {
+        buffer.append(row.row()).append(',');
+        appendCsvValue(buffer, row.categoryName());
+        buffer.append(',');
+        appendCsvValue(buffer, row.itemName());
+        buffer.append(',');
+        appendCsvValue(buffer, row.itemStatus());
+        buffer.append(',');
+        appendCsvValue(buffer, row.itemNotes());
+        buffer.append('\n');
+    }
+
+    private static void appendCsvValue(StringBuilder buffer, String value) {
+        // COPY reads an unquoted empty value as NULL and a quoted one as an empty string
+        if (Objects.nonNull(value)) {
+            buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
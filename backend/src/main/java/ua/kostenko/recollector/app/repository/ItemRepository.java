@@ -2,11 +2,14 @@ package ua.kostenko.recollector.app.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.kostenko.recollector.app.entity.Item;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +17,11 @@ import java.util.Optional;
  * Repository interface for {@link Item} entity.
  * Provides methods for database operations related to items.
  * Extends {@link JpaRepository} for basic CRUD operations and {@link JpaSpecificationExecutor} for complex queries.
+ * Item summaries for list views are read through {@link ItemSummaryRepository}.
+ * The queries scoped to a user do not return items of deleted categories.
  */
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item> {
+public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item>, ItemSummaryRepository {
 
     /**
      * Finds all items by the category ID they belong to.
@@ -27,6 +32,16 @@ public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificat
      */
     List<Item> findAllByCategory_CategoryId(Long categoryId);
 
+    /**
+     * Finds the items with the given IDs in a category.
+     *
+     * @param categoryId the ID of the category.
+     * @param itemIds    the IDs of the items.
+     *
+     * @return a list of the found {@link Item} objects, items of other categories are not included.
+     */
+    List<Item> findAllByCategory_CategoryIdAndItemIdIn(Long categoryId, Collection<Long> itemIds);
+
     /**
      * Finds an item by its ID and the category ID it belongs to.
      *
@@ -38,14 +53,46 @@ public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificat
     Optional<Item> findByItemIdAndCategory_CategoryId(Long itemId, Long categoryId);
 
     /**
-     * Checks if an item with the given name exists in a specific category.
+     * Finds an item by its ID in a category owned by the given user.
+     * The category and its user are fetched in the same statement.
+     *
+     * @param itemId     the ID of the item.
+     * @param categoryId the ID of the category.
+     * @param userId     the ID of the user owning the category.
+     *
+     * @return an {@link Optional} containing the found item, or empty if the item is not found in a category of the user.
+     */
+    @Query("""
+            SELECT i FROM Item i
+            JOIN FETCH i.category c
+            JOIN FETCH c.user u
+            WHERE i.itemId = :itemId AND c.categoryId = :categoryId AND u.userId = :userId AND c.deletedAt IS NULL
+            """)
+    Optional<Item> findOwnedItem(@Param("itemId") Long itemId, @Param("categoryId") Long categoryId,
+                                 @Param("userId") Long userId);
+
+    /**
+     * Deletes an item by its ID if it belongs to a category owned by the given user.
      *
-     * @param itemName   the name of the item.
+     * @param itemId     the ID of the item.
      * @param categoryId the ID of the category.
+     * @param userId     the ID of the user owning the category.
      *
-     * @return {@code true} if an item with the given name exists in the category, {@code false} otherwise.
+     * @return the number of deleted items, {@code 0} if the item is not found in a category of the user.
      */
-    boolean existsByItemNameAndCategory_CategoryId(String itemName, Long categoryId);
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM Item i
+            WHERE i.itemId = :itemId
+              AND i.category.categoryId IN (SELECT c.categoryId
+                                            FROM Category c
+                                            WHERE c.categoryId = :categoryId
+                                              AND c.user.userId = :userId
+                                              AND c.deletedAt IS NULL)
+            """)
+    int deleteOwnedItem(@Param("itemId") Long itemId, @Param("categoryId") Long categoryId,
+                        @Param("userId") Long userId);
 
     /**
      * Counts the number of items in a specific category with a given status.
@@ -65,7 +112,7 @@ public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificat
      *
      * @return the total count of items associated with the user.
      */
-    @Query("SELECT COUNT(i) FROM Item i WHERE i.category.user.userId = :userId")
+    @Query("SELECT COUNT(i) FROM Item i WHERE i.category.user.userId = :userId AND i.category.deletedAt IS NULL")
     Long countAllItemsByUserId(@Param("userId") Long userId);
 
     /**
@@ -76,7 +123,10 @@ public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificat
      *
      * @return the count of items with the given status associated with the user.
      */
-    @Query("SELECT COUNT(i) FROM Item i WHERE i.category.user.userId = :userId AND i.itemStatus = :status")
+    @Query("""
+            SELECT COUNT(i) FROM Item i
+            WHERE i.category.user.userId = :userId AND i.category.deletedAt IS NULL AND i.itemStatus = :status
+            """)
     Long countAllItemsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") String status);
 
 }
@@ -0,0 +1,94 @@
+package ua.kostenko.recollector.app.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Repository for the full-text search of items over the generated {@code items.search_vector} column.
+ * <p>
+ * The query is native SQL, because the text search functions and the generated column are not part of the
+ * {@link ua.kostenko.recollector.app.entity.Item} mapping. Matches are found with the GIN index on
+ * {@code search_vector}, restricted to the categories of one user and ordered by rank and item ID, which is
+ * also the keyset the pages are read by. Highlights are only built for the rows of the returned page, since
+ * {@code ts_headline} re-parses the original text.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemSearchRepository {
+
+    private static final String SEARCH_SQL = """
+            WITH search AS (SELECT websearch_to_tsquery('simple', :query) AS query),
+                 hits AS (SELECT i.item_id, i.category_id, c.category_name, i.item_name, i.item_status, i.item_notes,
+                                 ts_rank(i.search_vector, s.query) AS search_rank
+                          FROM recollector.items i
+                                   JOIN recollector.categories c ON c.category_id = i.category_id
+                                   CROSS JOIN search s
+                          WHERE c.user_id = :userId
+                            AND c.deleted_at IS NULL
+                            AND i.search_vector @@ s.query
+                            %s
+                          ORDER BY search_rank DESC, i.item_id DESC
+                          LIMIT :limit)
+            SELECT h.item_id, h.category_id, h.category_name, h.item_name, h.item_status, h.search_rank,
+                   ts_headline('simple', h.item_name, s.query, 'HighlightAll=true') AS item_name_highlight,
+                   ts_headline('simple', h.item_notes, s.query, 'MaxFragments=2, MaxWords=20, MinWords=5')
+                       AS item_notes_highlight
+            FROM hits h
+                     CROSS JOIN search s
+            ORDER BY h.search_rank DESC, h.item_id DESC
+            """;
+
+    private static final String AFTER_CURSOR_CONDITION = """
+            AND (ts_rank(i.search_vector, s.query), i.item_id) < (CAST(:afterRank AS real), :afterItemId)
+            """;
+
+    private static final RowMapper<SearchResultDto> ROW_MAPPER = ItemSearchRepository::mapRow;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Searches the items of a user, most relevant first.
+     *
+     * @param userId      the ID of the user whose items are searched
+     * @param query       the search query in {@code websearch_to_tsquery} syntax
+     * @param afterRank   the rank of the last result of the previous page, or {@code null} for the first page
+     * @param afterItemId the item ID of the last result of the previous page, or {@code null} for the first page
+     * @param limit       the maximum number of results
+     *
+     * @return the matching items ordered by rank and item ID, both descending
+     */
+    public List<SearchResultDto> search(Long userId, String query, Float afterRank, Long afterItemId, int limit) {
+        var hasCursor = Objects.nonNull(afterRank) && Objects.nonNull(afterItemId);
+        var params = new MapSqlParameterSource().addValue("userId", userId)
+                                                .addValue("query", query)
+                                                .addValue("limit", limit);
+        if (hasCursor) {
+            params.addValue("afterRank", afterRank).addValue("afterItemId", afterItemId);
+        }
+        var sql = SEARCH_SQL.formatted(hasCursor ? AFTER_CURSOR_CONDITION : "");
+        return jdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    private static SearchResultDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return SearchResultDto.builder()
+                              .itemId(rs.getLong("item_id"))
+                              .categoryId(rs.getLong("category_id"))
+                              .categoryName(rs.getString("category_name"))
+                              .itemName(rs.getString("item_name"))
+                              .itemStatus(ItemStatus.valueOf(rs.getString("item_status")))
+                              .rank(rs.getFloat("search_rank"))
+                              .itemNameHighlight(rs.getString("item_name_highlight"))
+                              .itemNotesHighlight(rs.getString("item_notes_highlight"))
+                              .build();
+    }
+}
@@ -0,0 +1,27 @@
+package ua.kostenko.recollector.app.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemSummary;
+
+import java.util.List;
+
+/**
+ * Repository fragment for reading {@link ItemSummary} projections of items matching a specification.
+ * Implemented by {@link ItemSummaryRepositoryImpl} and exposed through {@link ItemRepository}.
+ */
+public interface ItemSummaryRepository {
+
+    /**
+     * Finds the summaries of the items matching the specification.
+     *
+     * @param spec   the specification the items must match.
+     * @param sort   the sorting criteria.
+     * @param offset the number of items to skip.
+     * @param limit  the maximum number of items to return.
+     *
+     * @return a list of {@link ItemSummary} objects.
+     */
+    List<ItemSummary> findSummaries(Specification<Item> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,48 @@
+package ua.kostenko.recollector.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemSummary;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Criteria API implementation of {@link ItemSummaryRepository}.
+ * <p>
+ * The query selects the summary columns with a constructor expression, so the specification filters the rows
+ * while no {@link Item} or category entities are loaded into the persistence context.
+ * </p>
+ */
+public class ItemSummaryRepositoryImpl implements ItemSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ItemSummary> findSummaries(Specification<Item> spec, Sort sort, long offset, int limit) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(ItemSummary.class);
+        var root = query.from(Item.class);
+
+        query.select(cb.construct(ItemSummary.class,
+                                  root.get("itemId"),
+                                  root.get("category").get("categoryId"),
+                                  root.get("itemName"),
+                                  root.get("itemStatus")));
+        var predicate = spec.toPredicate(root, query, cb);
+        if (Objects.nonNull(predicate)) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                            .setFirstResult(Math.toIntExact(offset))
+                            .setMaxResults(limit)
+                            .getResultList();
+    }
+}
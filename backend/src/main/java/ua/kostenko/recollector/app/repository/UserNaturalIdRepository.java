@@ -0,0 +1,32 @@
+package ua.kostenko.recollector.app.repository;
+
+import ua.kostenko.recollector.app.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for looking up {@link User} entities by their natural ID, the email address.
+ * Implemented by {@link UserNaturalIdRepositoryImpl} and exposed through {@link UserRepository}.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Finds a user by their email address.
+     *
+     * @param email the email address of the user.
+     *
+     * @return an {@link Optional} containing the found user, or empty if not found or the account is deleted.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Finds a user by their email address, reading the row from the database instead of the second-level cache.
+     * Used wherever the password hash or the deletion mark is checked or the user is written, because the cache
+     * of another node may still hold the state before a password change or an account deletion.
+     *
+     * @param email the email address of the user.
+     *
+     * @return an {@link Optional} containing the found user, or empty if not found or the account is deleted.
+     */
+    Optional<User> findByEmailBypassingCache(String email);
+}
@@ -0,0 +1,55 @@
+package ua.kostenko.recollector.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ua.kostenko.recollector.app.entity.User;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Natural ID implementation of {@link UserNaturalIdRepository}.
+ * <p>
+ * The user is loaded through the Hibernate natural ID API, so with the second-level cache enabled both the
+ * resolution of the email to the user ID and the user itself are read from the cache. Deleted users are filtered
+ * out after loading, because the natural ID lookup cannot take additional conditions.
+ * </p>
+ * <p>
+ * The lookup for credential checks runs a query with {@link CacheMode#REFRESH}, which always reads the row and
+ * overwrites the cached entry of the user on this node with it.
+ * </p>
+ */
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (Objects.isNull(email)) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                            .bySimpleNaturalId(User.class)
+                            .loadOptional(email)
+                            .filter(user -> Objects.isNull(user.getDeletedAt()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmailBypassingCache(String email) {
+        if (Objects.isNull(email)) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class)
+                            .createSelectionQuery("FROM User u WHERE u.email = :email AND u.deletedAt IS NULL",
+                                                  User.class)
+                            .setParameter("email", email)
+                            .setCacheMode(CacheMode.REFRESH)
+                            .uniqueResultOptional();
+    }
+}
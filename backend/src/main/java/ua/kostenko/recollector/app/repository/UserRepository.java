@@ -1,34 +1,81 @@
 package ua.kostenko.recollector.app.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ua.kostenko.recollector.app.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
  * Repository interface for {@link User} entity.
  * Provides methods for database operations related to users.
- * Extends {@link JpaRepository} for basic CRUD operations.
+ * Extends {@link JpaRepository} for basic CRUD operations and {@link UserNaturalIdRepository} for the lookup by email.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     /**
      * Checks if a user exists with the given email address.
      *
      * @param email the email address to check.
      *
-     * @return {@code true} if a user with the given email exists, {@code false} otherwise.
+     * @return {@code true} if a user with the given email exists, {@code false} otherwise. A deleted account keeps
+     * its email until it is purged.
      */
     boolean existsByEmail(String email);
 
     /**
-     * Finds a user by their email address.
+     * Finds the current token version of a user.
      *
-     * @param email the email address of the user.
+     * @param userId the ID of the user.
      *
-     * @return an {@link Optional} containing the found user, or empty if not found.
+     * @return an {@link Optional} containing the token version, or empty if the user does not exist or is deleted.
      */
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId AND u.deletedAt IS NULL")
+    Optional<Integer> findTokenVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Increments the token version of a user, invalidating all tokens issued with the previous version.
+     *
+     * @param userId the ID of the user.
+     *
+     * @return the number of updated rows.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.userId = :userId")
+    int incrementTokenVersion(@Param("userId") Long userId);
+
+    /**
+     * Replaces the password hash of a user if the stored hash is still the expected one.
+     *
+     * @param userId       the ID of the user.
+     * @param expectedHash the password hash the new hash was computed for.
+     * @param newHash      the new password hash.
+     *
+     * @return the number of updated rows, 0 if the password has been changed in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.userId = :userId AND u.passwordHash = :expectedHash")
+    int updatePasswordHash(@Param("userId") Long userId, @Param("expectedHash") String expectedHash,
+                           @Param("newHash") String newHash);
+
+    /**
+     * Marks a user as deleted, which blocks the login until the account is purged.
+     *
+     * @param userId    the ID of the user.
+     * @param deletedAt the deletion timestamp.
+     *
+     * @return the number of marked users, {@code 0} if the user is not found or already deleted.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.deletedAt = :deletedAt WHERE u.userId = :userId AND u.deletedAt IS NULL")
+    int markDeleted(@Param("userId") Long userId, @Param("deletedAt") LocalDateTime deletedAt);
 }
@@ -0,0 +1,21 @@
+package ua.kostenko.recollector.app.repository;
+
+import ua.kostenko.recollector.app.entity.UserSettings;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for looking up {@link UserSettings} entities by their natural ID, the owning user.
+ * Implemented by {@link UserSettingsNaturalIdRepositoryImpl} and exposed through {@link UserSettingsRepository}.
+ */
+public interface UserSettingsNaturalIdRepository {
+
+    /**
+     * Finds a user's settings by the user's unique ID.
+     *
+     * @param userId the ID of the user.
+     *
+     * @return an {@link Optional} containing the found {@link UserSettings} if present.
+     */
+    Optional<UserSettings> findByUser_UserId(Long userId);
+}
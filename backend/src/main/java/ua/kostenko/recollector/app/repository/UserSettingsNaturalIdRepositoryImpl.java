@@ -0,0 +1,34 @@
+package ua.kostenko.recollector.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.entity.UserSettings;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Natural ID implementation of {@link UserSettingsNaturalIdRepository}.
+ * <p>
+ * The settings are loaded through the Hibernate natural ID API with a reference to the user, so with the
+ * second-level cache enabled neither the user nor the settings are read from the database.
+ * </p>
+ */
+public class UserSettingsNaturalIdRepositoryImpl implements UserSettingsNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserSettings> findByUser_UserId(Long userId) {
+        if (Objects.isNull(userId)) {
+            return Optional.empty();
+        }
+        var session = entityManager.unwrap(Session.class);
+        return session.bySimpleNaturalId(UserSettings.class).loadOptional(session.getReference(User.class, userId));
+    }
+}
@@ -0,0 +1,208 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.kostenko.recollector.app.exception.AuthRateLimitExceededException;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory admission control for the unauthenticated auth endpoints (login, registration, password recovery).
+ * <p>
+ * Every call takes a token from the bucket of the client IP and from the bucket of the email it targets; if
+ * either bucket is empty the call is rejected with {@link AuthRateLimitExceededException} before any password
+ * hashing or database work is done. Buckets are refilled continuously and removed once they are full again,
+ * which is indistinguishable from keeping them, so only recently active keys occupy memory. The number of
+ * buckets per key type is additionally capped by {@code recollector.app.auth.rate-limit.max-buckets}; once the
+ * cap is reached, keys without a bucket share one overflow bucket of the key type with the same limits, so
+ * filling the map with rotating IPs or emails cannot switch the limiting off. A full map is swept for refilled
+ * buckets at most once per {@code recollector.app.auth.rate-limit.full-sweep-interval-ms}, so calls made while
+ * the cap is reached do not scan all buckets each.
+ * <p>
+ * Limits are per application instance.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    private static final String DECISIONS_METRIC = "recollector.auth.rate-limit.decisions";
+    private static final String TOO_MANY_REQUESTS_MESSAGE = "Too many authentication requests, try again later";
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> emailBuckets = new ConcurrentHashMap<>();
+    private final TokenBucket ipOverflowBucket;
+    private final TokenBucket emailOverflowBucket;
+    private final AtomicLong ipLastFullSweep;
+    private final AtomicLong emailLastFullSweep;
+    private final boolean enabled;
+    private final long ipCapacity;
+    private final long ipRefillPerMinute;
+    private final long emailCapacity;
+    private final long emailRefillPerMinute;
+    private final int maxBuckets;
+    private final long fullSweepIntervalNanos;
+    private final Counter admittedCounter;
+    private final Counter ipRejectedCounter;
+    private final Counter emailRejectedCounter;
+    private final Counter overflowCounter;
+
+    /**
+     * Creates the rate limiter and registers its metrics.
+     *
+     * @param meterRegistry        registry for the admitted/rejected/overflow counters and bucket gauges
+     * @param enabled              whether the rate limiting is active
+     * @param ipCapacity           the burst of calls allowed per client IP
+     * @param ipRefillPerMinute    the sustained calls per minute allowed per client IP
+     * @param emailCapacity        the burst of calls allowed per email
+     * @param emailRefillPerMinute the sustained calls per minute allowed per email
+     * @param maxBuckets           the maximum number of buckets per key type
+     * @param fullSweepIntervalMs  the minimum time between two sweeps of a map that reached the maximum size
+     */
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${recollector.app.auth.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${recollector.app.auth.rate-limit.ip.capacity:30}") long ipCapacity,
+                           @Value("${recollector.app.auth.rate-limit.ip.refill-per-minute:30}") long ipRefillPerMinute,
+                           @Value("${recollector.app.auth.rate-limit.email.capacity:5}") long emailCapacity,
+                           @Value("${recollector.app.auth.rate-limit.email.refill-per-minute:5}") long emailRefillPerMinute,
+                           @Value("${recollector.app.auth.rate-limit.max-buckets:100000}") int maxBuckets,
+                           @Value("${recollector.app.auth.rate-limit.full-sweep-interval-ms:1000}") long fullSweepIntervalMs) {
+        this.enabled = enabled;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerMinute = ipRefillPerMinute;
+        this.emailCapacity = emailCapacity;
+        this.emailRefillPerMinute = emailRefillPerMinute;
+        this.maxBuckets = maxBuckets;
+        this.fullSweepIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fullSweepIntervalMs);
+        var createdAt = System.nanoTime();
+        this.ipOverflowBucket = new TokenBucket(ipCapacity, ipRefillPerMinute, createdAt);
+        this.emailOverflowBucket = new TokenBucket(emailCapacity, emailRefillPerMinute, createdAt);
+        this.ipLastFullSweep = new AtomicLong(createdAt - fullSweepIntervalNanos);
+        this.emailLastFullSweep = new AtomicLong(createdAt - fullSweepIntervalNanos);
+
+        this.admittedCounter = Counter.builder(DECISIONS_METRIC)
+                                      .tag("result", "admitted")
+                                      .tag("limit", "none")
+                                      .description("Auth calls admitted or rejected by the rate limiter")
+                                      .register(meterRegistry);
+        this.ipRejectedCounter = Counter.builder(DECISIONS_METRIC)
+                                        .tag("result", "rejected")
+                                        .tag("limit", "ip")
+                                        .description("Auth calls admitted or rejected by the rate limiter")
+                                        .register(meterRegistry);
+        this.emailRejectedCounter = Counter.builder(DECISIONS_METRIC)
+                                           .tag("result", "rejected")
+                                           .tag("limit", "email")
+                                           .description("Auth calls admitted or rejected by the rate limiter")
+                                           .register(meterRegistry);
+        this.overflowCounter = Counter.builder("recollector.auth.rate-limit.overflow")
+                                      .description("Auth calls limited by an overflow bucket")
+                                      .register(meterRegistry);
+        Gauge.builder("recollector.auth.rate-limit.buckets", ipBuckets, Map::size)
+             .tag("limit", "ip")
+             .description("Active rate limit buckets")
+             .register(meterRegistry);
+        Gauge.builder("recollector.auth.rate-limit.buckets", emailBuckets, Map::size)
+             .tag("limit", "email")
+             .description("Active rate limit buckets")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Admits an auth call or rejects it if the client IP or the email exceeded its limit.
+     *
+     * @param clientIp the IP address of the client, may be null
+     * @param email    the email the call targets, may be null
+     *
+     * @throws AuthRateLimitExceededException if the call is rejected
+     */
+    public void acquire(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        var now = System.nanoTime();
+
+        var ipWait = tryConsume(ipBuckets,
+                                ipOverflowBucket,
+                                ipLastFullSweep,
+                                normalize(clientIp),
+                                ipCapacity,
+                                ipRefillPerMinute,
+                                now);
+        if (ipWait > 0) {
+            ipRejectedCounter.increment();
+            log.warn("Auth rate limit exceeded for client IP '{}'", clientIp);
+            throw new AuthRateLimitExceededException(TOO_MANY_REQUESTS_MESSAGE, toRetryAfterSeconds(ipWait));
+        }
+
+        var emailWait = tryConsume(emailBuckets,
+                                   emailOverflowBucket,
+                                   emailLastFullSweep,
+                                   normalize(email),
+                                   emailCapacity,
+                                   emailRefillPerMinute,
+                                   now);
+        if (emailWait > 0) {
+            emailRejectedCounter.increment();
+            log.warn("Auth rate limit exceeded for email '{}'", email);
+            throw new AuthRateLimitExceededException(TOO_MANY_REQUESTS_MESSAGE, toRetryAfterSeconds(emailWait));
+        }
+
+        admittedCounter.increment();
+    }
+
+    /**
+     * Removes buckets that have been refilled completely.
+     */
+    @Scheduled(fixedDelayString = "${recollector.app.auth.rate-limit.eviction-ms:60000}")
+    public void evictIdleBuckets() {
+        var now = System.nanoTime();
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        emailBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Rate limit buckets after eviction: ip={}, email={}", ipBuckets.size(), emailBuckets.size());
+    }
+
+    private long tryConsume(Map<String, TokenBucket> buckets, TokenBucket overflowBucket, AtomicLong lastFullSweep,
+                            String key, long capacity, long refillPerMinute, long now) {
+        if (Objects.isNull(key)) {
+            return 0;
+        }
+        var bucket = buckets.get(key);
+        if (Objects.isNull(bucket)) {
+            if (buckets.size() >= maxBuckets && tryStartFullSweep(lastFullSweep, now)) {
+                buckets.values().removeIf(existing -> existing.isFull(now));
+            }
+            if (buckets.size() >= maxBuckets) {
+                log.warn("Rate limit bucket limit {} reached, call limited by the overflow bucket", maxBuckets);
+                overflowCounter.increment();
+                return overflowBucket.tryConsume(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillPerMinute, now));
+        }
+        return bucket.tryConsume(now);
+    }
+
+    private boolean tryStartFullSweep(AtomicLong lastFullSweep, long now) {
+        var last = lastFullSweep.get();
+        // Only the caller that moves the sweep time forward sweeps
+        return now - last >= fullSweepIntervalNanos && lastFullSweep.compareAndSet(last, now);
+    }
+
+    private String normalize(String key) {
+        return StringUtils.isBlank(key) ? null : key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (long) Math.ceil((double) waitNanos / TimeUnit.SECONDS.toNanos(1)));
+    }
+}
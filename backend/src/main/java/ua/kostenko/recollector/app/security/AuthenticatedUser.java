@@ -0,0 +1,17 @@
+package ua.kostenko.recollector.app.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable principal stored in the security context for an authenticated request.
+ * <p>
+ * It is built once by {@link JwtRequestFilter} from the validated JWT token and passed to controllers and
+ * services instead of the {@link ua.kostenko.recollector.app.entity.User} entity, so that handling a request
+ * does not require additional user queries or loading of the user's entity graph.
+ *
+ * @param userId    the ID of the authenticated user
+ * @param email     the email of the authenticated user
+ * @param issuedAt  the time the JWT token was issued
+ * @param expiresAt the time the JWT token expires
+ */
+public record AuthenticatedUser(Long userId, String email, Instant issuedAt, Instant expiresAt) {}
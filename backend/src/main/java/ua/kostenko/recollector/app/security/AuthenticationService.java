@@ -1,6 +1,5 @@
 package ua.kostenko.recollector.app.security;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +8,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.kostenko.recollector.app.dto.UserDto;
 import ua.kostenko.recollector.app.dto.auth.*;
 import ua.kostenko.recollector.app.entity.InvalidatedToken;
@@ -17,6 +18,9 @@ import ua.kostenko.recollector.app.entity.UserSettings;
 import ua.kostenko.recollector.app.exception.*;
 import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
 import ua.kostenko.recollector.app.repository.UserRepository;
+import ua.kostenko.recollector.app.service.DeletionJobService;
+import ua.kostenko.recollector.app.service.UserSettingsCache;
+import ua.kostenko.recollector.app.util.TokenDigestUtils;
 import ua.kostenko.recollector.app.util.UserUtils;
 
 import java.time.Instant;
@@ -24,16 +28,20 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
  * AuthenticationService handles user authentication, registration, login, and password management,
  * including password reset and forgot password functionality. It integrates with Spring Security.
+ * <p>
+ * Changes spanning several statements run in one read-write transaction, single reads run in the read-only
+ * transaction of the repository. Passwords are hashed outside of any transaction, so no connection is held
+ * while the deliberately slow hashing runs; the user is read again inside the transaction that stores the hash.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class AuthenticationService {
 
     private final UserUtils userUtils;
@@ -41,6 +49,13 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final InvalidatedTokenRepository tokenRepository;
+    private final TokenRevocationIndex tokenRevocationIndex;
+    private final TokenVersionService tokenVersionService;
+    private final PasswordUpgradeService passwordUpgradeService;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final DeletionJobService deletionJobService;
+    private final UserSettingsCache userSettingsCache;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${recollector.app.jwt.secret.exp}")
     private Integer jwtExpMinutes;
@@ -48,6 +63,42 @@ public class AuthenticationService {
     @Value("${recollector.app.jwt.refresh.exp}")
     private Integer jwtRefreshExpHours;
 
+    /**
+     * Creates the service.
+     *
+     * @param userUtils              utility validating the request data
+     * @param jwtUtil                utility creating and parsing the JWT tokens
+     * @param passwordEncoder        encoder hashing and verifying the passwords
+     * @param userRepository         repository of the users
+     * @param tokenRepository        repository of the invalidated tokens
+     * @param tokenRevocationIndex   in-memory index of the revoked tokens
+     * @param tokenVersionService    service revoking all tokens of a user
+     * @param passwordUpgradeService service upgrading outdated password hashes after login
+     * @param lastLoginRecorder      recorder of the last login times
+     * @param deletionJobService     service scheduling the deletion of accounts
+     * @param userSettingsCache      cache of the user settings, evicted after the account is deleted
+     * @param transactionManager     manager of the read-write transactions
+     */
+    public AuthenticationService(UserUtils userUtils, JwtHelperUtil jwtUtil, PasswordEncoder passwordEncoder,
+                                 UserRepository userRepository, InvalidatedTokenRepository tokenRepository,
+                                 TokenRevocationIndex tokenRevocationIndex, TokenVersionService tokenVersionService,
+                                 PasswordUpgradeService passwordUpgradeService, LastLoginRecorder lastLoginRecorder,
+                                 DeletionJobService deletionJobService, UserSettingsCache userSettingsCache,
+                                 PlatformTransactionManager transactionManager) {
+        this.userUtils = userUtils;
+        this.jwtUtil = jwtUtil;
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.tokenRepository = tokenRepository;
+        this.tokenRevocationIndex = tokenRevocationIndex;
+        this.tokenVersionService = tokenVersionService;
+        this.passwordUpgradeService = passwordUpgradeService;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.deletionJobService = deletionJobService;
+        this.userSettingsCache = userSettingsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /**
      * Authenticates a user by email and password and returns a JWT token pair.
      *
@@ -64,11 +115,12 @@ public class AuthenticationService {
         validateEmail(email);
         validatePassword(password);
 
-        User user = findUserByEmail(email);
+        User user = findUserForCredentialCheck(email);
         verifyPasswordWithDbHash(password, user);
 
-        var tokensDto = jwtUtil.generateJwtTokensPair(email);
+        var tokensDto = jwtUtil.generateJwtTokensPair(TokenSubject.of(user));
         updateLastLogin(user);
+        passwordUpgradeService.upgradeIfNeeded(user, password);
         log.info("User '{}' logged in successfully", email);
         return JwtUserDetail.builder().userEmail(email).tokensDto(tokensDto).build();
     }
@@ -100,7 +152,7 @@ public class AuthenticationService {
         UserSettings settings = createDefaultUserSettings(newUser);
         newUser.setSettings(settings);
 
-        return saveUserAndReturnDto(newUser, "User Registration");
+        return transactionTemplate.execute(status -> saveUserAndReturnDto(newUser, "User Registration"));
     }
 
     /**
@@ -121,16 +173,26 @@ public class AuthenticationService {
         }
 
         var user = findUserByEmail(userEmail);
-        var invalidatedToken = tokenRepository.findByUser_UserIdAndToken(user.getUserId(), refreshToken);
+        var isInvalidated = tokenRepository.existsByUser_UserIdAndTokenDigest(user.getUserId(),
+                                                                              TokenDigestUtils.sha256(refreshToken));
 
-        if (invalidatedToken.isPresent()) {
+        if (isInvalidated) {
             logoutUser(userEmail, mainToken, refreshToken);
             throw new UserLoginException("Refresh token expired");
         }
 
-        invalidateMainToken(user, mainToken);
+        // A token issued before the version claim was introduced counts as the initial version
+        var refreshClaims = jwtUtil.extractClaimsFromRefreshJwtToken(refreshToken);
+        var refreshTokenVersion = Objects.requireNonNullElse(jwtUtil.extractTokenVersion(refreshClaims),
+                                                             TokenVersionService.LEGACY_TOKEN_VERSION);
+        if (!tokenVersionService.isCurrent(user.getUserId(), refreshTokenVersion)) {
+            log.warn("Refresh token version is outdated for user '{}'", userEmail);
+            throw new UserLoginException("Refresh token expired");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> invalidateMainToken(user, mainToken));
 
-        String newToken = jwtUtil.generateMainJwt(userEmail, Date.from(Instant.now()));
+        String newToken = jwtUtil.generateMainJwt(TokenSubject.of(user), Date.from(Instant.now()));
         return UserDto.builder().email(userEmail).jwtToken(newToken).build();
     }
 
@@ -146,14 +208,32 @@ public class AuthenticationService {
     public String logoutUser(String email, String mainToken, String refreshToken) {
         validateEmail(email);
         User user = findUserByEmail(email);
-        invalidateMainToken(user, mainToken);
-        invalidateRefreshToken(user, refreshToken);
+        transactionTemplate.executeWithoutResult(status -> {
+            invalidateMainToken(user, mainToken);
+            invalidateRefreshToken(user, refreshToken);
+        });
         log.info("User '{}' logged out successfully", email);
         return "Logout successful";
     }
 
+    /**
+     * Logs out the authenticated user from all sessions by incrementing the user's token version,
+     * which invalidates every access and refresh token issued before.
+     *
+     * @return a success message
+     *
+     * @throws UserNotAuthenticatedException if no user is authenticated
+     */
+    public String logoutAllSessions() {
+        var user = getUserFromAuthContext();
+        tokenVersionService.revokeAllTokens(user.userId());
+        log.info("User '{}' logged out from all sessions", user.email());
+        return "Logout from all sessions successful";
+    }
+
     /**
      * Changes the password for a user.
+     * The new hash and the incremented token version are stored in one transaction.
      *
      * @param requestDto   the change password request data
      * @param mainToken    the main JWT token
@@ -166,15 +246,23 @@ public class AuthenticationService {
     public UserDto changePassword(ChangePasswordRequestDto requestDto, String mainToken, String refreshToken) {
         userUtils.validateChangePasswordRequestDto(requestDto);
 
-        User user = findUserByEmail(requestDto.getEmail());
+        User user = findUserForCredentialCheck(requestDto.getEmail());
         verifyPasswordWithDbHash(requestDto.getPasswordCurrent(), user);
         validatePasswordAlreadyInUse(requestDto.getPassword(), user);
-
-        user.setPasswordHash(passwordEncoder.encode(requestDto.getPassword()));
-        invalidateMainToken(user, mainToken);
-        invalidateRefreshToken(user, refreshToken);
-
-        return saveUserAndReturnDto(user, "password changed");
+        var passwordHash = passwordEncoder.encode(requestDto.getPassword());
+
+        var userDto = transactionTemplate.execute(status -> {
+            User userToUpdate = findUserForCredentialCheck(requestDto.getEmail());
+            userToUpdate.setPasswordHash(passwordHash);
+            invalidateMainToken(userToUpdate, mainToken);
+            invalidateRefreshToken(userToUpdate, refreshToken);
+            var savedUserDto = saveUserAndReturnDto(userToUpdate, "password changed");
+            // Same transaction as the new hash, so old tokens cannot outlive the password change
+            userRepository.incrementTokenVersion(userToUpdate.getUserId());
+            return savedUserDto;
+        });
+        tokenVersionService.evict(user.getUserId());
+        return userDto;
     }
 
     /**
@@ -184,9 +272,11 @@ public class AuthenticationService {
      */
     public void forgotPassword(ForgotPasswordRequestDto requestDto) {
         try {
-            User user = findUserByEmail(requestDto.getEmail());
-            checkResetTokenAvailability(user);
-            generateAndSaveResetToken(user);
+            transactionTemplate.executeWithoutResult(status -> {
+                User user = findUserForCredentialCheck(requestDto.getEmail());
+                checkResetTokenAvailability(user);
+                generateAndSaveResetToken(user);
+            });
             log.info("Password reset token generated for email '{}'", requestDto.getEmail());
         } catch (Exception ex) {
             log.warn("Password recovery attempt failed for email '{}'", requestDto.getEmail(), ex);
@@ -195,6 +285,7 @@ public class AuthenticationService {
 
     /**
      * Resets the user's password using the provided reset token.
+     * The new hash and the incremented token version are stored in one transaction.
      *
      * @param resetRequest the reset password request data
      *
@@ -204,18 +295,28 @@ public class AuthenticationService {
      */
     public UserDto resetPassword(ResetPasswordRequestDto resetRequest) {
         userUtils.validateResetPasswordRequestDto(resetRequest);
-        User user = findUserByEmail(resetRequest.getEmail());
+        User user = findUserForCredentialCheck(resetRequest.getEmail());
         validateResetToken(user, resetRequest);
         validatePasswordAlreadyInUse(resetRequest.getPassword(), user);
-
-        user.setPasswordHash(passwordEncoder.encode(resetRequest.getPassword()));
-        clearResetToken(user);
-
-        return saveUserAndReturnDto(user, "password reset");
+        var passwordHash = passwordEncoder.encode(resetRequest.getPassword());
+
+        var userDto = transactionTemplate.execute(status -> {
+            User userToUpdate = findUserForCredentialCheck(resetRequest.getEmail());
+            // The token may have been used or replaced while the password was hashed
+            validateResetToken(userToUpdate, resetRequest);
+            userToUpdate.setPasswordHash(passwordHash);
+            clearResetToken(userToUpdate);
+            var savedUserDto = saveUserAndReturnDto(userToUpdate, "password reset");
+            userRepository.incrementTokenVersion(userToUpdate.getUserId());
+            return savedUserDto;
+        });
+        tokenVersionService.evict(user.getUserId());
+        return userDto;
     }
 
     /**
      * Deletes a user account.
+     * The account cannot be used from now on, its data is purged by a background deletion job.
      *
      * @param requestDto the account delete request data
      *
@@ -226,30 +327,46 @@ public class AuthenticationService {
     public String deleteAccount(AccountDeleteRequestDto requestDto) {
         userUtils.validateAccountDeleteRequestDto(requestDto);
 
-        User user = findUserByEmail(requestDto.getEmail());
+        User user = findUserForCredentialCheck(requestDto.getEmail());
         verifyPasswordWithDbHash(requestDto.getPassword(), user);
 
-        userRepository.delete(user);
+        deletionJobService.scheduleAccountDeletion(user.getUserId());
+        tokenVersionService.evict(user.getUserId());
+        userSettingsCache.evict(user.getUserId());
         log.info("Account '{}' deleted successfully", requestDto.getEmail());
         return "Successfully deleted account '" + requestDto.getEmail() + "'";
     }
 
     /**
-     * Retrieves the user from the authentication context.
+     * Retrieves the authenticated principal from the authentication context.
+     * The principal is built by {@link JwtRequestFilter}, so no database query is performed.
      *
-     * @return the authenticated user
+     * @return the authenticated user principal
      *
      * @throws UserNotAuthenticatedException if no user is authenticated
      */
     @NonNull
-    public User getUserFromAuthContext() {
+    public AuthenticatedUser getUserFromAuthContext() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated() ||
+                !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
             log.error("User is not authenticated");
             throw new UserNotAuthenticatedException("User is not authenticated");
         }
-        User userFromContext = (User) authentication.getPrincipal();
-        return findUserByEmail(userFromContext.getEmail());
+        return principal;
+    }
+
+    /**
+     * Returns a lazy reference to the user entity with the given ID without querying the database.
+     * Intended for setting associations (e.g. the owner of a new category) from the authenticated principal,
+     * inside the transaction of the caller.
+     *
+     * @param userId the ID of the user
+     *
+     * @return a reference to the user entity
+     */
+    public User getUserReference(Long userId) {
+        return userRepository.getReferenceById(userId);
     }
 
     /**
@@ -284,6 +401,24 @@ public class AuthenticationService {
         });
     }
 
+    /**
+     * Finds a user by email, bypassing the second-level cache. Used by every path that checks the password or
+     * reset token, or writes the user, so a stale cache entry can neither pass a credential check nor be saved.
+     *
+     * @param email the email of the user
+     *
+     * @return the user
+     *
+     * @throws UserNotFoundException if the user is not found
+     */
+    private User findUserForCredentialCheck(String email) {
+        validateEmail(email);
+        return userRepository.findByEmailBypassingCache(email).orElseThrow(() -> {
+            log.warn("User with email '{}' not found", email);
+            return new UserNotFoundException("User with email '" + email + "' not found");
+        });
+    }
+
     private UserSettings createDefaultUserSettings(User user) {
         return UserSettings.builder()
                            .user(user)
@@ -323,18 +458,20 @@ public class AuthenticationService {
     }
 
     private void saveInvalidatedToken(User user, String token, LocalDateTime expiresAt) {
-        log.debug("TRY to invalidate: {}", token);
-        var foundInDb = tokenRepository.findByUser_UserIdAndToken(user.getUserId(), token);
-        if (foundInDb.isEmpty()) {
-            log.debug("NOT FOUND IN DB: {}", token);
+        var tokenDigest = TokenDigestUtils.sha256(token);
+        // Only the digest is logged, the raw token is a bearer credential
+        log.debug("Invalidating token with digest: {}", HexFormat.of().formatHex(tokenDigest));
+        if (!tokenRepository.existsByUser_UserIdAndTokenDigest(user.getUserId(), tokenDigest)) {
+            log.debug("Token is not invalidated yet, storing its digest for user with id '{}'", user.getUserId());
             var invalidatedToken = InvalidatedToken.builder()
                                                    .user(user)
-                                                   .token(token)
+                                                   .tokenDigest(tokenDigest)
                                                    .expiresAt(expiresAt)
                                                    .invalidatedAt(LocalDateTime.now())
                                                    .build();
             tokenRepository.saveAndFlush(invalidatedToken);
         }
+        tokenRevocationIndex.revoke(tokenDigest, expiresAt);
     }
 
     private void validateEmail(String email) {
@@ -359,9 +496,8 @@ public class AuthenticationService {
     }
 
     private void updateLastLogin(User user) {
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.saveAndFlush(user);
-        log.info("Updated last login time for user '{}'", user.getEmail());
+        lastLoginRecorder.record(user.getUserId(), LocalDateTime.now());
+        log.info("Recorded last login time for user '{}'", user.getEmail());
     }
 
     private void checkResetTokenAvailability(User user) {
@@ -0,0 +1,214 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ua.kostenko.recollector.app.exception.PasswordHashingUnavailableException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} that runs the hashing of a delegate encoder on a dedicated, size-limited executor.
+ * <p>
+ * BCrypt is deliberately slow and CPU-bound. Running it on the request threads lets a burst of logins occupy
+ * every worker and all CPU cores, starving requests that do not hash anything. This encoder limits the number
+ * of concurrent hashes to the pool size and the number of waiting hashes to the queue capacity. When the queue
+ * is full, or a hash does not complete within the maximum wait, a {@link PasswordHashingUnavailableException}
+ * is thrown immediately instead of blocking the caller further.
+ * <p>
+ * Background hashes, such as hash upgrades, run on a separate single low-priority thread with its own small
+ * queue, so they never take a slot reserved for the callers waiting for a hash. They are skipped while callers
+ * are queued for the foreground executor or the background queue is full.
+ * <p>
+ * Queue wait and hash time are published as {@code recollector.password.hashing.queue.wait} and
+ * {@code recollector.password.hashing.duration} timers, rejections as the
+ * {@code recollector.password.hashing.rejected} counter, and skipped background hashes as the
+ * {@code recollector.password.hashing.background.skipped} counter.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final String UNAVAILABLE_MESSAGE = "Password hashing is temporarily unavailable, try again later";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor backgroundExecutor;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+    private final Counter backgroundSkippedCounter;
+
+    /**
+     * Creates the encoder together with its executor and metrics.
+     *
+     * @param delegate                the encoder performing the actual hashing
+     * @param poolSize                the maximum number of concurrent hashing operations
+     * @param queueCapacity           the maximum number of hashing operations waiting for a free thread
+     * @param backgroundQueueCapacity the maximum number of background hashing operations waiting for the
+     *                                background thread
+     * @param maxWaitMillis           the maximum time a caller waits for the result, including the queue wait
+     * @param retryAfterSeconds       the retry delay suggested to clients when hashing is rejected
+     * @param meterRegistry           registry for the hashing metrics
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity,
+                                  int backgroundQueueCapacity, long maxWaitMillis, long retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(poolSize,
+                                               poolSize,
+                                               0L,
+                                               TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               new HashingThreadFactory("password-hashing-", Thread.NORM_PRIORITY),
+                                               new ThreadPoolExecutor.AbortPolicy());
+        this.backgroundExecutor = new ThreadPoolExecutor(1,
+                                                         1,
+                                                         0L,
+                                                         TimeUnit.MILLISECONDS,
+                                                         new ArrayBlockingQueue<>(backgroundQueueCapacity),
+                                                         new HashingThreadFactory("password-hashing-background-",
+                                                                                  Thread.MIN_PRIORITY),
+                                                         new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = Timer.builder("recollector.password.hashing.queue.wait")
+                                   .description("Time hashing operations wait for a free hashing thread")
+                                   .register(meterRegistry);
+        this.encodeTimer = Timer.builder("recollector.password.hashing.duration")
+                                .tag("operation", "encode")
+                                .description("Time spent hashing passwords")
+                                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("recollector.password.hashing.duration")
+                                 .tag("operation", "matches")
+                                 .description("Time spent hashing passwords")
+                                 .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("recollector.password.hashing.rejected")
+                                      .description("Hashing operations rejected because the executor was saturated")
+                                      .register(meterRegistry);
+        this.backgroundSkippedCounter = Counter.builder("recollector.password.hashing.background.skipped")
+                                               .description("Background hashing operations skipped under load")
+                                               .register(meterRegistry);
+        Gauge.builder("recollector.password.hashing.queue.size", executor, e -> e.getQueue().size())
+             .description("Hashing operations waiting for a free hashing thread")
+             .register(meterRegistry);
+        Gauge.builder("recollector.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+             .description("Hashing operations currently running")
+             .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    /**
+     * Encodes the password on the low-priority background thread without waiting for the result.
+     * Used for work that must not delay the caller, such as upgrading stored hashes. The operation is skipped
+     * while callers wait for the foreground executor or the background queue is full.
+     *
+     * @param rawPassword the password to encode
+     *
+     * @return a future completed with the encoded password, or completed exceptionally with
+     *         {@link PasswordHashingUnavailableException} if the operation was skipped
+     */
+    public CompletableFuture<String> encodeInBackground(CharSequence rawPassword) {
+        if (!executor.getQueue().isEmpty()) {
+            return skipBackground();
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> encodeTimer.record(() -> delegate.encode(rawPassword)),
+                                                 backgroundExecutor);
+        } catch (RejectedExecutionException e) {
+            return skipBackground();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Stops the hashing executor. Invoked by the container on shutdown.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        backgroundExecutor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> skipBackground() {
+        backgroundSkippedCounter.increment();
+        return CompletableFuture.failedFuture(new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE,
+                                                                                      retryAfterSeconds));
+    }
+
+    private <T> T execute(Callable<T> operation, Timer durationTimer) {
+        var submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.recordCallable(operation);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing rejected, queue size: {}", executor.getQueue().size());
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE, retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hashing did not complete within {} ms", maxWaitMillis);
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException(UNAVAILABLE_MESSAGE, retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Names the hashing threads so they are recognizable in thread dumps.
+     */
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String namePrefix;
+        private final int priority;
+
+        HashingThreadFactory(String namePrefix, int priority) {
+            this.namePrefix = namePrefix;
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, namePrefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(priority);
+            return thread;
+        }
+    }
+}
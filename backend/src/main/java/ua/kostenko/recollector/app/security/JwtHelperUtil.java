@@ -16,15 +16,31 @@ import java.util.Date;
 /**
  * JwtHelperUtil provides utility methods for generating, validating, and extracting claims from JWT tokens.
  * It supports both main and refresh tokens with configurable expiration times.
+ * <p>
+ * Parsers for both keys are built once, and the claims of successfully verified tokens are cached until the
+ * token expires, so a token used for several requests is parsed and verified only once.
  */
 @Slf4j
 @Component
 public class JwtHelperUtil implements JwtHelper {
 
+    /**
+     * Name of the claim holding the ID of the user the token was issued for.
+     */
+    public static final String CLAIM_USER_ID = "uid";
+    /**
+     * Name of the claim holding the user's token version at the time the token was issued.
+     */
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     private static final int MILLISECONDS_IN_SECOND = 1000;
 
     private final SecretKey jwtMainKey;
     private final SecretKey jwtRefreshKey;
+    private final JwtParser mainParser;
+    private final JwtParser refreshParser;
+    private final VerifiedClaimsCache mainClaimsCache;
+    private final VerifiedClaimsCache refreshClaimsCache;
     private final DateService dateService;
 
     @Value("${recollector.app.jwt.secret.exp}")
@@ -34,25 +50,37 @@ public class JwtHelperUtil implements JwtHelper {
     private Integer jwtRefreshExpHours;
 
     public JwtHelperUtil(@Qualifier("jwtSecretKey") SecretKey jwtMainKey,
-                         @Qualifier("jwtRefreshSecretKey") SecretKey jwtRefreshKey, DateService dateService) {
+                         @Qualifier("jwtRefreshSecretKey") SecretKey jwtRefreshKey, DateService dateService,
+                         @Value("${recollector.app.jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
         this.jwtMainKey = jwtMainKey;
         this.jwtRefreshKey = jwtRefreshKey;
+        this.mainParser = Jwts.parser().verifyWith(jwtMainKey).build();
+        this.refreshParser = Jwts.parser().verifyWith(jwtRefreshKey).build();
+        this.mainClaimsCache = new VerifiedClaimsCache(claimsCacheMaxSize);
+        this.refreshClaimsCache = new VerifiedClaimsCache(claimsCacheMaxSize);
         this.dateService = dateService;
     }
 
     /**
-     * Extracts claims from the JWT token using the provided secret key.
+     * Extracts claims from the JWT token using the provided parser.
+     * Claims of tokens verified before are returned from the cache without parsing the token again.
      *
-     * @param token     the JWT token
-     * @param secretKey the secret key used to verify the token
+     * @param token  the JWT token
+     * @param parser the parser holding the secret key used to verify the token
+     * @param cache  the cache of verified claims for the parser's key
      *
      * @return the claims extracted from the token
      */
-    private Claims extractClaims(String token, SecretKey secretKey) {
+    private Claims extractClaims(String token, JwtParser parser, VerifiedClaimsCache cache) {
         try {
-            JwtParser parser = Jwts.parser().verifyWith(secretKey).build();
+            Claims cachedClaims = cache.get(token);
+            if (cachedClaims != null) {
+                return cachedClaims;
+            }
             Jws<Claims> signedClaims = parser.parseSignedClaims(token);
-            return signedClaims.getPayload();
+            Claims claims = signedClaims.getPayload();
+            cache.put(token, claims);
+            return claims;
         } catch (ExpiredJwtException ex) {
             // Handle the expired token case
             return ex.getClaims();
@@ -69,7 +97,8 @@ public class JwtHelperUtil implements JwtHelper {
      *
      * @return true if the token is expired, false otherwise
      */
-    private boolean isTokenExpired(Claims claims) {
+    @Override
+    public boolean isTokenExpired(Claims claims) {
         Date expirationDate = claims.getExpiration();
         Date currentDate = dateService.getCurrentDate();
 
@@ -84,20 +113,21 @@ public class JwtHelperUtil implements JwtHelper {
     /**
      * Validates the JWT token by matching the username and checking if it's expired.
      *
-     * @param token     the JWT token
-     * @param username  the username to validate
-     * @param secretKey the secret key used to verify the token
+     * @param token    the JWT token
+     * @param username the username to validate
+     * @param parser   the parser holding the secret key used to verify the token
+     * @param cache    the cache of verified claims for the parser's key
      *
      * @return true if the token is valid, false otherwise
      */
-    private boolean validateToken(String token, String username, SecretKey secretKey) {
+    private boolean validateToken(String token, String username, JwtParser parser, VerifiedClaimsCache cache) {
         if (token == null || username == null) {
             log.warn("Token or username is null for validation.");
             return false;
         }
 
         try {
-            Claims claims = extractClaims(token, secretKey);
+            Claims claims = extractClaims(token, parser, cache);
             String claimUsername = claims.getSubject();
 
             if (claimUsername == null) {
@@ -116,67 +146,73 @@ public class JwtHelperUtil implements JwtHelper {
     }
 
     /**
-     * Generates a JWT token for the provided username, start date, and expiration settings.
+     * Generates a JWT token for the provided subject, start date, and expiration settings.
+     * The email is stored as the token subject, the user ID and token version as custom claims.
      *
-     * @param username  the username for the token
-     * @param startDate the date when the token is issued
-     * @param time      the expiration time in hours or minutes
-     * @param adjuster  the adjuster for setting the expiration time
-     * @param key       the secret key used to sign the token
+     * @param subject        the identity data for the token
+     * @param startDate      the date when the token is issued
+     * @param expirationDate the date when the token expires
+     * @param key            the secret key used to sign the token
      *
      * @return the generated JWT token
      */
-    private String generateJwtToken(String username, Date startDate, int time, DateService.Adjuster adjuster,
-                                    SecretKey key) {
-        Date expirationDate = dateService.getAdjustedDateByHours(startDate, time, adjuster);
-
-        return Jwts.builder().subject(username).issuedAt(startDate).expiration(expirationDate).signWith(key).compact();
+    private String generateJwtToken(TokenSubject subject, Date startDate, Date expirationDate, SecretKey key) {
+        return Jwts.builder()
+                   .subject(subject.email())
+                   .claim(CLAIM_USER_ID, subject.userId())
+                   .claim(CLAIM_TOKEN_VERSION, subject.tokenVersion())
+                   .issuedAt(startDate)
+                   .expiration(expirationDate)
+                   .signWith(key)
+                   .compact();
     }
 
     /**
-     * Generates a JWT token for the main authentication process using the provided username and current time.
+     * Generates a JWT token for the main authentication process using the provided subject and current time.
      *
-     * @param username the username for the token
-     * @param timeNow  the current date and time when the token is issued
+     * @param subject the identity data for the token
+     * @param timeNow the current date and time when the token is issued
      *
      * @return the generated main JWT token
      */
     @Override
-    public String generateMainJwt(String username, Date timeNow) {
-        return generateJwtToken(username, timeNow, jwtExpMinutes, DateService.Adjuster.MINUTES, jwtMainKey);
+    public String generateMainJwt(TokenSubject subject, Date timeNow) {
+        return generateJwtToken(subject, timeNow, getMainJwtExpiration(timeNow), jwtMainKey);
     }
 
     /**
-     * Generates a JWT token for the refresh process using the provided username and current time.
+     * Generates a JWT token for the refresh process using the provided subject and current time.
      *
-     * @param username the username for the token
-     * @param timeNow  the current date and time when the token is issued
+     * @param subject the identity data for the token
+     * @param timeNow the current date and time when the token is issued
      *
      * @return the generated refresh JWT token
      */
     @Override
-    public String generateRefreshJwt(String username, Date timeNow) {
-        return generateJwtToken(username, timeNow, jwtRefreshExpHours, DateService.Adjuster.HOURS, jwtRefreshKey);
+    public String generateRefreshJwt(TokenSubject subject, Date timeNow) {
+        return generateJwtToken(subject, timeNow, getRefreshJwtExpiration(timeNow), jwtRefreshKey);
     }
 
     /**
-     * Generates a pair of JWT tokens (main and refresh) for the specified username.
+     * Generates a pair of JWT tokens (main and refresh) for the specified subject.
      *
-     * @param username the username for the tokens
+     * @param subject the identity data for the tokens
      *
      * @return a TokensDto containing the generated tokens and their expiration times
      */
     @Override
-    public TokensDto generateJwtTokensPair(String username) {
+    public TokensDto generateJwtTokensPair(TokenSubject subject) {
         Date now = dateService.getCurrentDate();
 
-        String jwtToken = generateMainJwt(username, now);
-        String refreshToken = generateRefreshJwt(username, now);
+        Date jwtExpirationDate = getMainJwtExpiration(now);
+        Date refreshExpirationDate = getRefreshJwtExpiration(now);
 
-        int jwtTokenExpiration = (int) extractClaimsFromMainJwtToken(jwtToken).getExpiration()
-                                                                              .getTime() / MILLISECONDS_IN_SECOND;
-        int refreshTokenExpiration = (int) extractClaimsFromRefreshJwtToken(refreshToken).getExpiration()
-                                                                                         .getTime() / MILLISECONDS_IN_SECOND;
+        // The expiration is taken from the dates used for signing instead of parsing the tokens back
+        String jwtToken = generateJwtToken(subject, now, jwtExpirationDate, jwtMainKey);
+        String refreshToken = generateJwtToken(subject, now, refreshExpirationDate, jwtRefreshKey);
+
+        int jwtTokenExpiration = (int) (jwtExpirationDate.getTime() / MILLISECONDS_IN_SECOND);
+        int refreshTokenExpiration = (int) (refreshExpirationDate.getTime() / MILLISECONDS_IN_SECOND);
 
         return TokensDto.builder()
                         .jwtToken(jwtToken)
@@ -186,6 +222,28 @@ public class JwtHelperUtil implements JwtHelper {
                         .build();
     }
 
+    /**
+     * Calculates the expiration date of a main JWT token issued at the given time.
+     *
+     * @param timeNow the date when the token is issued
+     *
+     * @return the expiration date of the token
+     */
+    private Date getMainJwtExpiration(Date timeNow) {
+        return dateService.getAdjustedDateByHours(timeNow, jwtExpMinutes, DateService.Adjuster.MINUTES);
+    }
+
+    /**
+     * Calculates the expiration date of a refresh JWT token issued at the given time.
+     *
+     * @param timeNow the date when the token is issued
+     *
+     * @return the expiration date of the token
+     */
+    private Date getRefreshJwtExpiration(Date timeNow) {
+        return dateService.getAdjustedDateByHours(timeNow, jwtRefreshExpHours, DateService.Adjuster.HOURS);
+    }
+
     /**
      * Validates the main JWT token by matching the username and checking if it's expired.
      *
@@ -196,7 +254,7 @@ public class JwtHelperUtil implements JwtHelper {
      */
     @Override
     public boolean validateMainJwtToken(String token, String username) {
-        return validateToken(token, username, jwtMainKey);
+        return validateToken(token, username, mainParser, mainClaimsCache);
     }
 
     /**
@@ -209,7 +267,7 @@ public class JwtHelperUtil implements JwtHelper {
      */
     @Override
     public boolean validateRefreshJwtToken(String token, String username) {
-        return validateToken(token, username, jwtRefreshKey);
+        return validateToken(token, username, refreshParser, refreshClaimsCache);
     }
 
     /**
@@ -221,7 +279,7 @@ public class JwtHelperUtil implements JwtHelper {
      */
     @Override
     public Claims extractClaimsFromMainJwtToken(String token) {
-        return extractClaims(token, jwtMainKey);
+        return extractClaims(token, mainParser, mainClaimsCache);
     }
 
     /**
@@ -233,6 +291,30 @@ public class JwtHelperUtil implements JwtHelper {
      */
     @Override
     public Claims extractClaimsFromRefreshJwtToken(String token) {
-        return extractClaims(token, jwtRefreshKey);
+        return extractClaims(token, refreshParser, refreshClaimsCache);
+    }
+
+    /**
+     * Reads the user ID claim from the token claims.
+     *
+     * @param claims the claims extracted from the token
+     *
+     * @return the user ID, or null for tokens issued without the claim
+     */
+    @Override
+    public Long extractUserId(Claims claims) {
+        return claims.get(CLAIM_USER_ID, Long.class);
+    }
+
+    /**
+     * Reads the token version claim from the token claims.
+     *
+     * @param claims the claims extracted from the token
+     *
+     * @return the token version, or null for tokens issued without the claim
+     */
+    @Override
+    public Integer extractTokenVersion(Claims claims) {
+        return claims.get(CLAIM_TOKEN_VERSION, Integer.class);
     }
 }
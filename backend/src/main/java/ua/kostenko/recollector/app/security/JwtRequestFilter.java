@@ -1,5 +1,6 @@
 package ua.kostenko.recollector.app.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,9 +13,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import ua.kostenko.recollector.app.entity.User;
-import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.exception.UserNotFoundException;
+import ua.kostenko.recollector.app.util.TokenDigestUtils;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
 import java.util.Objects;
 
@@ -29,7 +33,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtHelperUtil jwtUtil;
     private final AuthenticationService authenticationService;
-    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final TokenRevocationIndex tokenRevocationIndex;
+    private final TokenVersionService tokenVersionService;
 
     /**
      * Filters incoming HTTP requests to check for a JWT token in the Authorization header.
@@ -48,6 +53,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String authorizationHeader = request.getHeader("Authorization");
         String email = null;
         String jwt = null;
+        Claims claims = null;
 
         // Log the incoming request URI for tracing
         log.debug("Processing request for URI: {}", request.getRequestURI());
@@ -56,7 +62,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         if (Objects.nonNull(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
             try {
-                email = jwtUtil.extractClaimsFromMainJwtToken(jwt).getSubject();
+                claims = jwtUtil.extractClaimsFromMainJwtToken(jwt);
+                email = claims.getSubject();
                 log.debug("Extracted email '{}' from JWT token", email);
             } catch (Exception e) {
                 log.warn("Failed to extract claims from JWT token: {}", e.getMessage());
@@ -67,26 +74,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         // Authenticate the user if the JWT is valid and the user is not already authenticated
         if (Objects.nonNull(email) && Objects.isNull(SecurityContextHolder.getContext().getAuthentication())) {
-            User foundUser = authenticationService.findUserByEmail(email);
-
-            if (jwtUtil.validateMainJwtToken(jwt, foundUser.getEmail())) {
-                var tokenInDb = invalidatedTokenRepository.findByUser_UserIdAndToken(foundUser.getUserId(), jwt);
-                var isTokenNotInBlackList = tokenInDb.isEmpty();
-
-                if (isTokenNotInBlackList) {
-                    log.debug("JWT token is valid for user '{}'", email);
-                    var passwordHash = foundUser.getPasswordHash();
-                    var details = new WebAuthenticationDetailsSource().buildDetails(request);
-                    var authenticationToken = new UsernamePasswordAuthenticationToken(foundUser,
-                                                                                      passwordHash,
-                                                                                      List.of());
-                    authenticationToken.setDetails(details);
-
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                    log.info("User '{}' authenticated successfully", email);
-                }
-            } else {
-                log.warn("Invalid JWT token for user '{}'", email);
+            var principal = Objects.nonNull(jwtUtil.extractUserId(claims))
+                    ? authenticateFromClaims(jwt, claims)
+                    : authenticateWithUserLookup(jwt, email, claims);
+
+            if (Objects.nonNull(principal)) {
+                var details = new WebAuthenticationDetailsSource().buildDetails(request);
+                var authenticationToken = new UsernamePasswordAuthenticationToken(principal, null, List.of());
+                authenticationToken.setDetails(details);
+
+                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                log.info("User '{}' authenticated successfully", email);
             }
         } else {
             log.debug("User '{}' is not authenticated or no valid JWT token provided", email);
@@ -95,4 +93,90 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // Continue the filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Authorizes a token that carries the user ID and token version claims.
+     * No user lookup is performed: the token version is checked against the cached current version.
+     *
+     * @param jwt    the JWT token
+     * @param claims the claims extracted from the token
+     *
+     * @return the principal, or null if the token is expired, outdated or revoked
+     */
+    private AuthenticatedUser authenticateFromClaims(String jwt, Claims claims) {
+        var email = claims.getSubject();
+        if (jwtUtil.isTokenExpired(claims)) {
+            log.warn("Invalid JWT token for user '{}'", email);
+            return null;
+        }
+
+        var userId = jwtUtil.extractUserId(claims);
+        if (!tokenVersionService.isCurrent(userId, jwtUtil.extractTokenVersion(claims))) {
+            log.warn("Outdated JWT token version for user '{}'", email);
+            return null;
+        }
+        if (tokenRevocationIndex.isRevoked(userId, TokenDigestUtils.sha256(jwt))) {
+            log.debug("JWT token for user '{}' is revoked", email);
+            return null;
+        }
+
+        log.debug("JWT token is valid for user '{}'", email);
+        return new AuthenticatedUser(userId, email, toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()));
+    }
+
+    /**
+     * Authorizes a token issued before the user ID and token version claims were introduced.
+     * Such tokens count as the initial token version, so any version change of the user revokes them. They expire
+     * within the main token lifetime, after which this path is no longer used.
+     *
+     * @param jwt    the JWT token
+     * @param email  the email extracted from the token subject
+     * @param claims the claims extracted from the token
+     *
+     * @return the principal, or null if the token is invalid or revoked, or its user no longer exists
+     */
+    private AuthenticatedUser authenticateWithUserLookup(String jwt, String email, Claims claims) {
+        User foundUser;
+        try {
+            foundUser = authenticationService.findUserByEmail(email);
+        } catch (UserNotFoundException e) {
+            log.warn("User '{}' of the JWT token not found", email);
+            return null;
+        }
+
+        if (!jwtUtil.validateMainJwtToken(jwt, foundUser.getEmail())) {
+            log.warn("Invalid JWT token for user '{}'", email);
+            return null;
+        }
+        if (!Objects.equals(foundUser.getTokenVersion(), TokenVersionService.LEGACY_TOKEN_VERSION)) {
+            log.warn("Outdated JWT token version for user '{}'", email);
+            return null;
+        }
+        if (tokenRevocationIndex.isRevoked(foundUser.getUserId(), TokenDigestUtils.sha256(jwt))) {
+            log.debug("JWT token for user '{}' is revoked", email);
+            return null;
+        }
+
+        log.debug("JWT token is valid for user '{}'", email);
+        return buildPrincipal(foundUser, claims);
+    }
+
+    /**
+     * Builds the immutable principal stored in the security context.
+     *
+     * @param user   the user the token belongs to
+     * @param claims the claims extracted from the validated token
+     *
+     * @return the {@link AuthenticatedUser} for the current request
+     */
+    private AuthenticatedUser buildPrincipal(User user, Claims claims) {
+        return new AuthenticatedUser(user.getUserId(),
+                                     user.getEmail(),
+                                     toInstant(claims.getIssuedAt()),
+                                     toInstant(claims.getExpiration()));
+    }
+
+    private Instant toInstant(Date date) {
+        return Objects.nonNull(date) ? date.toInstant() : null;
+    }
 }
@@ -0,0 +1,110 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind recorder of user login timestamps.
+ * <p>
+ * Logins only put the timestamp into memory. Pending timestamps are written on a timer
+ * ({@code recollector.app.last-login.flush-ms}) as one JDBC batch of plain column updates, and once more on
+ * graceful shutdown. The updates bypass the {@link ua.kostenko.recollector.app.entity.User} entity, so they
+ * neither load the user nor touch {@code updated_at}. A timestamp is never replaced by an older one.
+ * <p>
+ * If the application stops abruptly, the timestamps of the last interval are lost, which is acceptable for
+ * informational data such as the last login time.
+ */
+@Slf4j
+@Component
+public class LastLoginRecorder {
+
+    private static final String UPDATE_LAST_LOGIN_SQL = """
+            UPDATE recollector.users
+            SET last_login = ?
+            WHERE user_id = ? AND (last_login IS NULL OR last_login < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+
+    /**
+     * Creates the recorder and registers its metrics.
+     *
+     * @param jdbcTemplate  template used for the batched updates
+     * @param meterRegistry registry for the pending gauge and the flushed counter
+     */
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushedCounter = Counter.builder("recollector.last-login.flushed")
+                                     .description("Last login timestamps written to the database")
+                                     .register(meterRegistry);
+        Gauge.builder("recollector.last-login.pending", pending, Map::size)
+             .description("Last login timestamps waiting to be written to the database")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Records the login time of the user. The value is written with the next flush.
+     *
+     * @param userId    the ID of the user
+     * @param loginTime the login time
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Writes all pending login timestamps as one batch.
+     *
+     * @return the number of written timestamps
+     */
+    @Scheduled(fixedDelayString = "${recollector.app.last-login.flush-ms:10000}")
+    public int flush() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            var loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                var timestamp = Timestamp.valueOf(loginTime);
+                batch.add(new Object[]{timestamp, userId, timestamp});
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch);
+            flushedCounter.increment(batch.size());
+            log.debug("Flushed {} last login timestamps", batch.size());
+        } catch (RuntimeException e) {
+            // Put the values back, newer logins recorded in the meantime take precedence
+            batch.forEach(row -> record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime()));
+            log.warn("Failed to flush last login timestamps: {}", e.getMessage());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Flushes pending timestamps on graceful shutdown.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        var flushed = flush();
+        log.info("Flushed {} pending last login timestamps on shutdown", flushed);
+    }
+}
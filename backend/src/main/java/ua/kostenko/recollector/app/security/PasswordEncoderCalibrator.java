@@ -0,0 +1,77 @@
+package ua.kostenko.recollector.app.security;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the BCrypt strength (work factor) for the current hardware.
+ * <p>
+ * The cost of a BCrypt hash doubles with every strength increment, so it is enough to measure a hash at the
+ * minimal strength and extrapolate: the chosen strength is the highest one whose estimated hash time does not
+ * exceed the target latency, limited by the configured minimal and maximal strength.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PasswordEncoderCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Sample-Password-1";
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 3;
+
+    /**
+     * Measures BCrypt at the minimal strength and returns the strength meeting the target latency.
+     *
+     * @param targetMillis the target hash time in milliseconds
+     * @param minStrength  the lowest acceptable strength, used even if it exceeds the target
+     * @param maxStrength  the highest strength to choose
+     *
+     * @return the calibrated strength
+     */
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        var encoder = new BCryptPasswordEncoder(minStrength);
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int strength = chooseStrength(best, TimeUnit.MILLISECONDS.toNanos(targetMillis), minStrength, maxStrength);
+        log.info("BCrypt strength {} chosen: {} ms per hash at strength {}, target {} ms",
+                 strength,
+                 TimeUnit.NANOSECONDS.toMillis(best),
+                 minStrength,
+                 targetMillis);
+        return strength;
+    }
+
+    /**
+     * Extrapolates the measured hash time to higher strengths and picks the highest one within the target.
+     *
+     * @param measuredNanos the hash time measured at the minimal strength
+     * @param targetNanos   the target hash time
+     * @param minStrength   the strength the measurement was taken at
+     * @param maxStrength   the highest strength to choose
+     *
+     * @return the chosen strength
+     */
+    static int chooseStrength(long measuredNanos, long targetNanos, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        long estimated = Math.max(measuredNanos, 1);
+        while (strength < maxStrength && estimated * 2 <= targetNanos) {
+            strength++;
+            estimated *= 2;
+        }
+        return strength;
+    }
+}
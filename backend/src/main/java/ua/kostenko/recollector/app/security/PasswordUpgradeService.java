@@ -0,0 +1,62 @@
+package ua.kostenko.recollector.app.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.repository.UserRepository;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Service re-hashing stored passwords whose encoding is outdated, e.g. created with a lower BCrypt strength
+ * or before hashes were prefixed with the encoder ID.
+ * <p>
+ * The upgrade is triggered after a successful login, when the raw password is known, and runs on the low-priority
+ * background hashing thread without delaying the login response; under load it is skipped and retried on a later
+ * login. The new hash is stored from a separate virtual thread, so the database write never occupies a hashing
+ * thread, and only if the stored hash is still the one that was verified, so a concurrent password change is
+ * never overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ExecutorService updateExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("password-upgrade-", 0).factory());
+
+    /**
+     * Re-hashes the password of the user in the background if its stored hash needs an upgrade.
+     *
+     * @param user        the user who has just been authenticated
+     * @param rawPassword the verified raw password of the user
+     */
+    public void upgradeIfNeeded(User user, String rawPassword) {
+        var currentHash = user.getPasswordHash();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+
+        var userId = user.getUserId();
+        passwordEncoder.encodeInBackground(rawPassword).thenAcceptAsync(newHash -> {
+            var updated = userRepository.updatePasswordHash(userId, currentHash, newHash);
+            log.info("Password hash upgraded for user with id '{}', updated rows: {}", userId, updated);
+        }, updateExecutor).exceptionally(ex -> {
+            log.warn("Failed to upgrade password hash for user with id '{}': {}", userId, ex.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Stops the executor storing the new hashes. Invoked by the container on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        updateExecutor.shutdown();
+    }
+}
@@ -0,0 +1,69 @@
+package ua.kostenko.recollector.app.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket used by {@link AuthRateLimiter}.
+ * <p>
+ * The bucket holds up to {@code capacity} tokens and is refilled continuously at a fixed rate. The state is an
+ * immutable snapshot replaced with compare-and-set, so concurrent requests for the same key never block each
+ * other.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity        the maximum number of tokens, i.e. the allowed burst
+     * @param refillPerMinute the number of tokens added per minute
+     * @param nowNanos        the current time in nanoseconds, see {@link System#nanoTime()}
+     */
+    TokenBucket(long capacity, long refillPerMinute, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token from the bucket if available.
+     *
+     * @param nowNanos the current time in nanoseconds
+     *
+     * @return 0 if a token was taken, otherwise the number of nanoseconds until the next token is available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            var current = state.get();
+            var tokens = refilledTokens(current, nowNanos);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.updatedAtNanos())))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bucket has been refilled completely, so dropping it is equivalent to keeping it.
+     *
+     * @param nowNanos the current time in nanoseconds
+     *
+     * @return true if the bucket is full
+     */
+    boolean isFull(long nowNanos) {
+        return refilledTokens(state.get(), nowNanos) >= capacity;
+    }
+
+    private double refilledTokens(State current, long nowNanos) {
+        var elapsed = Math.max(nowNanos - current.updatedAtNanos(), 0);
+        return Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+    }
+
+    private record State(double tokens, long updatedAtNanos) {}
+}
@@ -0,0 +1,184 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ua.kostenko.recollector.app.entity.InvalidatedToken;
+import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.util.TokenDigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory index of revoked JWT tokens that sits in front of {@link InvalidatedTokenRepository}.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, which is also what the database stores, and kept until their own
+ * expiration time, after which they are
+ * rejected by the JWT validation anyway. The index is loaded from the database when the application is ready
+ * and updated by {@link AuthenticationService} on every invalidation, so the blacklist check on the request
+ * path does not touch the database.
+ * <p>
+ * To pick up tokens invalidated by other application instances, a scheduled job re-reads recently invalidated
+ * tokens from the database every {@code recollector.app.token.revocation.sync-seconds}, so lookups never wait
+ * for the sync. Until the initial load completes, lookups fall back to the database.
+ */
+@Slf4j
+@Component
+public class TokenRevocationIndex {
+
+    private static final String LOOKUPS_METRIC = "recollector.token.revocation.lookups";
+
+    private final InvalidatedTokenRepository tokenRepository;
+    private final Map<String, LocalDateTime> revokedTokens = new ConcurrentHashMap<>();
+    private final AtomicReference<LocalDateTime> lastSync = new AtomicReference<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter fallbackCounter;
+
+    @Value("${recollector.app.token.revocation.sync-seconds:30}")
+    private long syncSeconds;
+
+    /**
+     * Creates the index and registers its metrics.
+     *
+     * @param tokenRepository repository used for the initial load, the periodic sync and the fallback lookups
+     * @param meterRegistry   registry for the hit/miss counters and the size gauge
+     */
+    public TokenRevocationIndex(InvalidatedTokenRepository tokenRepository, MeterRegistry meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.hitCounter = Counter.builder(LOOKUPS_METRIC)
+                                 .tag("result", "hit")
+                                 .description("Lookups that found the token in the revocation index")
+                                 .register(meterRegistry);
+        this.missCounter = Counter.builder(LOOKUPS_METRIC)
+                                  .tag("result", "miss")
+                                  .description("Lookups that did not find the token in the revocation index")
+                                  .register(meterRegistry);
+        this.fallbackCounter = Counter.builder(LOOKUPS_METRIC)
+                                      .tag("result", "fallback")
+                                      .description("Lookups answered by the database before the index was loaded")
+                                      .register(meterRegistry);
+        Gauge.builder("recollector.token.revocation.size", revokedTokens, Map::size)
+             .description("Number of revoked tokens held in memory")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Loads all not yet expired invalidated tokens from the database.
+     * Invoked once the application is fully started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        var now = LocalDateTime.now();
+        var tokens = tokenRepository.findAllByExpiresAtAfter(now);
+        tokens.forEach(this::put);
+        lastSync.set(now);
+        log.info("Token revocation index loaded with {} tokens", revokedTokens.size());
+    }
+
+    /**
+     * Checks whether the token has been revoked.
+     *
+     * @param userId      the ID of the user the token belongs to
+     * @param tokenDigest the SHA-256 digest of the JWT token to check, see {@link TokenDigestUtils#sha256(String)}
+     *
+     * @return true if the token is revoked, false otherwise
+     */
+    public boolean isRevoked(Long userId, byte[] tokenDigest) {
+        if (Objects.isNull(lastSync.get())) {
+            fallbackCounter.increment();
+            return tokenRepository.existsByUser_UserIdAndTokenDigest(userId, tokenDigest);
+        }
+
+        var digest = HexFormat.of().formatHex(tokenDigest);
+        var expiresAt = revokedTokens.get(digest);
+        if (Objects.isNull(expiresAt)) {
+            missCounter.increment();
+            return false;
+        }
+        if (expiresAt.isBefore(LocalDateTime.now())) {
+            revokedTokens.remove(digest, expiresAt);
+            missCounter.increment();
+            return false;
+        }
+        hitCounter.increment();
+        return true;
+    }
+
+    /**
+     * Reads the tokens invalidated since the previous sync, including those invalidated by other instances.
+     * Skipped until the initial load has completed.
+     */
+    @Scheduled(fixedDelayString = "${recollector.app.token.revocation.sync-seconds:30}",
+               initialDelayString = "${recollector.app.token.revocation.sync-seconds:30}",
+               timeUnit = TimeUnit.SECONDS)
+    public void sync() {
+        var previousSync = lastSync.get();
+        if (Objects.isNull(previousSync)) {
+            return;
+        }
+        var now = LocalDateTime.now();
+        try {
+            // Overlap with the previous window so tokens committed late by other instances are not missed
+            var tokens = tokenRepository.findAllByInvalidatedAtAfter(previousSync.minusSeconds(syncSeconds));
+            tokens.forEach(this::put);
+            purgeExpired();
+            lastSync.set(now);
+            log.debug("Token revocation index synced, {} recent tokens read", tokens.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync token revocation index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a token to the index. Tokens that are already expired are ignored.
+     *
+     * @param tokenDigest the SHA-256 digest of the revoked JWT token
+     * @param expiresAt   the expiration time of the token
+     */
+    public void revoke(byte[] tokenDigest, LocalDateTime expiresAt) {
+        if (Objects.isNull(expiresAt) || expiresAt.isBefore(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokens.merge(HexFormat.of().formatHex(tokenDigest), expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Removes expired tokens from the index.
+     *
+     * @return the number of removed entries
+     */
+    public int purgeExpired() {
+        var now = LocalDateTime.now();
+        var sizeBefore = revokedTokens.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        var removed = Math.max(sizeBefore - revokedTokens.size(), 0);
+        log.debug("Purged {} expired tokens from the revocation index", removed);
+        return removed;
+    }
+
+    /**
+     * Returns the number of tokens currently held in the index.
+     *
+     * @return the index size
+     */
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    private void put(InvalidatedToken invalidatedToken) {
+        revoke(invalidatedToken.getTokenDigest(), invalidatedToken.getExpiresAt());
+    }
+}
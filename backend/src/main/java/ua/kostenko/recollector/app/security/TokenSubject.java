@@ -0,0 +1,30 @@
+package ua.kostenko.recollector.app.security;
+
+import ua.kostenko.recollector.app.entity.User;
+
+import java.util.Objects;
+
+/**
+ * Identity data embedded into issued JWT tokens.
+ * <p>
+ * Besides the email (stored as the token subject) the token carries the user ID and the user's token version,
+ * which allows {@link JwtRequestFilter} to authorize requests without reading the users table.
+ *
+ * @param userId       the ID of the user
+ * @param email        the email of the user
+ * @param tokenVersion the current token version of the user
+ */
+public record TokenSubject(Long userId, String email, int tokenVersion) {
+
+    /**
+     * Creates a token subject from the user entity.
+     *
+     * @param user the user the token is issued for
+     *
+     * @return the token subject
+     */
+    public static TokenSubject of(User user) {
+        var version = Objects.nonNull(user.getTokenVersion()) ? user.getTokenVersion() : 0;
+        return new TokenSubject(user.getUserId(), user.getEmail(), version);
+    }
+}
@@ -0,0 +1,111 @@
+package ua.kostenko.recollector.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.kostenko.recollector.app.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service for managing per-user token versions.
+ * <p>
+ * Every issued JWT token carries the token version of its user. Incrementing the version invalidates all
+ * tokens issued before, which is used for password changes, logout from all sessions and account deletion.
+ * <p>
+ * Current versions are cached in memory for {@code recollector.app.jwt.version.cache-seconds}, so most requests
+ * are authorized without reading the users table. The cache holds at most
+ * {@code recollector.app.jwt.version.cache-max-size} users. Other application instances observe a version change
+ * once their cached entry expires.
+ */
+@Slf4j
+@Service
+public class TokenVersionService {
+
+    /**
+     * Version assumed for tokens issued before the version claim was introduced, the initial version of every user.
+     * Any version change therefore invalidates such tokens as well.
+     */
+    public static final int LEGACY_TOKEN_VERSION = 0;
+
+    private final UserRepository userRepository;
+    /**
+     * Cached token versions, an empty version marks a user that does not exist.
+     */
+    private final Cache<Long, Optional<Integer>> versions;
+
+    /**
+     * Creates the service and registers the cache size gauge.
+     *
+     * @param userRepository repository used to read and increment token versions
+     * @param cacheSeconds   the time a token version is cached
+     * @param cacheMaxSize   the maximum number of cached token versions
+     * @param meterRegistry  registry for the cache size gauge
+     */
+    public TokenVersionService(UserRepository userRepository,
+                               @Value("${recollector.app.jwt.version.cache-seconds:30}") long cacheSeconds,
+                               @Value("${recollector.app.jwt.version.cache-max-size:10000}") int cacheMaxSize,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                                .maximumSize(cacheMaxSize)
+                                .expireAfterWrite(Duration.ofSeconds(cacheSeconds))
+                                .build();
+        Gauge.builder("recollector.token.version.cache.size", versions, Cache::estimatedSize)
+             .description("Number of user token versions held in memory")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether the token version is the current token version of the user.
+     *
+     * @param userId       the ID of the user
+     * @param tokenVersion the token version from the JWT claims
+     *
+     * @return true if the version is current, false if it is outdated or the user does not exist
+     */
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (Objects.isNull(userId) || Objects.isNull(tokenVersion)) {
+            return false;
+        }
+        return getCurrentVersion(userId).map(tokenVersion::equals).orElse(false);
+    }
+
+    /**
+     * Returns the current token version of the user, reading it from the database if the cached value is missing
+     * or stale.
+     *
+     * @param userId the ID of the user
+     *
+     * @return an {@link Optional} with the token version, or empty if the user does not exist
+     */
+    public Optional<Integer> getCurrentVersion(Long userId) {
+        return versions.get(userId, userRepository::findTokenVersionByUserId);
+    }
+
+    /**
+     * Invalidates all tokens of the user by incrementing the token version.
+     *
+     * @param userId the ID of the user
+     */
+    public void revokeAllTokens(Long userId) {
+        var updated = userRepository.incrementTokenVersion(userId);
+        versions.invalidate(userId);
+        log.info("Token version incremented for user with id '{}', updated rows: {}", userId, updated);
+    }
+
+    /**
+     * Removes the cached token version of the user, e.g. after the account is deleted.
+     *
+     * @param userId the ID of the user
+     */
+    public void evict(Long userId) {
+        versions.invalidate(userId);
+    }
+}
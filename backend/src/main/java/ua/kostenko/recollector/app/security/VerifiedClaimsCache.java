@@ -0,0 +1,94 @@
+package ua.kostenko.recollector.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import ua.kostenko.recollector.app.util.TokenDigestUtils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of claims of JWT tokens whose signature has already been verified.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token and live until the token expires, so an expired token
+ * is always parsed again and rejected by the regular validation. When the cache is full, Caffeine evicts the
+ * entries least likely to be used again, so new tokens are always admitted without scanning the cache.
+ */
+class VerifiedClaimsCache {
+
+    private final Cache<String, Claims> entries;
+    private final int maxSize;
+
+    /**
+     * Creates the cache.
+     *
+     * @param maxSize the maximum number of cached tokens, 0 disables caching
+     */
+    VerifiedClaimsCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                               .maximumSize(Math.max(maxSize, 0))
+                               .expireAfter(new UntilTokenExpires())
+                               .build();
+    }
+
+    /**
+     * Returns the cached claims of the token if they are present and the token is not expired.
+     *
+     * @param token the JWT token
+     *
+     * @return the verified claims, or null if the token is not cached
+     */
+    Claims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        return entries.getIfPresent(TokenDigestUtils.sha256Hex(token));
+    }
+
+    /**
+     * Caches the verified claims of the token. Claims without an expiration date are not cached.
+     *
+     * @param token  the JWT token
+     * @param claims the claims extracted from the token after signature verification
+     */
+    void put(String token, Claims claims) {
+        if (maxSize <= 0 || Objects.isNull(claims.getExpiration())) {
+            return;
+        }
+        entries.put(TokenDigestUtils.sha256Hex(token), claims);
+    }
+
+    /**
+     * Returns the approximate number of cached tokens.
+     *
+     * @return the cache size
+     */
+    long size() {
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Expires an entry at the expiration date of its token.
+     */
+    private static class UntilTokenExpires implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            var remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ua.kostenko.recollector.app.dto.BootstrapDto;
+import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.exception.BootstrapUnavailableException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static ua.kostenko.recollector.app.util.PageRequestUtils.buildMetaInfo;
+
+/**
+ * Service class loading the data the dashboard needs for its first render in one call.
+ * <p>
+ * The settings, the statistics, and the first page of categories are independent queries, so they are forked
+ * onto virtual threads and joined before the response is built. The first failing query cancels the others and
+ * its exception is rethrown to the caller, so no query outlives the request. Each forked query holds one of
+ * {@code recollector.app.bootstrap.max-concurrency} permits while it runs, which keeps a burst of logins from
+ * taking more connections than configured; the value should stay below the connection pool size so that other
+ * requests still get a connection. A query waits at most {@code recollector.app.bootstrap.permit-timeout-ms}
+ * for a permit, the connection timeout of the pool by default, after which the bootstrap fails with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header. The time spent waiting for a permit is
+ * published as the {@code recollector.bootstrap.permit.wait} timer.
+ * <p>
+ * The forked queries run outside the request thread, so they must not depend on the security context; the
+ * authenticated user is resolved by the caller and passed in.
+ */
+@Slf4j
+@Service
+public class BootstrapService {
+
+    private final HelperService helperService;
+    private final CategoryService categoryService;
+    private final Semaphore queryPermits;
+    private final long permitTimeoutMillis;
+    private final long retryAfterSeconds;
+    private final ExecutorService executor;
+    private final Timer permitWaitTimer;
+
+    /**
+     * Creates the service together with its executor and metrics.
+     *
+     * @param helperService   service providing the settings, the statistics, and the item statuses
+     * @param categoryService service providing the categories
+     * @param maxConcurrency      the maximum number of bootstrap queries running at the same time
+     * @param permitTimeoutMillis the maximum time a query waits for a permit
+     * @param retryAfterSeconds   the retry delay suggested to clients when no permit is free in time
+     * @param meterRegistry       registry for the permit wait timer
+     */
+    public BootstrapService(HelperService helperService, CategoryService categoryService,
+                            @Value("${recollector.app.bootstrap.max-concurrency:4}") int maxConcurrency,
+                            @Value("${recollector.app.bootstrap.permit-timeout-ms:"
+                                   + "${spring.datasource.hikari.connection-timeout:30000}}") long permitTimeoutMillis,
+                            @Value("${recollector.app.bootstrap.retry-after-seconds:1}") long retryAfterSeconds,
+                            MeterRegistry meterRegistry) {
+        this.helperService = helperService;
+        this.categoryService = categoryService;
+        this.queryPermits = new Semaphore(maxConcurrency, true);
+        this.permitTimeoutMillis = permitTimeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bootstrap-", 0).factory());
+        this.permitWaitTimer = Timer.builder("recollector.bootstrap.permit.wait")
+                                    .description("Time bootstrap queries wait for a free database permit")
+                                    .register(meterRegistry);
+    }
+
+    /**
+     * Loads the settings, the statistics, the item statuses, and the first page of categories of the user.
+     *
+     * @param user           the authenticated user
+     * @param categoryFilter the filter of the categories page
+     *
+     * @return the bootstrap data of the user
+     */
+    public BootstrapDto getBootstrap(AuthenticatedUser user, CategoryFilter categoryFilter) {
+        log.info("Loading bootstrap data for user: {}", user.email());
+        BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+
+        var settings = fork(() -> helperService.getUserSettings(user), completed);
+        var statistics = fork(() -> helperService.getStatistics(user), completed);
+        var categories = fork(() -> categoryService.getCategoriesByFilters(user, categoryFilter), completed);
+        join(List.of(settings, statistics, categories), completed);
+
+        var page = categories.resultNow();
+        log.info("Loaded bootstrap data for user: {}", user.email());
+        return BootstrapDto.builder()
+                           .settings(settings.resultNow())
+                           .statistics(statistics.resultNow())
+                           .itemStatuses(helperService.getItemStatuses())
+                           .categories(page.getContent())
+                           .categoriesMeta(buildMetaInfo(page))
+                           .build();
+    }
+
+    /**
+     * Stops the executor. Invoked by the container on shutdown.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> fork(Callable<T> query, BlockingQueue<Future<?>> completed) {
+        var task = new FutureTask<>(() -> withPermit(query)) {
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+        };
+        executor.execute(task);
+        return task;
+    }
+
+    private <T> T withPermit(Callable<T> query) throws Exception {
+        var requestedAt = System.nanoTime();
+        var acquired = queryPermits.tryAcquire(permitTimeoutMillis, TimeUnit.MILLISECONDS);
+        permitWaitTimer.record(System.nanoTime() - requestedAt, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            log.warn("No bootstrap query permit became free within {} ms", permitTimeoutMillis);
+            throw new BootstrapUnavailableException("Too many dashboard loads, please retry later", retryAfterSeconds);
+        }
+        try {
+            return query.call();
+        } finally {
+            queryPermits.release();
+        }
+    }
+
+    private static void join(List<Future<?>> tasks, BlockingQueue<Future<?>> completed) {
+        try {
+            for (var i = 0; i < tasks.size(); i++) {
+                var task = completed.take();
+                if (task.state() == Future.State.FAILED) {
+                    tasks.forEach(other -> other.cancel(true));
+                    if (task.exceptionNow() instanceof RuntimeException runtimeException) {
+                        throw runtimeException;
+                    }
+                    throw new IllegalStateException("Failed to load bootstrap data", task.exceptionNow());
+                }
+            }
+        } catch (InterruptedException e) {
+            tasks.forEach(task -> task.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Loading bootstrap data was interrupted", e);
+        }
+    }
+}
@@ -1,37 +1,76 @@
 package ua.kostenko.recollector.app.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.kostenko.recollector.app.dto.CategoryDto;
 import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
 import ua.kostenko.recollector.app.entity.Category;
 import ua.kostenko.recollector.app.entity.CategoryItemCount;
 import ua.kostenko.recollector.app.entity.User;
 import ua.kostenko.recollector.app.entity.specification.CategoryItemCountSpecification;
+import ua.kostenko.recollector.app.entity.specification.KeysetSpecification;
 import ua.kostenko.recollector.app.exception.CategoryAlreadyExistsException;
 import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
 import ua.kostenko.recollector.app.repository.CategoryItemCountRepository;
 import ua.kostenko.recollector.app.repository.CategoryRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.util.CategoryUtils;
+import ua.kostenko.recollector.app.util.CursorUtils;
 
-import static ua.kostenko.recollector.app.util.PageRequestUtils.createPageRequest;
+import java.util.List;
+
+import static ua.kostenko.recollector.app.util.PageRequestUtils.*;
 
 /**
  * Service class for managing categories.
  * Provides methods for CRUD operations on categories as well as filtering and retrieving statistics.
+ * <p>
+ * Reads run in read-only transactions and changes in read-write transactions. The entities are mapped to DTOs
+ * inside the transaction, so the connection is released before the response is written.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class CategoryService {
 
     private final AuthenticationService authService;
     private final CategoryRepository categoryRepository;
     private final CategoryItemCountRepository categoryItemCountRepository;
+    private final UserStatisticsCache userStatisticsCache;
+    private final DeletionJobService deletionJobService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /**
+     * Creates the service.
+     *
+     * @param authService                 service providing references to the users
+     * @param categoryRepository          repository of the categories
+     * @param categoryItemCountRepository repository of the categories with their item counters
+     * @param userStatisticsCache         cache of the user statistics, evicted after changes
+     * @param deletionJobService          service scheduling the deletion of categories
+     * @param transactionManager          manager of the read-only and read-write transactions
+     */
+    public CategoryService(AuthenticationService authService, CategoryRepository categoryRepository,
+                           CategoryItemCountRepository categoryItemCountRepository,
+                           UserStatisticsCache userStatisticsCache, DeletionJobService deletionJobService,
+                           PlatformTransactionManager transactionManager) {
+        this.authService = authService;
+        this.categoryRepository = categoryRepository;
+        this.categoryItemCountRepository = categoryItemCountRepository;
+        this.userStatisticsCache = userStatisticsCache;
+        this.deletionJobService = deletionJobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     private static String buildErrorMessage(Long categoryId) {
         return "Category with id '" + categoryId + "' not found";
@@ -40,45 +79,45 @@ public class CategoryService {
     /**
      * Creates a new category.
      *
-     * @param userEmail the email of the user creating the category
-     * @param category  the category data transfer object
+     * @param user     the authenticated user creating the category
+     * @param category the category data transfer object
      *
      * @return the created category as a DTO
      */
-    public CategoryDto createCategory(String userEmail, CategoryDto category) {
-        log.info("Creating category for user: {}", userEmail);
+    public CategoryDto createCategory(AuthenticatedUser user, CategoryDto category) {
+        log.info("Creating category for user: {}", user.email());
 
         CategoryUtils.validateCategoryDto(category);
-        User user = getUser(userEmail);
         String categoryName = category.getCategoryName();
 
-        checkCategoryExists(categoryName, "", user.getUserId());
+        CategoryDto createdCategory = transactionTemplate.execute(status -> {
+            checkCategoryExists(categoryName, "", user.userId());
 
-        Category newCategory = buildNewCategory(category, user);
-        Category createdCategory = categoryRepository.saveAndFlush(newCategory);
+            Category newCategory = buildNewCategory(category, authService.getUserReference(user.userId()));
+            return CategoryUtils.mapToDto(categoryRepository.saveAndFlush(newCategory));
+        });
+        userStatisticsCache.evict(user.userId());
 
         log.info("Category created successfully with id: {}", createdCategory.getCategoryId());
-        return CategoryUtils.mapToDto(createdCategory);
+        return createdCategory;
     }
 
     /**
      * Retrieves a specific category by its ID.
      *
-     * @param userEmail  the email of the user
+     * @param user       the authenticated user
      * @param categoryId the ID of the category
      *
      * @return the category as a DTO
      */
-    public CategoryDto getCategory(String userEmail, Long categoryId) {
-        log.info("Retrieving category with id: {} for user: {}", categoryId, userEmail);
-
-        User user = getUser(userEmail);
-        CategoryItemCount foundCategory = categoryItemCountRepository.findByCategoryIdAndUserId(categoryId,
-                                                                                                user.getUserId())
-                                                                     .orElseThrow(() -> new CategoryNotFoundException(
-                                                                             buildErrorMessage(categoryId)));
+    public CategoryDto getCategory(AuthenticatedUser user, Long categoryId) {
+        log.info("Retrieving category with id: {} for user: {}", categoryId, user.email());
 
-        CategoryDto categoryDto = CategoryUtils.mapCategoryItemCountToCategoryDto(foundCategory);
+        CategoryDto categoryDto = readOnlyTransactionTemplate.execute(
+                status -> categoryItemCountRepository.findByCategoryIdAndUserId(categoryId, user.userId())
+                                                     .map(CategoryUtils::mapCategoryItemCountToCategoryDto)
+                                                     .orElseThrow(() -> new CategoryNotFoundException(
+                                                             buildErrorMessage(categoryId))));
 
         log.info("Category retrieved successfully with id: {}", categoryId);
         return categoryDto;
@@ -87,83 +126,138 @@ public class CategoryService {
     /**
      * Updates an existing category.
      *
-     * @param userEmail the email of the user
-     * @param category  the category data transfer object containing updated information
+     * @param user     the authenticated user
+     * @param category the category data transfer object containing updated information
      *
      * @return the updated category as a DTO
      */
-    public CategoryDto updateCategory(String userEmail, CategoryDto category) {
-        log.info("Updating category with id: {} for user: {}", category.getCategoryId(), userEmail);
+    public CategoryDto updateCategory(AuthenticatedUser user, CategoryDto category) {
+        log.info("Updating category with id: {} for user: {}", category.getCategoryId(), user.email());
 
         CategoryUtils.validateCategoryDto(category);
         CategoryUtils.validateCategoryId(category.getCategoryId());
 
-        User user = getUser(userEmail);
-        Category categoryToUpdate = categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(),
-                                                                                      user.getUserId())
-                                                      .orElseThrow(() -> new CategoryNotFoundException(buildErrorMessage(
-                                                              category.getCategoryId())));
+        CategoryDto updatedCategory = transactionTemplate.execute(status -> {
+            Category categoryToUpdate = categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(),
+                                                                                          user.userId())
+                                                          .orElseThrow(() -> new CategoryNotFoundException(
+                                                                  buildErrorMessage(category.getCategoryId())));
 
-        checkCategoryExists(category.getCategoryName(), categoryToUpdate.getCategoryName(), user.getUserId());
-        updateCategoryDetails(categoryToUpdate, category);
-        Category updatedCategory = categoryRepository.saveAndFlush(categoryToUpdate);
+            checkCategoryExists(category.getCategoryName(), categoryToUpdate.getCategoryName(), user.userId());
+            updateCategoryDetails(categoryToUpdate, category);
+            return CategoryUtils.mapToDto(categoryRepository.saveAndFlush(categoryToUpdate));
+        });
 
         log.info("Category updated successfully with id: {}", updatedCategory.getCategoryId());
-        return CategoryUtils.mapToDto(updatedCategory);
+        return updatedCategory;
     }
 
     /**
      * Deletes a category by its ID.
+     * The category is hidden immediately, the category and its items are purged by a background deletion job.
      *
-     * @param userEmail  the email of the user
+     * @param user       the authenticated user
      * @param categoryId the ID of the category
      *
-     * @return a confirmation message
+     * @return the deletion job purging the category
      */
-    public String deleteCategory(String userEmail, Long categoryId) {
-        log.info("Deleting category with id: {} for user: {}", categoryId, userEmail);
+    public DeletionJobDto deleteCategory(AuthenticatedUser user, Long categoryId) {
+        log.info("Deleting category with id: {} for user: {}", categoryId, user.email());
 
         CategoryUtils.validateCategoryId(categoryId);
-        User user = getUser(userEmail);
-        var category = categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.getUserId());
-
-        if (category.isEmpty()) {
-            throw new CategoryNotFoundException(buildErrorMessage(categoryId));
-        }
-
-        categoryRepository.deleteById(categoryId);
-        log.info("Category with id '{}' deleted", categoryId);
-        return "Category with id '" + categoryId + "' deleted";
+        var job = deletionJobService.scheduleCategoryDeletion(user, categoryId);
+        userStatisticsCache.evict(user.userId());
+        log.info("Category with id '{}' deleted, purge job id: {}", categoryId, job.getJobId());
+        return job;
     }
 
     /**
      * Retrieves categories by filters with pagination.
      *
-     * @param userEmail      the email of the user
+     * @param user           the authenticated user
      * @param categoryFilter the filter criteria
      *
      * @return a page of category DTOs
      */
-    public Page<CategoryDto> getCategoriesByFilters(String userEmail, CategoryFilter categoryFilter) {
-        log.info("Retrieving categories with filters for user: {}", userEmail);
-
-        User user = getUser(userEmail);
+    public Page<CategoryDto> getCategoriesByFilters(AuthenticatedUser user, CategoryFilter categoryFilter) {
+        log.info("Retrieving categories with filters for user: {}", user.email());
 
         var pageable = createPageRequest(categoryFilter.getPage(),
                                          categoryFilter.getSize(),
                                          Sort.by(categoryFilter.getDirection(), "categoryName"));
 
-        var spec = CategoryItemCountSpecification.builder()
-                                                 .userId(user.getUserId())
-                                                 .categoryName(categoryFilter.getCategoryName())
-                                                 .build();
+        var spec = buildCategorySpecification(user, categoryFilter);
 
-        Page<CategoryItemCount> resultFromDb = categoryItemCountRepository.findAll(spec, pageable);
-        Page<CategoryDto> page = resultFromDb.map(CategoryUtils::mapCategoryItemCountToCategoryDto);
-        log.info("Retrieved {} categories with filters for user: {}", resultFromDb.getTotalElements(), userEmail);
+        Page<CategoryDto> page = readOnlyTransactionTemplate.execute(
+                status -> categoryItemCountRepository.findAll(spec, pageable)
+                                                     .map(CategoryUtils::mapCategoryItemCountToCategoryDto));
+        log.info("Retrieved {} categories with filters for user: {}", page.getTotalElements(), user.email());
         return page;
     }
 
+    /**
+     * Retrieves the page of categories after the cursor of the filter, using keyset pagination.
+     * Categories are sorted by name and ID, and no count query is executed.
+     *
+     * @param user           the authenticated user
+     * @param categoryFilter the filter criteria, the page size, and the cursor
+     *
+     * @return a slice of category DTOs
+     */
+    public Slice<CategoryDto> getCategoriesByCursor(AuthenticatedUser user, CategoryFilter categoryFilter) {
+        log.info("Retrieving categories after cursor for user: {}", user.email());
+
+        var size = validateCursorPageSize(categoryFilter.getSize());
+        var direction = categoryFilter.getDirection();
+        var sort = Sort.by(direction, "categoryName", "categoryId");
+        var keyset = KeysetSpecification.<CategoryItemCount>builder()
+                                        .nameField("categoryName")
+                                        .idField("categoryId")
+                                        .cursor(CursorUtils.decodeCursor(categoryFilter.getAfter()))
+                                        .direction(direction)
+                                        .build();
+        var spec = buildCategorySpecification(user, categoryFilter).and(keyset);
+
+        // One extra row tells whether a next page exists
+        List<CategoryDto> rows = readOnlyTransactionTemplate.execute(
+                status -> categoryItemCountRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all())
+                                                     .stream()
+                                                     .map(CategoryUtils::mapCategoryItemCountToCategoryDto)
+                                                     .toList());
+        Slice<CategoryDto> resultFromDb = createSlice(rows, size, sort);
+        log.info("Retrieved {} categories after cursor for user: {}", resultFromDb.getNumberOfElements(), user.email());
+        return resultFromDb;
+    }
+
+    /**
+     * Counts the categories matching the filter criteria, ignoring pagination.
+     *
+     * @param user           the authenticated user
+     * @param categoryFilter the filter criteria
+     *
+     * @return the number of matching categories
+     */
+    public long countCategoriesByFilters(AuthenticatedUser user, CategoryFilter categoryFilter) {
+        return readOnlyTransactionTemplate.execute(
+                status -> categoryItemCountRepository.count(buildCategorySpecification(user, categoryFilter)));
+    }
+
+    /**
+     * Builds the specification of the categories of the user matching the filter criteria.
+     *
+     * @param user           the authenticated user
+     * @param categoryFilter the filter criteria
+     *
+     * @return the category specification
+     */
+    private Specification<CategoryItemCount> buildCategorySpecification(AuthenticatedUser user,
+                                                                        CategoryFilter categoryFilter) {
+        return CategoryItemCountSpecification.builder()
+                                             .userId(user.userId())
+                                             .categoryName(categoryFilter.getCategoryName())
+                                             .build();
+    }
+
     /**
      * Checks if a category with the given name already exists for the specified user.
      * If the new category name is different from the current name, an exception is thrown.
@@ -183,18 +277,6 @@ public class CategoryService {
         }
     }
 
-    /**
-     * Retrieves a User object by the user's email address.
-     *
-     * @param userEmail the email of the user to retrieve
-     *
-     * @return the User object associated with the given email
-     */
-    private User getUser(String userEmail) {
-        log.debug("Finding user by email: {}", userEmail);
-        return authService.findUserByEmail(userEmail);
-    }
-
     /**
      * Builds a new Category entity from the given CategoryDto and User.
      *
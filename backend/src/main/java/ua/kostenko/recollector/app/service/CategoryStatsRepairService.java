@@ -0,0 +1,156 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service that recomputes the item counters of the {@code category_stats} table from the items.
+ * <p>
+ * The counters are maintained by database triggers on every item change, so they only drift if the triggers
+ * were bypassed, e.g. by a manual data fix with disabled triggers. The repair task creates missing counter
+ * rows and corrects wrong counters in batches of {@code recollector.app.category-stats.repair.batch-size}
+ * categories, each in its own transaction. Categories marked as deleted get no counter rows, the purge drops
+ * their rows on purpose. The counter rows of a batch are locked before the items are counted,
+ * so item changes committed concurrently are neither lost nor counted twice.
+ * <p>
+ * The task runs on one application instance at a time, guarded by a PostgreSQL advisory lock.
+ */
+@Slf4j
+@Service
+public class CategoryStatsRepairService {
+
+    /**
+     * Key of the advisory lock guarding the repair task.
+     */
+    static final long REPAIR_LOCK_KEY = 7_002L;
+
+    private static final String INSERT_MISSING_SQL = """
+            INSERT INTO recollector.category_stats (category_id)
+            SELECT c.category_id
+            FROM recollector.categories c
+                     JOIN recollector.users u ON u.user_id = c.user_id
+            WHERE c.deleted_at IS NULL
+              AND u.deleted_at IS NULL
+              AND NOT EXISTS (SELECT 1 FROM recollector.category_stats s WHERE s.category_id = c.category_id)
+            ON CONFLICT (category_id) DO NOTHING
+            """;
+
+    private static final String LOCK_BATCH_SQL = """
+            SELECT category_id
+            FROM recollector.category_stats
+            WHERE category_id > ?
+            ORDER BY category_id
+            LIMIT ?
+            FOR UPDATE
+            """;
+
+    private static final String RECOUNT_BATCH_SQL = """
+            UPDATE recollector.category_stats s
+            SET count_todo_later  = t.count_todo_later,
+                count_in_progress = t.count_in_progress,
+                count_finished    = t.count_finished
+            FROM (SELECT s2.category_id,
+                         COUNT(CASE WHEN i.item_status = 'TODO_LATER' THEN 1 END)  AS count_todo_later,
+                         COUNT(CASE WHEN i.item_status = 'IN_PROGRESS' THEN 1 END) AS count_in_progress,
+                         COUNT(CASE WHEN i.item_status = 'FINISHED' THEN 1 END)    AS count_finished
+                  FROM recollector.category_stats s2
+                           LEFT JOIN recollector.items i ON i.category_id = s2.category_id
+                  WHERE s2.category_id BETWEEN ? AND ?
+                  GROUP BY s2.category_id) t
+            WHERE s.category_id = t.category_id
+              AND (s.count_todo_later, s.count_in_progress, s.count_finished)
+                IS DISTINCT FROM (t.count_todo_later, t.count_in_progress, t.count_finished)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterLockService clusterLockService;
+    private final Counter repairedCounter;
+
+    @Value("${recollector.app.category-stats.repair.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param jdbcTemplate        template used for the counter statements
+     * @param transactionTemplate template running each batch in its own transaction
+     * @param clusterLockService  service ensuring the task runs on a single instance
+     * @param meterRegistry       registry for the repaired counter
+     */
+    public CategoryStatsRepairService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                      ClusterLockService clusterLockService, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterLockService = clusterLockService;
+        this.repairedCounter = Counter.builder("recollector.category-stats.repaired")
+                                      .description("Category counter rows created or corrected by the repair task")
+                                      .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled task that recomputes the category counters.
+     * <p>
+     * This method runs every night by default.
+     */
+    @Scheduled(cron = "${recollector.app.category-stats.repair.cron:0 30 3 * * *}")
+    public void repairCategoryStats() {
+        log.info("Starting category counters repair.");
+        try {
+            var executed = clusterLockService.runWithLock(REPAIR_LOCK_KEY, this::recomputeCategoryStats);
+            if (!executed) {
+                log.info("Category counters repair skipped, it is running on another instance.");
+            }
+        } catch (Exception e) {
+            log.error("An error occurred during the category counters repair: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates missing counter rows and recounts the items of all categories batch by batch.
+     */
+    void recomputeCategoryStats() {
+        Integer created = transactionTemplate.execute(status -> jdbcTemplate.update(INSERT_MISSING_SQL));
+        long repairedTotal = Objects.requireNonNullElse(created, 0);
+        long lastCategoryId = 0;
+
+        while (true) {
+            var afterCategoryId = lastCategoryId;
+            var batch = transactionTemplate.execute(status -> recountBatch(afterCategoryId));
+            if (Objects.isNull(batch)) {
+                break;
+            }
+            repairedTotal += batch.repaired();
+            lastCategoryId = batch.lastCategoryId();
+        }
+
+        repairedCounter.increment(repairedTotal);
+        if (repairedTotal > 0) {
+            log.warn("Category counters repair completed. Repaired {} counter rows.", repairedTotal);
+        } else {
+            log.info("Category counters repair completed. All counters were correct.");
+        }
+    }
+
+    private Batch recountBatch(long afterCategoryId) {
+        List<Long> categoryIds = jdbcTemplate.queryForList(LOCK_BATCH_SQL, Long.class, afterCategoryId, batchSize);
+        if (categoryIds.isEmpty()) {
+            return null;
+        }
+        var firstCategoryId = categoryIds.get(0);
+        var lastCategoryId = categoryIds.get(categoryIds.size() - 1);
+        var repaired = jdbcTemplate.update(RECOUNT_BATCH_SQL, firstCategoryId, lastCategoryId);
+        return new Batch(lastCategoryId, repaired);
+    }
+
+    private record Batch(long lastCategoryId, int repaired) {}
+}
@@ -0,0 +1,59 @@
+package ua.kostenko.recollector.app.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Service for running tasks on a single application instance using PostgreSQL advisory locks.
+ * <p>
+ * The lock is a session-level advisory lock held on a dedicated connection for the duration of the task,
+ * so the task itself can commit its work in as many short transactions as it needs. If another instance
+ * holds the lock, the task is skipped instead of waiting.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterLockService {
+
+    private final DataSource dataSource;
+
+    /**
+     * Runs the task if the advisory lock with the given key can be acquired.
+     *
+     * @param lockKey the application-wide unique key of the lock
+     * @param task    the task to run while holding the lock
+     *
+     * @return true if the lock was acquired and the task was run, false if another instance holds the lock
+     */
+    public boolean runWithLock(long lockKey, Runnable task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!executeLockFunction(connection, "SELECT pg_try_advisory_lock(?)", lockKey)) {
+                log.debug("Advisory lock {} is held by another instance, skipping task", lockKey);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                executeLockFunction(connection, "SELECT pg_advisory_unlock(?)", lockKey);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to manage advisory lock " + lockKey, e);
+        }
+    }
+
+    private boolean executeLockFunction(Connection connection, String sql, long lockKey) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, lockKey);
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+}
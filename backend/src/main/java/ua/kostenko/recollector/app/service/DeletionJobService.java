@@ -0,0 +1,132 @@
+package ua.kostenko.recollector.app.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
+import ua.kostenko.recollector.app.entity.DeletionJob;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
+import ua.kostenko.recollector.app.exception.DeletionJobNotFoundException;
+import ua.kostenko.recollector.app.exception.UserNotFoundException;
+import ua.kostenko.recollector.app.repository.CategoryItemCountRepository;
+import ua.kostenko.recollector.app.repository.CategoryRepository;
+import ua.kostenko.recollector.app.repository.DeletionJobRepository;
+import ua.kostenko.recollector.app.repository.UserRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.DeletionJobUtils;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Service class for deleting categories and accounts in the background.
+ * <p>
+ * A delete marks the category or the user as deleted and creates a deletion job in one transaction, which takes
+ * the same time regardless of the number of items. Marked rows are excluded from all reads, so the delete takes
+ * effect immediately. The rows are purged later in batches by {@link DeletionPurgeService}, which records its
+ * progress in the job. The totals of a job are taken from the maintained item counters when the job is created.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeletionJobService {
+
+    private final DeletionJobRepository deletionJobRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryItemCountRepository categoryItemCountRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Marks a category of the user as deleted and schedules the purge of the category and its items.
+     *
+     * @param user       the authenticated user
+     * @param categoryId the ID of the category
+     *
+     * @return the created deletion job
+     *
+     * @throws CategoryNotFoundException if the category is not found for the user or is already deleted
+     */
+    public DeletionJobDto scheduleCategoryDeletion(AuthenticatedUser user, Long categoryId) {
+        log.info("Scheduling deletion of category with id: {} for user: {}", categoryId, user.email());
+
+        var job = transactionTemplate.execute(status -> {
+            var counts = categoryItemCountRepository.findByCategoryIdAndUserId(categoryId, user.userId())
+                                                    .orElseThrow(() -> new CategoryNotFoundException(
+                                                            "Category with id '" + categoryId + "' not found"));
+            if (categoryRepository.markDeleted(categoryId, user.userId(), LocalDateTime.now()) == 0) {
+                // Deleted by a concurrent request after the counters were read
+                throw new CategoryNotFoundException("Category with id '" + categoryId + "' not found");
+            }
+            var itemsTotal = counts.getCountTodoLater() + counts.getCountInProgress() + counts.getCountFinished();
+            return deletionJobRepository.save(buildJob(user.userId(), DeletionJobType.CATEGORY, categoryId,
+                                                       itemsTotal, 1));
+        });
+
+        log.info("Deletion job with id '{}' scheduled for category with id '{}'", job.getJobId(), categoryId);
+        return DeletionJobUtils.mapToDto(job);
+    }
+
+    /**
+     * Marks a user as deleted and schedules the purge of the account with all its data.
+     *
+     * @param userId the ID of the user
+     *
+     * @return the created deletion job
+     *
+     * @throws UserNotFoundException if the user is not found or is already deleted
+     */
+    public DeletionJobDto scheduleAccountDeletion(Long userId) {
+        log.info("Scheduling deletion of account with id: {}", userId);
+
+        var job = transactionTemplate.execute(status -> {
+            var statistics = categoryItemCountRepository.getStatisticsByUserId(userId);
+            if (userRepository.markDeleted(userId, LocalDateTime.now()) == 0) {
+                throw new UserNotFoundException("User with id '" + userId + "' not found");
+            }
+            return deletionJobRepository.save(buildJob(userId, DeletionJobType.ACCOUNT, userId,
+                                                       statistics.getTotalNumberOfItems(),
+                                                       statistics.getTotalNumberOfCategories()));
+        });
+
+        log.info("Deletion job with id '{}' scheduled for account with id '{}'", job.getJobId(), userId);
+        return DeletionJobUtils.mapToDto(job);
+    }
+
+    /**
+     * Retrieves a deletion job of the user with its current progress.
+     *
+     * @param user  the authenticated user
+     * @param jobId the ID of the job
+     *
+     * @return the deletion job
+     *
+     * @throws DeletionJobNotFoundException if the job is not found for the user
+     */
+    public DeletionJobDto getDeletionJob(AuthenticatedUser user, Long jobId) {
+        log.info("Retrieving deletion job with id: {} for user: {}", jobId, user.email());
+
+        if (Objects.isNull(jobId)) {
+            throw new DeletionJobNotFoundException("Deletion job id is null");
+        }
+        return deletionJobRepository.findByJobIdAndUserId(jobId, user.userId())
+                                    .map(DeletionJobUtils::mapToDto)
+                                    .orElseThrow(() -> new DeletionJobNotFoundException(
+                                            "Deletion job with id '" + jobId + "' not found"));
+    }
+
+    private static DeletionJob buildJob(Long userId, DeletionJobType jobType, Long targetId, long itemsTotal,
+                                        long categoriesTotal) {
+        return DeletionJob.builder()
+                          .userId(userId)
+                          .jobType(jobType.name())
+                          .targetId(targetId)
+                          .jobStatus(DeletionJobStatus.PENDING.name())
+                          .itemsTotal(itemsTotal)
+                          .categoriesTotal(categoriesTotal)
+                          .build();
+    }
+}
@@ -0,0 +1,388 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.entity.UserSettings;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service that purges the rows of deleted categories and accounts in the background.
+ * <p>
+ * The task takes the open deletion jobs in the order they were created. The items of a category are deleted in
+ * batches of {@code recollector.app.deletion.purge.batch-size} rows, each batch in its own transaction together
+ * with the progress of the job, so no transaction holds more than one batch of row locks and the progress read
+ * through the job is exact. The category row is deleted after its items, and the user row of an account after all
+ * its categories, which removes the settings and tokens of the user through their foreign keys.
+ * <p>
+ * The statements only delete rows of categories or users marked as deleted, so a job can never purge live data.
+ * The last statement of a job, which deletes the category or the user row, runs in one transaction with the
+ * completion of the job, so a completed job never leaves a marked row behind.
+ * <p>
+ * The first transaction of a job deletes the {@code category_stats} rows of its categories, which are no longer
+ * readable. The item batches then find no counters row and the stats trigger updates nothing.
+ * <p>
+ * A job that fails is retried up to {@code recollector.app.deletion.purge.max-attempts} times, with a delay that
+ * starts at {@code recollector.app.deletion.purge.retry-delay-seconds} and doubles with each attempt. The rows
+ * deleted before an error stay deleted and the next attempt continues with the remaining rows. A job that runs out
+ * of attempts is marked as failed with the error, its rows stay marked as deleted and hidden from every read.
+ * <p>
+ * The statements bypass Hibernate, so the purged categories and users are evicted from the second-level cache
+ * afterwards. Otherwise the cached email of a purged user would still resolve to the old user ID when the email
+ * is registered again.
+ * <p>
+ * A run deletes at most {@code recollector.app.deletion.purge.max-batches-per-run} item batches and then returns,
+ * so a large account does not occupy a scheduler thread for the whole purge. A job interrupted by the limit stays
+ * running and the next run continues it with the remaining rows.
+ * <p>
+ * The task runs on one application instance at a time, guarded by a PostgreSQL advisory lock.
+ */
+@Slf4j
+@Service
+public class DeletionPurgeService {
+
+    /**
+     * Key of the advisory lock guarding the purge task.
+     */
+    static final long PURGE_LOCK_KEY = 7_003L;
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 1000;
+
+    private static final String FIND_NEXT_JOB_SQL = """
+            SELECT job_id, job_type, target_id, attempts
+            FROM recollector.deletion_jobs
+            WHERE job_status IN ('PENDING', 'RUNNING')
+              AND (next_attempt_at IS NULL OR next_attempt_at <= CURRENT_TIMESTAMP)
+            ORDER BY job_id
+            LIMIT 1
+            """;
+
+    private static final String START_JOB_SQL = """
+            UPDATE recollector.deletion_jobs
+            SET job_status = 'RUNNING', updated_at = CURRENT_TIMESTAMP
+            WHERE job_id = ?
+            """;
+
+    private static final String ADD_PROGRESS_SQL = """
+            UPDATE recollector.deletion_jobs
+            SET items_deleted      = items_deleted + ?,
+                categories_deleted = categories_deleted + ?,
+                updated_at         = CURRENT_TIMESTAMP
+            WHERE job_id = ?
+            """;
+
+    private static final String COMPLETE_JOB_SQL = """
+            UPDATE recollector.deletion_jobs
+            SET job_status = 'COMPLETED', updated_at = CURRENT_TIMESTAMP, completed_at = CURRENT_TIMESTAMP
+            WHERE job_id = ?
+            """;
+
+    private static final String RETRY_JOB_SQL = """
+            UPDATE recollector.deletion_jobs
+            SET job_status = 'PENDING', attempts = attempts + 1, error_message = ?,
+                next_attempt_at = CURRENT_TIMESTAMP + ? * INTERVAL '1 second', updated_at = CURRENT_TIMESTAMP
+            WHERE job_id = ?
+            """;
+
+    private static final String FAIL_JOB_SQL = """
+            UPDATE recollector.deletion_jobs
+            SET job_status = 'FAILED', attempts = attempts + 1, error_message = ?,
+                updated_at = CURRENT_TIMESTAMP, completed_at = CURRENT_TIMESTAMP
+            WHERE job_id = ?
+            """;
+
+    private static final String DELETE_CATEGORY_STATS_SQL = """
+            DELETE FROM recollector.category_stats s
+                USING recollector.categories c, recollector.users u
+            WHERE s.category_id = ?
+              AND c.category_id = s.category_id
+              AND u.user_id = c.user_id
+              AND (c.deleted_at IS NOT NULL OR u.deleted_at IS NOT NULL)
+            """;
+
+    private static final String DELETE_ACCOUNT_CATEGORY_STATS_SQL = """
+            DELETE FROM recollector.category_stats s
+                USING recollector.categories c, recollector.users u
+            WHERE c.category_id = s.category_id
+              AND c.user_id = ?
+              AND u.user_id = c.user_id
+              AND u.deleted_at IS NOT NULL
+            """;
+
+    private static final String DELETE_ITEMS_BATCH_SQL = """
+            DELETE FROM recollector.items
+            WHERE item_id IN (SELECT i.item_id
+                              FROM recollector.items i
+                                       JOIN recollector.categories c ON c.category_id = i.category_id
+                                       JOIN recollector.users u ON u.user_id = c.user_id
+                              WHERE i.category_id = ?
+                                AND (c.deleted_at IS NOT NULL OR u.deleted_at IS NOT NULL)
+                              ORDER BY i.item_id
+                              LIMIT ?)
+            """;
+
+    private static final String DELETE_CATEGORY_SQL = """
+            DELETE FROM recollector.categories c
+                USING recollector.users u
+            WHERE c.category_id = ?
+              AND u.user_id = c.user_id
+              AND (c.deleted_at IS NOT NULL OR u.deleted_at IS NOT NULL)
+            """;
+
+    private static final String FIND_NEXT_ACCOUNT_CATEGORY_SQL = """
+            SELECT c.category_id
+            FROM recollector.categories c
+                     JOIN recollector.users u ON u.user_id = c.user_id
+            WHERE c.user_id = ?
+              AND u.deleted_at IS NOT NULL
+            ORDER BY c.category_id
+            LIMIT 1
+            """;
+
+    private static final String DELETE_USER_SQL = """
+            DELETE FROM recollector.users WHERE user_id = ? AND deleted_at IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ClusterLockService clusterLockService;
+    private final Cache secondLevelCache;
+    private final Counter purgedItemsCounter;
+    private final Counter completedJobsCounter;
+    private final Counter failedJobsCounter;
+    private final Counter retriedJobsCounter;
+
+    @Value("${recollector.app.deletion.purge.batch-size:1000}")
+    private int batchSize;
+    @Value("${recollector.app.deletion.purge.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+    @Value("${recollector.app.deletion.purge.max-attempts:5}")
+    private int maxAttempts;
+    @Value("${recollector.app.deletion.purge.retry-delay-seconds:60}")
+    private long retryDelaySeconds;
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param jdbcTemplate         template used for the purge statements
+     * @param transactionTemplate  template running each batch in its own transaction
+     * @param clusterLockService   service ensuring the task runs on a single instance
+     * @param entityManagerFactory factory providing the second-level cache the purged rows are evicted from
+     * @param meterRegistry        registry for the purge counters
+     */
+    public DeletionPurgeService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                ClusterLockService clusterLockService, EntityManagerFactory entityManagerFactory,
+                                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clusterLockService = clusterLockService;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.purgedItemsCounter = Counter.builder("recollector.deletion-jobs.items.purged")
+                                         .description("Items deleted by the purge task")
+                                         .register(meterRegistry);
+        this.completedJobsCounter = Counter.builder("recollector.deletion-jobs.finished")
+                                           .tag("status", "completed")
+                                           .description("Deletion jobs finished by the purge task")
+                                           .register(meterRegistry);
+        this.failedJobsCounter = Counter.builder("recollector.deletion-jobs.finished")
+                                        .tag("status", "failed")
+                                        .description("Deletion jobs finished by the purge task")
+                                        .register(meterRegistry);
+        this.retriedJobsCounter = Counter.builder("recollector.deletion-jobs.retried")
+                                         .description("Failed deletion job attempts scheduled for a retry")
+                                         .register(meterRegistry);
+    }
+
+    /**
+     * Scheduled task that runs the open deletion jobs.
+     * <p>
+     * This method runs a few seconds after the previous run finished by default.
+     */
+    @Scheduled(fixedDelayString = "${recollector.app.deletion.purge.delay-ms:5000}")
+    public void purgeDeletedData() {
+        log.debug("Starting deletion jobs purge.");
+        try {
+            var executed = clusterLockService.runWithLock(PURGE_LOCK_KEY, this::runOpenJobs);
+            if (!executed) {
+                log.debug("Deletion jobs purge skipped, it is running on another instance.");
+            }
+        } catch (Exception e) {
+            log.error("An error occurred during the deletion jobs purge: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs the open deletion jobs one after another until none is left or the batch limit of the run is reached.
+     */
+    void runOpenJobs() {
+        var budget = new RunBudget(maxBatchesPerRun);
+        while (budget.hasRemaining()) {
+            List<Job> jobs = jdbcTemplate.query(FIND_NEXT_JOB_SQL,
+                                                (rs, rowNum) -> new Job(rs.getLong("job_id"),
+                                                                        DeletionJobType.valueOf(rs.getString(
+                                                                                "job_type")),
+                                                                        rs.getLong("target_id"),
+                                                                        rs.getInt("attempts")));
+            if (jobs.isEmpty()) {
+                return;
+            }
+            runJob(jobs.get(0), budget);
+        }
+        log.debug("Deletion jobs purge reached the limit of {} batches, continuing in the next run", maxBatchesPerRun);
+    }
+
+    private void runJob(Job job, RunBudget budget) {
+        log.info("Running deletion job with id '{}' for {} with id '{}'", job.jobId(), job.jobType(), job.targetId());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(START_JOB_SQL, job.jobId());
+                // Without the counters row the item batches skip the counter updates of the stats trigger
+                if (job.jobType() == DeletionJobType.CATEGORY) {
+                    jdbcTemplate.update(DELETE_CATEGORY_STATS_SQL, job.targetId());
+                } else {
+                    jdbcTemplate.update(DELETE_ACCOUNT_CATEGORY_STATS_SQL, job.targetId());
+                }
+            });
+            var completed = job.jobType() == DeletionJobType.CATEGORY
+                            ? purgeCategory(job.jobId(), job.targetId(), true, budget)
+                            : purgeAccount(job.jobId(), job.targetId(), budget);
+            if (!completed) {
+                log.info("Deletion job with id '{}' paused at the batch limit of the run.", job.jobId());
+                return;
+            }
+            completedJobsCounter.increment();
+            log.info("Deletion job with id '{}' completed.", job.jobId());
+        } catch (Exception e) {
+            handleFailure(job, e);
+        }
+    }
+
+    private void handleFailure(Job job, Exception e) {
+        var attempt = job.attempts() + 1;
+        if (attempt < maxAttempts) {
+            // The delay doubles with each attempt: 1, 2, 4... times the retry delay
+            var delaySeconds = retryDelaySeconds << Math.min(job.attempts(), 20);
+            log.warn("Deletion job with id '{}' failed on attempt {} of {}, retrying in {} s: {}",
+                     job.jobId(), attempt, maxAttempts, delaySeconds, e.getMessage(), e);
+            jdbcTemplate.update(RETRY_JOB_SQL, errorMessage(e), delaySeconds, job.jobId());
+            retriedJobsCounter.increment();
+        } else {
+            log.error("Deletion job with id '{}' failed on its last attempt {}: {}",
+                      job.jobId(), attempt, e.getMessage(), e);
+            jdbcTemplate.update(FAIL_JOB_SQL, errorMessage(e), job.jobId());
+            failedJobsCounter.increment();
+        }
+    }
+
+    /**
+     * Purges the categories of an account one after another, then the user row.
+     *
+     * @param jobId  the ID of the job the progress is added to
+     * @param userId the ID of the user to purge
+     * @param budget the batches left in the current run
+     *
+     * @return true if the account was purged, false if the run reached its batch limit first
+     */
+    private boolean purgeAccount(long jobId, long userId, RunBudget budget) {
+        while (true) {
+            List<Long> categoryIds = jdbcTemplate.queryForList(FIND_NEXT_ACCOUNT_CATEGORY_SQL, Long.class, userId);
+            if (categoryIds.isEmpty()) {
+                break;
+            }
+            if (!purgeCategory(jobId, categoryIds.get(0), false, budget)) {
+                return false;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_USER_SQL, userId);
+            jdbcTemplate.update(COMPLETE_JOB_SQL, jobId);
+        });
+        // The settings are deleted through the foreign key, their IDs are not known here
+        secondLevelCache.evictEntityData(User.class, userId);
+        secondLevelCache.evictNaturalIdData(User.class);
+        secondLevelCache.evictEntityData(UserSettings.class);
+        secondLevelCache.evictNaturalIdData(UserSettings.class);
+        return true;
+    }
+
+    /**
+     * Deletes the items of a category in batches, then the category row.
+     *
+     * @param jobId       the ID of the job the progress is added to
+     * @param categoryId  the ID of the category to purge
+     * @param completeJob whether the job is completed in the transaction deleting the category row
+     * @param budget      the batches left in the current run
+     *
+     * @return true if the category was purged, false if the run reached its batch limit first
+     */
+    private boolean purgeCategory(long jobId, long categoryId, boolean completeJob, RunBudget budget) {
+        int deleted;
+        do {
+            if (!budget.take()) {
+                return false;
+            }
+            Integer batchDeleted = transactionTemplate.execute(status -> {
+                var count = jdbcTemplate.update(DELETE_ITEMS_BATCH_SQL, categoryId, batchSize);
+                jdbcTemplate.update(ADD_PROGRESS_SQL, count, 0, jobId);
+                return count;
+            });
+            deleted = Objects.requireNonNullElse(batchDeleted, 0);
+            purgedItemsCounter.increment(deleted);
+        } while (deleted == batchSize);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // No row is deleted if the category was already purged by the job of its account
+            var count = jdbcTemplate.update(DELETE_CATEGORY_SQL, categoryId);
+            jdbcTemplate.update(ADD_PROGRESS_SQL, 0, count, jobId);
+            if (completeJob) {
+                jdbcTemplate.update(COMPLETE_JOB_SQL, jobId);
+            }
+        });
+        secondLevelCache.evictEntityData(Category.class, categoryId);
+        return true;
+    }
+
+    private static String errorMessage(Exception e) {
+        var message = Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+        return message.length() > MAX_ERROR_MESSAGE_LENGTH ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message;
+    }
+
+    private record Job(long jobId, DeletionJobType jobType, long targetId, int attempts) {}
+
+    /**
+     * Number of item batches a run may still delete.
+     */
+    private static final class RunBudget {
+
+        private int remaining;
+
+        RunBudget(int remaining) {
+            this.remaining = remaining;
+        }
+
+        boolean hasRemaining() {
+            return remaining > 0;
+        }
+
+        boolean take() {
+            if (remaining <= 0) {
+                return false;
+            }
+            remaining--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package ua.kostenko.recollector.app.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ExportRow;
+import ua.kostenko.recollector.app.exception.ExportUnavailableException;
+import ua.kostenko.recollector.app.repository.ItemExportRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.ExportUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service class exporting the whole library of a user, all categories with their items, into a file.
+ * <p>
+ * The rows are streamed from a database cursor straight into the response, so the export of a large library
+ * needs no more memory than a small one. The database is read in one read-only transaction, which gives the
+ * export a consistent snapshot of the library.
+ * <p>
+ * The transaction holds a pooled connection for as long as the client takes to download the file, so at most
+ * {@code recollector.app.export.max-concurrency} exports run at the same time. The permit of an export is
+ * acquired before the response is committed; when none is free, the export is rejected with
+ * {@code 503 Service Unavailable} and a {@code Retry-After} header of
+ * {@code recollector.app.export.retry-after-seconds}.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ItemExportRepository itemExportRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore exportPermits;
+    private final long retryAfterSeconds;
+
+    /**
+     * Creates the service.
+     *
+     * @param itemExportRepository repository streaming the library rows
+     * @param transactionManager   manager of the read-only transaction the rows are read in
+     * @param objectMapper         mapper providing the JSON generator of the NDJSON export
+     * @param maxConcurrency       the maximum number of exports running at the same time
+     * @param retryAfterSeconds    the retry delay suggested to clients when no export permit is free
+     */
+    public ExportService(ItemExportRepository itemExportRepository, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         @Value("${recollector.app.export.max-concurrency:2}") int maxConcurrency,
+                         @Value("${recollector.app.export.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.itemExportRepository = itemExportRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.exportPermits = new Semaphore(maxConcurrency);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Acquires the permit of an export, which must be closed once the export is written.
+     * Exports do not wait for a permit, because a running export may take minutes to complete.
+     *
+     * @return the permit of the export
+     *
+     * @throws ExportUnavailableException if the maximum number of exports is already running
+     */
+    public ExportPermit acquirePermit() {
+        if (!exportPermits.tryAcquire()) {
+            throw new ExportUnavailableException("Too many exports are running, try again later",
+                                                 retryAfterSeconds);
+        }
+        return new ExportPermit(exportPermits);
+    }
+
+    /**
+     * Writes the library of the user to the output stream.
+     * The output stream is flushed but not closed.
+     *
+     * @param user         the authenticated user
+     * @param format       the format of the export file
+     * @param gzip         whether to compress the export file with gzip
+     * @param outputStream the stream to write the export file to
+     *
+     * @throws IOException if writing to the output stream fails
+     */
+    public void exportLibrary(AuthenticatedUser user, ExportFormat format, boolean gzip,
+                              OutputStream outputStream) throws IOException {
+        var startNanos = System.nanoTime();
+        var target = new NonClosingOutputStream(outputStream);
+        OutputStream stream = gzip
+                              ? new GZIPOutputStream(target, BUFFER_SIZE)
+                              : new BufferedOutputStream(target, BUFFER_SIZE);
+        try (var writer = new OutputStreamWriter(stream, StandardCharsets.UTF_8)) {
+            var rows = format == ExportFormat.CSV ? exportCsv(user, writer) : exportNdjson(user, writer);
+            log.info("Exported {} rows as {} for user {} in {} ms", rows, format, user.email(),
+                     (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (UncheckedIOException e) {
+            log.warn("Export for user {} was aborted: {}", user.email(), e.getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private long exportCsv(AuthenticatedUser user, Writer writer) throws IOException {
+        ExportUtils.writeCsvHeader(writer);
+        return streamLibrary(user, row -> ExportUtils.writeCsvRow(writer, row));
+    }
+
+    private long exportNdjson(AuthenticatedUser user, Writer writer) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            return streamLibrary(user, row -> ExportUtils.writeJsonRow(generator, row));
+        }
+    }
+
+    private long streamLibrary(AuthenticatedUser user, RowWriter rowWriter) {
+        Consumer<ExportRow> consumer = row -> {
+            try {
+                rowWriter.write(row);
+            } catch (IOException e) {
+                // The client went away, stop reading from the cursor
+                throw new UncheckedIOException(e);
+            }
+        };
+        Long rows = readOnlyTransactionTemplate.execute(
+                status -> itemExportRepository.streamLibrary(user.userId(), consumer));
+        return Objects.requireNonNullElse(rows, 0L);
+    }
+
+    /**
+     * Writes one export row in the format of the export file.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(ExportRow row) throws IOException;
+    }
+
+    /**
+     * Permit of a running export. Closing the permit releases it, closing it again has no effect.
+     */
+    public static final class ExportPermit implements AutoCloseable {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ExportPermit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Keeps the response stream open when the writers are closed, the servlet container closes it.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
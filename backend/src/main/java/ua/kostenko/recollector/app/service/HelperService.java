@@ -1,17 +1,18 @@
 package ua.kostenko.recollector.app.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.kostenko.recollector.app.dto.StatisticDto;
 import ua.kostenko.recollector.app.dto.UserSettingsDto;
 import ua.kostenko.recollector.app.entity.ItemStatus;
 import ua.kostenko.recollector.app.entity.UserSettings;
 import ua.kostenko.recollector.app.exception.UserSettingsValidationException;
-import ua.kostenko.recollector.app.repository.CategoryRepository;
-import ua.kostenko.recollector.app.repository.ItemRepository;
+import ua.kostenko.recollector.app.repository.CategoryItemCountRepository;
 import ua.kostenko.recollector.app.repository.UserRepository;
 import ua.kostenko.recollector.app.repository.UserSettingsRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.util.UserSettingsUtils;
 
@@ -24,17 +25,48 @@ import java.util.Optional;
  * <p>
  * This class utilizes various repositories and authentication services to fetch and compute
  * statistical data related to items and categories, and manage user settings.
+ * <p>
+ * Every database read runs in a read-only transaction and every change in a read-write transaction, and the
+ * results are mapped to DTOs before the transaction ends. The caches are updated after the commit.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class HelperService {
 
     private final AuthenticationService authService;
-    private final CategoryRepository categoryRepository;
-    private final ItemRepository itemRepository;
+    private final CategoryItemCountRepository categoryItemCountRepository;
     private final UserRepository userRepository;
     private final UserSettingsRepository userSettingsRepository;
+    private final UserStatisticsCache userStatisticsCache;
+    private final UserSettingsCache userSettingsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /**
+     * Creates the service.
+     *
+     * @param authService                 service providing references to the users
+     * @param categoryItemCountRepository repository of the category counters the statistics are read from
+     * @param userRepository              repository of the users
+     * @param userSettingsRepository      repository of the user settings
+     * @param userStatisticsCache         cache of the user statistics
+     * @param userSettingsCache           cache of the user settings
+     * @param transactionManager          manager of the read-only and read-write transactions
+     */
+    public HelperService(AuthenticationService authService, CategoryItemCountRepository categoryItemCountRepository,
+                         UserRepository userRepository, UserSettingsRepository userSettingsRepository,
+                         UserStatisticsCache userStatisticsCache, UserSettingsCache userSettingsCache,
+                         PlatformTransactionManager transactionManager) {
+        this.authService = authService;
+        this.categoryItemCountRepository = categoryItemCountRepository;
+        this.userRepository = userRepository;
+        this.userSettingsRepository = userSettingsRepository;
+        this.userStatisticsCache = userStatisticsCache;
+        this.userSettingsCache = userSettingsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     /**
      * Retrieves all possible item statuses.
@@ -49,77 +81,57 @@ public class HelperService {
     }
 
     /**
-     * Retrieves statistics for a user based on their email.
+     * Retrieves statistics for the authenticated user.
+     * <p>
+     * The statistics are read with a single query over the maintained category counters and cached until
+     * the categories or items of the user change.
      *
-     * @param userEmail the email of the user for whom to retrieve statistics
+     * @param user the authenticated user for whom to retrieve statistics
      *
      * @return a {@link StatisticDto} containing the statistics
      */
-    public StatisticDto getStatistics(String userEmail) {
-        log.info("Fetching statistics for user with email: {}", userEmail);
-
-        // Fetch user by email
-        var user = authService.findUserByEmail(userEmail);
-        var userId = user.getUserId();
-
-        // Retrieve counts from repositories
-        var numberOfCategories = categoryRepository.countByUser_UserId(userId);
-        var numberOfAllItems = itemRepository.countAllItemsByUserId(userId);
-        var numberOfAllItemsTodo = itemRepository.countAllItemsByUserIdAndStatus(userId, ItemStatus.TODO_LATER.name());
-        var numberOfAllItemsInProgress = itemRepository.countAllItemsByUserIdAndStatus(userId,
-                                                                                       ItemStatus.IN_PROGRESS.name());
-        var numberOfAllItemsFinished = itemRepository.countAllItemsByUserIdAndStatus(userId,
-                                                                                     ItemStatus.FINISHED.name());
-
-        // Create and return statistics DTO
-        StatisticDto statistics = StatisticDto.builder()
-                                              .totalNumberOfCategories(numberOfCategories)
-                                              .totalNumberOfItems(numberOfAllItems)
-                                              .totalNumberOfItemsTodo(numberOfAllItemsTodo)
-                                              .totalNumberOfItemsInProgress(numberOfAllItemsInProgress)
-                                              .totalNumberOfItemsFinished(numberOfAllItemsFinished)
-                                              .build();
-
-        log.info("Statistics for user {}: {}", userEmail, statistics);
+    public StatisticDto getStatistics(AuthenticatedUser user) {
+        log.info("Fetching statistics for user with email: {}", user.email());
+
+        var userId = user.userId();
+        StatisticDto statistics = userStatisticsCache.get(userId, () -> readOnlyTransactionTemplate.execute(
+                status -> categoryItemCountRepository.getStatisticsByUserId(userId)));
+
+        log.info("Statistics for user {}: {}", user.email(), statistics);
         return statistics;
     }
 
     /**
-     * Retrieves user settings based on the user's email.
+     * Retrieves user settings for the authenticated user.
+     * <p>
+     * The settings are cached per user, so after the first load they are returned without database work.
      *
-     * @param userEmail the email of the user for whom to retrieve settings
+     * @param user the authenticated user for whom to retrieve settings
      *
      * @return a {@link UserSettingsDto} containing user settings
      */
-    public UserSettingsDto getUserSettings(String userEmail) {
-        log.info("Fetching settings for user with email: {}", userEmail);
-
-        // Fetch user by email
-        var user = authService.findUserByEmail(userEmail);
-        var userId = user.getUserId();
-
-        // Retrieve user settings from repository
-        Optional<UserSettings> userSettings = userSettingsRepository.findByUser_UserId(userId);
+    public UserSettingsDto getUserSettings(AuthenticatedUser user) {
+        log.info("Fetching settings for user with email: {}", user.email());
 
-        UserSettingsDto settingsDto = userSettings.map(UserSettingsUtils::toUserSettingsDto)
-                                                  .orElse(UserSettingsDto.getDefault(userEmail));
+        UserSettingsDto settingsDto = userSettingsCache.get(user.userId(), () -> readOnlyTransactionTemplate.execute(
+                status -> loadUserSettings(user)));
 
-        log.info("Retrieved settings for user {}: {}", userEmail, settingsDto);
+        log.info("Retrieved settings for user {}: {}", user.email(), settingsDto);
         return settingsDto;
     }
 
     /**
-     * Saves or updates user settings based on the user's email and provided settings DTO.
+     * Saves or updates user settings for the authenticated user and provided settings DTO.
      *
-     * @param userEmail       the email of the user for whom to save settings
+     * @param user            the authenticated user for whom to save settings
      * @param userSettingsDto the settings data to be saved
      *
      * @return a {@link UserSettingsDto} containing the saved settings
      *
      * @throws UserSettingsValidationException if validation fails
      */
-    public UserSettingsDto saveUserSettings(String userEmail, UserSettingsDto userSettingsDto) {
-        log.info("Saving settings for user with email: {}", userEmail);
+    public UserSettingsDto saveUserSettings(AuthenticatedUser user, UserSettingsDto userSettingsDto) {
+        log.info("Saving settings for user with email: {}", user.email());
 
         // Validate user settings DTO
         var validationResult = UserSettingsUtils.isValidSettingsDto(userSettingsDto);
@@ -129,27 +141,38 @@ public class HelperService {
             throw new UserSettingsValidationException(errMsg);
         }
 
-        // Fetch user and existing settings
-        var user = authService.findUserByEmail(userEmail);
-        var userId = user.getUserId();
-        var userSettings = userSettingsRepository.findByUser_UserId(userId);
-
-        // Create or update settings
-        UserSettings settingsToUpdate = userSettings.orElseGet(UserSettings::new);
-        settingsToUpdate.setUser(user);
-        settingsToUpdate.setCategoryBackgroundColor(userSettingsDto.getCategoryBackgroundColor());
-        settingsToUpdate.setCategoryItemColor(userSettingsDto.getCategoryItemColor());
-        settingsToUpdate.setCategoryFabColor(userSettingsDto.getCategoryFabColor());
-        settingsToUpdate.setCategoryPageSize(userSettingsDto.getCategoryPageSize());
-        settingsToUpdate.setItemBackgroundColor(userSettingsDto.getItemBackgroundColor());
-        settingsToUpdate.setItemItemColor(userSettingsDto.getItemItemColor());
-        settingsToUpdate.setItemFabColor(userSettingsDto.getItemFabColor());
-        settingsToUpdate.setItemPageSize(userSettingsDto.getItemPageSize());
-
-        UserSettings savedSettings = userSettingsRepository.saveAndFlush(settingsToUpdate);
-        UserSettingsDto savedSettingsDto = UserSettingsUtils.toUserSettingsDto(savedSettings);
-
-        log.info("Saved settings for user {}: {}", userEmail, savedSettingsDto);
+        UserSettingsDto savedSettingsDto = transactionTemplate.execute(status -> {
+            // Fetch existing settings
+            var userSettings = userSettingsRepository.findByUser_UserId(user.userId());
+
+            // Create or update settings
+            UserSettings settingsToUpdate = userSettings.orElseGet(UserSettings::new);
+            if (settingsToUpdate.getUser() == null) {
+                settingsToUpdate.setUser(authService.getUserReference(user.userId()));
+            }
+            settingsToUpdate.setCategoryBackgroundColor(userSettingsDto.getCategoryBackgroundColor());
+            settingsToUpdate.setCategoryItemColor(userSettingsDto.getCategoryItemColor());
+            settingsToUpdate.setCategoryFabColor(userSettingsDto.getCategoryFabColor());
+            settingsToUpdate.setCategoryPageSize(userSettingsDto.getCategoryPageSize());
+            settingsToUpdate.setItemBackgroundColor(userSettingsDto.getItemBackgroundColor());
+            settingsToUpdate.setItemItemColor(userSettingsDto.getItemItemColor());
+            settingsToUpdate.setItemFabColor(userSettingsDto.getItemFabColor());
+            settingsToUpdate.setItemPageSize(userSettingsDto.getItemPageSize());
+
+            UserSettings savedSettings = userSettingsRepository.saveAndFlush(settingsToUpdate);
+            return UserSettingsUtils.toUserSettingsDto(savedSettings, user.email());
+        });
+
+        userSettingsCache.put(user.userId(), savedSettingsDto);
+
+        log.info("Saved settings for user {}: {}", user.email(), savedSettingsDto);
         return savedSettingsDto;
     }
+
+    private UserSettingsDto loadUserSettings(AuthenticatedUser user) {
+        Optional<UserSettings> userSettings = userSettingsRepository.findByUser_UserId(user.userId());
+
+        return userSettings.map(settings -> UserSettingsUtils.toUserSettingsDto(settings, user.email()))
+                           .orElse(UserSettingsDto.getDefault(user.email()));
+    }
 }
@@ -0,0 +1,222 @@
+package ua.kostenko.recollector.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ImportErrorDto;
+import ua.kostenko.recollector.app.dto.ImportResultDto;
+import ua.kostenko.recollector.app.dto.ImportRow;
+import ua.kostenko.recollector.app.exception.ImportUnavailableException;
+import ua.kostenko.recollector.app.exception.ImportValidationException;
+import ua.kostenko.recollector.app.repository.ItemImportRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.CsvRecordReader;
+import ua.kostenko.recollector.app.util.ImportUtils;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service class importing categories and items of a user from an NDJSON or CSV file, e.g. one created by the export.
+ * <p>
+ * The file is parsed and validated while it is streamed with {@code COPY} into a staging table, and merged from
+ * there into the categories and items of the user with set-based statements, all in one transaction. Missing
+ * categories are created, items that already exist are not changed. Rows that are invalid or not imported are
+ * reported with their row number and the reason, up to {@code recollector.app.import.max-errors} rows.
+ * <p>
+ * The transaction holds a pooled connection for as long as the client takes to upload the file, so at most
+ * {@code recollector.app.import.max-concurrency} imports run at the same time. When none is free, the import is
+ * rejected with {@code 503 Service Unavailable} and a {@code Retry-After} header of
+ * {@code recollector.app.import.retry-after-seconds} before the body is read.
+ */
+@Slf4j
+@Service
+public class ImportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ItemImportRepository itemImportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserStatisticsCache userStatisticsCache;
+    private final Semaphore importPermits;
+    private final long retryAfterSeconds;
+
+    @Value("${recollector.app.import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Creates the service.
+     *
+     * @param itemImportRepository repository staging and merging the imported rows
+     * @param transactionTemplate  template of the transaction the file is imported in
+     * @param objectMapper         mapper parsing the rows of the NDJSON import
+     * @param userStatisticsCache  cache of the user statistics, evicted after the import
+     * @param maxConcurrency       the maximum number of imports running at the same time
+     * @param retryAfterSeconds    the retry delay suggested to clients when no import permit is free
+     */
+    public ImportService(ItemImportRepository itemImportRepository, TransactionTemplate transactionTemplate,
+                         ObjectMapper objectMapper, UserStatisticsCache userStatisticsCache,
+                         @Value("${recollector.app.import.max-concurrency:2}") int maxConcurrency,
+                         @Value("${recollector.app.import.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.itemImportRepository = itemImportRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.userStatisticsCache = userStatisticsCache;
+        this.importPermits = new Semaphore(maxConcurrency);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Imports the categories and items of an import file for the user.
+     *
+     * @param user        the authenticated user
+     * @param format      the format of the import file
+     * @param inputStream the content of the import file, encoded in UTF-8
+     *
+     * @return the numbers of rows read and of categories and items created, and the rejected rows
+     *
+     * @throws ImportValidationException  if the file cannot be read, e.g. because the CSV header is missing
+     * @throws ImportUnavailableException if the maximum number of imports is already running
+     */
+    public ImportResultDto importLibrary(AuthenticatedUser user, ExportFormat format, InputStream inputStream) {
+        // Imports do not wait for a permit, because a running import may take minutes to complete
+        if (!importPermits.tryAcquire()) {
+            throw new ImportUnavailableException("Too many imports are running, try again later",
+                                                 retryAfterSeconds);
+        }
+        try {
+            return importWithPermit(user, format, inputStream);
+        } finally {
+            importPermits.release();
+        }
+    }
+
+    private ImportResultDto importWithPermit(AuthenticatedUser user, ExportFormat format, InputStream inputStream) {
+        log.info("Importing {} file for user {}", format, user.email());
+        var startNanos = System.nanoTime();
+        var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        var invalidRows = new InvalidRows(maxErrors);
+
+        ImportResultDto result;
+        try {
+            result = transactionTemplate.execute(status -> {
+                itemImportRepository.createStagingTable();
+                var rows = format == ExportFormat.CSV ? readCsvRows(reader) : readNdjsonRows(reader, invalidRows);
+                var validRows = rows.filter(row -> isValid(row, invalidRows));
+                var copied = itemImportRepository.copyRows(validRows.iterator());
+                var categoriesCreated = itemImportRepository.insertCategories(user.userId());
+                var itemsCreated = itemImportRepository.insertItems(user.userId());
+                var rejected = itemImportRepository.countRejectedRows();
+                var errors = Stream.concat(invalidRows.errors.stream(),
+                                           itemImportRepository.findRejectedRows(maxErrors).stream())
+                                   .sorted(Comparator.comparingLong(ImportErrorDto::getRow))
+                                   .limit(maxErrors)
+                                   .toList();
+                return ImportResultDto.builder()
+                                      .rowsRead(copied + invalidRows.count)
+                                      .categoriesCreated(categoriesCreated)
+                                      .itemsCreated(itemsCreated)
+                                      .rowsRejected(rejected + invalidRows.count)
+                                      .errors(errors)
+                                      .build();
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("Import file of user {} could not be read: {}", user.email(), e.getMessage());
+            throw new ImportValidationException("Import file could not be read: " + e.getCause().getMessage());
+        }
+        userStatisticsCache.evict(user.userId());
+
+        log.info("Imported {} categories and {} items for user {} in {} ms", result.getCategoriesCreated(),
+                 result.getItemsCreated(), user.email(), (System.nanoTime() - startNanos) / 1_000_000);
+        return result;
+    }
+
+    private Stream<ImportRow> readNdjsonRows(BufferedReader reader, InvalidRows invalidRows) {
+        var lineNumber = new AtomicLong();
+        return reader.lines()
+                     .map(line -> parseJsonLine(lineNumber.incrementAndGet(), line, invalidRows))
+                     .filter(Objects::nonNull);
+    }
+
+    private ImportRow parseJsonLine(long row, String line, InvalidRows invalidRows) {
+        if (StringUtils.isBlank(line)) {
+            return null;
+        }
+        try {
+            var node = objectMapper.readTree(line);
+            if (node.isObject()) {
+                return ImportUtils.toImportRow(row, node);
+            }
+            invalidRows.add(row, "Row is not a JSON object");
+        } catch (JsonProcessingException e) {
+            invalidRows.add(row, "Row is not valid JSON");
+        }
+        return null;
+    }
+
+    private Stream<ImportRow> readCsvRows(BufferedReader reader) {
+        var csvReader = new CsvRecordReader(reader);
+        var columns = ImportUtils.readCsvHeader(readRecord(csvReader));
+        var rowNumber = new AtomicLong();
+        return Stream.iterate(readRecord(csvReader), Objects::nonNull, previous -> readRecord(csvReader))
+                     .map(fields -> ImportUtils.toImportRow(rowNumber.incrementAndGet(), fields, columns))
+                     .filter(row -> !isEmpty(row));
+    }
+
+    private static List<String> readRecord(CsvRecordReader csvReader) {
+        try {
+            return csvReader.readRecord();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isEmpty(ImportRow row) {
+        // Empty lines are skipped
+        return Objects.isNull(row.categoryName()) && Objects.isNull(row.itemName()) && Objects.isNull(row.itemStatus())
+                && Objects.isNull(row.itemNotes());
+    }
+
+    private static boolean isValid(ImportRow row, InvalidRows invalidRows) {
+        var error = ImportUtils.validateRow(row);
+        if (Objects.isNull(error)) {
+            return true;
+        }
+        invalidRows.add(row.row(), error);
+        return false;
+    }
+
+    /**
+     * Rows rejected while parsing, of which only the first ones are kept for the report.
+     */
+    private static class InvalidRows {
+
+        private final int maxErrors;
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private long count;
+
+        InvalidRows(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void add(long row, String message) {
+            count++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportErrorDto(row, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package ua.kostenko.recollector.app.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationDto;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationType;
+import ua.kostenko.recollector.app.dto.ItemBatchRequestDto;
+import ua.kostenko.recollector.app.dto.ItemBatchResultDto;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
+import ua.kostenko.recollector.app.exception.ItemAlreadyExistsException;
+import ua.kostenko.recollector.app.exception.ItemNotFoundException;
+import ua.kostenko.recollector.app.exception.ItemValidationException;
+import ua.kostenko.recollector.app.repository.CategoryRepository;
+import ua.kostenko.recollector.app.repository.ItemRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.ItemUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for applying several item changes of a category in one request.
+ * <p>
+ * The operations of a batch are applied in one transaction, either all or none of them. The category, the target
+ * categories of moves and the referenced items are each loaded with one query, so the ownership is checked once per
+ * category instead of once per item. Deletes are executed as one statement, and the created, updated and moved
+ * items are written with one flush, which Hibernate sends as JDBC batches.
+ * A move into the category the item already is in changes nothing and is not counted as moved.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemBatchService {
+
+    private final ItemRepository itemRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserStatisticsCache userStatisticsCache;
+
+    @Value("${recollector.app.items.batch.max-operations:500}")
+    private int maxOperations;
+
+    /**
+     * Applies the operations of a batch request to the items of a category.
+     *
+     * @param user         the authenticated user
+     * @param categoryId   the ID of the category whose items are changed
+     * @param batchRequest the operations to apply
+     *
+     * @return the numbers of changed items and the created, updated and moved items
+     *
+     * @throws ItemValidationException    if the batch is empty, too large or contains an invalid operation
+     * @throws CategoryNotFoundException  if the category or a target category is not found for the user
+     * @throws ItemNotFoundException      if a referenced item is not found in the category
+     * @throws ItemAlreadyExistsException if an item name would be used twice in a category
+     */
+    public ItemBatchResultDto applyBatch(AuthenticatedUser user, Long categoryId, ItemBatchRequestDto batchRequest) {
+        log.info("Applying item batch to category with id: {} for user: {}", categoryId, user.email());
+
+        ItemUtils.validateCategoryId(categoryId);
+        var operations = validateOperations(batchRequest);
+
+        var result = transactionTemplate.execute(status -> applyOperations(user, categoryId, operations));
+        userStatisticsCache.evict(user.userId());
+
+        log.info("Item batch applied to category with id: {}, created: {}, updated: {}, moved: {}, deleted: {}",
+                 categoryId, result.getCreated(), result.getUpdated(), result.getMoved(), result.getDeleted());
+        return result;
+    }
+
+    private List<ItemBatchOperationDto> validateOperations(ItemBatchRequestDto batchRequest) {
+        if (Objects.isNull(batchRequest) || Objects.isNull(batchRequest.getOperations())
+                || batchRequest.getOperations().isEmpty()) {
+            throw new ItemValidationException("Batch must contain at least one operation");
+        }
+        var operations = batchRequest.getOperations();
+        if (operations.size() > maxOperations) {
+            throw new ItemValidationException("Batch cannot contain more than " + maxOperations + " operations");
+        }
+
+        Set<Long> itemIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            var operation = operations.get(i);
+            ItemUtils.validateBatchOperation(i + 1, operation);
+            var referencesItem = operation.getType() != ItemBatchOperationType.CREATE;
+            if (referencesItem && !itemIds.add(operation.getItemId())) {
+                throw new ItemValidationException(
+                        "Item with id '" + operation.getItemId() + "' is referenced by more than one operation");
+            }
+        }
+        return operations;
+    }
+
+    private ItemBatchResultDto applyOperations(AuthenticatedUser user, Long categoryId,
+                                               List<ItemBatchOperationDto> operations) {
+        var category = findUserCategory(categoryId, user.userId());
+        var categories = findTargetCategories(user.userId(), category, operations);
+        var items = findItems(categoryId, operations);
+
+        List<Item> deletedItems = operations.stream()
+                                            .filter(operation -> operation.getType() == ItemBatchOperationType.DELETE)
+                                            .map(operation -> items.get(operation.getItemId()))
+                                            .toList();
+        List<Item> newItems = new ArrayList<>();
+        List<Item> resultItems = new ArrayList<>();
+        int updated = 0;
+        int moved = 0;
+        try {
+            // Deletes go first, so a name freed by a delete can be reused by the other operations
+            if (!deletedItems.isEmpty()) {
+                itemRepository.deleteAllInBatch(deletedItems);
+            }
+            for (var operation : operations) {
+                switch (operation.getType()) {
+                    case CREATE -> {
+                        var item = buildNewItem(operation, category);
+                        newItems.add(item);
+                        resultItems.add(item);
+                    }
+                    case UPDATE -> {
+                        var item = items.get(operation.getItemId());
+                        item.setItemName(operation.getItemName());
+                        item.setItemStatus(operation.getItemStatus().name());
+                        item.setItemNotes(operation.getItemNotes());
+                        resultItems.add(item);
+                        updated++;
+                    }
+                    case MOVE -> {
+                        if (categoryId.equals(operation.getTargetCategoryId())) {
+                            // The item already is in the target category, nothing changes
+                            log.debug("Item with id '{}' already in category with id '{}'",
+                                      operation.getItemId(),
+                                      categoryId);
+                            continue;
+                        }
+                        var item = items.get(operation.getItemId());
+                        item.setCategory(categories.get(operation.getTargetCategoryId()));
+                        resultItems.add(item);
+                        moved++;
+                    }
+                    case DELETE -> log.debug("Item with id '{}' deleted", operation.getItemId());
+                }
+            }
+            itemRepository.saveAll(newItems);
+            itemRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            if (ItemService.isDuplicateItemName(ex)) {
+                throw new ItemAlreadyExistsException("An item name of the batch already exists in its category");
+            }
+            throw ex;
+        }
+
+        return ItemBatchResultDto.builder()
+                                 .created(newItems.size())
+                                 .updated(updated)
+                                 .moved(moved)
+                                 .deleted(deletedItems.size())
+                                 .items(resultItems.stream().map(ItemUtils::mapToDto).toList())
+                                 .build();
+    }
+
+    private static Item buildNewItem(ItemBatchOperationDto operation, Category category) {
+        return Item.builder()
+                   .category(category)
+                   .itemName(operation.getItemName())
+                   .itemStatus(operation.getItemStatus().name())
+                   .itemNotes(operation.getItemNotes())
+                   .build();
+    }
+
+    private Category findUserCategory(Long categoryId, Long userId) {
+        return categoryRepository.findByCategoryIdAndUser_UserId(categoryId, userId)
+                                 .orElseThrow(() -> new CategoryNotFoundException(
+                                         "Category with id '" + categoryId + "' not found"));
+    }
+
+    /**
+     * Loads the categories the items of the batch are moved to with one query.
+     *
+     * @return the target categories by their ID, including the category of the batch
+     */
+    private Map<Long, Category> findTargetCategories(Long userId, Category category,
+                                                     List<ItemBatchOperationDto> operations) {
+        Set<Long> targetIds = operations.stream()
+                                        .filter(operation -> operation.getType() == ItemBatchOperationType.MOVE)
+                                        .map(ItemBatchOperationDto::getTargetCategoryId)
+                                        .filter(targetId -> !targetId.equals(category.getCategoryId()))
+                                        .collect(Collectors.toSet());
+        Map<Long, Category> categories = new HashMap<>();
+        categories.put(category.getCategoryId(), category);
+        if (targetIds.isEmpty()) {
+            return categories;
+        }
+
+        categoryRepository.findAllByUser_UserIdAndCategoryIdIn(userId, targetIds)
+                          .forEach(target -> categories.put(target.getCategoryId(), target));
+        targetIds.stream().filter(targetId -> !categories.containsKey(targetId)).findFirst().ifPresent(missingId -> {
+            throw new CategoryNotFoundException("Category with id '" + missingId + "' not found");
+        });
+        return categories;
+    }
+
+    /**
+     * Loads the items referenced by the batch with one query.
+     *
+     * @return the items by their ID
+     */
+    private Map<Long, Item> findItems(Long categoryId, List<ItemBatchOperationDto> operations) {
+        Set<Long> itemIds = operations.stream()
+                                      .filter(operation -> operation.getType() != ItemBatchOperationType.CREATE)
+                                      .map(ItemBatchOperationDto::getItemId)
+                                      .collect(Collectors.toSet());
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Item> items = itemRepository.findAllByCategory_CategoryIdAndItemIdIn(categoryId, itemIds)
+                                              .stream()
+                                              .collect(Collectors.toMap(Item::getItemId, Function.identity()));
+        itemIds.stream().filter(itemId -> !items.containsKey(itemId)).findFirst().ifPresent(missingId -> {
+            throw new ItemNotFoundException(
+                    "Item with id '" + missingId + "' not found in category with id '" + categoryId + "'");
+        });
+        return items;
+    }
+}
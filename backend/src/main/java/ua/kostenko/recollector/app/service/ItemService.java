@@ -1,42 +1,79 @@
 package ua.kostenko.recollector.app.service;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import ua.kostenko.recollector.app.dto.ItemDto;
 import ua.kostenko.recollector.app.dto.ItemFilter;
 import ua.kostenko.recollector.app.entity.Category;
 import ua.kostenko.recollector.app.entity.Item;
-import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.entity.ItemSummary;
 import ua.kostenko.recollector.app.entity.specification.ItemSpecification;
+import ua.kostenko.recollector.app.entity.specification.KeysetSpecification;
 import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
 import ua.kostenko.recollector.app.exception.ItemAlreadyExistsException;
 import ua.kostenko.recollector.app.exception.ItemNotFoundException;
 import ua.kostenko.recollector.app.repository.CategoryRepository;
 import ua.kostenko.recollector.app.repository.ItemRepository;
-import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.CursorUtils;
 import ua.kostenko.recollector.app.util.ItemUtils;
 
-import static ua.kostenko.recollector.app.util.PageRequestUtils.createPageRequest;
+import java.util.List;
+
+import static ua.kostenko.recollector.app.util.PageRequestUtils.*;
 
 /**
  * Service class for handling operations related to {@link Item}.
  * Provides methods to create, retrieve, update, and delete items,
  * as well as filtering items based on various criteria.
  * <p>
+ * Reads run in read-only transactions and changes in read-write transactions. The entities are mapped to DTOs
+ * inside the transaction, so the connection is released before the response is written.
+ * <p>
  * Logging is enabled using Lombok's @Slf4j annotation for capturing
  * important events and debugging information.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ItemService {
 
-    private final AuthenticationService authService;
+    /**
+     * Name of the unique index on the item name within a category.
+     */
+    static final String ITEM_NAME_UNIQUE_CONSTRAINT = "idx_item_name_category_id";
+
     private final ItemRepository itemRepository;
     private final CategoryRepository categoryRepository;
+    private final UserStatisticsCache userStatisticsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    /**
+     * Creates the service.
+     *
+     * @param itemRepository      repository of the items
+     * @param categoryRepository  repository of the categories the items belong to
+     * @param userStatisticsCache cache of the user statistics, evicted after changes
+     * @param transactionManager  manager of the read-only and read-write transactions
+     */
+    public ItemService(ItemRepository itemRepository, CategoryRepository categoryRepository,
+                       UserStatisticsCache userStatisticsCache, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.categoryRepository = categoryRepository;
+        this.userStatisticsCache = userStatisticsCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
 
     private static String buildErrorMessage(Long categoryId, Long itemId) {
         return "Item with id '" + itemId + "' not found in category with id '" + categoryId + "'";
@@ -45,168 +82,260 @@ public class ItemService {
     /**
      * Creates a new item.
      *
-     * @param userEmail the email of the user creating the item
-     * @param itemDto   the item data transfer object containing item details
+     * @param user    the authenticated user creating the item
+     * @param itemDto the item data transfer object containing item details
      *
      * @return the created item as a DTO
      */
-    public ItemDto createItem(String userEmail, ItemDto itemDto) {
-        log.info("Creating item for user: {}", userEmail);
+    public ItemDto createItem(AuthenticatedUser user, ItemDto itemDto) {
+        log.info("Creating item for user: {}", user.email());
 
         ItemUtils.validateItemDto(itemDto);
-        User user = getUser(userEmail);
-        Category category = validateUserHasCategoryAndGetIt(itemDto.getCategoryId(), user.getUserId());
-        validateItemExistenceForName(itemDto.getItemName(), "", category);
+        ItemDto createdItem = transactionTemplate.execute(status -> {
+            Category category = validateUserHasCategoryAndGetIt(itemDto.getCategoryId(), user.userId());
 
-        Item newItem = buildNewItem(itemDto, category);
-        Item createdItem = itemRepository.saveAndFlush(newItem);
+            Item newItem = buildNewItem(itemDto, category);
+            return ItemUtils.mapToDto(saveItem(newItem));
+        });
+        userStatisticsCache.evict(user.userId());
 
         log.info("Item created successfully with id: {}", createdItem.getItemId());
-        return ItemUtils.mapToDto(createdItem);
+        return createdItem;
     }
 
     /**
-     * Validates that an item with the given name does not already exist in the specified category.
+     * Saves the item and flushes it to the database.
+     * Duplicate names are detected by the unique index on the item name within a category,
+     * so no separate existence query is needed.
      *
-     * @param newName     the new item name
-     * @param currentName the current item name
-     * @param category    the category where the item is to be created
+     * @param item the item to save
      *
-     * @throws ItemAlreadyExistsException if an item with the new name already exists in the category
+     * @return the saved item
+     *
+     * @throws ItemAlreadyExistsException if an item with the same name already exists in the category
      */
-    private void validateItemExistenceForName(String newName, String currentName, Category category) {
-        if (!currentName.equals(newName) && itemRepository.existsByItemNameAndCategory_CategoryId(newName,
-                                                                                                  category.getCategoryId())) {
-            throw new ItemAlreadyExistsException("Item with name '" + newName + "' already exists");
+    private Item saveItem(Item item) {
+        try {
+            return itemRepository.saveAndFlush(item);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateItemName(ex)) {
+                throw new ItemAlreadyExistsException("Item with name '" + item.getItemName() + "' already exists");
+            }
+            throw ex;
         }
     }
 
+    /**
+     * Checks whether the exception is caused by the unique index on the item name within a category.
+     *
+     * @param ex the exception thrown by the repository
+     *
+     * @return {@code true} if the item name is already used in the category
+     */
+    static boolean isDuplicateItemName(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException cause
+               && ITEM_NAME_UNIQUE_CONSTRAINT.equalsIgnoreCase(cause.getConstraintName());
+    }
+
     /**
      * Retrieves items based on filters and pagination.
+     * Unless the filter requests notes, only the item summaries are read.
      *
-     * @param userEmail  the email of the user
+     * @param user       the authenticated user
      * @param categoryId the ID of the category
      * @param itemFilter the filter criteria and pagination information
      *
      * @return a page of item DTOs
      */
-    public Page<ItemDto> getItemsByFilters(String userEmail, Long categoryId, ItemFilter itemFilter) {
+    public Page<ItemDto> getItemsByFilters(AuthenticatedUser user, Long categoryId, ItemFilter itemFilter) {
         ItemUtils.validateCategoryId(categoryId);
-        User user = getUser(userEmail);
-        validateUserHasCategoryAndGetIt(categoryId, user.getUserId());
 
         var pageable = createPageRequest(itemFilter.getPage(),
                                          itemFilter.getSize(),
                                          Sort.by(itemFilter.getDirection(), "itemName"));
 
-        var spec = ItemSpecification.builder()
-                                    .userId(user.getUserId())
-                                    .categoryId(itemFilter.getCategoryId())
-                                    .itemName(itemFilter.getItemName())
-                                    .itemStatus(itemFilter.getItemStatus())
-                                    .build();
-
-        Page<Item> resultFromDb = itemRepository.findAll(spec, pageable);
+        var spec = buildItemSpecification(user, itemFilter.getCategoryId(), itemFilter);
+
+        Page<ItemDto> resultFromDb = readOnlyTransactionTemplate.execute(status -> {
+            validateUserHasCategoryAndGetIt(categoryId, user.userId());
+            if (itemFilter.isIncludeNotes()) {
+                return itemRepository.findAll(spec, pageable).map(ItemUtils::mapToDto);
+            }
+            List<ItemSummary> summaries = itemRepository.findSummaries(spec,
+                                                                       pageable.getSort(),
+                                                                       pageable.getOffset(),
+                                                                       pageable.getPageSize());
+            return PageableExecutionUtils.getPage(summaries, pageable, () -> itemRepository.count(spec))
+                                         .map(ItemUtils::mapToDto);
+        });
 
         log.info("Retrieved {} items for categoryId: {} with filters: {}",
                  resultFromDb.getTotalElements(),
                  categoryId,
                  itemFilter);
-        return resultFromDb.map(ItemUtils::mapToDto);
+        return resultFromDb;
+    }
+
+    /**
+     * Retrieves the page of items after the cursor of the filter, using keyset pagination.
+     * Items are sorted by name and ID, and no count query is executed.
+     *
+     * @param user       the authenticated user
+     * @param categoryId the ID of the category
+     * @param itemFilter the filter criteria, the page size, and the cursor
+     *
+     * @return a slice of item DTOs
+     */
+    public Slice<ItemDto> getItemsByCursor(AuthenticatedUser user, Long categoryId, ItemFilter itemFilter) {
+        ItemUtils.validateCategoryId(categoryId);
+
+        var size = validateCursorPageSize(itemFilter.getSize());
+        var direction = itemFilter.getDirection();
+        var sort = Sort.by(direction, "itemName", "itemId");
+        var keyset = KeysetSpecification.<Item>builder()
+                                        .nameField("itemName")
+                                        .idField("itemId")
+                                        .cursor(CursorUtils.decodeCursor(itemFilter.getAfter()))
+                                        .direction(direction)
+                                        .build();
+        var spec = buildItemSpecification(user, categoryId, itemFilter).and(keyset);
+
+        // One extra row tells whether a next page exists
+        List<ItemDto> rows = readOnlyTransactionTemplate.execute(status -> {
+            validateUserHasCategoryAndGetIt(categoryId, user.userId());
+            if (itemFilter.isIncludeNotes()) {
+                return itemRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all())
+                                     .stream()
+                                     .map(ItemUtils::mapToDto)
+                                     .toList();
+            }
+            return itemRepository.findSummaries(spec, sort, 0, size + 1).stream().map(ItemUtils::mapToDto).toList();
+        });
+        Slice<ItemDto> resultFromDb = createSlice(rows, size, sort);
+
+        log.info("Retrieved {} items after cursor for categoryId: {} with filters: {}",
+                 resultFromDb.getNumberOfElements(),
+                 categoryId,
+                 itemFilter);
+        return resultFromDb;
+    }
+
+    /**
+     * Counts the items matching the filter criteria, ignoring pagination.
+     *
+     * @param user       the authenticated user
+     * @param categoryId the ID of the category
+     * @param itemFilter the filter criteria
+     *
+     * @return the number of matching items
+     */
+    public long countItemsByFilters(AuthenticatedUser user, Long categoryId, ItemFilter itemFilter) {
+        ItemUtils.validateCategoryId(categoryId);
+        return readOnlyTransactionTemplate.execute(
+                status -> itemRepository.count(buildItemSpecification(user, categoryId, itemFilter)));
     }
 
     /**
      * Retrieves a specific item by its ID within a category.
      *
-     * @param userEmail  the email of the user
+     * @param user       the authenticated user
      * @param categoryId the ID of the category
      * @param itemId     the ID of the item
      *
      * @return the item as a DTO
      */
-    public ItemDto getItem(String userEmail, Long categoryId, Long itemId) {
-        log.info("Retrieving item with id: {} for user: {} and categoryId: {}", itemId, userEmail, categoryId);
+    public ItemDto getItem(AuthenticatedUser user, Long categoryId, Long itemId) {
+        log.info("Retrieving item with id: {} for user: {} and categoryId: {}", itemId, user.email(), categoryId);
 
         ItemUtils.validateCategoryId(categoryId);
         ItemUtils.validateItemId(itemId);
-        User user = getUser(userEmail);
-        validateUserHasCategoryAndGetIt(categoryId, user.getUserId());
 
-        Item foundItem = itemRepository.findByItemIdAndCategory_CategoryId(itemId, categoryId)
-                                       .orElseThrow(() -> new ItemNotFoundException(buildErrorMessage(categoryId,
-                                                                                                      itemId)));
+        ItemDto foundItem = readOnlyTransactionTemplate.execute(
+                status -> ItemUtils.mapToDto(findOwnedItem(user, categoryId, itemId)));
 
         log.info("Item retrieved successfully with id: {}", itemId);
-        return ItemUtils.mapToDto(foundItem);
+        return foundItem;
     }
 
     /**
      * Updates an existing item.
      *
-     * @param userEmail the email of the user
-     * @param itemDto   the item data transfer object containing updated information
+     * @param user    the authenticated user
+     * @param itemDto the item data transfer object containing updated information
      *
      * @return the updated item as a DTO
      */
-    public ItemDto updateItem(String userEmail, ItemDto itemDto) {
-        log.info("Updating item with id: {} for user: {}", itemDto.getItemId(), userEmail);
+    public ItemDto updateItem(AuthenticatedUser user, ItemDto itemDto) {
+        log.info("Updating item with id: {} for user: {}", itemDto.getItemId(), user.email());
 
         ItemUtils.validateItemDto(itemDto);
         ItemUtils.validateItemId(itemDto.getItemId());
 
-        User user = getUser(userEmail);
-        Category category = validateUserHasCategoryAndGetIt(itemDto.getCategoryId(), user.getUserId());
-
-        Item foundItem = itemRepository.findByItemIdAndCategory_CategoryId(itemDto.getItemId(), itemDto.getCategoryId())
-                                       .orElseThrow(() -> new ItemNotFoundException(buildErrorMessage(itemDto.getCategoryId(),
-                                                                                                      itemDto.getItemId())));
+        ItemDto updatedItem = transactionTemplate.execute(status -> {
+            Item foundItem = findOwnedItem(user, itemDto.getCategoryId(), itemDto.getItemId());
 
-        validateItemExistenceForName(itemDto.getItemName(), foundItem.getItemName(), category);
-
-        updateItemDetails(foundItem, itemDto);
-        Item updatedItem = itemRepository.saveAndFlush(foundItem);
+            updateItemDetails(foundItem, itemDto);
+            return ItemUtils.mapToDto(saveItem(foundItem));
+        });
+        userStatisticsCache.evict(user.userId());
 
         log.info("Item updated successfully with id: {}", updatedItem.getItemId());
-        return ItemUtils.mapToDto(updatedItem);
+        return updatedItem;
     }
 
     /**
      * Deletes an item by its ID within a category.
      *
-     * @param userEmail  the email of the user
+     * @param user       the authenticated user
      * @param categoryId the ID of the category
      * @param itemId     the ID of the item
      *
      * @return a confirmation message
      */
-    public String deleteItem(String userEmail, Long categoryId, Long itemId) {
-        log.info("Deleting item with id: {} for user: {} and categoryId: {}", itemId, userEmail, categoryId);
+    public String deleteItem(AuthenticatedUser user, Long categoryId, Long itemId) {
+        log.info("Deleting item with id: {} for user: {} and categoryId: {}", itemId, user.email(), categoryId);
 
         ItemUtils.validateCategoryId(categoryId);
         ItemUtils.validateItemId(itemId);
-        User user = getUser(userEmail);
-        validateUserHasCategoryAndGetIt(categoryId, user.getUserId());
 
-        if (itemRepository.findByItemIdAndCategory_CategoryId(itemId, categoryId).isEmpty()) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            if (itemRepository.deleteOwnedItem(itemId, categoryId, user.userId()) == 0) {
+                // Nothing deleted, tell a missing category apart from a missing item
+                validateUserHasCategoryAndGetIt(categoryId, user.userId());
+                return false;
+            }
+            return true;
+        });
+        if (!Boolean.TRUE.equals(deleted)) {
             log.warn("Item with id '{}' not found in category with id '{}'", itemId, categoryId);
             return buildErrorMessage(categoryId, itemId);
         }
+        userStatisticsCache.evict(user.userId());
 
-        itemRepository.deleteById(itemId);
         log.info("Item with id '{}' deleted from category with id '{}'", itemId, categoryId);
         return "Item with id '" + itemId + "' deleted from category with id '" + categoryId + "'";
     }
 
     /**
-     * Retrieves a user by their email.
+     * Retrieves an item by its ID within a category of the user with a single query.
+     * The category is checked separately only when the item is not found, to report the proper error.
+     *
+     * @param user       the authenticated user
+     * @param categoryId the ID of the category
+     * @param itemId     the ID of the item
      *
-     * @param userEmail the email of the user
+     * @return the item entity with its category
      *
-     * @return the user entity
+     * @throws CategoryNotFoundException if the category is not found for the user
+     * @throws ItemNotFoundException     if the item is not found in the category
      */
-    private User getUser(String userEmail) {
-        log.debug("Finding user by email: {}", userEmail);
-        return authService.findUserByEmail(userEmail);
+    private Item findOwnedItem(AuthenticatedUser user, Long categoryId, Long itemId) {
+        var item = itemRepository.findOwnedItem(itemId, categoryId, user.userId());
+        if (item.isPresent()) {
+            return item.get();
+        }
+        validateUserHasCategoryAndGetIt(categoryId, user.userId());
+        throw new ItemNotFoundException(buildErrorMessage(categoryId, itemId));
     }
 
     /**
@@ -229,6 +358,24 @@ public class ItemService {
         return category.get();
     }
 
+    /**
+     * Builds the specification of the items of a category of the user matching the filter criteria.
+     *
+     * @param user       the authenticated user
+     * @param categoryId the ID of the category
+     * @param itemFilter the filter criteria
+     *
+     * @return the item specification
+     */
+    private Specification<Item> buildItemSpecification(AuthenticatedUser user, Long categoryId, ItemFilter itemFilter) {
+        return ItemSpecification.builder()
+                                .userId(user.userId())
+                                .categoryId(categoryId)
+                                .itemName(itemFilter.getItemName())
+                                .itemStatus(itemFilter.getItemStatus())
+                                .build();
+    }
+
     /**
      * Builds a new {@link Item} entity from the given DTO and category.
      *
@@ -0,0 +1,125 @@
+package ua.kostenko.recollector.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory cache that does not cache a value loaded while the entry of its key was changed.
+ * <p>
+ * Before loading, a marker unique to the load is stored under the key; the loaded value replaces it only if the
+ * marker is still there. A {@link #put} or {@link #invalidate} of the key replaces or removes the marker, so a
+ * value that may have been read before the change is returned but not cached, while loads of other keys are not
+ * affected.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+@Slf4j
+class MarkerLoadingCache<K, V> {
+
+    private final Cache<K, Entry<V>> entries;
+
+    /**
+     * Creates the cache.
+     *
+     * @param expireAfterWrite the time an entry is cached
+     * @param maxSize          the maximum number of cached entries
+     */
+    MarkerLoadingCache(Duration expireAfterWrite, long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                               .maximumSize(maxSize)
+                               .expireAfterWrite(expireAfterWrite)
+                               .build();
+    }
+
+    /**
+     * Returns the cached value of the key, loading it if the cached value is missing or expired.
+     *
+     * @param key    the key
+     * @param loader loads the value
+     *
+     * @return the value of the key
+     */
+    V get(K key, Supplier<V> loader) {
+        var map = entries.asMap();
+        var cached = map.get(key);
+        if (Objects.nonNull(cached) && cached.isLoaded()) {
+            return cached.value();
+        }
+
+        var loadMarker = new Entry<V>(null);
+        map.put(key, loadMarker);
+        V loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            map.remove(key, loadMarker);
+            throw e;
+        }
+        if (!map.replace(key, loadMarker, new Entry<>(loaded))) {
+            log.debug("Value of key '{}' changed while loading, not caching it", key);
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches the value of the key, replacing the marker of a load in progress.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    void put(K key, V value) {
+        entries.put(key, new Entry<>(value));
+    }
+
+    /**
+     * Removes the value of the key, together with the marker of a load in progress.
+     *
+     * @param key the key
+     */
+    void invalidate(K key) {
+        entries.invalidate(key);
+    }
+
+    /**
+     * Removes all values and the markers of all loads in progress.
+     */
+    void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    /**
+     * Returns the approximate number of cached entries.
+     *
+     * @return the cache size
+     */
+    long estimatedSize() {
+        return entries.estimatedSize();
+    }
+
+    /**
+     * Cached value. A null value marks a load in progress.
+     * Entries are compared by identity, so a load only replaces its own marker.
+     */
+    private static final class Entry<V> {
+
+        private final V value;
+
+        Entry(V value) {
+            this.value = value;
+        }
+
+        V value() {
+            return value;
+        }
+
+        boolean isLoaded() {
+            return Objects.nonNull(value);
+        }
+    }
+}
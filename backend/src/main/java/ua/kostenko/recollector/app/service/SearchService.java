@@ -0,0 +1,57 @@
+package ua.kostenko.recollector.app.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import ua.kostenko.recollector.app.dto.SearchFilter;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.repository.ItemSearchRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.CursorUtils;
+import ua.kostenko.recollector.app.util.SearchUtils;
+
+import java.util.Objects;
+
+import static ua.kostenko.recollector.app.util.PageRequestUtils.createSlice;
+import static ua.kostenko.recollector.app.util.PageRequestUtils.validateCursorPageSize;
+
+/**
+ * Service class for the full-text search of items across all categories of a user.
+ * Results are ranked by relevance, the item name weighing more than the notes, and read page by page
+ * with keyset pagination on the rank and the item ID.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SearchService {
+
+    private static final Sort SEARCH_SORT = Sort.by(Sort.Direction.DESC, "rank", "itemId");
+
+    private final ItemSearchRepository itemSearchRepository;
+
+    /**
+     * Searches the names and notes of the items of the user.
+     *
+     * @param user         the authenticated user
+     * @param searchFilter the search query and pagination criteria
+     *
+     * @return a slice of search results, most relevant first
+     */
+    public Slice<SearchResultDto> searchItems(AuthenticatedUser user, SearchFilter searchFilter) {
+        var query = SearchUtils.validateQuery(searchFilter.getQuery());
+        var size = validateCursorPageSize(searchFilter.getSize());
+        var cursor = CursorUtils.decodeCursor(searchFilter.getAfter());
+        var afterRank = Objects.nonNull(cursor) ? SearchUtils.toRank(cursor) : null;
+        var afterItemId = Objects.nonNull(cursor) ? cursor.id() : null;
+
+        // One extra row tells whether a next page exists
+        var rows = itemSearchRepository.search(user.userId(), query, afterRank, afterItemId, size + 1);
+        var result = createSlice(rows, size, SEARCH_SORT);
+
+        log.info("Found {} items for user {} with search filter: {}", result.getNumberOfElements(), user.email(),
+                 searchFilter);
+        return result;
+    }
+}
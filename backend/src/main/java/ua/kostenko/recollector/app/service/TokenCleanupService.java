@@ -1,42 +1,117 @@
 package ua.kostenko.recollector.app.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service responsible for cleaning up expired tokens from the database.
  * <p>
  * This service runs a scheduled task to remove tokens that have expired,
  * ensuring that the system does not retain invalid or outdated tokens.
+ * <p>
+ * Tokens are deleted in batches of {@code recollector.app.token.cleanup.batch-size}, each in its own
+ * transaction, and at most {@code recollector.app.token.cleanup.max-batches} batches are deleted per run.
+ * The task runs on one application instance at a time, guarded by a PostgreSQL advisory lock.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class TokenCleanupService {
 
+    /**
+     * Key of the advisory lock guarding the cleanup task.
+     */
+    static final long CLEANUP_LOCK_KEY = 7_001L;
+
     private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final TokenRevocationIndex tokenRevocationIndex;
+    private final ClusterLockService clusterLockService;
+    private final Counter deletedCounter;
+    private final Timer batchTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${recollector.app.token.cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${recollector.app.token.cleanup.max-batches:100}")
+    private int maxBatches;
+
+    /**
+     * Creates the service and registers its metrics.
+     *
+     * @param invalidatedTokenRepository repository used to delete expired tokens
+     * @param tokenRevocationIndex       in-memory index purged together with the database
+     * @param clusterLockService         service ensuring the task runs on a single instance
+     * @param meterRegistry              registry for the cleanup metrics
+     */
+    public TokenCleanupService(InvalidatedTokenRepository invalidatedTokenRepository,
+                               TokenRevocationIndex tokenRevocationIndex, ClusterLockService clusterLockService,
+                               MeterRegistry meterRegistry) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.tokenRevocationIndex = tokenRevocationIndex;
+        this.clusterLockService = clusterLockService;
+        this.deletedCounter = Counter.builder("recollector.token.cleanup.deleted")
+                                     .description("Expired invalidated tokens deleted from the database")
+                                     .register(meterRegistry);
+        this.batchTimer = Timer.builder("recollector.token.cleanup.batch")
+                               .description("Time spent deleting one batch of expired tokens")
+                               .register(meterRegistry);
+        Gauge.builder("recollector.token.cleanup.backlog", backlog, AtomicLong::get)
+             .description("Expired invalidated tokens left in the database after the last cleanup run")
+             .register(meterRegistry);
+    }
 
     /**
      * Scheduled task that cleans up expired tokens from the database.
      * <p>
-     * This method runs every hour, deleting tokens that have expired
+     * This method runs every hour by default, deleting tokens that have expired
      * based on their expiration date.
      */
-    @Scheduled(cron = "0 * * * * *")  // Runs every hour
+    @Scheduled(cron = "${recollector.app.token.cleanup.cron:0 0 * * * *}")
     public void cleanUpExpiredTokens() {
         log.info("Starting token cleanup process.");
-        LocalDateTime now = LocalDateTime.now();
+        tokenRevocationIndex.purgeExpired();
 
         try {
-            invalidatedTokenRepository.deleteByExpiresAtBefore(now);
-            log.info("Token cleanup completed. Deleted expired tokens.");
+            var executed = clusterLockService.runWithLock(CLEANUP_LOCK_KEY, this::deleteExpiredTokens);
+            if (!executed) {
+                log.info("Token cleanup skipped, it is running on another instance.");
+            }
         } catch (Exception e) {
             log.error("An error occurred during the token cleanup process: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Deletes expired tokens batch by batch until none are left or the batch limit is reached.
+     */
+    void deleteExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        long deletedTotal = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long startedAt = System.nanoTime();
+            int deleted = invalidatedTokenRepository.deleteExpiredBatch(now, batchSize);
+            batchTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            deletedCounter.increment(deleted);
+            deletedTotal += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+
+        backlog.set(invalidatedTokenRepository.countByExpiresAtBefore(now));
+        log.info("Token cleanup completed. Deleted {} expired tokens, {} left.", deletedTotal, backlog.get());
+    }
 }
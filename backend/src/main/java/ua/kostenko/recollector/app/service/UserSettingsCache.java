@@ -0,0 +1,269 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+import ua.kostenko.recollector.app.dto.UserSettingsDto;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the user settings, keyed by the user ID.
+ * <p>
+ * Saved settings are written through into the cache, so after the first load the settings of a user are served
+ * without database work until they expire after {@code recollector.app.settings.cache-seconds}. The cache holds at
+ * most {@code recollector.app.settings.cache-max-size} users. The cached DTOs are shared between requests and must
+ * not be modified. Settings loaded while the user was changed are returned but not cached, see
+ * {@link MarkerLoadingCache}.
+ * <p>
+ * Other application instances are kept consistent with PostgreSQL {@code LISTEN}/{@code NOTIFY}: every change is
+ * published on the {@value #CHANNEL} channel, and each instance polls the channel every
+ * {@code recollector.app.settings.cluster-sync.poll-ms} on a dedicated connection and thread and evicts the
+ * changed users. The connection is opened from the {@code spring.datasource} properties outside the connection
+ * pool, so it neither takes a pooled connection away from the requests for the life of the application nor keeps
+ * the pool from retiring it; driver settings such as SSL or keepalive must therefore be given in the URL.
+ * Notifications sent while an instance was not listening are lost, so the cache is cleared whenever the
+ * listening connection is (re)opened. The cluster sync is only needed when several instances share the database
+ * and is turned on with {@code recollector.app.settings.cluster-sync.enabled=true}.
+ */
+@Slf4j
+@Component
+public class UserSettingsCache {
+
+    /**
+     * Channel the changed user IDs are published on.
+     */
+    static final String CHANNEL = "recollector_user_settings";
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String PAYLOAD_SEPARATOR = ":";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource listenDataSource;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final MarkerLoadingCache<Long, UserSettingsDto> settings;
+    private final Counter remoteEvictionsCounter;
+    private Connection listenConnection;
+    private ScheduledExecutorService listener;
+    private boolean closed;
+
+    @Value("${recollector.app.settings.cluster-sync.enabled:false}")
+    private boolean clusterSyncEnabled;
+    @Value("${recollector.app.settings.cluster-sync.poll-ms:1000}")
+    private long pollMillis;
+
+    /**
+     * Creates the cache, with the listening connection opened from the data source properties.
+     *
+     * @param jdbcTemplate         template used to publish the changes
+     * @param dataSourceProperties properties of the application data source
+     * @param cacheSeconds         the time the settings of a user are cached
+     * @param cacheMaxSize         the maximum number of users with cached settings
+     * @param meterRegistry        registry for the cache size gauge and the remote evictions counter
+     */
+    @Autowired
+    public UserSettingsCache(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                             @Value("${recollector.app.settings.cache-seconds:300}") long cacheSeconds,
+                             @Value("${recollector.app.settings.cache-max-size:10000}") int cacheMaxSize,
+                             MeterRegistry meterRegistry) {
+        this(jdbcTemplate,
+             dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build(),
+             cacheSeconds,
+             cacheMaxSize,
+             meterRegistry);
+    }
+
+    /**
+     * Creates the cache and registers its metrics.
+     *
+     * @param jdbcTemplate     template used to publish the changes
+     * @param listenDataSource unpooled data source opening the connection listening for changes of other instances
+     * @param cacheSeconds     the time the settings of a user are cached
+     * @param cacheMaxSize     the maximum number of users with cached settings
+     * @param meterRegistry    registry for the cache size gauge and the remote evictions counter
+     */
+    UserSettingsCache(JdbcTemplate jdbcTemplate, DataSource listenDataSource, long cacheSeconds, int cacheMaxSize,
+                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listenDataSource = listenDataSource;
+        this.settings = new MarkerLoadingCache<>(Duration.ofSeconds(cacheSeconds), cacheMaxSize);
+        this.remoteEvictionsCounter = Counter.builder("recollector.settings.cache.remote-evictions")
+                                             .description("Settings evicted after a change on another instance")
+                                             .register(meterRegistry);
+        Gauge.builder("recollector.settings.cache.size", settings, MarkerLoadingCache::estimatedSize)
+             .description("Number of user settings held in memory")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached settings of the user, loading them if the cached value is missing or stale.
+     *
+     * @param userId the ID of the user
+     * @param loader loads the settings from the database
+     *
+     * @return the settings of the user
+     */
+    public UserSettingsDto get(Long userId, Supplier<UserSettingsDto> loader) {
+        return settings.get(userId, loader);
+    }
+
+    /**
+     * Replaces the cached settings of the user after they were saved and notifies the other instances.
+     *
+     * @param userId          the ID of the user
+     * @param userSettingsDto the saved settings
+     */
+    public void put(Long userId, UserSettingsDto userSettingsDto) {
+        // Replaces the marker of a load in progress, so the load does not overwrite the saved settings
+        settings.put(userId, userSettingsDto);
+        publish(userId);
+    }
+
+    /**
+     * Removes the cached settings of the user, e.g. after the account is deleted, and notifies the other instances.
+     *
+     * @param userId the ID of the user
+     */
+    public void evict(Long userId) {
+        evictLocally(userId);
+        publish(userId);
+    }
+
+    /**
+     * Starts polling for the settings changed on other instances if the cluster sync is enabled.
+     */
+    @PostConstruct
+    public synchronized void startListening() {
+        if (!clusterSyncEnabled || closed || Objects.nonNull(listener)) {
+            return;
+        }
+        listener = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                                                                    .name("settings-cluster-sync")
+                                                                    .daemon()
+                                                                    .factory());
+        listener.scheduleWithFixedDelay(this::receiveRemoteChanges, 0, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Evicts the settings changed on other instances.
+     * <p>
+     * The driver only reads the pending notifications while it executes a statement, so a trivial query is run
+     * before they are fetched.
+     */
+    synchronized void receiveRemoteChanges() {
+        if (!clusterSyncEnabled || closed) {
+            return;
+        }
+        try {
+            if (Objects.isNull(listenConnection)) {
+                listenConnection = openListenConnection();
+                // Changes published while no connection was listening are unknown
+                clear();
+            }
+            try (var statement = listenConnection.createStatement()) {
+                statement.execute("SELECT 1");
+            }
+            var notifications = listenConnection.unwrap(PGConnection.class).getNotifications();
+            if (Objects.isNull(notifications)) {
+                return;
+            }
+            for (var notification : notifications) {
+                handleNotification(notification.getParameter());
+            }
+        } catch (SQLException | RuntimeException e) {
+            // An exception escaping the task would cancel the polling
+            log.warn("Failed to receive settings changes of other instances: {}", e.getMessage());
+            closeListenConnection();
+        }
+    }
+
+    /**
+     * Stops the polling and releases the listening connection on shutdown.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        closed = true;
+        if (Objects.nonNull(listener)) {
+            listener.shutdownNow();
+            listener = null;
+        }
+        closeListenConnection();
+    }
+
+    private synchronized void closeListenConnection() {
+        if (Objects.isNull(listenConnection)) {
+            return;
+        }
+        try {
+            listenConnection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close the settings listening connection: {}", e.getMessage());
+        }
+        listenConnection = null;
+    }
+
+    private Connection openListenConnection() throws SQLException {
+        var connection = listenDataSource.getConnection();
+        try (var statement = connection.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        log.info("Listening for settings changes of other instances on channel '{}'", CHANNEL);
+        return connection;
+    }
+
+    private void handleNotification(String payload) {
+        var separator = payload.lastIndexOf(PAYLOAD_SEPARATOR);
+        if (separator < 0 || payload.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        try {
+            evictLocally(Long.valueOf(payload.substring(separator + 1)));
+            remoteEvictionsCounter.increment();
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed settings change notification '{}'", payload);
+        }
+    }
+
+    private void publish(Long userId) {
+        if (!clusterSyncEnabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.queryForList(NOTIFY_SQL, CHANNEL, instanceId + PAYLOAD_SEPARATOR + userId);
+        } catch (DataAccessException e) {
+            // The other instances pick up the change once their cached entry expires
+            log.warn("Failed to publish settings change of user with id '{}': {}", userId, e.getMessage());
+        }
+    }
+
+    private void evictLocally(Long userId) {
+        settings.invalidate(userId);
+    }
+
+    private void clear() {
+        settings.invalidateAll();
+    }
+}
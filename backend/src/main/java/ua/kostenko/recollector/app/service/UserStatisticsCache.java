@@ -0,0 +1,77 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.kostenko.recollector.app.dto.StatisticDto;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache of the user statistics shown in the dashboard header.
+ * <p>
+ * Entries are evicted by the services that change the categories or items of a user, and expire after
+ * {@code recollector.app.statistics.cache-seconds} in any case, which bounds the staleness caused by changes
+ * made on other application instances. If the change runs in a transaction, the entry is evicted again after
+ * the commit, so a concurrent read cannot cache the state before the commit. The cache holds at most
+ * {@code recollector.app.statistics.cache-max-size} users. Statistics loaded while the user was evicted are
+ * returned but not cached, see {@link MarkerLoadingCache}.
+ */
+@Component
+public class UserStatisticsCache {
+
+    private final MarkerLoadingCache<Long, StatisticDto> statistics;
+
+    /**
+     * Creates the cache and registers the cache size gauge.
+     *
+     * @param cacheSeconds  the time the statistics of a user are cached
+     * @param cacheMaxSize  the maximum number of users with cached statistics
+     * @param meterRegistry registry for the cache size gauge
+     */
+    public UserStatisticsCache(@Value("${recollector.app.statistics.cache-seconds:60}") long cacheSeconds,
+                               @Value("${recollector.app.statistics.cache-max-size:10000}") int cacheMaxSize,
+                               MeterRegistry meterRegistry) {
+        this.statistics = new MarkerLoadingCache<>(Duration.ofSeconds(cacheSeconds), cacheMaxSize);
+        Gauge.builder("recollector.statistics.cache.size", statistics, MarkerLoadingCache::estimatedSize)
+             .description("Number of user statistics held in memory")
+             .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached statistics of the user, loading them if the cached value is missing or stale.
+     *
+     * @param userId the ID of the user
+     * @param loader loads the statistics from the database
+     *
+     * @return the statistics of the user
+     */
+    public StatisticDto get(Long userId, Supplier<StatisticDto> loader) {
+        return statistics.get(userId, loader);
+    }
+
+    /**
+     * Removes the cached statistics of the user after their categories or items were changed.
+     *
+     * @param userId the ID of the user
+     */
+    public void evict(Long userId) {
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long userId) {
+        statistics.invalidate(userId);
+    }
+}
@@ -0,0 +1,67 @@
+package ua.kostenko.recollector.app.util;
+
+import ua.kostenko.recollector.app.exception.ImportTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that fails once more than a maximum number of bytes has been read from the wrapped stream.
+ * <p>
+ * Used to cap the size of import files after decompression, so a small compressed upload cannot stream an
+ * unbounded number of rows into the import transaction.
+ */
+public class BoundedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private long bytesRead;
+
+    /**
+     * Creates the stream.
+     *
+     * @param in       the wrapped stream
+     * @param maxBytes the maximum number of bytes that may be read
+     */
+    public BoundedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        var value = super.read();
+        if (value >= 0) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        var read = super.read(buffer, offset, length);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        var skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long bytes) {
+        bytesRead += bytes;
+        if (bytesRead > maxBytes) {
+            throw new ImportTooLargeException("Import file exceeds the maximum size of " + maxBytes + " bytes");
+        }
+    }
+}
@@ -113,4 +113,15 @@ public class CategoryUtils {
             throw new CategoryValidationException("Category ID cannot be null");
         }
     }
+
+    /**
+     * Creates the keyset pagination cursor pointing after the given category.
+     *
+     * @param categoryDto the last category of a page
+     *
+     * @return the opaque cursor
+     */
+    public static String toCursor(CategoryDto categoryDto) {
+        return CursorUtils.encodeCursor(categoryDto.getCategoryName(), categoryDto.getCategoryId());
+    }
 }
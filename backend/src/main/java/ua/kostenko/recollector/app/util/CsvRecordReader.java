@@ -0,0 +1,111 @@
+package ua.kostenko.recollector.app.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader of CSV records as described in RFC 4180, the format written by the CSV export.
+ * <p>
+ * Fields are separated by commas and may be enclosed in double quotes, in which case they can contain commas,
+ * line breaks and doubled double quotes. Records end with {@code CRLF} or {@code LF}. An empty unquoted field is
+ * read as {@code null}, an empty quoted field as an empty string.
+ * <p>
+ * The reader does not buffer the input, wrap it into a {@link java.io.BufferedReader}.
+ */
+public class CsvRecordReader {
+
+    private static final int END_OF_INPUT = -1;
+
+    private final Reader reader;
+    private int pushedBack;
+    private boolean hasPushedBack;
+
+    /**
+     * Creates a reader of the CSV records of the given input.
+     *
+     * @param reader the input, preferably buffered
+     */
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or {@code null} at the end of the input
+     *
+     * @throws IOException if reading fails or a quoted field is not closed
+     */
+    public List<String> readRecord() throws IOException {
+        int next = read();
+        if (next == END_OF_INPUT) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        var field = new StringBuilder();
+        var quoted = false;
+        while (true) {
+            if (next == '"' && field.isEmpty() && !quoted) {
+                readQuoted(field);
+                quoted = true;
+            } else if (next == ',') {
+                fields.add(toField(field, quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (next == '\r' || next == '\n' || next == END_OF_INPUT) {
+                if (next == '\r') {
+                    skipLineFeed();
+                }
+                fields.add(toField(field, quoted));
+                return fields;
+            } else {
+                field.append((char) next);
+            }
+            next = read();
+        }
+    }
+
+    private void readQuoted(StringBuilder field) throws IOException {
+        while (true) {
+            int next = read();
+            if (next == END_OF_INPUT) {
+                throw new IOException("Quoted field is not closed");
+            }
+            if (next == '"') {
+                int afterQuote = read();
+                if (afterQuote != '"') {
+                    unread(afterQuote);
+                    return;
+                }
+            }
+            field.append((char) next);
+        }
+    }
+
+    private void skipLineFeed() throws IOException {
+        int next = read();
+        if (next != '\n') {
+            unread(next);
+        }
+    }
+
+    private static String toField(StringBuilder field, boolean quoted) {
+        return field.isEmpty() && !quoted ? null : field.toString();
+    }
+
+    private int read() throws IOException {
+        if (hasPushedBack) {
+            hasPushedBack = false;
+            return pushedBack;
+        }
+        return reader.read();
+    }
+
+    private void unread(int next) {
+        pushedBack = next;
+        hasPushedBack = true;
+    }
+}
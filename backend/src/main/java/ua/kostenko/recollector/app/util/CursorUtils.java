@@ -0,0 +1,74 @@
+package ua.kostenko.recollector.app.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import ua.kostenko.recollector.app.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for the opaque cursors used by keyset pagination.
+ * <p>
+ * A cursor points to the last row of a page by its name and ID, the same pair the listings are sorted by.
+ * It is encoded as URL-safe Base64 so clients treat it as an opaque token.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorUtils {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Encodes the position after the given row.
+     *
+     * @param name the name of the last row of the page
+     * @param id   the ID of the last row of the page
+     *
+     * @return the opaque cursor
+     */
+    public static String encodeCursor(String name, Long id) {
+        var raw = id + String.valueOf(SEPARATOR) + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encodeCursor(String, Long)}.
+     *
+     * @param cursor the opaque cursor, blank for the first page
+     *
+     * @return the decoded position, or {@code null} if the cursor is blank
+     *
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static Cursor decodeCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new InvalidCursorException("Invalid cursor '" + cursor + "'");
+            }
+            var id = Long.valueOf(raw.substring(0, separatorIndex));
+            return new Cursor(raw.substring(separatorIndex + 1), id);
+        } catch (IllegalArgumentException e) {
+            // Thrown for both malformed Base64 and a malformed ID
+            log.warn("Failed to decode cursor '{}': {}", cursor, e.getMessage());
+            throw new InvalidCursorException("Invalid cursor '" + cursor + "'");
+        }
+    }
+
+    /**
+     * Position in a listing sorted by name and ID.
+     *
+     * @param name the name of the last row of the previous page
+     * @param id   the ID of the last row of the previous page
+     */
+    public record Cursor(String name, Long id) {}
+}
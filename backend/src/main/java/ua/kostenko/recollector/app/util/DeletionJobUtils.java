@@ -0,0 +1,41 @@
+package ua.kostenko.recollector.app.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
+import ua.kostenko.recollector.app.entity.DeletionJob;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+
+/**
+ * Utility class for operations related to {@link DeletionJob} and {@link DeletionJobDto}.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class DeletionJobUtils {
+
+    /**
+     * Maps the given {@link DeletionJob} entity to a {@link DeletionJobDto}.
+     *
+     * @param job the {@link DeletionJob} entity to be mapped
+     *
+     * @return the corresponding {@link DeletionJobDto}
+     */
+    public static DeletionJobDto mapToDto(DeletionJob job) {
+        return DeletionJobDto.builder()
+                             .jobId(job.getJobId())
+                             .jobType(DeletionJobType.valueOf(job.getJobType()))
+                             .targetId(job.getTargetId())
+                             .jobStatus(DeletionJobStatus.valueOf(job.getJobStatus()))
+                             .itemsTotal(job.getItemsTotal())
+                             .itemsDeleted(job.getItemsDeleted())
+                             .categoriesTotal(job.getCategoriesTotal())
+                             .categoriesDeleted(job.getCategoriesDeleted())
+                             .attempts(job.getAttempts())
+                             .errorMessage(job.getErrorMessage())
+                             .createdAt(job.getCreatedAt())
+                             .completedAt(job.getCompletedAt())
+                             .build();
+    }
+}
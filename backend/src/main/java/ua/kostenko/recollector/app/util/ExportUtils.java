@@ -0,0 +1,154 @@
+package ua.kostenko.recollector.app.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ExportRow;
+import ua.kostenko.recollector.app.exception.ExportValidationException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+/**
+ * Utility class for the library export.
+ * This class provides static methods to read the requested export format and to write the export rows
+ * as NDJSON or CSV.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ExportUtils {
+
+    /**
+     * Header line of the CSV export, the column names match the NDJSON field names.
+     */
+    public static final String CSV_HEADER = "categoryId,categoryName,itemId,itemName,itemStatus,itemNotes,createdAt,updatedAt";
+
+    private static final String FILE_NAME = "recollector-export";
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    /**
+     * Reads the export format from a request parameter.
+     *
+     * @param format the format name, case-insensitive; {@code null} or blank selects NDJSON
+     *
+     * @return the export format
+     *
+     * @throws ExportValidationException if the format is unknown
+     */
+    public static ExportFormat parseFormat(String format) {
+        if (StringUtils.isBlank(format)) {
+            return ExportFormat.NDJSON;
+        }
+        return ExportFormat.fromValue(format).orElseThrow(() -> {
+            log.warn("Unknown export format: {}", format);
+            return new ExportValidationException("Export format must be one of: ndjson, csv");
+        });
+    }
+
+    /**
+     * Returns the name of the export file.
+     *
+     * @param format the export format
+     * @param gzip   whether the file is compressed with gzip
+     *
+     * @return the file name, e.g. {@code recollector-export.csv.gz}
+     */
+    public static String fileName(ExportFormat format, boolean gzip) {
+        var name = FILE_NAME + "." + format.getFileExtension();
+        return gzip ? name + ".gz" : name;
+    }
+
+    /**
+     * Writes the header line of the CSV export.
+     *
+     * @param writer the writer of the export file
+     *
+     * @throws IOException if writing fails
+     */
+    public static void writeCsvHeader(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes a row as a CSV line. Empty fields stand for {@code null} values.
+     *
+     * @param writer the writer of the export file
+     * @param row    the row to write
+     *
+     * @throws IOException if writing fails
+     */
+    public static void writeCsvRow(Writer writer, ExportRow row) throws IOException {
+        writer.write(Objects.toString(row.categoryId(), ""));
+        writer.write(',');
+        writeCsvValue(writer, row.categoryName());
+        writer.write(',');
+        writer.write(Objects.toString(row.itemId(), ""));
+        writer.write(',');
+        writeCsvValue(writer, row.itemName());
+        writer.write(',');
+        writeCsvValue(writer, row.itemStatus());
+        writer.write(',');
+        writeCsvValue(writer, row.itemNotes());
+        writer.write(',');
+        writer.write(formatTimestamp(row.createdAt()));
+        writer.write(',');
+        writer.write(formatTimestamp(row.updatedAt()));
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes a row as one NDJSON line. {@code null} values are omitted.
+     *
+     * @param generator the JSON generator of the export file, without a root value separator
+     * @param row       the row to write
+     *
+     * @throws IOException if writing fails
+     */
+    public static void writeJsonRow(JsonGenerator generator, ExportRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("categoryId", row.categoryId());
+        generator.writeStringField("categoryName", row.categoryName());
+        if (Objects.nonNull(row.itemId())) {
+            generator.writeNumberField("itemId", row.itemId());
+            generator.writeStringField("itemName", row.itemName());
+            generator.writeStringField("itemStatus", row.itemStatus());
+            if (Objects.nonNull(row.itemNotes())) {
+                generator.writeStringField("itemNotes", row.itemNotes());
+            }
+            if (Objects.nonNull(row.createdAt())) {
+                generator.writeStringField("createdAt", formatTimestamp(row.createdAt()));
+            }
+            if (Objects.nonNull(row.updatedAt())) {
+                generator.writeStringField("updatedAt", formatTimestamp(row.updatedAt()));
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (Objects.isNull(value)) {
+            return;
+        }
+        if (StringUtils.containsAny(value, ',', '"', '\r', '\n')) {
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(value);
+        }
+    }
+
+    private static String formatTimestamp(LocalDateTime timestamp) {
+        return Objects.isNull(timestamp) ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp);
+    }
+}
@@ -0,0 +1,174 @@
+package ua.kostenko.recollector.app.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ImportRow;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.exception.ImportValidationException;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for the library import.
+ * This class provides static methods to read the requested import format, to map the records of an import file
+ * to {@link ImportRow} objects and to validate them.
+ * <p>
+ * The import reads the files written by the export, the column and field names are the same.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ImportUtils {
+
+    /**
+     * Maximum length of category and item names, the size of the name columns.
+     */
+    public static final int MAX_NAME_LENGTH = 255;
+
+    private static final String CATEGORY_NAME = "categoryName";
+    private static final String ITEM_NAME = "itemName";
+    private static final String ITEM_STATUS = "itemStatus";
+    private static final String ITEM_NOTES = "itemNotes";
+    private static final String STATUSES = Arrays.stream(ItemStatus.values())
+                                                 .map(Enum::name)
+                                                 .collect(Collectors.joining(", "));
+
+    /**
+     * Reads the import format from a request parameter.
+     *
+     * @param format the format name, case-insensitive; {@code null} or blank selects NDJSON
+     *
+     * @return the import format
+     *
+     * @throws ImportValidationException if the format is unknown
+     */
+    public static ExportFormat parseFormat(String format) {
+        if (StringUtils.isBlank(format)) {
+            return ExportFormat.NDJSON;
+        }
+        return ExportFormat.fromValue(format).orElseThrow(() -> {
+            log.warn("Unknown import format: {}", format);
+            return new ImportValidationException("Import format must be one of: ndjson, csv");
+        });
+    }
+
+    /**
+     * Maps the header of a CSV import file to the positions of the columns.
+     *
+     * @param header the fields of the header record
+     *
+     * @return the position of each column by its name
+     *
+     * @throws ImportValidationException if the header is missing or lacks the category or item name column
+     */
+    public static Map<String, Integer> readCsvHeader(List<String> header) {
+        if (Objects.isNull(header)) {
+            throw new ImportValidationException("CSV file is empty, the header line is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(StringUtils.trimToEmpty(header.get(i)), i);
+        }
+        if (!columns.containsKey(CATEGORY_NAME) || !columns.containsKey(ITEM_NAME)) {
+            log.warn("CSV header lacks required columns: {}", header);
+            throw new ImportValidationException("CSV header must contain the columns " + CATEGORY_NAME + " and " + ITEM_NAME);
+        }
+        return columns;
+    }
+
+    /**
+     * Maps a CSV record to an import row.
+     *
+     * @param row     the number of the row
+     * @param fields  the fields of the record
+     * @param columns the positions of the columns, see {@link #readCsvHeader(List)}
+     *
+     * @return the import row
+     */
+    public static ImportRow toImportRow(long row, List<String> fields, Map<String, Integer> columns) {
+        return buildRow(row,
+                        field(fields, columns.get(CATEGORY_NAME)),
+                        field(fields, columns.get(ITEM_NAME)),
+                        field(fields, columns.get(ITEM_STATUS)),
+                        field(fields, columns.get(ITEM_NOTES)));
+    }
+
+    /**
+     * Maps an NDJSON object to an import row. Values that are not strings are read as their text.
+     *
+     * @param row  the number of the row
+     * @param node the JSON object of the line
+     *
+     * @return the import row
+     */
+    public static ImportRow toImportRow(long row, JsonNode node) {
+        return buildRow(row, text(node, CATEGORY_NAME), text(node, ITEM_NAME), text(node, ITEM_STATUS),
+                        text(node, ITEM_NOTES));
+    }
+
+    /**
+     * Checks if an import row can be imported.
+     *
+     * @param importRow the import row
+     *
+     * @return the reason why the row cannot be imported, or {@code null} if it is valid
+     */
+    public static String validateRow(ImportRow importRow) {
+        if (StringUtils.isBlank(importRow.categoryName())) {
+            return "Category name cannot be empty";
+        }
+        if (isTooLong(importRow.categoryName())) {
+            return "Category name cannot be longer than " + MAX_NAME_LENGTH + " characters";
+        }
+        if (StringUtils.contains(importRow.categoryName(), '\0') || StringUtils.contains(importRow.itemName(), '\0')
+                || StringUtils.contains(importRow.itemNotes(), '\0')) {
+            // PostgreSQL text cannot store NUL characters
+            return "Text cannot contain NUL characters";
+        }
+        if (Objects.isNull(importRow.itemName())) {
+            var hasItemFields = Objects.nonNull(importRow.itemStatus()) || StringUtils.isNotEmpty(importRow.itemNotes());
+            return hasItemFields ? "Item name cannot be empty" : null;
+        }
+        if (isTooLong(importRow.itemName())) {
+            return "Item name cannot be longer than " + MAX_NAME_LENGTH + " characters";
+        }
+        if (!isValidStatus(importRow.itemStatus())) {
+            return "Item status must be one of: " + STATUSES;
+        }
+        return null;
+    }
+
+    private static ImportRow buildRow(long row, String categoryName, String itemName, String itemStatus,
+                                      String itemNotes) {
+        // A blank item name marks a row that only creates its category
+        return new ImportRow(row, categoryName, StringUtils.isBlank(itemName) ? null : itemName,
+                             StringUtils.trimToNull(itemStatus), itemNotes);
+    }
+
+    private static boolean isTooLong(String name) {
+        // The database limits the length in characters, not in UTF-16 code units
+        return name.codePointCount(0, name.length()) > MAX_NAME_LENGTH;
+    }
+
+    private static boolean isValidStatus(String itemStatus) {
+        return Arrays.stream(ItemStatus.values()).anyMatch(status -> status.name().equals(itemStatus));
+    }
+
+    private static String field(List<String> fields, Integer column) {
+        return Objects.nonNull(column) && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static String text(JsonNode node, String fieldName) {
+        return node.hasNonNull(fieldName) ? node.get(fieldName).asText() : null;
+    }
+}
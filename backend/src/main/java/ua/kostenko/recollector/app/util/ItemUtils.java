@@ -4,9 +4,12 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationDto;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationType;
 import ua.kostenko.recollector.app.dto.ItemDto;
 import ua.kostenko.recollector.app.entity.Item;
 import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.entity.ItemSummary;
 import ua.kostenko.recollector.app.exception.CategoryValidationException;
 import ua.kostenko.recollector.app.exception.ItemValidationException;
 
@@ -78,6 +81,29 @@ public class ItemUtils {
         return itemDto;
     }
 
+    /**
+     * Maps the given {@link ItemSummary} projection to an {@link ItemDto} without notes.
+     *
+     * @param itemSummary the {@link ItemSummary} to map
+     *
+     * @return the corresponding {@link ItemDto} or null if the input summary is null
+     */
+    public static ItemDto mapToDto(ItemSummary itemSummary) {
+        if (Objects.isNull(itemSummary)) {
+            log.warn("Attempted to map a null ItemSummary to ItemDto.");
+            return null;
+        }
+
+        ItemDto itemDto = ItemDto.builder()
+                                 .itemId(itemSummary.itemId())
+                                 .categoryId(itemSummary.categoryId())
+                                 .itemName(itemSummary.itemName())
+                                 .itemStatus(ItemStatus.valueOf(itemSummary.itemStatus()))
+                                 .build();
+        log.debug("Mapped ItemSummary to ItemDto: {}", itemDto);
+        return itemDto;
+    }
+
     /**
      * Validates that the given item DTO is not null and contains valid data.
      *
@@ -119,4 +145,43 @@ public class ItemUtils {
             throw new ItemValidationException("ItemId is null");
         }
     }
+
+    /**
+     * Validates that a batch operation contains the fields its type requires.
+     *
+     * @param position  the position of the operation in the batch, starting at 1, used in the error message
+     * @param operation the batch operation to validate
+     *
+     * @throws ItemValidationException if the operation is null or lacks a required field
+     */
+    public static void validateBatchOperation(int position, ItemBatchOperationDto operation) {
+        if (Objects.isNull(operation) || Objects.isNull(operation.getType())) {
+            log.error("Batch operation {} has no type", position);
+            throw new ItemValidationException("Operation " + position + " has no type");
+        }
+        var type = operation.getType();
+        var needsItemId = type != ItemBatchOperationType.CREATE;
+        var needsDetails = type == ItemBatchOperationType.CREATE || type == ItemBatchOperationType.UPDATE;
+        var needsTarget = type == ItemBatchOperationType.MOVE;
+
+        var isValid = (!needsItemId || Objects.nonNull(operation.getItemId()))
+                      && (!needsDetails || (StringUtils.isNotBlank(operation.getItemName())
+                                            && Objects.nonNull(operation.getItemStatus())))
+                      && (!needsTarget || Objects.nonNull(operation.getTargetCategoryId()));
+        if (!isValid) {
+            log.error("Invalid batch operation {}: {}", position, operation);
+            throw new ItemValidationException("Operation " + position + " (" + type + ") has invalid field values");
+        }
+    }
+
+    /**
+     * Creates the keyset pagination cursor pointing after the given item.
+     *
+     * @param itemDto the last item of a page
+     *
+     * @return the opaque cursor
+     */
+    public static String toCursor(ItemDto itemDto) {
+        return CursorUtils.encodeCursor(itemDto.getItemName(), itemDto.getItemId());
+    }
 }
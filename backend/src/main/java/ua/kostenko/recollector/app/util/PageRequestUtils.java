@@ -6,15 +6,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import ua.kostenko.recollector.app.dto.response.MetaInfo;
 import ua.kostenko.recollector.app.dto.response.PaginationInfo;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
  * Utility class for handling pagination-related operations.
- * Provides static methods to build MetaInfo from a Page object and to create a Pageable object.
+ * Provides static methods to build MetaInfo from a Page or a Slice object and to create a Pageable object.
  * <p>
  * The constructor is private to prevent instantiation.
  * <p>
@@ -61,6 +64,73 @@ public class PageRequestUtils {
         return metaInfo;
     }
 
+    /**
+     * Builds MetaInfo from a {@link Slice} object read with cursor pagination.
+     * Provides metadata including items per page, sort information, and the cursor of the next page.
+     *
+     * @param data       the {@link Slice} object containing the rows of the page
+     * @param nextCursor the cursor of the next page, or {@code null} if there is no next page
+     * @param totalItems the total number of items, or {@code null} if it was not requested
+     * @param <T>        the type of the data contained in the slice
+     *
+     * @return the {@link MetaInfo} object containing pagination metadata
+     */
+    public static <T> MetaInfo buildMetaInfo(Slice<T> data, String nextCursor, Long totalItems) {
+        if (Objects.isNull(data)) {
+            return MetaInfo.builder().build();
+        }
+
+        var order = data.getSort().get().findFirst();
+        var direction = order.map(sortOrder -> sortOrder.getDirection().toString()).orElse("");
+        var field = order.map(Sort.Order::getProperty).orElse("");
+
+        var pageInfo = PaginationInfo.builder()
+                                     .itemsPerPage(data.getSize())
+                                     .totalItems(totalItems)
+                                     .sortDirection(direction)
+                                     .sortField(field)
+                                     .hasNext(data.hasNext())
+                                     .nextCursor(nextCursor)
+                                     .build();
+
+        var metaInfo = MetaInfo.builder().pagination(pageInfo).build();
+        log.debug("Built cursor MetaInfo: {}", metaInfo);
+        return metaInfo;
+    }
+
+    /**
+     * Creates a {@link Slice} from rows read with a limit of one more than the page size.
+     * The extra row only signals that a next page exists and is not part of the slice.
+     *
+     * @param rows the rows read from the database, at most {@code size + 1}
+     * @param size the number of items per page
+     * @param sort the sorting criteria the rows were read with
+     * @param <T>  the type of the rows
+     *
+     * @return the {@link Slice} object
+     */
+    public static <T> Slice<T> createSlice(List<T> rows, int size, Sort sort) {
+        var hasNext = rows.size() > size;
+        var content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    /**
+     * Validates the page size of a cursor page.
+     *
+     * @param size the number of items per page
+     *
+     * @return the validated page size
+     *
+     * @throws IllegalArgumentException if the size is less than one
+     */
+    public static int validateCursorPageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        return size;
+    }
+
     /**
      * Creates a {@link Pageable} object with the specified page, size, and sort order.
      * Adjusts the page number to be zero-based index.
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -12,6 +13,7 @@ import ua.kostenko.recollector.app.dto.response.Response;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 
 import static ua.kostenko.recollector.app.util.PageRequestUtils.buildMetaInfo;
 
@@ -97,6 +99,39 @@ public class ResponseHelper {
         return ResponseEntity.status(status).body(responseBody);
     }
 
+    /**
+     * Builds a {@link ResponseEntity} with a page read by cursor pagination and its meta information.
+     * The cursor of the next page is created from the last element of the slice.
+     *
+     * @param data         the {@link Slice} object containing the rows of the page
+     * @param cursorMapper the function creating the cursor that points after an element
+     * @param totalItems   the total number of items, or {@code null} if it was not requested
+     * @param status       the HTTP status to set for the response
+     * @param <T>          the type of the data in the slice
+     *
+     * @return a {@link ResponseEntity} containing the paginated response
+     */
+    public static <T> ResponseEntity<Response<List<T>>> buildSliceDtoResponse(Slice<T> data,
+                                                                             Function<T, String> cursorMapper,
+                                                                             Long totalItems, HttpStatus status) {
+        List<T> items = Objects.nonNull(data) ? data.getContent() : List.of();
+        String nextCursor = null;
+        if (Objects.nonNull(data) && data.hasNext() && !items.isEmpty()) {
+            nextCursor = cursorMapper.apply(items.get(items.size() - 1));
+        }
+        var metaInfo = buildMetaInfo(data, nextCursor, totalItems);
+
+        var responseBody = Response.<List<T>>builder()
+                                   .data(items)
+                                   .statusCode(status.value())
+                                   .statusMessage(status.name())
+                                   .meta(metaInfo)
+                                   .build();
+
+        log.debug("Built cursor paginated response with status {}: {}", status, responseBody);
+        return ResponseEntity.status(status).body(responseBody);
+    }
+
     /**
      * Builds a {@link ResponseEntity} for error responses.
      * Includes the provided data, error message, and HTTP status code.
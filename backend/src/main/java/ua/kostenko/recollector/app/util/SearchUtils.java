@@ -0,0 +1,78 @@
+package ua.kostenko.recollector.app.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.exception.InvalidCursorException;
+import ua.kostenko.recollector.app.exception.SearchValidationException;
+
+/**
+ * Utility class for operations related to the full-text search of items.
+ * This class provides static methods to validate search queries and to create and read search cursors.
+ * <p>
+ * A search cursor reuses the format of {@link CursorUtils} with the rank of the last result in place of the name.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class SearchUtils {
+
+    /**
+     * Maximum length of a search query.
+     */
+    public static final int MAX_QUERY_LENGTH = 256;
+
+    /**
+     * Validates and trims a search query.
+     *
+     * @param query the search query
+     *
+     * @return the trimmed query
+     *
+     * @throws SearchValidationException if the query is blank or too long
+     */
+    public static String validateQuery(String query) {
+        if (StringUtils.isBlank(query)) {
+            log.warn("Search query is blank");
+            throw new SearchValidationException("Search query cannot be empty");
+        }
+        var trimmed = query.trim();
+        if (trimmed.length() > MAX_QUERY_LENGTH) {
+            log.warn("Search query is too long: {} characters", trimmed.length());
+            throw new SearchValidationException("Search query cannot be longer than " + MAX_QUERY_LENGTH + " characters");
+        }
+        return trimmed;
+    }
+
+    /**
+     * Creates the cursor that points after the given search result.
+     *
+     * @param searchResultDto the last result of a page
+     *
+     * @return the opaque cursor
+     */
+    public static String toCursor(SearchResultDto searchResultDto) {
+        return CursorUtils.encodeCursor(Float.toString(searchResultDto.getRank()), searchResultDto.getItemId());
+    }
+
+    /**
+     * Reads the rank from a decoded search cursor.
+     *
+     * @param cursor the decoded cursor
+     *
+     * @return the rank of the last result of the previous page
+     *
+     * @throws InvalidCursorException if the cursor does not hold a rank
+     */
+    public static Float toRank(CursorUtils.Cursor cursor) {
+        try {
+            return Float.valueOf(cursor.name());
+        } catch (NumberFormatException e) {
+            log.warn("Search cursor does not hold a rank: {}", cursor);
+            throw new InvalidCursorException("Invalid search cursor");
+        }
+    }
+}
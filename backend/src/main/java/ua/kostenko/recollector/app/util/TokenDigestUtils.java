@@ -0,0 +1,49 @@
+package ua.kostenko.recollector.app.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing fixed-size digests of JWT tokens.
+ * <p>
+ * Tokens are hashed with SHA-256 so that lookups and storage work with a 32-byte value
+ * instead of the full token string.
+ * <p>
+ * The constructor is private to prevent instantiation.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TokenDigestUtils {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Computes the SHA-256 digest of the given token.
+     *
+     * @param token the token to hash
+     *
+     * @return the 32-byte digest of the token
+     */
+    public static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance(ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not supported by the JVM", e);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 digest of the given token and returns it as a lowercase hex string.
+     *
+     * @param token the token to hash
+     *
+     * @return the 64-character hex representation of the digest
+     */
+    public static String sha256Hex(String token) {
+        return HexFormat.of().formatHex(sha256(token));
+    }
+}
@@ -125,8 +125,21 @@ public class UserSettingsUtils {
      * @return the corresponding {@link UserSettingsDto}
      */
     public static UserSettingsDto toUserSettingsDto(UserSettings userSettings) {
+        return toUserSettingsDto(userSettings, userSettings.getUser().getEmail());
+    }
+
+    /**
+     * Maps a {@link UserSettings} entity to a {@link UserSettingsDto} using the provided user email,
+     * so the lazy user association of the entity is not initialized.
+     *
+     * @param userSettings the {@link UserSettings} entity to be mapped
+     * @param userEmail    the email of the user the settings belong to
+     *
+     * @return the corresponding {@link UserSettingsDto}
+     */
+    public static UserSettingsDto toUserSettingsDto(UserSettings userSettings, String userEmail) {
         UserSettingsDto userSettingsDto = UserSettingsDto.builder()
-                                                         .userEmail(userSettings.getUser().getEmail())
+                                                         .userEmail(userEmail)
                                                          .categoryBackgroundColor(userSettings.getCategoryBackgroundColor())
                                                          .categoryItemColor(userSettings.getCategoryItemColor())
                                                          .categoryFabColor(userSettings.getCategoryFabColor())
@@ -522,10 +522,10 @@ class UserCommonFlowITTest {
     void deleteCategory_Delete_UserOne() throws Exception {
         var result = mockMvc.perform(delete(BASE_CATEGORY_URL + "/" + CATEGORY_ID, user1Category3Id).header(AUTH_HEADER,
                                                                                                             BEARER_TOKEN + user1Token))
-                            .andExpect(status().isOk())
+                            .andExpect(status().isAccepted())
                             .andDo(print())
                             .andReturn();
-        String msg = "Category with id '" + user1Category3Id + "'";
+        String msg = "\"targetId\":" + user1Category3Id;
         String contentAsString = result.getResponse().getContentAsString();
         assertNotNull(contentAsString);
         assertTrue(contentAsString.contains(msg));
@@ -0,0 +1,87 @@
+package ua.kostenko.recollector.app.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenSubject;
+import ua.kostenko.recollector.app.service.DateService;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JWT handling done by the request filter for a single request.
+ * <p>
+ * {@code perRequestParserTwice} reproduces the previous behaviour: a new parser is built for every call and the
+ * token is verified twice (claims extraction and validation). {@code prebuiltParserCached} uses
+ * {@link JwtHelperUtil} with the verified claims cache, {@code prebuiltParserUncached} with the cache disabled.
+ * <p>
+ * The benchmark is not executed by the test phase; run it via the {@link #main(String[])} method with the test
+ * classpath, e.g. from the IDE. The results are also written to {@code target/jmh-JwtHelperUtilBenchmark.json},
+ * so runs on different commits can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtHelperUtilBenchmark {
+
+    private static final String EMAIL = "benchmark@email.com";
+    private static final String KEY = "dewedwd32det723vd772dg17dvtwy2ugdsu23y81gsd1u23dgy2";
+
+    private SecretKey secretKey;
+    private JwtHelperUtil cachedJwtUtil;
+    private JwtHelperUtil uncachedJwtUtil;
+    private String token;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtHelperUtilBenchmark.class.getSimpleName())
+                                       .resultFormat(ResultFormatType.JSON)
+                                       .result("target/jmh-JwtHelperUtilBenchmark.json")
+                                       .build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(KEY.getBytes(StandardCharsets.UTF_8));
+        cachedJwtUtil = createJwtUtil(10000);
+        uncachedJwtUtil = createJwtUtil(0);
+        token = cachedJwtUtil.generateJwtTokensPair(new TokenSubject(1L, EMAIL, 0)).getJwtToken();
+    }
+
+    @Benchmark
+    public boolean perRequestParserTwice() {
+        Claims claims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        Claims validated = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+        return claims.getSubject().equals(validated.getSubject());
+    }
+
+    @Benchmark
+    public boolean prebuiltParserUncached() {
+        Claims claims = uncachedJwtUtil.extractClaimsFromMainJwtToken(token);
+        return uncachedJwtUtil.validateMainJwtToken(token, claims.getSubject());
+    }
+
+    @Benchmark
+    public boolean prebuiltParserCached() {
+        Claims claims = cachedJwtUtil.extractClaimsFromMainJwtToken(token);
+        return cachedJwtUtil.validateMainJwtToken(token, claims.getSubject());
+    }
+
+    private JwtHelperUtil createJwtUtil(int claimsCacheMaxSize) {
+        var jwtUtil = new JwtHelperUtil(secretKey, secretKey, new DateService(), claimsCacheMaxSize);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpMinutes", 60);
+        ReflectionTestUtils.setField(jwtUtil, "jwtRefreshExpHours", 24);
+        return jwtUtil;
+    }
+}
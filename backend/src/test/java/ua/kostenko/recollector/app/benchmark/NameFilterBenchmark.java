@@ -0,0 +1,148 @@
+package ua.kostenko.recollector.app.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the name filters of the item and category listings on a seeded database, with and without the
+ * trigram indexes on {@code lower(item_name)} and {@code lower(category_name)}.
+ * <p>
+ * The database is started with Testcontainers from {@code liquibase-latest-schema.sql} on the pinned
+ * {@value #POSTGRES_IMAGE} image, so that runs stay comparable, and seeded with one category of
+ * {@value #ITEMS} items and {@value #CATEGORIES} categories of the same user. With {@code trigramIndexes=false}
+ * the indexes are dropped before the measurement, which reproduces the previous schema. The queries are
+ * hand-written and only mirror the {@code lower(name) LIKE} predicates, ordering and page size used by
+ * {@code ItemSpecification} and {@code CategoryItemCountSpecification}; they are not the SQL Hibernate generates,
+ * so the numbers show the effect of the indexes rather than the exact cost of the listings.
+ * <p>
+ * The benchmark is not executed by the test phase; run it via the {@link #main(String[])} method with the test
+ * classpath, e.g. from the IDE. The results are also written to {@code target/jmh-NameFilterBenchmark.json},
+ * so runs on different commits can be compared. Docker is required.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameFilterBenchmark {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+    private static final int ITEMS = 200_000;
+    private static final int CATEGORIES = 20_000;
+
+    private static final String ITEMS_QUERY = """
+            SELECT i.item_id, i.item_name
+            FROM recollector.items i
+                     JOIN recollector.categories c ON c.category_id = i.category_id
+            WHERE c.user_id = ? AND c.category_id = ? AND lower(i.item_name) LIKE ? ESCAPE '\\'
+            ORDER BY i.item_name
+            LIMIT 20
+            """;
+
+    private static final String CATEGORIES_QUERY = """
+            SELECT category_id, category_name
+            FROM recollector.category_item_counts
+            WHERE user_id = ? AND lower(category_name) LIKE ? ESCAPE '\\'
+            ORDER BY category_name
+            LIMIT 20
+            """;
+
+    @Param({"false", "true"})
+    public boolean trigramIndexes;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private long userId;
+    private long itemsCategoryId;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NameFilterBenchmark.class.getSimpleName())
+                                       .resultFormat(ResultFormatType.JSON)
+                                       .result("target/jmh-NameFilterBenchmark.json")
+                                       .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>(POSTGRES_IMAGE).withInitScript("liquibase-latest-schema.sql");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO recollector.users (email, password_hash, created_at, updated_at)
+                    VALUES ('benchmark@email.com', 'hash', now(), now())
+                    """);
+            statement.execute("""
+                    INSERT INTO recollector.categories (user_id, category_name)
+                    SELECT u.user_id, 'Category ' || md5(g::text)
+                    FROM recollector.users u, generate_series(1, %d) g
+                    """.formatted(CATEGORIES));
+            statement.execute("""
+                    INSERT INTO recollector.items (category_id, item_name, item_status, created_at, updated_at)
+                    SELECT (SELECT min(category_id) FROM recollector.categories), 'Item ' || md5(g::text),
+                           'TODO_LATER', now(), now()
+                    FROM generate_series(1, %d) g
+                    """.formatted(ITEMS));
+            if (!trigramIndexes) {
+                statement.execute("DROP INDEX recollector.idx_items_item_name_trgm");
+                statement.execute("DROP INDEX recollector.idx_categories_category_name_trgm");
+            }
+            statement.execute("ANALYZE");
+
+            var firstCategoryQuery = "SELECT user_id, category_id FROM recollector.categories "
+                                     + "ORDER BY category_id LIMIT 1";
+            try (var ids = statement.executeQuery(firstCategoryQuery)) {
+                ids.next();
+                userId = ids.getLong(1);
+                itemsCategoryId = ids.getLong(2);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public int filterItemsByName() throws SQLException {
+        try (var statement = connection.prepareStatement(ITEMS_QUERY)) {
+            statement.setLong(1, userId);
+            statement.setLong(2, itemsCategoryId);
+            statement.setString(3, "%abc1%");
+            return countRows(statement);
+        }
+    }
+
+    @Benchmark
+    public int filterCategoriesByName() throws SQLException {
+        try (var statement = connection.prepareStatement(CATEGORIES_QUERY)) {
+            statement.setLong(1, userId);
+            statement.setString(2, "%abc1%");
+            return countRows(statement);
+        }
+    }
+
+    private int countRows(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
@@ -19,17 +19,23 @@ import org.springframework.test.web.servlet.ResultActions;
 import ua.kostenko.recollector.app.dto.UserDto;
 import ua.kostenko.recollector.app.dto.auth.*;
 import ua.kostenko.recollector.app.exception.*;
-import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.security.AuthRateLimiter;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
 
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,7 +51,9 @@ class AuthControllerTest {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     @MockBean
-    private InvalidatedTokenRepository invalidatedTokenRepository;
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
 
     @Autowired
     private MockMvc mockMvc;
@@ -56,6 +64,9 @@ class AuthControllerTest {
     @MockBean
     private AuthenticationService authService;
 
+    @MockBean
+    private AuthRateLimiter authRateLimiter;
+
     // Test Scenarios
     private static Stream<Arguments> registerExceptionScenarios() {
         return Stream.of(Arguments.of(new UserRegistrationException("Failed to register user"),
@@ -75,6 +86,9 @@ class AuthControllerTest {
                                       BAD_REQUEST_MESSAGE),
                          Arguments.of(new UserLoginException(BAD_REQUEST_MESSAGE),
                                       HttpStatus.UNAUTHORIZED,
+                                      BAD_REQUEST_MESSAGE),
+                         Arguments.of(new PasswordHashingUnavailableException(BAD_REQUEST_MESSAGE, 1),
+                                      HttpStatus.SERVICE_UNAVAILABLE,
                                       BAD_REQUEST_MESSAGE));
     }
 
@@ -207,6 +221,23 @@ class AuthControllerTest {
                                                                                               .getSimpleName() + ": " + errorMessage));
     }
 
+    @Test
+    @DisplayName("Login User - Rate Limit Exceeded")
+    void loginUser_rateLimitExceeded_shouldReturnTooManyRequests() throws Exception {
+        LoginRequestDto requestDto = createLoginRequest();
+
+        doThrow(new AuthRateLimitExceededException(BAD_REQUEST_MESSAGE, 12)).when(authRateLimiter)
+                                                                            .acquire(any(), anyString());
+
+        performPostRequest("/login", requestDto).andExpect(status().isTooManyRequests())
+                                                .andExpect(header().string("Retry-After", "12"))
+                                                .andExpect(jsonPath("$.statusCode").value(429))
+                                                .andExpect(jsonPath("$.data").doesNotExist())
+                                                .andExpect(jsonPath("$.error").value(
+                                                        "AuthRateLimitExceededException: " + BAD_REQUEST_MESSAGE));
+        verify(authService, never()).loginUser(anyString(), anyString());
+    }
+
     @Test
     @DisplayName("Forgot Password - Valid Request")
     void forgotPassword_validRequest_shouldReturnString() throws Exception {
@@ -321,6 +352,20 @@ class AuthControllerTest {
                                                                                                        .getSimpleName() + ": " + errorMessage));
     }
 
+    @Test
+    @DisplayName("Logout All Sessions - Valid Request")
+    void logoutAllSessions_validRequest_shouldReturnString() throws Exception {
+        when(authService.logoutAllSessions()).thenReturn("Logout from all sessions successful");
+
+        mockMvc.perform(post(BASE_URL + "/logout-all").header("Authorization", "Bearer token"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.statusCode").value(200))
+               .andExpect(jsonPath("$.statusMessage").value("OK"))
+               .andExpect(jsonPath("$.data").value("Logout from all sessions successful"))
+               .andExpect(jsonPath("$.meta").doesNotExist())
+               .andExpect(jsonPath("$.error").doesNotExist());
+    }
+
     // Helper Methods
     private ResultActions performPostRequest(String endpoint, Object requestDto) throws Exception {
         return mockMvc.perform(post(BASE_URL + endpoint).contentType(MediaType.APPLICATION_JSON)
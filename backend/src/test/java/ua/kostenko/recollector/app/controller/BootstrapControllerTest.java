@@ -0,0 +1,121 @@
+package ua.kostenko.recollector.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.kostenko.recollector.app.dto.BootstrapDto;
+import ua.kostenko.recollector.app.dto.CategoryDto;
+import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.dto.StatisticDto;
+import ua.kostenko.recollector.app.dto.UserSettingsDto;
+import ua.kostenko.recollector.app.dto.response.MetaInfo;
+import ua.kostenko.recollector.app.dto.response.PaginationInfo;
+import ua.kostenko.recollector.app.exception.BootstrapUnavailableException;
+import ua.kostenko.recollector.app.exception.UserNotFoundException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
+import ua.kostenko.recollector.app.service.BootstrapService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(BootstrapController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class BootstrapControllerTest {
+
+    private static final String BASE_URL = "/api/v1/bootstrap";
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, "valid@email.com", null, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BootstrapService bootstrapService;
+    @MockBean
+    private AuthenticationService authService;
+    @MockBean
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
+    @MockBean
+    private JwtHelperUtil jwtUtil;
+
+    @Test
+    void getBootstrap_validUser_ShouldReturnDashboardData() throws Exception {
+        BootstrapDto bootstrap = BootstrapDto.builder()
+                                             .settings(UserSettingsDto.getDefault(VALID_USER.email()))
+                                             .statistics(StatisticDto.builder().totalNumberOfCategories(1).build())
+                                             .itemStatuses(List.of("FINISHED", "IN_PROGRESS", "TODO_LATER"))
+                                             .categories(List.of(CategoryDto.builder()
+                                                                            .categoryId(10L)
+                                                                            .categoryName("Books")
+                                                                            .build()))
+                                             .categoriesMeta(MetaInfo.builder()
+                                                                     .pagination(PaginationInfo.builder()
+                                                                                               .currentPage(1)
+                                                                                               .totalItems(1L)
+                                                                                               .build())
+                                                                     .build())
+                                             .build();
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(bootstrapService.getBootstrap(eq(VALID_USER),
+                                           argThat((CategoryFilter filter) -> filter.getSize() == 5))).thenReturn(
+                bootstrap);
+
+        mockMvc.perform(get(BASE_URL).param("size", "5"))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.OK.value()))
+               .andExpect(jsonPath("$.data.settings.userEmail").value(VALID_USER.email()))
+               .andExpect(jsonPath("$.data.statistics.totalNumberOfCategories").value(1))
+               .andExpect(jsonPath("$.data.itemStatuses.length()").value(3))
+               .andExpect(jsonPath("$.data.categories[0].categoryName").value("Books"))
+               .andExpect(jsonPath("$.data.categoriesMeta.pagination.currentPage").value(1))
+               .andExpect(jsonPath("$.error").doesNotExist())
+               .andDo(print());
+    }
+
+    @Test
+    void getBootstrap_queryFails_ShouldReturnError() throws Exception {
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(bootstrapService.getBootstrap(eq(VALID_USER), any())).thenThrow(new UserNotFoundException(
+                "User not found"));
+
+        mockMvc.perform(get(BASE_URL))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.NOT_FOUND.value()))
+               .andExpect(jsonPath("$.data").doesNotExist())
+               .andExpect(jsonPath("$.error").value("UserNotFoundException: User not found"))
+               .andDo(print());
+    }
+
+    @Test
+    void getBootstrap_noPermitFree_ShouldReturnServiceUnavailable() throws Exception {
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(bootstrapService.getBootstrap(eq(VALID_USER), any())).thenThrow(new BootstrapUnavailableException(
+                "Too many dashboard loads, please retry later", 1));
+
+        mockMvc.perform(get(BASE_URL))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.SERVICE_UNAVAILABLE.value()))
+               .andExpect(jsonPath("$.data").doesNotExist())
+               .andDo(print());
+    }
+}
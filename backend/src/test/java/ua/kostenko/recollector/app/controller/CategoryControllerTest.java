@@ -16,11 +16,15 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import ua.kostenko.recollector.app.dto.CategoryDto;
 import ua.kostenko.recollector.app.dto.CategoryFilter;
-import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
 import ua.kostenko.recollector.app.exception.*;
-import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
 import ua.kostenko.recollector.app.service.CategoryService;
 
 import java.util.List;
@@ -28,7 +32,6 @@ import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -42,7 +45,7 @@ class CategoryControllerTest {
     private static final String BASE_URL = "/api/v1/categories";
     private static final String CATEGORY_NAME = "Test Category";
     private static final String VALID_EMAIL = "valid@email.com";
-    private static final User VALID_USER = User.builder().email(VALID_EMAIL).build();
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Autowired
@@ -53,7 +56,9 @@ class CategoryControllerTest {
     @MockBean
     private AuthenticationService authService;
     @MockBean
-    private InvalidatedTokenRepository invalidatedTokenRepository;
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
     @MockBean
     private JwtHelperUtil jwtUtil;
 
@@ -72,7 +77,7 @@ class CategoryControllerTest {
         CategoryDto responseDto = CategoryDto.builder().categoryName(CATEGORY_NAME).categoryId(1L).build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.createCategory(VALID_EMAIL, requestDto)).thenReturn(responseDto);
+        when(categoryService.createCategory(VALID_USER, requestDto)).thenReturn(responseDto);
 
         mockMvc.perform(post(BASE_URL).contentType(MediaType.APPLICATION_JSON)
                                       .content(objectMapper.writeValueAsString(requestDto)))
@@ -96,7 +101,7 @@ class CategoryControllerTest {
         Page<CategoryDto> page = new PageImpl<>(List.of(dto1, dto2), pageable, 2);
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.getCategoriesByFilters(anyString(), any(CategoryFilter.class))).thenReturn(page);
+        when(categoryService.getCategoriesByFilters(any(AuthenticatedUser.class), any(CategoryFilter.class))).thenReturn(page);
 
         mockMvc.perform(get(BASE_URL).contentType(MediaType.APPLICATION_JSON)
                                      .content(objectMapper.writeValueAsString(requestDto)))
@@ -126,7 +131,7 @@ class CategoryControllerTest {
         CategoryDto responseDto = CategoryDto.builder().categoryName(CATEGORY_NAME).categoryId(1L).build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.getCategory(VALID_EMAIL, 1L)).thenReturn(responseDto);
+        when(categoryService.getCategory(VALID_USER, 1L)).thenReturn(responseDto);
 
         mockMvc.perform(get(BASE_URL + "/{category_id}", 1L))
                .andExpect(jsonPath("$.statusCode").value(HttpStatus.OK.value()))
@@ -144,7 +149,7 @@ class CategoryControllerTest {
         CategoryDto responseDto = CategoryDto.builder().categoryName(CATEGORY_NAME).categoryId(categoryId).build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.updateCategory(VALID_EMAIL, responseDto)).thenReturn(responseDto);
+        when(categoryService.updateCategory(VALID_USER, responseDto)).thenReturn(responseDto);
 
         mockMvc.perform(put(BASE_URL + "/{category_id}", categoryId).contentType(MediaType.APPLICATION_JSON)
                                                                     .content(objectMapper.writeValueAsString(responseDto)))
@@ -158,17 +163,26 @@ class CategoryControllerTest {
     }
 
     @Test
-    void deleteCategory_ValidInput_ShouldReturnDeletedCategory() throws Exception {
+    void deleteCategory_ValidInput_ShouldReturnDeletionJob() throws Exception {
         long categoryId = 1L;
+        DeletionJobDto job = DeletionJobDto.builder()
+                                           .jobId(7L)
+                                           .jobType(DeletionJobType.CATEGORY)
+                                           .targetId(categoryId)
+                                           .jobStatus(DeletionJobStatus.PENDING)
+                                           .itemsTotal(50_000)
+                                           .categoriesTotal(1)
+                                           .build();
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.deleteCategory(VALID_EMAIL, categoryId)).thenReturn("Test Msg");
+        when(categoryService.deleteCategory(VALID_USER, categoryId)).thenReturn(job);
 
         mockMvc.perform(delete(BASE_URL + "/{category_id}", categoryId))
-               .andExpect(jsonPath("$.statusCode").value(HttpStatus.OK.value()))
-               .andExpect(jsonPath("$.statusMessage").value(HttpStatus.OK.name()))
-               .andExpect(jsonPath("$.data.categoryName").doesNotExist())
-               .andExpect(jsonPath("$.data.categoryId").doesNotExist())
-               .andExpect(jsonPath("$.data").value("Test Msg"))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.ACCEPTED.value()))
+               .andExpect(jsonPath("$.statusMessage").value(HttpStatus.ACCEPTED.name()))
+               .andExpect(jsonPath("$.data.jobId").value(7))
+               .andExpect(jsonPath("$.data.jobType").value("CATEGORY"))
+               .andExpect(jsonPath("$.data.jobStatus").value("PENDING"))
+               .andExpect(jsonPath("$.data.itemsTotal").value(50_000))
                .andExpect(jsonPath("$.meta").doesNotExist())
                .andExpect(jsonPath("$.error").doesNotExist())
                .andDo(print());
@@ -181,7 +195,7 @@ class CategoryControllerTest {
         CategoryDto responseDto = CategoryDto.builder().categoryName(CATEGORY_NAME).categoryId(categoryId).build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.updateCategory(VALID_EMAIL, responseDto)).thenReturn(responseDto);
+        when(categoryService.updateCategory(VALID_USER, responseDto)).thenReturn(responseDto);
 
         mockMvc.perform(put(BASE_URL + "/{category_id}", differentCategoryId).contentType(MediaType.APPLICATION_JSON)
                                                                              .content(objectMapper.writeValueAsString(
@@ -204,7 +218,7 @@ class CategoryControllerTest {
         CategoryDto responseDto = CategoryDto.builder().categoryName(CATEGORY_NAME).categoryId(categoryId).build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(categoryService.updateCategory(VALID_EMAIL, responseDto)).thenThrow(exception);
+        when(categoryService.updateCategory(VALID_USER, responseDto)).thenThrow(exception);
 
         mockMvc.perform(put(BASE_URL + "/{category_id}", categoryId).contentType(MediaType.APPLICATION_JSON)
                                                                     .content(objectMapper.writeValueAsString(responseDto)))
@@ -0,0 +1,87 @@
+package ua.kostenko.recollector.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+import ua.kostenko.recollector.app.exception.DeletionJobNotFoundException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
+import ua.kostenko.recollector.app.service.DeletionJobService;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+@ActiveProfiles("test")
+@WebMvcTest(DeletionJobController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class DeletionJobControllerTest {
+
+    private static final String BASE_URL = "/api/v1/deletion-jobs";
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, "valid@email.com", null, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeletionJobService deletionJobService;
+    @MockBean
+    private AuthenticationService authService;
+    @MockBean
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
+    @MockBean
+    private JwtHelperUtil jwtUtil;
+
+    @Test
+    void getDeletionJob_existingJob_ShouldReturnProgress() throws Exception {
+        DeletionJobDto job = DeletionJobDto.builder()
+                                           .jobId(7L)
+                                           .jobType(DeletionJobType.CATEGORY)
+                                           .targetId(10L)
+                                           .jobStatus(DeletionJobStatus.RUNNING)
+                                           .itemsTotal(50_000)
+                                           .itemsDeleted(12_000)
+                                           .categoriesTotal(1)
+                                           .build();
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(deletionJobService.getDeletionJob(VALID_USER, 7L)).thenReturn(job);
+
+        mockMvc.perform(get(BASE_URL + "/{jobId}", 7L))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.OK.value()))
+               .andExpect(jsonPath("$.data.jobId").value(7))
+               .andExpect(jsonPath("$.data.jobStatus").value("RUNNING"))
+               .andExpect(jsonPath("$.data.itemsTotal").value(50_000))
+               .andExpect(jsonPath("$.data.itemsDeleted").value(12_000))
+               .andExpect(jsonPath("$.data.errorMessage").doesNotExist())
+               .andExpect(jsonPath("$.error").doesNotExist())
+               .andDo(print());
+    }
+
+    @Test
+    void getDeletionJob_unknownJob_ShouldReturnNotFound() throws Exception {
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(deletionJobService.getDeletionJob(VALID_USER, 7L)).thenThrow(new DeletionJobNotFoundException(
+                "Deletion job with id '7' not found"));
+
+        mockMvc.perform(get(BASE_URL + "/{jobId}", 7L))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.NOT_FOUND.value()))
+               .andExpect(jsonPath("$.data").doesNotExist())
+               .andExpect(jsonPath("$.error").value(
+                       "DeletionJobNotFoundException: Deletion job with id '7' not found"))
+               .andDo(print());
+    }
+}
@@ -0,0 +1,130 @@
+package ua.kostenko.recollector.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.exception.ExportUnavailableException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
+import ua.kostenko.recollector.app.service.ExportService;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ActiveProfiles("test")
+@WebMvcTest(ExportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ExportControllerTest {
+
+    private static final String BASE_URL = "/api/v1/export";
+    private static final String VALID_EMAIL = "valid@email.com";
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private JwtHelperUtil jwtUtil;
+    @MockBean
+    private AuthenticationService authService;
+    @MockBean
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
+    @MockBean
+    private ExportService exportService;
+
+    @Test
+    void exportLibrary_csvFormat_shouldStreamCsvAttachment() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(3);
+            outputStream.write("categoryId\r\n1\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportLibrary(eq(VALID_USER), eq(ExportFormat.CSV), eq(false), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get(BASE_URL).param("format", "csv"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                                          "attachment; filename=\"recollector-export.csv\""))
+               .andExpect(content().contentType("text/csv"))
+               .andExpect(content().string("categoryId\r\n1\r\n"))
+               .andDo(print());
+    }
+
+    @Test
+    void exportLibrary_gzip_shouldStreamGzipAttachmentOfDefaultFormat() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+
+        // Act
+        MvcResult result = mockMvc.perform(get(BASE_URL).param("gzip", "true"))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                                          "attachment; filename=\"recollector-export.ndjson.gz\""))
+               .andExpect(content().contentType("application/gzip"))
+               .andDo(print());
+        verify(exportService).exportLibrary(eq(VALID_USER), eq(ExportFormat.NDJSON), eq(true), any());
+    }
+
+    @Test
+    void exportLibrary_unknownFormat_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL).param("format", "xml"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.error").value(
+                       "ExportValidationException: Export format must be one of: ndjson, csv"))
+               .andDo(print());
+        verify(exportService, never()).exportLibrary(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void exportLibrary_tooManyExports_shouldReturnServiceUnavailableWithRetryAfter() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(exportService.acquirePermit()).thenThrow(new ExportUnavailableException(
+                "Too many exports are running, try again later", 5));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.SERVICE_UNAVAILABLE.value()))
+               .andDo(print());
+        verify(exportService, never()).exportLibrary(any(), any(), anyBoolean(), any());
+    }
+}
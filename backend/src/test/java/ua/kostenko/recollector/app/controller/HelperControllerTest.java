@@ -9,11 +9,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import ua.kostenko.recollector.app.dto.StatisticDto;
-import ua.kostenko.recollector.app.entity.User;
 import ua.kostenko.recollector.app.exception.UserNotAuthenticatedException;
-import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
 import ua.kostenko.recollector.app.service.HelperService;
 
 import java.util.List;
@@ -32,7 +33,7 @@ class HelperControllerTest {
 
     private static final String BASE_URL = "/api/v1/helper";
     private static final String VALID_EMAIL = "valid@email.com";
-    private static final User VALID_USER = User.builder().email(VALID_EMAIL).build();
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
 
     @Autowired
     private MockMvc mockMvc;
@@ -41,7 +42,9 @@ class HelperControllerTest {
     @MockBean
     private AuthenticationService authService;
     @MockBean
-    private InvalidatedTokenRepository invalidatedTokenRepository;
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
     @MockBean
     private HelperService helperService;
 
@@ -75,7 +78,7 @@ class HelperControllerTest {
                                                       .build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(helperService.getStatistics(VALID_EMAIL)).thenReturn(expectedStatistics);
+        when(helperService.getStatistics(VALID_USER)).thenReturn(expectedStatistics);
 
         // Act & Assert
         mockMvc.perform(get(BASE_URL + "/statistics"))
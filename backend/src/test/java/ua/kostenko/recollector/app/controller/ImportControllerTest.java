@@ -0,0 +1,159 @@
+package ua.kostenko.recollector.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ImportErrorDto;
+import ua.kostenko.recollector.app.dto.ImportResultDto;
+import ua.kostenko.recollector.app.exception.ImportUnavailableException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
+import ua.kostenko.recollector.app.service.ImportService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(ImportController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ImportControllerTest {
+
+    private static final String BASE_URL = "/api/v1/import";
+    private static final String VALID_EMAIL = "valid@email.com";
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
+    private static final String FILE = "categoryName,itemName,itemStatus\r\nBooks,Dune,FINISHED\r\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private JwtHelperUtil jwtUtil;
+    @MockBean
+    private AuthenticationService authService;
+    @MockBean
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
+    @MockBean
+    private ImportService importService;
+
+    @Test
+    void importLibrary_csvBody_shouldReturnImportResult() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        ImportResultDto result = ImportResultDto.builder()
+                                                .rowsRead(2)
+                                                .categoriesCreated(1)
+                                                .itemsCreated(1)
+                                                .rowsRejected(1)
+                                                .errors(List.of(new ImportErrorDto(2, "Category name cannot be empty")))
+                                                .build();
+        when(importService.importLibrary(eq(VALID_USER), eq(ExportFormat.CSV), any())).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL).param("format", "csv").content(FILE))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.itemsCreated").value(1))
+               .andExpect(jsonPath("$.data.rowsRejected").value(1))
+               .andExpect(jsonPath("$.data.errors[0].row").value(2))
+               .andExpect(jsonPath("$.data.errors[0].message").value("Category name cannot be empty"))
+               .andDo(print());
+    }
+
+    @Test
+    void importLibrary_gzipBody_shouldPassDecompressedFile() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(importService.importLibrary(eq(VALID_USER), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            InputStream body = invocation.getArgument(2);
+            String content = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+            return ImportResultDto.builder().rowsRead(content.equals(FILE) ? 1 : 0).errors(List.of()).build();
+        });
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(FILE.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL).param("format", "csv")
+                                      .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                      .content(compressed.toByteArray()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.rowsRead").value(1))
+               .andDo(print());
+    }
+
+    @Test
+    void importLibrary_gzipBodyOverMaxBytes_shouldReturnPayloadTooLarge() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(importService.importLibrary(eq(VALID_USER), eq(ExportFormat.CSV), any())).thenAnswer(invocation -> {
+            InputStream body = invocation.getArgument(2);
+            body.readAllBytes();
+            return ImportResultDto.builder().errors(List.of()).build();
+        });
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(FILE.repeat(100).getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL).param("format", "csv")
+                                      .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                                      .content(compressed.toByteArray()))
+               .andExpect(status().isPayloadTooLarge())
+               .andExpect(jsonPath("$.error").value(
+                       "ImportTooLargeException: Import file exceeds the maximum size of 1024 bytes"))
+               .andDo(print());
+    }
+
+    @Test
+    void importLibrary_unknownFormat_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL).param("format", "xml").content(FILE))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.error").value(
+                       "ImportValidationException: Import format must be one of: ndjson, csv"))
+               .andDo(print());
+        verify(importService, never()).importLibrary(any(), any(), any());
+    }
+
+    @Test
+    void importLibrary_tooManyImports_shouldReturnServiceUnavailableWithRetryAfter() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(importService.importLibrary(eq(VALID_USER), eq(ExportFormat.CSV), any())).thenThrow(
+                new ImportUnavailableException("Too many imports are running, try again later", 5));
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL).param("format", "csv").content(FILE))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+               .andExpect(jsonPath("$.statusCode").value(HttpStatus.SERVICE_UNAVAILABLE.value()))
+               .andDo(print());
+    }
+}
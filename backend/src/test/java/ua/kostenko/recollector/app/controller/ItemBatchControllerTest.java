@@ -0,0 +1,99 @@
+package ua.kostenko.recollector.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.kostenko.recollector.app.dto.ItemBatchRequestDto;
+import ua.kostenko.recollector.app.dto.ItemBatchResultDto;
+import ua.kostenko.recollector.app.dto.ItemDto;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.exception.ItemValidationException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
+import ua.kostenko.recollector.app.service.ItemBatchService;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(ItemBatchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ItemBatchControllerTest {
+
+    private static final String BATCH_URL = "/api/v1/categories/10/items:batch";
+    private static final String VALID_EMAIL = "valid@email.com";
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private JwtHelperUtil jwtUtil;
+    @MockBean
+    private AuthenticationService authService;
+    @MockBean
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
+    @MockBean
+    private ItemBatchService itemBatchService;
+
+    @Test
+    void applyBatch_validOperations_shouldReturnBatchResult() throws Exception {
+        // Arrange
+        var createdItem = ItemDto.builder()
+                                 .itemId(51L)
+                                 .categoryId(10L)
+                                 .itemName("New item")
+                                 .itemStatus(ItemStatus.TODO_LATER)
+                                 .build();
+        var result = ItemBatchResultDto.builder().created(1).deleted(2).items(List.of(createdItem)).build();
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(itemBatchService.applyBatch(eq(VALID_USER), eq(10L), any(ItemBatchRequestDto.class))).thenReturn(result);
+        var body = """
+                {"operations": [
+                  {"type": "CREATE", "itemName": "New item", "itemStatus": "TODO_LATER"},
+                  {"type": "DELETE", "itemId": 1},
+                  {"type": "DELETE", "itemId": 2}
+                ]}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON).content(body))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data.created").value(1))
+               .andExpect(jsonPath("$.data.deleted").value(2))
+               .andExpect(jsonPath("$.data.items[0].itemId").value(51))
+               .andDo(print());
+    }
+
+    @Test
+    void applyBatch_invalidOperation_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(itemBatchService.applyBatch(eq(VALID_USER), eq(10L), any(ItemBatchRequestDto.class))).thenThrow(
+                new ItemValidationException("Operation 1 (UPDATE) has invalid field values"));
+
+        // Act & Assert
+        mockMvc.perform(post(BATCH_URL).contentType(MediaType.APPLICATION_JSON)
+                                       .content("{\"operations\": [{\"type\": \"UPDATE\"}]}"))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.error").value(
+                       "ItemValidationException: Operation 1 (UPDATE) has invalid field values"))
+               .andDo(print());
+    }
+}
@@ -17,14 +17,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import ua.kostenko.recollector.app.dto.ItemDto;
 import ua.kostenko.recollector.app.dto.ItemFilter;
 import ua.kostenko.recollector.app.entity.ItemStatus;
-import ua.kostenko.recollector.app.entity.User;
 import ua.kostenko.recollector.app.exception.ItemAlreadyExistsException;
 import ua.kostenko.recollector.app.exception.ItemNotFoundException;
 import ua.kostenko.recollector.app.exception.ItemValidationException;
 import ua.kostenko.recollector.app.exception.UserNotAuthenticatedException;
-import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
 import ua.kostenko.recollector.app.service.ItemService;
 
 import java.util.List;
@@ -45,7 +46,7 @@ class ItemControllerTest {
     private static final String BASE_URL = "/api/v1/categories/{categoryId}/items";
     private static final String ITEM_NAME = "Test Item";
     private static final String VALID_EMAIL = "valid@email.com";
-    private static final User VALID_USER = User.builder().email(VALID_EMAIL).build();
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Autowired
@@ -56,7 +57,9 @@ class ItemControllerTest {
     @MockBean
     private AuthenticationService authService;
     @MockBean
-    private InvalidatedTokenRepository invalidatedTokenRepository;
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
     @MockBean
     private JwtHelperUtil jwtUtil;
 
@@ -79,7 +82,7 @@ class ItemControllerTest {
                                      .itemName(ITEM_NAME).itemNotes("Notes").itemStatus(ItemStatus.IN_PROGRESS)
                                      .build();
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(itemService.createItem(VALID_EMAIL, requestDto)).thenReturn(responseDto);
+        when(itemService.createItem(VALID_USER, requestDto)).thenReturn(responseDto);
 
         mockMvc.perform(post(BASE_URL, categoryId).contentType(MediaType.APPLICATION_JSON)
                                                   .content(objectMapper.writeValueAsString(requestDto)))
@@ -128,7 +131,7 @@ class ItemControllerTest {
         Page<ItemDto> page = new PageImpl<>(List.of(dto1, dto2), pageable, 2);
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(itemService.getItemsByFilters(anyString(), anyLong(), any(ItemFilter.class))).thenReturn(page);
+        when(itemService.getItemsByFilters(any(AuthenticatedUser.class), anyLong(), any(ItemFilter.class))).thenReturn(page);
 
         mockMvc.perform(get(BASE_URL, categoryId).contentType(MediaType.APPLICATION_JSON)
                                                  .content(objectMapper.writeValueAsString(requestDto)))
@@ -163,7 +166,7 @@ class ItemControllerTest {
                                      .itemName(ITEM_NAME).itemNotes("Notes").itemStatus(ItemStatus.IN_PROGRESS)
                                      .build();
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(itemService.getItem(VALID_EMAIL, categoryId, itemId)).thenReturn(responseDto);
+        when(itemService.getItem(VALID_USER, categoryId, itemId)).thenReturn(responseDto);
 
         mockMvc.perform(get(BASE_URL + "/{itemId}", categoryId, itemId))
                .andExpect(jsonPath("$.statusCode").value(HttpStatus.OK.value()))
@@ -188,7 +191,7 @@ class ItemControllerTest {
                                      .itemName(ITEM_NAME).itemNotes("Notes").itemStatus(ItemStatus.IN_PROGRESS)
                                      .build();
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(itemService.updateItem(any(String.class), any(ItemDto.class))).thenReturn(responseDto);
+        when(itemService.updateItem(any(AuthenticatedUser.class), any(ItemDto.class))).thenReturn(responseDto);
 
         mockMvc.perform(put(BASE_URL + "/{itemId}", categoryId, itemId).contentType(MediaType.APPLICATION_JSON)
                                                                        .content(objectMapper.writeValueAsString(
@@ -250,7 +253,7 @@ class ItemControllerTest {
         long itemId = 1L;
         long categoryId = 11L;
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(itemService.deleteItem(VALID_EMAIL, categoryId, itemId)).thenReturn("Test Msg");
+        when(itemService.deleteItem(VALID_USER, categoryId, itemId)).thenReturn("Test Msg");
 
         mockMvc.perform(delete(BASE_URL + "/{itemId}", categoryId, itemId))
                .andExpect(jsonPath("$.statusCode").value(HttpStatus.OK.value()))
@@ -279,7 +282,7 @@ class ItemControllerTest {
                                     .build();
 
         when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
-        when(itemService.updateItem(VALID_EMAIL, requestDto)).thenThrow(exception);
+        when(itemService.updateItem(VALID_USER, requestDto)).thenThrow(exception);
 
         mockMvc.perform(put(BASE_URL + "/{itemId}", categoryId, itemId).contentType(MediaType.APPLICATION_JSON)
                                                                        .content(objectMapper.writeValueAsString(
@@ -0,0 +1,98 @@
+package ua.kostenko.recollector.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ua.kostenko.recollector.app.dto.SearchFilter;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.exception.SearchValidationException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.JwtHelperUtil;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+import ua.kostenko.recollector.app.security.TokenVersionService;
+import ua.kostenko.recollector.app.service.SearchService;
+import ua.kostenko.recollector.app.util.SearchUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@WebMvcTest(SearchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class SearchControllerTest {
+
+    private static final String BASE_URL = "/api/v1/search";
+    private static final String VALID_EMAIL = "valid@email.com";
+    private static final AuthenticatedUser VALID_USER = new AuthenticatedUser(1L, VALID_EMAIL, null, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private JwtHelperUtil jwtUtil;
+    @MockBean
+    private AuthenticationService authService;
+    @MockBean
+    private TokenRevocationIndex tokenRevocationIndex;
+    @MockBean
+    private TokenVersionService tokenVersionService;
+    @MockBean
+    private SearchService searchService;
+
+    @Test
+    void searchItems_validQuery_shouldReturnRankedResultsWithNextCursor() throws Exception {
+        // Arrange
+        SearchResultDto result = SearchResultDto.builder()
+                                                .itemId(3L)
+                                                .categoryId(10L)
+                                                .categoryName("Shopping")
+                                                .itemName("Buy milk")
+                                                .itemStatus(ItemStatus.TODO_LATER)
+                                                .rank(0.6f)
+                                                .itemNameHighlight("Buy <b>milk</b>")
+                                                .build();
+        Sort sort = Sort.by(Sort.Direction.DESC, "rank", "itemId");
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(searchService.searchItems(eq(VALID_USER), any(SearchFilter.class))).thenReturn(new SliceImpl<>(List.of(
+                result), PageRequest.of(0, 1, sort), true));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL).param("query", "milk").param("size", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.data[0].itemId").value(3))
+               .andExpect(jsonPath("$.data[0].categoryName").value("Shopping"))
+               .andExpect(jsonPath("$.data[0].itemNameHighlight").value("Buy <b>milk</b>"))
+               .andExpect(jsonPath("$.meta.pagination.hasNext").value(true))
+               .andExpect(jsonPath("$.meta.pagination.nextCursor").value(SearchUtils.toCursor(result)))
+               .andDo(print());
+    }
+
+    @Test
+    void searchItems_blankQuery_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(authService.getUserFromAuthContext()).thenReturn(VALID_USER);
+        when(searchService.searchItems(eq(VALID_USER), any(SearchFilter.class))).thenThrow(new SearchValidationException(
+                "Search query cannot be empty"));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL).param("query", " "))
+               .andExpect(status().isBadRequest())
+               .andExpect(jsonPath("$.error").value("SearchValidationException: Search query cannot be empty"))
+               .andDo(print());
+    }
+}
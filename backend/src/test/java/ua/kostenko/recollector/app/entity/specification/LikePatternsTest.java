@@ -0,0 +1,18 @@
+package ua.kostenko.recollector.app.entity.specification;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LikePatternsTest {
+
+    @Test
+    void containsIgnoreCase_plainTerm_returnsLowerCaseContainsPattern() {
+        assertEquals("%buy groceries%", LikePatterns.containsIgnoreCase("Buy Groceries"));
+    }
+
+    @Test
+    void containsIgnoreCase_termWithWildcards_escapesWildcards() {
+        assertEquals("%100\\%\\_done\\\\%", LikePatterns.containsIgnoreCase("100%_Done\\"));
+    }
+}
@@ -0,0 +1,160 @@
+package ua.kostenko.recollector.app.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import ua.kostenko.recollector.app.TestApplicationContextInitializer;
+import ua.kostenko.recollector.app.dto.StatisticDto;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.CategoryItemCount;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.entity.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(initializers = {TestApplicationContextInitializer.class})
+class CategoryItemCountRepositoryTest {
+
+    @Autowired
+    private CategoryItemCountRepository categoryItemCountRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User testUser;
+    private Category work;
+    private Category home;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder().email("counts@example.com").passwordHash("password123").build());
+        work = categoryRepository.save(Category.builder().categoryName("Work").user(testUser).build());
+        home = categoryRepository.save(Category.builder().categoryName("Home").user(testUser).build());
+    }
+
+    @Test
+    void findByCategoryIdAndUserId_newCategory_returnsZeroCounts() {
+        // Act
+        CategoryItemCount counts = readCounts(work);
+
+        // Assert
+        assertCounts(counts, 0, 0, 0);
+    }
+
+    @Test
+    void findByCategoryIdAndUserId_itemsCreatedAndStatusChanged_returnsMaintainedCounts() {
+        // Arrange
+        saveItem(work, "Report", ItemStatus.TODO_LATER);
+        saveItem(work, "Slides", ItemStatus.TODO_LATER);
+        Item review = saveItem(work, "Review", ItemStatus.IN_PROGRESS);
+
+        // Act
+        review.setItemStatus(ItemStatus.FINISHED.name());
+        itemRepository.save(review);
+
+        // Assert
+        assertCounts(readCounts(work), 2, 0, 1);
+    }
+
+    @Test
+    void findByCategoryIdAndUserId_itemMovedAndDeleted_returnsMaintainedCounts() {
+        // Arrange
+        Item moved = saveItem(work, "Fix the door", ItemStatus.IN_PROGRESS);
+        Item deleted = saveItem(work, "Old task", ItemStatus.TODO_LATER);
+
+        // Act
+        moved.setCategory(home);
+        itemRepository.save(moved);
+        itemRepository.deleteOwnedItem(deleted.getItemId(), work.getCategoryId(), testUser.getUserId());
+
+        // Assert
+        assertCounts(readCounts(work), 0, 0, 0);
+        assertCounts(readCounts(home), 0, 1, 0);
+    }
+
+    @Test
+    void findByCategoryIdAndUserId_itemsInsertedAndDeletedInOneStatement_returnsMaintainedCounts() {
+        // Arrange
+        insertItems(work, 1000);
+        insertItems(home, 10);
+
+        // Act
+        entityManager.createNativeQuery("""
+                                                DELETE FROM recollector.items
+                                                WHERE category_id = :categoryId AND item_status = 'FINISHED'
+                                                """).setParameter("categoryId", work.getCategoryId()).executeUpdate();
+
+        // Assert
+        assertCounts(readCounts(work), 334, 333, 0);
+        assertCounts(readCounts(home), 4, 3, 3);
+    }
+
+    @Test
+    void getStatisticsByUserId_itemsInSeveralCategories_returnsTotals() {
+        // Arrange
+        saveItem(work, "Report", ItemStatus.TODO_LATER);
+        saveItem(work, "Review", ItemStatus.FINISHED);
+        saveItem(home, "Fix the door", ItemStatus.IN_PROGRESS);
+        entityManager.flush();
+
+        // Act
+        StatisticDto statistics = categoryItemCountRepository.getStatisticsByUserId(testUser.getUserId());
+
+        // Assert
+        assertThat(statistics).isEqualTo(new StatisticDto(2, 3, 1, 1, 1));
+    }
+
+    @Test
+    void getStatisticsByUserId_userWithoutCategories_returnsZeros() {
+        // Act
+        StatisticDto statistics = categoryItemCountRepository.getStatisticsByUserId(-1L);
+
+        // Assert
+        assertThat(statistics).isEqualTo(new StatisticDto(0, 0, 0, 0, 0));
+    }
+
+    private Item saveItem(Category category, String name, ItemStatus status) {
+        return itemRepository.save(Item.builder().itemName(name).itemStatus(status.name()).category(category).build());
+    }
+
+    private void insertItems(Category category, int count) {
+        // One statement inserts all items, the counters are updated once for the whole statement
+        entityManager.createNativeQuery("""
+                                                INSERT INTO recollector.items (category_id, item_name, item_status)
+                                                SELECT :categoryId, 'Item ' || n,
+                                                       (ARRAY ['TODO_LATER', 'IN_PROGRESS', 'FINISHED'])[n % 3 + 1]
+                                                FROM generate_series(0, :count - 1) AS n
+                                                """)
+                     .setParameter("categoryId", category.getCategoryId())
+                     .setParameter("count", count)
+                     .executeUpdate();
+    }
+
+    private CategoryItemCount readCounts(Category category) {
+        // The counters are written by triggers, so pending changes are flushed and cached views dropped
+        entityManager.flush();
+        entityManager.clear();
+        return categoryItemCountRepository.findByCategoryIdAndUserId(category.getCategoryId(), testUser.getUserId())
+                                          .orElseThrow();
+    }
+
+    private void assertCounts(CategoryItemCount counts, long todoLater, long inProgress, long finished) {
+        assertThat(counts.getCountTodoLater()).isEqualTo(todoLater);
+        assertThat(counts.getCountInProgress()).isEqualTo(inProgress);
+        assertThat(counts.getCountFinished()).isEqualTo(finished);
+    }
+}
@@ -13,6 +13,7 @@ import ua.kostenko.recollector.app.TestApplicationContextInitializer;
 import ua.kostenko.recollector.app.entity.Category;
 import ua.kostenko.recollector.app.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -222,4 +223,28 @@ class CategoryRepositoryTest {
         Optional<Category> deletedCategory = categoryRepository.findById(nonExistingCategoryId);
         assertThat(deletedCategory).isEmpty();
     }
+
+    @Test
+    void markDeleted_ownedCategory_categoryIsHiddenAndNameCanBeReused() {
+        // Arrange
+        Category category = categoryRepository.saveAndFlush(Category.builder()
+                                                                     .categoryName("Deleted Category")
+                                                                     .user(testUser)
+                                                                     .build());
+
+        // Act
+        int marked = categoryRepository.markDeleted(category.getCategoryId(),
+                                                    testUser.getUserId(),
+                                                    LocalDateTime.now());
+
+        // Assert
+        assertThat(marked).isEqualTo(1);
+        assertThat(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(),
+                                                                     testUser.getUserId())).isEmpty();
+        assertThat(categoryRepository.existsByCategoryNameAndUser_UserId("Deleted Category",
+                                                                         testUser.getUserId())).isFalse();
+        assertThat(categoryRepository.countByUser_UserId(testUser.getUserId())).isZero();
+        categoryRepository.saveAndFlush(Category.builder().categoryName("Deleted Category").user(testUser).build());
+        assertThat(categoryRepository.countByUser_UserId(testUser.getUserId())).isEqualTo(1);
+    }
 }
\ No newline at end of file
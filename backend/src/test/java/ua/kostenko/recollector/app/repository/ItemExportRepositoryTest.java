@@ -0,0 +1,102 @@
+package ua.kostenko.recollector.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import ua.kostenko.recollector.app.TestApplicationContextInitializer;
+import ua.kostenko.recollector.app.dto.ExportRow;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(ItemExportRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(initializers = {TestApplicationContextInitializer.class})
+class ItemExportRepositoryTest {
+
+    @Autowired
+    private ItemExportRepository itemExportRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Category books;
+    private Category empty;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder().email("export@example.com").passwordHash("password123").build());
+        books = categoryRepository.save(Category.builder().categoryName("Books").user(testUser).build());
+        empty = categoryRepository.save(Category.builder().categoryName("Empty").user(testUser).build());
+        saveItem(books, "Dune", "Reread");
+        saveItem(books, "Solaris", null);
+        saveItem(books, "Hyperion", null);
+
+        User otherUser = userRepository.save(User.builder()
+                                                 .email("other@example.com")
+                                                 .passwordHash("password123")
+                                                 .build());
+        Category otherCategory = categoryRepository.save(Category.builder()
+                                                                 .categoryName("Books")
+                                                                 .user(otherUser)
+                                                                 .build());
+        saveItem(otherCategory, "Foundation", null);
+        itemRepository.flush();
+    }
+
+    @Test
+    void streamLibrary_moreRowsThanFetchSize_streamsAllRowsOfUserInOrder() {
+        List<ExportRow> rows = new ArrayList<>();
+
+        long count = itemExportRepository.streamLibrary(testUser.getUserId(), rows::add);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(rows).extracting(ExportRow::itemName).containsExactly("Dune", "Solaris", "Hyperion", null);
+        assertThat(rows.get(0).categoryId()).isEqualTo(books.getCategoryId());
+        assertThat(rows.get(0).categoryName()).isEqualTo("Books");
+        assertThat(rows.get(0).itemStatus()).isEqualTo(ItemStatus.IN_PROGRESS.name());
+        assertThat(rows.get(0).itemNotes()).isEqualTo("Reread");
+        assertThat(rows.get(0).createdAt()).isNotNull();
+    }
+
+    @Test
+    void streamLibrary_categoryWithoutItems_streamsRowWithoutItem() {
+        List<ExportRow> rows = new ArrayList<>();
+
+        itemExportRepository.streamLibrary(testUser.getUserId(), rows::add);
+
+        ExportRow emptyCategoryRow = rows.get(rows.size() - 1);
+        assertThat(emptyCategoryRow.categoryId()).isEqualTo(empty.getCategoryId());
+        assertThat(emptyCategoryRow.itemId()).isNull();
+        assertThat(emptyCategoryRow.createdAt()).isNull();
+    }
+
+    private void saveItem(Category category, String name, String notes) {
+        itemRepository.save(Item.builder()
+                                .itemName(name)
+                                .itemNotes(notes)
+                                .itemStatus(ItemStatus.IN_PROGRESS.name())
+                                .category(category)
+                                .build());
+    }
+}
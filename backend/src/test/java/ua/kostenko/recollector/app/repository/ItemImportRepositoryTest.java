@@ -0,0 +1,110 @@
+package ua.kostenko.recollector.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import ua.kostenko.recollector.app.TestApplicationContextInitializer;
+import ua.kostenko.recollector.app.dto.ImportErrorDto;
+import ua.kostenko.recollector.app.dto.ImportRow;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.entity.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(ItemImportRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(initializers = {TestApplicationContextInitializer.class})
+class ItemImportRepositoryTest {
+
+    @Autowired
+    private ItemImportRepository itemImportRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Category books;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder().email("import@example.com").passwordHash("password123").build());
+        books = categoryRepository.save(Category.builder().categoryName("Books").user(testUser).build());
+        itemRepository.saveAndFlush(Item.builder()
+                                        .itemName("Dune")
+                                        .itemStatus(ItemStatus.FINISHED.name())
+                                        .category(books)
+                                        .build());
+        itemImportRepository.createStagingTable();
+    }
+
+    @Test
+    void importRows_newAndExistingRows_createsMissingCategoriesAndItemsAndRejectsDuplicates() {
+        List<ImportRow> rows = List.of(new ImportRow(1, "Books", "Dune", "TODO_LATER", null),
+                                       new ImportRow(2, "Books", "Solaris", "IN_PROGRESS", "Notes with \"quotes\", commas"),
+                                       new ImportRow(3, "Films", "Alien", "FINISHED", ""),
+                                       new ImportRow(4, "Films", "Alien", "TODO_LATER", null),
+                                       new ImportRow(5, "Empty", null, null, null));
+
+        long copied = itemImportRepository.copyRows(rows.iterator());
+        int categoriesCreated = itemImportRepository.insertCategories(testUser.getUserId());
+        int itemsCreated = itemImportRepository.insertItems(testUser.getUserId());
+
+        assertThat(copied).isEqualTo(5);
+        assertThat(categoriesCreated).isEqualTo(2);
+        assertThat(itemsCreated).isEqualTo(2);
+        assertThat(itemImportRepository.countRejectedRows()).isEqualTo(2);
+        assertThat(itemImportRepository.findRejectedRows(10)).containsExactly(
+                new ImportErrorDto(1, "Item already exists in the category"),
+                new ImportErrorDto(4, "Duplicate item in the import file"));
+
+        Category films = categoryRepository.findAll()
+                                           .stream()
+                                           .filter(category -> category.getCategoryName().equals("Films"))
+                                           .findFirst()
+                                           .orElseThrow();
+        Item alien = itemRepository.findAll()
+                                   .stream()
+                                   .filter(item -> item.getCategory().getCategoryId().equals(films.getCategoryId()))
+                                   .findFirst()
+                                   .orElseThrow();
+        assertThat(alien.getItemName()).isEqualTo("Alien");
+        assertThat(alien.getItemStatus()).isEqualTo(ItemStatus.FINISHED.name());
+        assertThat(alien.getItemNotes()).isEmpty();
+        Item solaris = itemRepository.findAll()
+                                     .stream()
+                                     .filter(item -> item.getItemName().equals("Solaris"))
+                                     .findFirst()
+                                     .orElseThrow();
+        assertThat(solaris.getItemNotes()).isEqualTo("Notes with \"quotes\", commas");
+    }
+
+    @Test
+    void findRejectedRows_limit_returnsFirstRejectedRows() {
+        List<ImportRow> rows = List.of(new ImportRow(1, "Books", "Dune", "FINISHED", null),
+                                       new ImportRow(2, "Books", "Dune", "FINISHED", null),
+                                       new ImportRow(3, "Books", "Dune", "FINISHED", null));
+        itemImportRepository.copyRows(rows.iterator());
+        itemImportRepository.insertCategories(testUser.getUserId());
+        itemImportRepository.insertItems(testUser.getUserId());
+
+        assertThat(itemImportRepository.countRejectedRows()).isEqualTo(3);
+        assertThat(itemImportRepository.findRejectedRows(2)).extracting(ImportErrorDto::getRow).containsExactly(1L, 2L);
+    }
+}
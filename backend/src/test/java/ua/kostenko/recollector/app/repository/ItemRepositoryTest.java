@@ -19,6 +19,8 @@ import ua.kostenko.recollector.app.entity.Item;
 import ua.kostenko.recollector.app.entity.ItemStatus;
 import ua.kostenko.recollector.app.entity.User;
 import ua.kostenko.recollector.app.entity.specification.ItemSpecification;
+import ua.kostenko.recollector.app.entity.specification.KeysetSpecification;
+import ua.kostenko.recollector.app.util.CursorUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -117,22 +119,6 @@ class ItemRepositoryTest {
         assertThat(items).extracting(Item::getItemName).containsExactlyInAnyOrder("Item 1", "Item 2");
     }
 
-    @Test
-    void existsByItemNameAndCategoryId_existingItem_returnTrue() {
-        Item item = Item.builder()
-                        .itemName("Unique Item")
-                        .itemStatus(ItemStatus.TODO_LATER.name())
-                        .category(testCategory)
-                        .build();
-
-        itemRepository.save(item);
-
-        boolean exists = itemRepository.existsByItemNameAndCategory_CategoryId("Unique Item",
-                                                                               testCategory.getCategoryId());
-
-        assertThat(exists).isTrue();
-    }
-
     @Test
     void deleteItem_existingItem_itemDeleted() {
         Item item = Item.builder()
@@ -149,6 +135,85 @@ class ItemRepositoryTest {
         assertThat(deletedItem).isNotPresent();
     }
 
+    @Test
+    void findOwnedItem_ownerAndOtherUser_itemFoundOnlyForOwner() {
+        Item savedItem = itemRepository.save(Item.builder()
+                                                 .itemName("Owned Item")
+                                                 .itemStatus(ItemStatus.TODO_LATER.name())
+                                                 .category(testCategory)
+                                                 .build());
+        User otherUser = userRepository.save(User.builder()
+                                                 .email("otheruser@example.com")
+                                                 .passwordHash("password123")
+                                                 .build());
+
+        Optional<Item> ownedItem = itemRepository.findOwnedItem(savedItem.getItemId(),
+                                                                testCategory.getCategoryId(),
+                                                                testUser.getUserId());
+        Optional<Item> foreignItem = itemRepository.findOwnedItem(savedItem.getItemId(),
+                                                                  testCategory.getCategoryId(),
+                                                                  otherUser.getUserId());
+
+        assertThat(ownedItem).isPresent();
+        assertThat(ownedItem.get().getCategory().getCategoryId()).isEqualTo(testCategory.getCategoryId());
+        assertThat(foreignItem).isNotPresent();
+    }
+
+    @Test
+    void deleteOwnedItem_ownerAndOtherUser_itemDeletedOnlyByOwner() {
+        Item savedItem = itemRepository.save(Item.builder()
+                                                 .itemName("Owned Item")
+                                                 .itemStatus(ItemStatus.TODO_LATER.name())
+                                                 .category(testCategory)
+                                                 .build());
+        User otherUser = userRepository.save(User.builder()
+                                                 .email("otheruser@example.com")
+                                                 .passwordHash("password123")
+                                                 .build());
+
+        int deletedByOther = itemRepository.deleteOwnedItem(savedItem.getItemId(),
+                                                            testCategory.getCategoryId(),
+                                                            otherUser.getUserId());
+        assertThat(deletedByOther).isZero();
+        assertThat(itemRepository.existsById(savedItem.getItemId())).isTrue();
+
+        int deletedByOwner = itemRepository.deleteOwnedItem(savedItem.getItemId(),
+                                                            testCategory.getCategoryId(),
+                                                            testUser.getUserId());
+        assertThat(deletedByOwner).isEqualTo(1);
+        assertThat(itemRepository.existsById(savedItem.getItemId())).isFalse();
+    }
+
+    @Test
+    void findBy_keysetSpecification_returnsItemsAfterCursorInOrder() {
+        for (String name : List.of("Gamma", "Alpha", "Delta", "Beta")) {
+            itemRepository.save(Item.builder()
+                                    .itemName(name)
+                                    .itemStatus(ItemStatus.TODO_LATER.name())
+                                    .category(testCategory)
+                                    .build());
+        }
+        Sort sort = Sort.by(Sort.Direction.ASC, "itemName", "itemId");
+        ItemSpecification spec = ItemSpecification.builder()
+                                                   .userId(testUser.getUserId())
+                                                   .categoryId(testCategory.getCategoryId())
+                                                   .build();
+
+        List<Item> firstPage = itemRepository.findBy(spec, query -> query.sortBy(sort).limit(2).all());
+        Item lastOfFirstPage = firstPage.get(1);
+        KeysetSpecification<Item> keyset = KeysetSpecification.<Item>builder()
+                                                              .nameField("itemName")
+                                                              .idField("itemId")
+                                                              .cursor(new CursorUtils.Cursor(lastOfFirstPage.getItemName(),
+                                                                                             lastOfFirstPage.getItemId()))
+                                                              .direction(Sort.Direction.ASC)
+                                                              .build();
+        List<Item> secondPage = itemRepository.findBy(spec.and(keyset), query -> query.sortBy(sort).limit(2).all());
+
+        assertThat(firstPage).extracting(Item::getItemName).containsExactly("Alpha", "Beta");
+        assertThat(secondPage).extracting(Item::getItemName).containsExactly("Delta", "Gamma");
+    }
+
     @Test
     void updateItem_existingItem_itemUpdated() {
         Item item = Item.builder()
@@ -346,6 +411,33 @@ class ItemRepositoryTest {
         assertThat(items.get(0).getCategory()).isEqualTo(testCategory);
     }
 
+    @Test
+    void findAll_specWithWildcardInItemName_matchesWildcardLiterally() {
+        // Arrange: Names that a non-escaped '%' or '_' would match as well
+        itemRepository.saveAll(List.of(Item.builder()
+                                           .itemName("Progress 100% done")
+                                           .itemStatus(ItemStatus.FINISHED.name())
+                                           .category(testCategory)
+                                           .build(),
+                                       Item.builder()
+                                           .itemName("Progress 100 of 200 done")
+                                           .itemStatus(ItemStatus.FINISHED.name())
+                                           .category(testCategory)
+                                           .build()));
+
+        // Act
+        var spec = ItemSpecification.builder()
+                                    .userId(testUser.getUserId())
+                                    .categoryId(testCategory.getCategoryId())
+                                    .itemName("100% DONE")
+                                    .build();
+
+        List<Item> items = itemRepository.findAll(spec);
+
+        // Assert
+        assertThat(items).extracting(Item::getItemName).containsExactly("Progress 100% done");
+    }
+
     @Test
     void findAll_specWithItemStatus_filtersCorrectly() {
         // Arrange: Create and save multiple items with different statuses
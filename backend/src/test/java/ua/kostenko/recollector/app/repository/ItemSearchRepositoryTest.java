@@ -0,0 +1,107 @@
+package ua.kostenko.recollector.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import ua.kostenko.recollector.app.TestApplicationContextInitializer;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.entity.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import(ItemSearchRepository.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(initializers = {TestApplicationContextInitializer.class})
+class ItemSearchRepositoryTest {
+
+    @Autowired
+    private ItemSearchRepository itemSearchRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Category shopping;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder().email("search@example.com").passwordHash("password123").build());
+        shopping = categoryRepository.save(Category.builder().categoryName("Shopping").user(testUser).build());
+        Category chores = categoryRepository.save(Category.builder().categoryName("Chores").user(testUser).build());
+        saveItem(shopping, "Buy milk", "From the farm shop");
+        saveItem(chores, "Clean the fridge", "Throw away the old milk");
+        saveItem(chores, "Water plants", null);
+
+        User otherUser = userRepository.save(User.builder()
+                                                 .email("other@example.com")
+                                                 .passwordHash("password123")
+                                                 .build());
+        Category otherCategory = categoryRepository.save(Category.builder()
+                                                                 .categoryName("Shopping")
+                                                                 .user(otherUser)
+                                                                 .build());
+        saveItem(otherCategory, "Buy milk", null);
+        itemRepository.flush();
+    }
+
+    @Test
+    void search_matchInNameAndNotes_returnsItemsOfUserAcrossCategoriesNameMatchFirst() {
+        List<SearchResultDto> results = itemSearchRepository.search(testUser.getUserId(), "milk", null, null, 10);
+
+        assertThat(results).extracting(SearchResultDto::getItemName).containsExactly("Buy milk", "Clean the fridge");
+        assertThat(results.get(0).getCategoryId()).isEqualTo(shopping.getCategoryId());
+        assertThat(results.get(0).getCategoryName()).isEqualTo("Shopping");
+        assertThat(results.get(0).getItemStatus()).isEqualTo(ItemStatus.TODO_LATER);
+        assertThat(results.get(0).getRank()).isGreaterThan(results.get(1).getRank());
+        assertThat(results.get(0).getItemNameHighlight()).isEqualTo("Buy <b>milk</b>");
+        assertThat(results.get(1).getItemNotesHighlight()).contains("<b>milk</b>");
+    }
+
+    @Test
+    void search_afterCursor_returnsNextResults() {
+        SearchResultDto first = itemSearchRepository.search(testUser.getUserId(), "milk", null, null, 1).get(0);
+
+        List<SearchResultDto> next = itemSearchRepository.search(testUser.getUserId(),
+                                                                 "milk",
+                                                                 first.getRank(),
+                                                                 first.getItemId(),
+                                                                 10);
+
+        assertThat(next).extracting(SearchResultDto::getItemName).containsExactly("Clean the fridge");
+    }
+
+    @Test
+    void search_webSearchSyntax_excludesNegatedWords() {
+        List<SearchResultDto> results = itemSearchRepository.search(testUser.getUserId(), "milk -fridge", null, null,
+                                                                    10);
+
+        assertThat(results).extracting(SearchResultDto::getItemName).containsExactly("Buy milk");
+    }
+
+    private void saveItem(Category category, String name, String notes) {
+        itemRepository.save(Item.builder()
+                                .itemName(name)
+                                .itemNotes(notes)
+                                .itemStatus(ItemStatus.TODO_LATER.name())
+                                .category(category)
+                                .build());
+    }
+}
@@ -1,5 +1,6 @@
 package ua.kostenko.recollector.app.repository;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -10,6 +11,7 @@ import org.springframework.test.context.ContextConfiguration;
 import ua.kostenko.recollector.app.TestApplicationContextInitializer;
 import ua.kostenko.recollector.app.entity.User;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -23,6 +25,8 @@ class UserRepositoryTest {
 
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     @Test
     void givenValidUser_whenSave_thenUserIsSavedSuccessfully() {
@@ -162,4 +166,42 @@ class UserRepositoryTest {
         Optional<User> deletedUser = userRepository.findById(nonExistingUserId);
         assertThat(deletedUser).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void givenDeletedUser_whenFindByEmail_thenUserIsNotFound() {
+        // Arrange
+        User user = userRepository.saveAndFlush(User.builder()
+                                                    .email("deleteduser@example.com")
+                                                    .passwordHash("password123")
+                                                    .build());
+        assertThat(userRepository.findByEmail("deleteduser@example.com")).isPresent();
+
+        // Act
+        int marked = userRepository.markDeleted(user.getUserId(), LocalDateTime.now());
+
+        // Assert
+        assertThat(marked).isEqualTo(1);
+        assertThat(userRepository.findByEmail("deleteduser@example.com")).isNotPresent();
+    }
+
+    @Test
+    void givenPasswordChangedAndUserDeleted_whenFindByEmailBypassingCache_thenCurrentRowIsReturned() {
+        // Arrange
+        User user = userRepository.saveAndFlush(User.builder()
+                                                    .email("credentials@example.com")
+                                                    .passwordHash("password123")
+                                                    .build());
+
+        // Act
+        userRepository.updatePasswordHash(user.getUserId(), "password123", "password456");
+        // The bulk update bypasses the persistence context, a managed user would be returned as it is
+        entityManager.clear();
+        Optional<User> changedUser = userRepository.findByEmailBypassingCache("credentials@example.com");
+        userRepository.markDeleted(user.getUserId(), LocalDateTime.now());
+
+        // Assert
+        assertThat(changedUser).isPresent();
+        assertThat(changedUser.get().getPasswordHash()).isEqualTo("password456");
+        assertThat(userRepository.findByEmailBypassingCache("credentials@example.com")).isNotPresent();
+    }
+}
@@ -0,0 +1,121 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ua.kostenko.recollector.app.exception.AuthRateLimitExceededException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimiterTest {
+
+    private static final String IP = "10.0.0.1";
+    private static final String EMAIL = "user@email.com";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void acquire_emailLimitExceeded_throwsWithRetryAfter() {
+        var limiter = new AuthRateLimiter(meterRegistry, true, 100, 100, 2, 1, 1000, 1000);
+
+        limiter.acquire(IP, EMAIL);
+        limiter.acquire(IP, " USER@email.com ");
+        var exception = assertThrows(AuthRateLimitExceededException.class, () -> limiter.acquire(IP, EMAIL));
+
+        assertTrue(exception.getRetryAfterSeconds() >= 1 && exception.getRetryAfterSeconds() <= 60);
+        assertEquals(2.0, decisions("admitted", "none"));
+        assertEquals(1.0, decisions("rejected", "email"));
+    }
+
+    @Test
+    void acquire_ipLimitExceeded_throwsForAnyEmail() {
+        var limiter = new AuthRateLimiter(meterRegistry, true, 1, 1, 100, 100, 1000, 1000);
+
+        limiter.acquire(IP, "first@email.com");
+
+        assertThrows(AuthRateLimitExceededException.class, () -> limiter.acquire(IP, "second@email.com"));
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "second@email.com"));
+        assertEquals(1.0, decisions("rejected", "ip"));
+    }
+
+    @Test
+    void acquire_disabled_admitsEverything() {
+        var limiter = new AuthRateLimiter(meterRegistry, false, 1, 1, 1, 1, 1000, 1000);
+
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> limiter.acquire(IP, EMAIL));
+        }
+    }
+
+    @Test
+    void acquire_bucketLimitReached_limitsNewKeysWithOverflowBucket() {
+        var limiter = new AuthRateLimiter(meterRegistry, true, 1, 1, 1, 1, 1, 1000);
+
+        limiter.acquire(IP, EMAIL);
+
+        assertDoesNotThrow(() -> limiter.acquire("10.0.0.2", "other@email.com"));
+        var exception = assertThrows(AuthRateLimitExceededException.class,
+                                     () -> limiter.acquire("10.0.0.3", "third@email.com"));
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, buckets("ip"));
+        assertEquals(1.0, decisions("rejected", "ip"));
+    }
+
+    @Test
+    void acquire_bucketLimitReached_sweepsRefilledBuckets() throws InterruptedException {
+        var limiter = new AuthRateLimiter(meterRegistry, true, 1, 60_000, 100, 100, 1, 0);
+        limiter.acquire(IP, null);
+        Thread.sleep(5);
+
+        limiter.acquire("10.0.0.2", null);
+
+        assertEquals(1.0, buckets("ip"));
+        assertEquals(0.0, overflows());
+    }
+
+    @Test
+    void acquire_bucketLimitReachedWithinSweepInterval_skipsSweep() throws InterruptedException {
+        var limiter = new AuthRateLimiter(meterRegistry, true, 1, 60_000, 100, 100, 1, 60_000);
+        limiter.acquire(IP, null);
+        Thread.sleep(5);
+        limiter.acquire("10.0.0.2", null);
+        Thread.sleep(5);
+
+        limiter.acquire("10.0.0.3", null);
+
+        assertEquals(1.0, buckets("ip"));
+        assertEquals(1.0, overflows());
+    }
+
+    @Test
+    void evictIdleBuckets_keepsBucketsThatAreNotRefilled() {
+        var limiter = new AuthRateLimiter(meterRegistry, true, 5, 1, 5, 1, 1000, 1000);
+        limiter.acquire(IP, EMAIL);
+
+        limiter.evictIdleBuckets();
+
+        assertEquals(1.0, buckets("ip"));
+        assertEquals(1.0, buckets("email"));
+    }
+
+    private double decisions(String result, String limit) {
+        return meterRegistry.get("recollector.auth.rate-limit.decisions")
+                            .tag("result", result)
+                            .tag("limit", limit)
+                            .counter()
+                            .count();
+    }
+
+    private double overflows() {
+        return meterRegistry.get("recollector.auth.rate-limit.overflow").counter().count();
+    }
+
+    private double buckets(String limit) {
+        return meterRegistry.get("recollector.auth.rate-limit.buckets").tag("limit", limit).gauge().value();
+    }
+}
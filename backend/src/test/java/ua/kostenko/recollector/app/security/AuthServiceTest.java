@@ -1,5 +1,6 @@
 package ua.kostenko.recollector.app.security;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +13,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import ua.kostenko.recollector.app.dto.UserDto;
 import ua.kostenko.recollector.app.dto.auth.*;
 import ua.kostenko.recollector.app.entity.User;
@@ -21,8 +23,11 @@ import ua.kostenko.recollector.app.exception.UserNotFoundException;
 import ua.kostenko.recollector.app.exception.UserRegistrationException;
 import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
 import ua.kostenko.recollector.app.repository.UserRepository;
+import ua.kostenko.recollector.app.service.DeletionJobService;
+import ua.kostenko.recollector.app.service.UserSettingsCache;
 import ua.kostenko.recollector.app.util.UserUtils;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +51,24 @@ class AuthServiceTest {
     @Mock
     private InvalidatedTokenRepository invalidatedTokenRepository;
 
+    @Mock
+    private TokenRevocationIndex tokenRevocationIndex;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
+    @Mock
+    private DeletionJobService deletionJobService;
+    @Mock
+    private UserSettingsCache userSettingsCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private AuthenticationService authService;
 
     @BeforeEach
@@ -56,7 +79,14 @@ class AuthServiceTest {
                                                 jwtUtil,
                                                 passwordEncoder,
                                                 userRepository,
-                                                invalidatedTokenRepository);
+                                                invalidatedTokenRepository,
+                                                tokenRevocationIndex,
+                                                tokenVersionService,
+                                                passwordUpgradeService,
+                                                lastLoginRecorder,
+                                                deletionJobService,
+                                                userSettingsCache,
+                                                transactionManager);
         ReflectionTestUtils.setField(jwtUtil, "jwtExpMinutes", 1);
         ReflectionTestUtils.setField(jwtUtil, "jwtRefreshExpHours", 1);
         ReflectionTestUtils.setField(authService, "jwtExpMinutes", 1);
@@ -128,14 +158,18 @@ class AuthServiceTest {
 
         when(userUtils.isEmailValid(email)).thenReturn(true);
         when(userUtils.isPasswordValid(password)).thenReturn(true);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailBypassingCache(email)).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(password, user.getPasswordHash())).thenReturn(true);
-        when(jwtUtil.generateJwtTokensPair(email)).thenReturn(tokensDto);
+        when(jwtUtil.generateJwtTokensPair(any(TokenSubject.class))).thenReturn(tokensDto);
 
         var result = authService.loginUser(email, password);
 
         assertEquals(email, result.getUserEmail());
         assertEquals("jwtToken", result.getTokensDto().getJwtToken());
+        verify(passwordUpgradeService).upgradeIfNeeded(user, password);
+        verify(lastLoginRecorder).record(eq(user.getUserId()), any(LocalDateTime.class));
+        verify(userRepository, never()).saveAndFlush(any());
+        verify(userRepository, never()).findByEmail(email);
     }
 
     @Test
@@ -147,7 +181,7 @@ class AuthServiceTest {
 
         when(userUtils.isEmailValid(email)).thenReturn(true);
         when(userUtils.isPasswordValid(password)).thenReturn(true);
-        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailBypassingCache(email)).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(password, user.getPasswordHash())).thenReturn(false);
 
         UserLoginException exception = assertThrows(UserLoginException.class,
@@ -161,7 +195,7 @@ class AuthServiceTest {
         ForgotPasswordRequestDto requestDto = new ForgotPasswordRequestDto("test@example.com");
         User user = new User();
 
-        when(userRepository.findByEmail(requestDto.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailBypassingCache(requestDto.getEmail())).thenReturn(Optional.of(user));
         when(userUtils.isEmailValid(requestDto.getEmail())).thenReturn(true);
 
         authService.forgotPassword(requestDto);
@@ -183,13 +217,15 @@ class AuthServiceTest {
         when(userUtils.isEmailValid(resetRequest.getEmail())).thenReturn(true);
         when(userUtils.isPasswordValid(resetRequest.getPassword())).thenReturn(true);
         when(userUtils.isPasswordValid(resetRequest.getPasswordConfirm())).thenReturn(true);
-        when(userRepository.findByEmail(resetRequest.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailBypassingCache(resetRequest.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.encode(resetRequest.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserDto result = authService.resetPassword(resetRequest);
 
         assertEquals("test@example.com", result.getEmail());
+        verify(userRepository).incrementTokenVersion(user.getUserId());
+        verify(tokenVersionService).evict(user.getUserId());
     }
 
     @Test
@@ -207,7 +243,7 @@ class AuthServiceTest {
         when(userUtils.isPasswordValid(requestDto.getPassword())).thenReturn(true);
         when(userUtils.isPasswordValid(requestDto.getPasswordConfirm())).thenReturn(true);
         when(userUtils.isPasswordValid(requestDto.getPasswordCurrent())).thenReturn(true);
-        when(userRepository.findByEmail(requestDto.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailBypassingCache(requestDto.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(requestDto.getPasswordCurrent(), user.getPasswordHash())).thenReturn(true);
         when(passwordEncoder.encode(requestDto.getPassword())).thenReturn("encodedNewPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
@@ -215,6 +251,9 @@ class AuthServiceTest {
         UserDto result = authService.changePassword(requestDto, "", "");
 
         assertEquals("test@example.com", result.getEmail());
+        verify(userRepository).incrementTokenVersion(user.getUserId());
+        verify(tokenVersionService).evict(user.getUserId());
+        verify(tokenVersionService, never()).revokeAllTokens(any());
     }
 
     @Test
@@ -227,12 +266,64 @@ class AuthServiceTest {
 
         when(userUtils.isEmailValid(requestDto.getEmail())).thenReturn(true);
         when(userUtils.isPasswordValid(requestDto.getPassword())).thenReturn(true);
-        when(userRepository.findByEmail(requestDto.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findByEmailBypassingCache(requestDto.getEmail())).thenReturn(Optional.of(user));
         when(passwordEncoder.matches(requestDto.getPassword(), user.getPasswordHash())).thenReturn(true);
 
         String result = authService.deleteAccount(requestDto);
 
         assertEquals("Successfully deleted account 'test@example.com'", result);
+        verify(deletionJobService).scheduleAccountDeletion(user.getUserId());
+        verify(userRepository, never()).delete(any());
+        verify(tokenVersionService).evict(user.getUserId());
+        verify(userSettingsCache).evict(user.getUserId());
+    }
+
+    @Test
+    void refreshAccessToken_legacyTokenAfterVersionChange_throwsUserLoginException() {
+        String email = "test@example.com";
+        User user = User.builder().userId(1L).email(email).tokenVersion(1).build();
+        Claims claims = mock(Claims.class);
+
+        when(jwtUtil.validateRefreshJwtToken("refreshToken", email)).thenReturn(true);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(jwtUtil.extractClaimsFromRefreshJwtToken("refreshToken")).thenReturn(claims);
+        when(jwtUtil.extractTokenVersion(claims)).thenReturn(null);
+        when(tokenVersionService.isCurrent(1L, TokenVersionService.LEGACY_TOKEN_VERSION)).thenReturn(false);
+
+        assertThrows(UserLoginException.class, () -> authService.refreshAccessToken(email, "mainToken", "refreshToken"));
+
+        verify(jwtUtil, never()).generateMainJwt(any(), any());
+    }
+
+    @Test
+    void refreshAccessToken_legacyTokenOfInitialVersion_returnsNewToken() {
+        String email = "test@example.com";
+        User user = User.builder().userId(1L).email(email).tokenVersion(0).build();
+        Claims claims = mock(Claims.class);
+
+        when(jwtUtil.validateRefreshJwtToken("refreshToken", email)).thenReturn(true);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(user));
+        when(jwtUtil.extractClaimsFromRefreshJwtToken("refreshToken")).thenReturn(claims);
+        when(jwtUtil.extractTokenVersion(claims)).thenReturn(null);
+        when(tokenVersionService.isCurrent(1L, TokenVersionService.LEGACY_TOKEN_VERSION)).thenReturn(true);
+        when(jwtUtil.generateMainJwt(any(TokenSubject.class), any())).thenReturn("newToken");
+
+        UserDto result = authService.refreshAccessToken(email, "mainToken", "refreshToken");
+
+        assertEquals("newToken", result.getJwtToken());
+    }
+
+    @Test
+    void logoutAllSessions_authenticatedUser_revokesAllTokens() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "test@example.com", null, null));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        String result = authService.logoutAllSessions();
+
+        assertEquals("Logout from all sessions successful", result);
+        verify(tokenVersionService).revokeAllTokens(1L);
     }
 
     @Test
@@ -240,13 +331,24 @@ class AuthServiceTest {
         String email = "test@example.com";
         Authentication authentication = mock(Authentication.class);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(User.builder().email(email).build());
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(User.builder().email(email).build()));
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, email, null, null));
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         var result = authService.getUserFromAuthContext();
 
-        assertEquals(email, result.getEmail());
+        assertEquals(email, result.email());
+        assertEquals(1L, result.userId());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getUserEmailFromAuthContext_anonymousPrincipal_throwsUserNotAuthenticatedException() {
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn("anonymousUser");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        assertThrows(UserNotAuthenticatedException.class, () -> authService.getUserFromAuthContext());
     }
 
     @Test
@@ -0,0 +1,126 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import ua.kostenko.recollector.app.exception.PasswordHashingUnavailableException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoundedPasswordEncoderTest {
+
+    private static final String RAW_PASSWORD = "password";
+    private static final String ENCODED_PASSWORD = "encoded";
+
+    private PasswordEncoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 1, 1000, 2, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void encode_freeExecutor_delegatesAndRecordsDuration() {
+        when(delegate.encode(RAW_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+
+        assertEquals(ENCODED_PASSWORD, encoder.encode(RAW_PASSWORD));
+        assertEquals(1,
+                     meterRegistry.get("recollector.password.hashing.duration")
+                                  .tag("operation", "encode")
+                                  .timer()
+                                  .count());
+        assertEquals(1, meterRegistry.get("recollector.password.hashing.queue.wait").timer().count());
+    }
+
+    @Test
+    void matches_freeExecutor_delegates() {
+        when(delegate.matches(RAW_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+
+        assertTrue(encoder.matches(RAW_PASSWORD, ENCODED_PASSWORD));
+    }
+
+    @Test
+    void encode_saturatedExecutor_failsFast() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ENCODED_PASSWORD;
+        });
+
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode(RAW_PASSWORD));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var queued = CompletableFuture.supplyAsync(() -> encoder.encode(RAW_PASSWORD));
+        waitForQueuedTask();
+
+        var exception = assertThrows(PasswordHashingUnavailableException.class, () -> encoder.encode(RAW_PASSWORD));
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("recollector.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(ENCODED_PASSWORD, running.get(5, TimeUnit.SECONDS));
+        assertEquals(ENCODED_PASSWORD, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encodeInBackground_freeExecutor_runsOnBackgroundThread() throws Exception {
+        when(delegate.encode(RAW_PASSWORD)).thenAnswer(invocation -> Thread.currentThread().getName());
+
+        var threadName = encoder.encodeInBackground(RAW_PASSWORD).get(5, TimeUnit.SECONDS);
+
+        assertTrue(threadName.startsWith("password-hashing-background-"));
+    }
+
+    @Test
+    void encodeInBackground_callersQueued_isSkipped() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ENCODED_PASSWORD;
+        });
+
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode(RAW_PASSWORD));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var queued = CompletableFuture.supplyAsync(() -> encoder.encode(RAW_PASSWORD));
+        waitForQueuedTask();
+
+        var background = encoder.encodeInBackground(RAW_PASSWORD);
+        var exception = assertThrows(ExecutionException.class, () -> background.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PasswordHashingUnavailableException.class, exception.getCause());
+        assertEquals(1, meterRegistry.get("recollector.password.hashing.background.skipped").counter().count());
+        assertEquals(0, meterRegistry.get("recollector.password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(ENCODED_PASSWORD, running.get(5, TimeUnit.SECONDS));
+        assertEquals(ENCODED_PASSWORD, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        var queueSize = meterRegistry.get("recollector.password.hashing.queue.size").gauge();
+        for (int i = 0; i < 100 && queueSize.value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -38,7 +38,7 @@ class JwtHelperUtilTest {
 
         String testKey = "dewedwd32det723vd772dg17dvtwy2ugdsu23y81gsd1u23dgy2";
         secretKey = Keys.hmacShaKeyFor(testKey.getBytes(StandardCharsets.UTF_8));
-        jwtUtil = new JwtHelperUtil(secretKey, secretKey, dateService);
+        jwtUtil = new JwtHelperUtil(secretKey, secretKey, dateService, 100);
         ReflectionTestUtils.setField(jwtUtil, "jwtExpMinutes", 1);
         ReflectionTestUtils.setField(jwtUtil, "jwtRefreshExpHours", 1);
     }
@@ -54,7 +54,7 @@ class JwtHelperUtilTest {
                                                 any(DateService.Adjuster.class))).thenReturn(expirationDate);
 
         // Act
-        String token = jwtUtil.generateMainJwt(username, currentDate);
+        String token = jwtUtil.generateMainJwt(new TokenSubject(1L, username, 0), currentDate);
 
         // Assert
         assertNotNull(token);
@@ -62,6 +62,26 @@ class JwtHelperUtilTest {
         verify(dateService).getAdjustedDateByHours(currentDate, 1, DateService.Adjuster.MINUTES);
     }
 
+    @Test
+    void generateToken_tokenSubject_embedsUserIdAndTokenVersion() {
+        // Arrange
+        String username = "testUser";
+        Date currentDate = new Date();
+        Date expirationDate = new Date(currentDate.getTime() + 3600000); // 1 hour later
+        when(dateService.getAdjustedDateByHours(any(Date.class),
+                                                any(Long.class),
+                                                any(DateService.Adjuster.class))).thenReturn(expirationDate);
+
+        // Act
+        String token = jwtUtil.generateMainJwt(new TokenSubject(42L, username, 3), currentDate);
+        Claims claims = jwtUtil.extractClaimsFromMainJwtToken(token);
+
+        // Assert
+        assertEquals(username, claims.getSubject());
+        assertEquals(42L, jwtUtil.extractUserId(claims));
+        assertEquals(3, jwtUtil.extractTokenVersion(claims));
+    }
+
     @Test
     void extractClaims_validToken_returnsClaims() {
         // Arrange
@@ -83,6 +103,47 @@ class JwtHelperUtilTest {
         assertEquals(username, extractedClaims.getSubject());
     }
 
+    @Test
+    void extractClaims_sameTokenTwice_returnsCachedClaims() {
+        // Arrange
+        Date currentDate = new Date();
+        String token = Jwts.builder()
+                           .subject("testUser")
+                           .issuedAt(currentDate)
+                           .expiration(new Date(currentDate.getTime() + 3600000))
+                           .signWith(secretKey)
+                           .compact();
+
+        // Act
+        Claims first = jwtUtil.extractClaimsFromMainJwtToken(token);
+        Claims second = jwtUtil.extractClaimsFromMainJwtToken(token);
+
+        // Assert
+        assertSame(first, second);
+    }
+
+    @Test
+    void generateJwtTokensPair_validSubject_returnsExpirationOfSignedTokens() {
+        // Arrange
+        Date currentDate = new Date();
+        Date mainExpiration = new Date(currentDate.getTime() + 60000);
+        Date refreshExpiration = new Date(currentDate.getTime() + 3600000);
+        when(dateService.getCurrentDate()).thenReturn(currentDate);
+        when(dateService.getAdjustedDateByHours(currentDate, 1, DateService.Adjuster.MINUTES)).thenReturn(
+                mainExpiration);
+        when(dateService.getAdjustedDateByHours(currentDate, 1, DateService.Adjuster.HOURS)).thenReturn(
+                refreshExpiration);
+
+        // Act
+        var tokens = jwtUtil.generateJwtTokensPair(new TokenSubject(1L, "testUser", 0));
+
+        // Assert
+        assertEquals(mainExpiration.getTime() / 1000, tokens.getJwtTokenExpirationDate());
+        assertEquals(refreshExpiration.getTime() / 1000, tokens.getJwtRefreshTokenExpirationDate());
+        assertEquals(tokens.getJwtTokenExpirationDate(),
+                     jwtUtil.extractClaimsFromMainJwtToken(tokens.getJwtToken()).getExpiration().getTime() / 1000);
+    }
+
     @Test
     void extractClaims_invalidToken_throwsJwtTokenException() {
         // Arrange
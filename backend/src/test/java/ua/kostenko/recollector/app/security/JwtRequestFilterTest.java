@@ -14,7 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import ua.kostenko.recollector.app.entity.User;
-import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.exception.UserNotFoundException;
+import ua.kostenko.recollector.app.util.TokenDigestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -29,7 +30,9 @@ class JwtRequestFilterTest {
     @Mock
     private AuthenticationService authenticationService;
     @Mock
-    private InvalidatedTokenRepository invalidatedTokenRepository;
+    private TokenRevocationIndex tokenRevocationIndex;
+    @Mock
+    private TokenVersionService tokenVersionService;
 
     @Mock
     private HttpServletRequest request;
@@ -49,7 +52,10 @@ class JwtRequestFilterTest {
         Mockito.reset(jwtUtil, request, response, filterChain);
         SecurityContextHolder.getContext().setAuthentication(null);
 
-        jwtRequestFilter = new JwtRequestFilter(jwtUtil, authenticationService, invalidatedTokenRepository);
+        jwtRequestFilter = new JwtRequestFilter(jwtUtil,
+                                                authenticationService,
+                                                tokenRevocationIndex,
+                                                tokenVersionService);
     }
 
     @Test
@@ -64,6 +70,7 @@ class JwtRequestFilterTest {
         when(jwtUtil.validateMainJwtToken(jwt, email)).thenReturn(true);
         when(authenticationService.findUserByEmail(email)).thenReturn(userDetails);
         when(userDetails.getEmail()).thenReturn(email);
+        when(userDetails.getTokenVersion()).thenReturn(0);
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
@@ -73,9 +80,108 @@ class JwtRequestFilterTest {
 
         UsernamePasswordAuthenticationToken auth = (UsernamePasswordAuthenticationToken) SecurityContextHolder.getContext()
                                                                                                               .getAuthentication();
-        User user = (User) auth.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) auth.getPrincipal();
         assertNotNull(auth);
-        assertEquals(email, user.getEmail());
+        assertEquals(email, user.email());
+        assertNull(auth.getCredentials());
+    }
+
+    @Test
+    void doFilterInternal_tokenWithUserIdClaim_authenticatesWithoutUserLookup() throws Exception {
+        String jwt = "claims.jwt.token";
+        String email = "user@example.com";
+        Claims claims = mock(Claims.class);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn(email);
+        when(jwtUtil.extractUserId(claims)).thenReturn(1L);
+        when(jwtUtil.extractTokenVersion(claims)).thenReturn(0);
+        when(jwtUtil.isTokenExpired(claims)).thenReturn(false);
+        when(tokenVersionService.isCurrent(1L, 0)).thenReturn(true);
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(authenticationService, never()).findUserByEmail(anyString());
+        var principal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(1L, principal.userId());
+        assertEquals(email, principal.email());
+    }
+
+    @Test
+    void doFilterInternal_outdatedTokenVersion_doesNotAuthenticateUser() throws Exception {
+        String jwt = "outdated.jwt.token";
+        Claims claims = mock(Claims.class);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt)).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("user@example.com");
+        when(jwtUtil.extractUserId(claims)).thenReturn(1L);
+        when(jwtUtil.extractTokenVersion(claims)).thenReturn(0);
+        when(jwtUtil.isTokenExpired(claims)).thenReturn(false);
+        when(tokenVersionService.isCurrent(1L, 0)).thenReturn(false);
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(tokenRevocationIndex, never()).isRevoked(any(), any());
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_revokedToken_doesNotAuthenticateUser() throws Exception {
+        String jwt = "revoked.jwt.token";
+        String email = "user@example.com";
+        User userDetails = User.builder().userId(1L).email(email).tokenVersion(0).build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt)).thenReturn(mock(Claims.class));
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt).getSubject()).thenReturn(email);
+        when(jwtUtil.validateMainJwtToken(jwt, email)).thenReturn(true);
+        when(authenticationService.findUserByEmail(email)).thenReturn(userDetails);
+        when(tokenRevocationIndex.isRevoked(1L, TokenDigestUtils.sha256(jwt))).thenReturn(true);
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(tokenRevocationIndex).isRevoked(1L, TokenDigestUtils.sha256(jwt));
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_legacyTokenAfterVersionChange_doesNotAuthenticateUser() throws Exception {
+        String jwt = "legacy.jwt.token";
+        String email = "user@example.com";
+        User userDetails = User.builder().userId(1L).email(email).tokenVersion(1).build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt)).thenReturn(mock(Claims.class));
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt).getSubject()).thenReturn(email);
+        when(jwtUtil.validateMainJwtToken(jwt, email)).thenReturn(true);
+        when(authenticationService.findUserByEmail(email)).thenReturn(userDetails);
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(tokenRevocationIndex, never()).isRevoked(any(), any());
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilterInternal_legacyTokenOfDeletedUser_doesNotAuthenticateUser() throws Exception {
+        String jwt = "legacy.jwt.token";
+        String email = "deleted@example.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + jwt);
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt)).thenReturn(mock(Claims.class));
+        when(jwtUtil.extractClaimsFromMainJwtToken(jwt).getSubject()).thenReturn(email);
+        when(authenticationService.findUserByEmail(email)).thenThrow(new UserNotFoundException("User not found"));
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(jwtUtil, never()).validateMainJwtToken(anyString(), anyString());
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
 
     @Test
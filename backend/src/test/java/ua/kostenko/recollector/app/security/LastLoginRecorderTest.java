@@ -0,0 +1,74 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LastLoginRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new LastLoginRecorder(jdbcTemplate, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_pendingLogins_writesLatestTimestampPerUserInOneBatch() {
+        var first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        var second = first.plusMinutes(5);
+        recorder.record(1L, second);
+        recorder.record(1L, first);
+        recorder.record(2L, first);
+
+        assertEquals(2, recorder.flush());
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        var rows = captor.getValue();
+        assertEquals(2, rows.size());
+        var userOneRow = rows.stream().filter(row -> row[1].equals(1L)).findFirst().orElseThrow();
+        assertEquals(Timestamp.valueOf(second), userOneRow[0]);
+        assertEquals(2.0, meterRegistry.get("recollector.last-login.flushed").counter().count());
+        assertEquals(0.0, meterRegistry.get("recollector.last-login.pending").gauge().value());
+    }
+
+    @Test
+    void flush_nothingPending_doesNotTouchDatabase() {
+        assertEquals(0, recorder.flush());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flush_databaseFailure_keepsTimestampsForNextFlush() {
+        recorder.record(1L, LocalDateTime.now());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+        recorder.flush();
+
+        assertEquals(1.0, meterRegistry.get("recollector.last-login.pending").gauge().value());
+    }
+}
@@ -0,0 +1,36 @@
+package ua.kostenko.recollector.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordEncoderCalibratorTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void chooseStrength_fastHardware_increasesStrengthWithinTarget() {
+        // 10 ms at strength 10 -> 20 ms at 11, 40 ms at 12, 80 ms at 13, 160 ms at 14
+        assertEquals(13, PasswordEncoderCalibrator.chooseStrength(10 * MILLIS, 100 * MILLIS, 10, 16));
+    }
+
+    @Test
+    void chooseStrength_slowHardware_keepsMinimalStrength() {
+        assertEquals(10, PasswordEncoderCalibrator.chooseStrength(150 * MILLIS, 100 * MILLIS, 10, 16));
+    }
+
+    @Test
+    void chooseStrength_veryFastHardware_limitedByMaxStrength() {
+        assertEquals(12, PasswordEncoderCalibrator.chooseStrength(MILLIS, 1000 * MILLIS, 10, 12));
+    }
+
+    @Test
+    void calibrate_lowStrengths_returnsStrengthInRange() {
+        int strength = PasswordEncoderCalibrator.calibrate(50, 4, 6);
+
+        assertTrue(strength >= 4 && strength <= 6);
+    }
+}
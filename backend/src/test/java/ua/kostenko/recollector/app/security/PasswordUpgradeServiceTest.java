@@ -0,0 +1,66 @@
+package ua.kostenko.recollector.app.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.exception.PasswordHashingUnavailableException;
+import ua.kostenko.recollector.app.repository.UserRepository;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordUpgradeServiceTest {
+
+    private static final String RAW_PASSWORD = "password";
+    private static final String OLD_HASH = "$2a$10$oldHash";
+    private static final String NEW_HASH = "{bcrypt}$2a$12$newHash";
+
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+    @Mock
+    private UserRepository userRepository;
+    @InjectMocks
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @Test
+    void upgradeIfNeeded_outdatedHash_storesNewHash() {
+        var user = User.builder().userId(1L).passwordHash(OLD_HASH).build();
+        when(passwordEncoder.upgradeEncoding(OLD_HASH)).thenReturn(true);
+        when(passwordEncoder.encodeInBackground(RAW_PASSWORD)).thenReturn(CompletableFuture.completedFuture(NEW_HASH));
+
+        passwordUpgradeService.upgradeIfNeeded(user, RAW_PASSWORD);
+
+        verify(userRepository, timeout(1000)).updatePasswordHash(1L, OLD_HASH, NEW_HASH);
+    }
+
+    @Test
+    void upgradeIfNeeded_currentHash_doesNothing() {
+        var user = User.builder().userId(1L).passwordHash(NEW_HASH).build();
+        when(passwordEncoder.upgradeEncoding(NEW_HASH)).thenReturn(false);
+
+        passwordUpgradeService.upgradeIfNeeded(user, RAW_PASSWORD);
+
+        verify(passwordEncoder, never()).encodeInBackground(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void upgradeIfNeeded_hashingUnavailable_keepsOldHash() {
+        var user = User.builder().userId(1L).passwordHash(OLD_HASH).build();
+        when(passwordEncoder.upgradeEncoding(OLD_HASH)).thenReturn(true);
+        when(passwordEncoder.encodeInBackground(RAW_PASSWORD)).thenReturn(CompletableFuture.failedFuture(
+                new PasswordHashingUnavailableException("unavailable", 1)));
+
+        passwordUpgradeService.upgradeIfNeeded(user, RAW_PASSWORD);
+
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+}
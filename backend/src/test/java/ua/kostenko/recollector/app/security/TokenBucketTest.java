@@ -0,0 +1,51 @@
+package ua.kostenko.recollector.app.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long START = 1_000L;
+
+    @Test
+    void tryConsume_withinCapacity_admitsBurst() {
+        var bucket = new TokenBucket(3, 60, START);
+
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(0, bucket.tryConsume(START));
+        assertEquals(0, bucket.tryConsume(START));
+    }
+
+    @Test
+    void tryConsume_emptyBucket_returnsTimeUntilNextToken() {
+        var bucket = new TokenBucket(1, 60, START);
+        bucket.tryConsume(START);
+
+        var wait = bucket.tryConsume(START);
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void tryConsume_afterRefill_admitsAgain() {
+        var bucket = new TokenBucket(1, 60, START);
+        bucket.tryConsume(START);
+
+        assertEquals(0, bucket.tryConsume(START + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void isFull_onlyAfterCompleteRefill() {
+        var bucket = new TokenBucket(2, 60, START);
+        assertTrue(bucket.isFull(START));
+
+        bucket.tryConsume(START);
+        bucket.tryConsume(START);
+
+        assertFalse(bucket.isFull(START + TimeUnit.SECONDS.toNanos(1)));
+        assertTrue(bucket.isFull(START + TimeUnit.SECONDS.toNanos(2)));
+    }
+}
@@ -0,0 +1,131 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.kostenko.recollector.app.entity.InvalidatedToken;
+import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.util.TokenDigestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationIndexTest {
+
+    private static final byte[] TOKEN_DIGEST = TokenDigestUtils.sha256("header.payload.signature");
+    private static final byte[] OTHER_TOKEN_DIGEST = TokenDigestUtils.sha256("other.token.value");
+
+    @Mock
+    private InvalidatedTokenRepository tokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new TokenRevocationIndex(tokenRepository, meterRegistry);
+        ReflectionTestUtils.setField(index, "syncSeconds", 30L);
+    }
+
+    @Test
+    void isRevoked_beforeLoad_fallsBackToDatabase() {
+        when(tokenRepository.existsByUser_UserIdAndTokenDigest(1L, TOKEN_DIGEST)).thenReturn(true);
+
+        assertTrue(index.isRevoked(1L, TOKEN_DIGEST));
+        verify(tokenRepository).existsByUser_UserIdAndTokenDigest(1L, TOKEN_DIGEST);
+        assertEquals(1.0, lookups("fallback"));
+    }
+
+    @Test
+    void isRevoked_loadedToken_returnsTrueWithoutDatabaseLookup() {
+        var token = InvalidatedToken.builder().tokenDigest(TOKEN_DIGEST).expiresAt(LocalDateTime.now().plusMinutes(5)).build();
+        when(tokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of(token));
+
+        index.load();
+
+        assertTrue(index.isRevoked(1L, TOKEN_DIGEST));
+        assertFalse(index.isRevoked(1L, OTHER_TOKEN_DIGEST));
+        verify(tokenRepository, never()).existsByUser_UserIdAndTokenDigest(anyLong(), any());
+        assertEquals(1.0, lookups("hit"));
+        assertEquals(1.0, lookups("miss"));
+        assertEquals(1.0, meterRegistry.get("recollector.token.revocation.size").gauge().value());
+    }
+
+    @Test
+    void revoke_addsTokenToIndex() {
+        when(tokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        index.load();
+
+        index.revoke(TOKEN_DIGEST, LocalDateTime.now().plusMinutes(5));
+
+        assertTrue(index.isRevoked(1L, TOKEN_DIGEST));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void revoke_expiredToken_isIgnored() {
+        when(tokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        index.load();
+
+        index.revoke(TOKEN_DIGEST, LocalDateTime.now().minusMinutes(5));
+
+        assertFalse(index.isRevoked(1L, TOKEN_DIGEST));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void purgeExpired_removesExpiredEntries() {
+        when(tokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        index.load();
+        index.revoke(TOKEN_DIGEST, LocalDateTime.now().plusMinutes(5));
+        @SuppressWarnings("unchecked")
+        var entries = (Map<String, LocalDateTime>) ReflectionTestUtils.getField(index, "revokedTokens");
+        entries.replaceAll((key, value) -> LocalDateTime.now().minusSeconds(1));
+
+        assertEquals(1, index.purgeExpired());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void sync_readsRecentlyInvalidatedTokens() {
+        when(tokenRepository.findAllByExpiresAtAfter(any())).thenReturn(List.of());
+        index.load();
+        @SuppressWarnings("unchecked")
+        var lastSync = (AtomicReference<LocalDateTime>) ReflectionTestUtils.getField(index, "lastSync");
+        lastSync.set(LocalDateTime.now().minusMinutes(1));
+        var token = InvalidatedToken.builder().tokenDigest(TOKEN_DIGEST).expiresAt(LocalDateTime.now().plusMinutes(5)).build();
+        when(tokenRepository.findAllByInvalidatedAtAfter(any())).thenReturn(List.of(token));
+
+        assertFalse(index.isRevoked(1L, TOKEN_DIGEST));
+        verify(tokenRepository, never()).findAllByInvalidatedAtAfter(any());
+
+        index.sync();
+
+        assertTrue(index.isRevoked(1L, TOKEN_DIGEST));
+        verify(tokenRepository).findAllByInvalidatedAtAfter(any());
+    }
+
+    @Test
+    void sync_beforeLoad_isSkipped() {
+        index.sync();
+
+        verify(tokenRepository, never()).findAllByInvalidatedAtAfter(any());
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get("recollector.token.revocation.lookups").tag("result", result).counter().count();
+    }
+}
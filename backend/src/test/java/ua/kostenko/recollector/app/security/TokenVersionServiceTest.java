@@ -0,0 +1,76 @@
+package ua.kostenko.recollector.app.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ua.kostenko.recollector.app.repository.UserRepository;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenVersionService tokenVersionService;
+
+    @BeforeEach
+    void setUp() {
+        tokenVersionService = new TokenVersionService(userRepository, 30L, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isCurrent_matchingVersion_returnsTrueAndCachesVersion() {
+        when(userRepository.findTokenVersionByUserId(USER_ID)).thenReturn(Optional.of(2));
+
+        assertTrue(tokenVersionService.isCurrent(USER_ID, 2));
+        assertTrue(tokenVersionService.isCurrent(USER_ID, 2));
+        verify(userRepository, times(1)).findTokenVersionByUserId(USER_ID);
+    }
+
+    @Test
+    void isCurrent_outdatedVersion_returnsFalse() {
+        when(userRepository.findTokenVersionByUserId(USER_ID)).thenReturn(Optional.of(3));
+
+        assertFalse(tokenVersionService.isCurrent(USER_ID, 2));
+    }
+
+    @Test
+    void isCurrent_unknownUser_returnsFalse() {
+        when(userRepository.findTokenVersionByUserId(USER_ID)).thenReturn(Optional.empty());
+
+        assertFalse(tokenVersionService.isCurrent(USER_ID, 0));
+        assertFalse(tokenVersionService.isCurrent(USER_ID, 0));
+        verify(userRepository, times(1)).findTokenVersionByUserId(USER_ID);
+    }
+
+    @Test
+    void isCurrent_missingClaims_returnsFalse() {
+        assertFalse(tokenVersionService.isCurrent(null, 0));
+        assertFalse(tokenVersionService.isCurrent(USER_ID, null));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void revokeAllTokens_incrementsVersionAndEvictsCache() {
+        when(userRepository.findTokenVersionByUserId(USER_ID)).thenReturn(Optional.of(0), Optional.of(1));
+        when(userRepository.incrementTokenVersion(USER_ID)).thenReturn(1);
+
+        assertTrue(tokenVersionService.isCurrent(USER_ID, 0));
+        tokenVersionService.revokeAllTokens(USER_ID);
+
+        assertFalse(tokenVersionService.isCurrent(USER_ID, 0));
+        assertTrue(tokenVersionService.isCurrent(USER_ID, 1));
+        verify(userRepository).incrementTokenVersion(USER_ID);
+        verify(userRepository, times(2)).findTokenVersionByUserId(USER_ID);
+    }
+}
@@ -0,0 +1,135 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ua.kostenko.recollector.app.dto.CategoryDto;
+import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.dto.StatisticDto;
+import ua.kostenko.recollector.app.dto.UserSettingsDto;
+import ua.kostenko.recollector.app.exception.BootstrapUnavailableException;
+import ua.kostenko.recollector.app.exception.UserNotFoundException;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BootstrapServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "user@example.com", null, null);
+    private static final CategoryFilter FILTER = new CategoryFilter();
+
+    @Mock
+    private HelperService helperService;
+    @Mock
+    private CategoryService categoryService;
+
+    private BootstrapService bootstrapService;
+
+    @AfterEach
+    void tearDown() {
+        bootstrapService.close();
+    }
+
+    @Test
+    void getBootstrap_allQueriesSucceed_returnsCombinedData() {
+        // Arrange
+        bootstrapService = new BootstrapService(helperService, categoryService, 4, 1000, 1, new SimpleMeterRegistry());
+        var settings = UserSettingsDto.getDefault(USER.email());
+        var statistics = StatisticDto.builder().totalNumberOfCategories(1).totalNumberOfItems(3).build();
+        var category = CategoryDto.builder().categoryId(10L).categoryName("Books").build();
+        var page = new PageImpl<>(List.of(category), PageRequest.of(0, 2, Sort.by("categoryName")), 1);
+        when(helperService.getUserSettings(USER)).thenReturn(settings);
+        when(helperService.getStatistics(USER)).thenReturn(statistics);
+        when(helperService.getItemStatuses()).thenReturn(List.of("FINISHED", "IN_PROGRESS", "TODO_LATER"));
+        when(categoryService.getCategoriesByFilters(USER, FILTER)).thenReturn(page);
+
+        // Act
+        var result = bootstrapService.getBootstrap(USER, FILTER);
+
+        // Assert
+        assertSame(settings, result.getSettings());
+        assertSame(statistics, result.getStatistics());
+        assertEquals(List.of("FINISHED", "IN_PROGRESS", "TODO_LATER"), result.getItemStatuses());
+        assertEquals(List.of(category), result.getCategories());
+        assertEquals(1, result.getCategoriesMeta().getPagination().getCurrentPage());
+        assertEquals(1, result.getCategoriesMeta().getPagination().getTotalItems());
+    }
+
+    @Test
+    void getBootstrap_queryFails_rethrowsException() {
+        // Arrange
+        bootstrapService = new BootstrapService(helperService, categoryService, 4, 1000, 1, new SimpleMeterRegistry());
+        when(helperService.getUserSettings(USER)).thenThrow(new UserNotFoundException("User not found"));
+
+        // Act & Assert
+        var exception = assertThrows(UserNotFoundException.class, () -> bootstrapService.getBootstrap(USER, FILTER));
+        assertEquals("User not found", exception.getMessage());
+    }
+
+    @Test
+    void getBootstrap_singlePermit_runsQueriesOneAtATime() {
+        // Arrange
+        bootstrapService = new BootstrapService(helperService, categoryService, 1, 1000, 1, new SimpleMeterRegistry());
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        when(helperService.getUserSettings(USER)).thenAnswer(invocation -> track(running, maxRunning, null));
+        when(helperService.getStatistics(USER)).thenAnswer(invocation -> track(running, maxRunning, null));
+        when(categoryService.getCategoriesByFilters(USER, FILTER)).thenAnswer(
+                invocation -> track(running, maxRunning, new PageImpl<>(List.<CategoryDto>of())));
+
+        // Act
+        var result = bootstrapService.getBootstrap(USER, FILTER);
+
+        // Assert
+        assertEquals(1, maxRunning.get());
+        assertTrue(result.getCategories().isEmpty());
+    }
+
+    @Test
+    void getBootstrap_noPermitFreeInTime_throwsUnavailable() {
+        // Arrange
+        bootstrapService = new BootstrapService(helperService, categoryService, 1, 50, 2, new SimpleMeterRegistry());
+        var release = new CountDownLatch(1);
+        lenient().when(helperService.getUserSettings(USER)).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        lenient().when(helperService.getStatistics(USER)).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        lenient().when(categoryService.getCategoriesByFilters(USER, FILTER)).thenAnswer(invocation -> {
+            release.await();
+            return new PageImpl<>(List.<CategoryDto>of());
+        });
+
+        // Act & Assert
+        try {
+            var exception = assertThrows(BootstrapUnavailableException.class,
+                                         () -> bootstrapService.getBootstrap(USER, FILTER));
+            assertEquals(2, exception.getRetryAfterSeconds());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static <T> T track(AtomicInteger running, AtomicInteger maxRunning, T result) throws InterruptedException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        Thread.sleep(20);
+        running.decrementAndGet();
+        return result;
+    }
+}
@@ -10,18 +10,24 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 import ua.kostenko.recollector.app.dto.CategoryDto;
 import ua.kostenko.recollector.app.dto.CategoryFilter;
+import ua.kostenko.recollector.app.dto.DeletionJobDto;
 import ua.kostenko.recollector.app.entity.Category;
 import ua.kostenko.recollector.app.entity.CategoryItemCount;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
 import ua.kostenko.recollector.app.entity.User;
 import ua.kostenko.recollector.app.exception.CategoryAlreadyExistsException;
 import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
 import ua.kostenko.recollector.app.exception.CategoryValidationException;
 import ua.kostenko.recollector.app.repository.CategoryItemCountRepository;
 import ua.kostenko.recollector.app.repository.CategoryRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 
 import java.time.LocalDateTime;
@@ -43,9 +49,16 @@ class CategoryServiceTest {
     private CategoryRepository categoryRepository;
     @Mock
     private CategoryItemCountRepository categoryItemCountRepository;
+    @Mock
+    private UserStatisticsCache userStatisticsCache;
+    @Mock
+    private DeletionJobService deletionJobService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     private CategoryService categoryService;
 
     private User user;
+    private AuthenticatedUser principal;
     private CategoryDto categoryDto;
     private Category category;
     private CategoryItemCount categoryItemCount;
@@ -55,9 +68,15 @@ class CategoryServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         Mockito.reset(categoryRepository);
-        categoryService = new CategoryService(authService, categoryRepository, categoryItemCountRepository);
+        categoryService = new CategoryService(authService,
+                                              categoryRepository,
+                                              categoryItemCountRepository,
+                                              userStatisticsCache,
+                                              deletionJobService,
+                                              transactionManager);
 
         user = User.builder().userId(1L).build();
+        principal = new AuthenticatedUser(1L, userEmail, null, null);
         categoryDto = CategoryDto.builder().categoryId(categoryId).categoryName("Work").build();
         category = Category.builder()
                            .categoryId(categoryId)
@@ -87,11 +106,11 @@ class CategoryServiceTest {
     @Test
     void createCategory_whenValidCategory_returnsCategoryDto() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
+        when(authService.getUserReference(user.getUserId())).thenReturn(user);
         when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(category);
 
         // Act
-        CategoryDto result = categoryService.createCategory(userEmail, categoryDto);
+        CategoryDto result = categoryService.createCategory(principal, categoryDto);
 
         // Assert
         assertNotNull(result);
@@ -106,7 +125,7 @@ class CategoryServiceTest {
 
         // Act & Assert
         assertThrows(CategoryValidationException.class,
-                     () -> categoryService.createCategory(userEmail, invalidCategory),
+                     () -> categoryService.createCategory(principal, invalidCategory),
                      "Expected createCategory to throw CategoryValidationException");
     }
 
@@ -120,12 +139,11 @@ class CategoryServiceTest {
                                              .inProgressItems(2L)
                                              .finishedItems(3L)
                                              .build();
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
         when(categoryItemCountRepository.findByCategoryIdAndUserId(categoryId,
                                                                    user.getUserId())).thenReturn(Optional.of(
                 categoryItemCount));
         // Act
-        CategoryDto result = categoryService.getCategory(userEmail, categoryId);
+        CategoryDto result = categoryService.getCategory(principal, categoryId);
 
         // Assert
         assertNotNull(result);
@@ -136,13 +154,12 @@ class CategoryServiceTest {
     @Test
     void getCategory_whenCategoryDoesNotExist_throwsException() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
         when(categoryItemCountRepository.findByCategoryIdAndUserId(categoryId,
                                                                    user.getUserId())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(CategoryNotFoundException.class,
-                     () -> categoryService.getCategory(userEmail, categoryId),
+                     () -> categoryService.getCategory(principal, categoryId),
                      "Expected getCategory to throw CategoryNotFoundException");
     }
 
@@ -150,13 +167,12 @@ class CategoryServiceTest {
     void updateCategory_whenValidCategory_returnsUpdatedCategoryDto() {
         // Arrange
         CategoryDto updateDto = CategoryDto.builder().categoryId(categoryId).categoryName("Updated Work").build();
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
         when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.getUserId())).thenReturn(Optional.of(
                 category));
         when(categoryRepository.saveAndFlush(any(Category.class))).thenReturn(updatedCategory);
 
         // Act
-        CategoryDto result = categoryService.updateCategory(userEmail, updateDto);
+        CategoryDto result = categoryService.updateCategory(principal, updateDto);
 
         // Assert
         assertNotNull(result);
@@ -167,42 +183,46 @@ class CategoryServiceTest {
     void updateCategory_whenCategoryDoesNotExist_throwsException() {
         // Arrange
         CategoryDto updateDto = CategoryDto.builder().categoryId(categoryId).categoryName("Updated Work").build();
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
         when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId,
                                                                user.getUserId())).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(CategoryNotFoundException.class,
-                     () -> categoryService.updateCategory(userEmail, updateDto),
+                     () -> categoryService.updateCategory(principal, updateDto),
                      "Expected updateCategory to throw CategoryNotFoundException");
     }
 
     @Test
-    void deleteCategory_whenCategoryExists_returnsConfirmationMessage() {
+    void deleteCategory_whenCategoryExists_returnsDeletionJob() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.getUserId())).thenReturn(Optional.of(
-                Category.builder().categoryId(categoryId).build()));
-        doNothing().when(categoryRepository).deleteById(categoryId);
+        DeletionJobDto job = DeletionJobDto.builder()
+                                           .jobId(7L)
+                                           .jobType(DeletionJobType.CATEGORY)
+                                           .targetId(categoryId)
+                                           .jobStatus(DeletionJobStatus.PENDING)
+                                           .build();
+        when(deletionJobService.scheduleCategoryDeletion(principal, categoryId)).thenReturn(job);
 
         // Act
-        String result = categoryService.deleteCategory(userEmail, categoryId);
+        DeletionJobDto result = categoryService.deleteCategory(principal, categoryId);
 
         // Assert
-        assertEquals("Category with id '1' deleted", result);
+        assertEquals(job, result);
+        verify(userStatisticsCache).evict(principal.userId());
+        verify(categoryRepository, never()).deleteById(any());
     }
 
     @Test
     void deleteCategory_whenCategoryDoesNotExist_throwsException() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId,
-                                                               user.getUserId())).thenReturn(Optional.empty());
+        when(deletionJobService.scheduleCategoryDeletion(principal, categoryId)).thenThrow(
+                new CategoryNotFoundException("Category with id '1' not found"));
 
         // Act & Assert
         assertThrows(CategoryNotFoundException.class,
-                     () -> categoryService.deleteCategory(userEmail, categoryId),
+                     () -> categoryService.deleteCategory(principal, categoryId),
                      "Expected deleteCategory to throw CategoryNotFoundException");
+        verify(userStatisticsCache, never()).evict(any());
     }
 
     @Test
@@ -214,12 +234,11 @@ class CategoryServiceTest {
                                               .direction(Sort.Direction.ASC)
                                               .build();
         Page<CategoryItemCount> categoryPage = new PageImpl<>(List.of(categoryItemCount));
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
         when(categoryItemCountRepository.findAll(any(Specification.class), any(PageRequest.class))).thenReturn(
                 categoryPage);
 
         // Act
-        Page<CategoryDto> result = categoryService.getCategoriesByFilters(userEmail, filter);
+        Page<CategoryDto> result = categoryService.getCategoriesByFilters(principal, filter);
 
         // Assert
         assertNotNull(result);
@@ -227,18 +246,49 @@ class CategoryServiceTest {
         assertEquals("Work", result.getContent().get(0).getCategoryName());
     }
 
+    @Test
+    void getCategoriesByCursor_whenMoreRowsThanSize_returnsSliceWithNext() {
+        // Arrange
+        CategoryFilter filter = CategoryFilter.builder()
+                                              .size(1)
+                                              .direction(Sort.Direction.ASC)
+                                              .after("")
+                                              .build();
+        CategoryItemCount nextCategory = CategoryItemCount.builder().categoryId(2L).categoryName("Zoo").build();
+        when(categoryItemCountRepository.findBy(any(Specification.class), any())).thenReturn(List.of(
+                categoryItemCount,
+                nextCategory));
+
+        // Act
+        Slice<CategoryDto> result = categoryService.getCategoriesByCursor(principal, filter);
+
+        // Assert
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals("Work", result.getContent().get(0).getCategoryName());
+        assertTrue(result.hasNext());
+        verify(categoryItemCountRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void getCategoriesByCursor_whenSizeIsZero_throwsException() {
+        // Arrange
+        CategoryFilter filter = CategoryFilter.builder().size(0).direction(Sort.Direction.ASC).after("").build();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> categoryService.getCategoriesByCursor(principal, filter));
+    }
+
     @Test
     void checkCategoryExists_whenNewNameIsDifferentAndExists_throwsException() {
         // Arrange
         CategoryDto updateDto = CategoryDto.builder().categoryId(categoryId).categoryName("Work1").build();
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
         when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.getUserId())).thenReturn(Optional.of(
                 category));
         when(categoryRepository.existsByCategoryNameAndUser_UserId("Work1", user.getUserId())).thenReturn(true);
 
         // Act & Assert
         CategoryAlreadyExistsException exception = assertThrows(CategoryAlreadyExistsException.class,
-                                                                () -> categoryService.updateCategory(userEmail,
+                                                                () -> categoryService.updateCategory(principal,
                                                                                                      updateDto),
                                                                 "Expected checkCategoryExists to throw CategoryAlreadyExistsException");
         assertEquals("Category 'Work1' already exists", exception.getMessage());
@@ -0,0 +1,82 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryStatsRepairServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ClusterLockService clusterLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CategoryStatsRepairService repairService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repairService = new CategoryStatsRepairService(jdbcTemplate,
+                                                       transactionTemplate,
+                                                       clusterLockService,
+                                                       meterRegistry);
+        ReflectionTestUtils.setField(repairService, "batchSize", 2);
+    }
+
+    @Test
+    void repairCategoryStats_lockAcquired_recountsInBatchesUntilDone() {
+        when(clusterLockService.runWithLock(eq(CategoryStatsRepairService.REPAIR_LOCK_KEY), any())).thenAnswer(
+                invocation -> {
+                    invocation.getArgument(1, Runnable.class).run();
+                    return true;
+                });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(jdbcTemplate.update(anyString())).thenReturn(1);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyLong(), eq(2))).thenReturn(List.of(1L, 2L),
+                                                                                              List.of(5L),
+                                                                                              List.of());
+        when(jdbcTemplate.update(anyString(), eq(1L), eq(2L))).thenReturn(2);
+        when(jdbcTemplate.update(anyString(), eq(5L), eq(5L))).thenReturn(0);
+
+        repairService.repairCategoryStats();
+
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(0L), eq(2));
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(2L), eq(2));
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(5L), eq(2));
+        verify(transactionTemplate, times(4)).execute(any());
+        assertEquals(3.0, meterRegistry.get("recollector.category-stats.repaired").counter().count());
+    }
+
+    @Test
+    void repairCategoryStats_lockHeldByOtherInstance_skipsRepair() {
+        when(clusterLockService.runWithLock(anyLong(), any())).thenReturn(false);
+
+        repairService.repairCategoryStats();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+        assertEquals(0.0, meterRegistry.get("recollector.category-stats.repaired").counter().count());
+    }
+}
@@ -0,0 +1,192 @@
+package ua.kostenko.recollector.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.StatisticDto;
+import ua.kostenko.recollector.app.entity.CategoryItemCount;
+import ua.kostenko.recollector.app.entity.DeletionJob;
+import ua.kostenko.recollector.app.entity.DeletionJobStatus;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
+import ua.kostenko.recollector.app.exception.DeletionJobNotFoundException;
+import ua.kostenko.recollector.app.exception.UserNotFoundException;
+import ua.kostenko.recollector.app.repository.CategoryItemCountRepository;
+import ua.kostenko.recollector.app.repository.CategoryRepository;
+import ua.kostenko.recollector.app.repository.DeletionJobRepository;
+import ua.kostenko.recollector.app.repository.UserRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeletionJobServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "user@example.com", null, null);
+
+    @Mock
+    private DeletionJobRepository deletionJobRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private CategoryItemCountRepository categoryItemCountRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private DeletionJobService deletionJobService;
+
+    @BeforeEach
+    void setUp() {
+        deletionJobService = new DeletionJobService(deletionJobRepository,
+                                                    categoryRepository,
+                                                    categoryItemCountRepository,
+                                                    userRepository,
+                                                    transactionTemplate);
+    }
+
+    @Test
+    void scheduleCategoryDeletion_ownedCategory_marksCategoryAndCreatesPendingJob() {
+        // Arrange
+        stubTransaction();
+        var counts = CategoryItemCount.builder()
+                                      .categoryId(10L)
+                                      .userId(1L)
+                                      .countTodoLater(3L)
+                                      .countInProgress(2L)
+                                      .countFinished(5L)
+                                      .build();
+        when(categoryItemCountRepository.findByCategoryIdAndUserId(10L, 1L)).thenReturn(Optional.of(counts));
+        when(categoryRepository.markDeleted(eq(10L), eq(1L), any())).thenReturn(1);
+        when(deletionJobRepository.save(any(DeletionJob.class))).thenAnswer(invocation -> {
+            DeletionJob job = invocation.getArgument(0);
+            job.setJobId(7L);
+            return job;
+        });
+
+        // Act
+        var result = deletionJobService.scheduleCategoryDeletion(USER, 10L);
+
+        // Assert
+        assertEquals(7L, result.getJobId());
+        assertEquals(DeletionJobType.CATEGORY, result.getJobType());
+        assertEquals(DeletionJobStatus.PENDING, result.getJobStatus());
+        assertEquals(10L, result.getTargetId());
+        assertEquals(10L, result.getItemsTotal());
+        assertEquals(1L, result.getCategoriesTotal());
+        assertEquals(0L, result.getItemsDeleted());
+    }
+
+    @Test
+    void scheduleCategoryDeletion_categoryOfOtherUser_throwsCategoryNotFoundException() {
+        // Arrange
+        stubTransaction();
+        when(categoryItemCountRepository.findByCategoryIdAndUserId(10L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        var exception = assertThrows(CategoryNotFoundException.class,
+                                     () -> deletionJobService.scheduleCategoryDeletion(USER, 10L));
+        assertEquals("Category with id '10' not found", exception.getMessage());
+        verify(categoryRepository, never()).markDeleted(any(), any(), any());
+        verifyNoInteractions(deletionJobRepository);
+    }
+
+    @Test
+    void scheduleCategoryDeletion_deletedConcurrently_throwsCategoryNotFoundException() {
+        // Arrange
+        stubTransaction();
+        var counts = CategoryItemCount.builder().countTodoLater(0L).countInProgress(0L).countFinished(0L).build();
+        when(categoryItemCountRepository.findByCategoryIdAndUserId(10L, 1L)).thenReturn(Optional.of(counts));
+        when(categoryRepository.markDeleted(eq(10L), eq(1L), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(CategoryNotFoundException.class, () -> deletionJobService.scheduleCategoryDeletion(USER, 10L));
+        verifyNoInteractions(deletionJobRepository);
+    }
+
+    @Test
+    void scheduleAccountDeletion_existingUser_marksUserAndCreatesJobWithTotals() {
+        // Arrange
+        stubTransaction();
+        var statistics = StatisticDto.builder().totalNumberOfCategories(4).totalNumberOfItems(120).build();
+        when(categoryItemCountRepository.getStatisticsByUserId(1L)).thenReturn(statistics);
+        when(userRepository.markDeleted(eq(1L), any())).thenReturn(1);
+        when(deletionJobRepository.save(any(DeletionJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        var result = deletionJobService.scheduleAccountDeletion(1L);
+
+        // Assert
+        var captor = ArgumentCaptor.forClass(DeletionJob.class);
+        verify(deletionJobRepository).save(captor.capture());
+        assertEquals(1L, captor.getValue().getUserId());
+        assertEquals(DeletionJobType.ACCOUNT, result.getJobType());
+        assertEquals(120L, result.getItemsTotal());
+        assertEquals(4L, result.getCategoriesTotal());
+    }
+
+    @Test
+    void scheduleAccountDeletion_alreadyDeleted_throwsUserNotFoundException() {
+        // Arrange
+        stubTransaction();
+        when(categoryItemCountRepository.getStatisticsByUserId(1L)).thenReturn(StatisticDto.builder().build());
+        when(userRepository.markDeleted(eq(1L), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> deletionJobService.scheduleAccountDeletion(1L));
+        verifyNoInteractions(deletionJobRepository);
+    }
+
+    @Test
+    void getDeletionJob_jobOfUser_returnsProgress() {
+        // Arrange
+        var job = DeletionJob.builder()
+                             .jobId(7L)
+                             .userId(1L)
+                             .jobType(DeletionJobType.CATEGORY.name())
+                             .targetId(10L)
+                             .jobStatus(DeletionJobStatus.RUNNING.name())
+                             .itemsTotal(100)
+                             .itemsDeleted(40)
+                             .categoriesTotal(1)
+                             .build();
+        when(deletionJobRepository.findByJobIdAndUserId(7L, 1L)).thenReturn(Optional.of(job));
+
+        // Act
+        var result = deletionJobService.getDeletionJob(USER, 7L);
+
+        // Assert
+        assertEquals(DeletionJobStatus.RUNNING, result.getJobStatus());
+        assertEquals(40L, result.getItemsDeleted());
+        assertEquals(100L, result.getItemsTotal());
+    }
+
+    @Test
+    void getDeletionJob_jobOfOtherUser_throwsDeletionJobNotFoundException() {
+        // Arrange
+        when(deletionJobRepository.findByJobIdAndUserId(7L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        var exception = assertThrows(DeletionJobNotFoundException.class,
+                                     () -> deletionJobService.getDeletionJob(USER, 7L));
+        assertEquals("Deletion job with id '7' not found", exception.getMessage());
+    }
+
+    private void stubTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+}
@@ -0,0 +1,226 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.DeletionJobType;
+import ua.kostenko.recollector.app.entity.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeletionPurgeServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ClusterLockService clusterLockService;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Cache secondLevelCache;
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DeletionPurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        purgeService = new DeletionPurgeService(jdbcTemplate,
+                                                transactionTemplate,
+                                                clusterLockService,
+                                                entityManagerFactory,
+                                                meterRegistry);
+        ReflectionTestUtils.setField(purgeService, "batchSize", 2);
+        ReflectionTestUtils.setField(purgeService, "maxBatchesPerRun", 10);
+        ReflectionTestUtils.setField(purgeService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(purgeService, "retryDelaySeconds", 60L);
+    }
+
+    @Test
+    void purgeDeletedData_categoryJob_deletesItemsInBatchesAndCompletesJob() throws SQLException {
+        stubLockAndTransactions();
+        stubOpenJob(7L, DeletionJobType.CATEGORY, 10L, 0);
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.items"), eq(10L), eq(2))).thenReturn(2, 1);
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.categories"), eq(10L))).thenReturn(1);
+
+        purgeService.purgeDeletedData();
+
+        verify(jdbcTemplate).update(contains("job_status = 'RUNNING'"), eq(7L));
+        verify(jdbcTemplate).update(contains("DELETE FROM recollector.category_stats"), eq(10L));
+        verify(jdbcTemplate, times(2)).update(contains("DELETE FROM recollector.items"), eq(10L), eq(2));
+        verify(jdbcTemplate).update(contains("items_deleted"), eq(2), eq(0), eq(7L));
+        verify(jdbcTemplate).update(contains("items_deleted"), eq(1), eq(0), eq(7L));
+        verify(jdbcTemplate).update(contains("items_deleted"), eq(0), eq(1), eq(7L));
+        verify(jdbcTemplate).update(contains("job_status = 'COMPLETED'"), eq(7L));
+        verify(jdbcTemplate, never()).update(contains("job_status = 'FAILED'"), any(), any());
+        verify(secondLevelCache).evictEntityData(Category.class, 10L);
+        assertEquals(3.0, meterRegistry.get("recollector.deletion-jobs.items.purged").counter().count());
+        assertEquals(1.0, finishedJobs("completed"));
+    }
+
+    @Test
+    void purgeDeletedData_accountJob_purgesCategoriesThenDeletesUser() throws SQLException {
+        stubLockAndTransactions();
+        stubOpenJob(8L, DeletionJobType.ACCOUNT, 1L, 0);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L))).thenReturn(List.of(10L), List.of());
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.categories"), eq(10L))).thenReturn(1);
+
+        purgeService.purgeDeletedData();
+
+        verify(jdbcTemplate).update(contains("DELETE FROM recollector.category_stats"), eq(1L));
+        verify(jdbcTemplate).update(contains("DELETE FROM recollector.items"), eq(10L), eq(2));
+        verify(jdbcTemplate).update(contains("items_deleted"), eq(0), eq(1), eq(8L));
+        verify(jdbcTemplate).update(contains("DELETE FROM recollector.users"), eq(1L));
+        verify(secondLevelCache).evictEntityData(User.class, 1L);
+        verify(secondLevelCache).evictNaturalIdData(User.class);
+        verify(jdbcTemplate).update(contains("job_status = 'COMPLETED'"), eq(8L));
+        assertEquals(1.0, finishedJobs("completed"));
+    }
+
+    @Test
+    void purgeDeletedData_batchLimitReached_leavesJobRunningForNextRun() throws SQLException {
+        ReflectionTestUtils.setField(purgeService, "maxBatchesPerRun", 1);
+        stubLockAndTransactions();
+        stubOpenJob(7L, DeletionJobType.CATEGORY, 10L, 0);
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.items"), eq(10L), eq(2))).thenReturn(2);
+
+        purgeService.purgeDeletedData();
+
+        verify(jdbcTemplate, times(1)).update(contains("DELETE FROM recollector.items"), eq(10L), eq(2));
+        verify(jdbcTemplate, never()).update(contains("DELETE FROM recollector.categories"), anyLong());
+        verify(jdbcTemplate, never()).update(contains("job_status = 'COMPLETED'"), anyLong());
+        verify(jdbcTemplate, never()).update(contains("job_status = 'PENDING'"), any(), any(), any());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class));
+        assertEquals(0.0, finishedJobs("completed"));
+    }
+
+    @Test
+    void purgeDeletedData_batchFails_schedulesRetryWithBackoff() throws SQLException {
+        stubLockAndTransactions();
+        stubOpenJob(7L, DeletionJobType.CATEGORY, 10L, 1);
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.items"), eq(10L), eq(2))).thenThrow(
+                new DataAccessResourceFailureException("Connection lost"));
+
+        purgeService.purgeDeletedData();
+
+        verify(jdbcTemplate).update(contains("job_status = 'PENDING'"),
+                                    eq("Connection lost"),
+                                    eq(120L),
+                                    eq(7L));
+        verify(jdbcTemplate, never()).update(contains("job_status = 'FAILED'"), any(), any());
+        verify(jdbcTemplate, never()).update(contains("job_status = 'COMPLETED'"), anyLong());
+        assertEquals(1.0, meterRegistry.get("recollector.deletion-jobs.retried").counter().count());
+        assertEquals(0.0, finishedJobs("failed"));
+    }
+
+    @Test
+    void purgeDeletedData_lastAttemptFails_marksJobAsFailed() throws SQLException {
+        stubLockAndTransactions();
+        stubOpenJob(7L, DeletionJobType.CATEGORY, 10L, 2);
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.items"), eq(10L), eq(2))).thenThrow(
+                new DataAccessResourceFailureException("Connection lost"));
+
+        purgeService.purgeDeletedData();
+
+        verify(jdbcTemplate).update(contains("job_status = 'FAILED'"), eq("Connection lost"), eq(7L));
+        verify(jdbcTemplate, never()).update(contains("job_status = 'PENDING'"), any(), any(), any());
+        verify(jdbcTemplate, never()).update(contains("job_status = 'COMPLETED'"), anyLong());
+        assertEquals(0.0, finishedJobs("completed"));
+        assertEquals(1.0, finishedJobs("failed"));
+    }
+
+    @Test
+    void purgeDeletedData_userDeleteFails_doesNotCompleteJob() throws SQLException {
+        stubLockAndTransactions();
+        stubOpenJob(8L, DeletionJobType.ACCOUNT, 1L, 0);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq(1L))).thenReturn(List.of());
+        when(jdbcTemplate.update(contains("DELETE FROM recollector.users"), eq(1L))).thenThrow(
+                new DataAccessResourceFailureException("Connection lost"));
+
+        purgeService.purgeDeletedData();
+
+        verify(jdbcTemplate, never()).update(contains("job_status = 'COMPLETED'"), anyLong());
+        verify(jdbcTemplate).update(contains("job_status = 'PENDING'"),
+                                    eq("Connection lost"),
+                                    eq(60L),
+                                    eq(8L));
+        verify(secondLevelCache, never()).evictEntityData(User.class, 1L);
+    }
+
+    @Test
+    void purgeDeletedData_lockHeldByOtherInstance_skipsPurge() {
+        when(clusterLockService.runWithLock(anyLong(), any())).thenReturn(false);
+
+        purgeService.purgeDeletedData();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+        assertEquals(0.0, meterRegistry.get("recollector.deletion-jobs.items.purged").counter().count());
+    }
+
+    private void stubLockAndTransactions() {
+        when(clusterLockService.runWithLock(eq(DeletionPurgeService.PURGE_LOCK_KEY), any())).thenAnswer(
+                invocation -> {
+                    invocation.getArgument(1, Runnable.class).run();
+                    return true;
+                });
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubOpenJob(long jobId, DeletionJobType jobType, long targetId, int attempts) throws SQLException {
+        when(resultSet.getLong("job_id")).thenReturn(jobId);
+        when(resultSet.getString("job_type")).thenReturn(jobType.name());
+        when(resultSet.getLong("target_id")).thenReturn(targetId);
+        when(resultSet.getInt("attempts")).thenReturn(attempts);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenAnswer(invocation -> {
+            RowMapper<?> rowMapper = invocation.getArgument(1);
+            return List.of(rowMapper.mapRow(resultSet, 0));
+        }).thenReturn(List.of());
+    }
+
+    private double finishedJobs(String status) {
+        return meterRegistry.get("recollector.deletion-jobs.finished").tag("status", status).counter().count();
+    }
+}
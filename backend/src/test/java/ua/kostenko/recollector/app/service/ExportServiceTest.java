@@ -0,0 +1,130 @@
+package ua.kostenko.recollector.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ExportRow;
+import ua.kostenko.recollector.app.exception.ExportUnavailableException;
+import ua.kostenko.recollector.app.repository.ItemExportRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "test@example.com", null, null);
+    private static final List<ExportRow> ROWS = List.of(new ExportRow(10L, "Books", 20L, "Dune", "FINISHED", null,
+                                                                      null, null),
+                                                        new ExportRow(11L, "Empty", null, null, null, null, null,
+                                                                      null));
+
+    @Mock
+    private ItemExportRepository itemExportRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(itemExportRepository, transactionManager, new ObjectMapper(), 1, 5);
+    }
+
+    @Test
+    void exportLibrary_ndjson_writesRowsInReadOnlyTransaction() throws IOException {
+        // Arrange
+        stubTransactionAndRows(ROWS);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportLibrary(USER, ExportFormat.NDJSON, false, output);
+
+        // Assert
+        assertEquals("""
+                     {"categoryId":10,"categoryName":"Books","itemId":20,"itemName":"Dune","itemStatus":"FINISHED"}
+                     {"categoryId":11,"categoryName":"Empty"}
+                     """, output.toString(StandardCharsets.UTF_8));
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void exportLibrary_csvWithGzip_writesCompressedHeaderAndRows() throws IOException {
+        // Arrange
+        stubTransactionAndRows(ROWS);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        exportService.exportLibrary(USER, ExportFormat.CSV, true, output);
+
+        // Assert
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals("""
+                         categoryId,categoryName,itemId,itemName,itemStatus,itemNotes,createdAt,updatedAt\r
+                         10,Books,20,Dune,FINISHED,,,\r
+                         11,Empty,,,,,,\r
+                         """, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportLibrary_clientDisconnects_stopsReadingAndRethrowsIOException() throws IOException {
+        // Arrange
+        // The notes are larger than the write buffer, so the first row already reaches the client
+        ExportRow largeRow = new ExportRow(10L, "Books", 20L, "Dune", "FINISHED", "x".repeat(100_000), null, null);
+        stubTransactionAndRows(List.of(largeRow, largeRow));
+        OutputStream failingOutput = mock(OutputStream.class);
+        doThrow(new IOException("Broken pipe")).when(failingOutput).write(any(byte[].class), anyInt(), anyInt());
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class,
+                                             () -> exportService.exportLibrary(USER, ExportFormat.CSV, false,
+                                                                               failingOutput));
+        assertEquals("Broken pipe", exception.getMessage());
+        verify(transactionManager).rollback(any());
+        verify(failingOutput, never()).close();
+    }
+
+    @Test
+    void acquirePermit_maxConcurrencyReached_rejectsUntilPermitIsClosed() {
+        // Arrange
+        var permit = exportService.acquirePermit();
+
+        // Act & Assert
+        var exception = assertThrows(ExportUnavailableException.class, () -> exportService.acquirePermit());
+        assertEquals(5, exception.getRetryAfterSeconds());
+        permit.close();
+        permit.close();
+        exportService.acquirePermit();
+        assertThrows(ExportUnavailableException.class, () -> exportService.acquirePermit());
+    }
+
+    private void stubTransactionAndRows(List<ExportRow> rows) {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(itemExportRepository.streamLibrary(eq(USER.userId()), any())).thenAnswer(invocation -> {
+            Consumer<ExportRow> consumer = invocation.getArgument(1);
+            rows.forEach(consumer);
+            return (long) rows.size();
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package ua.kostenko.recollector.app.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,19 +8,27 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 import ua.kostenko.recollector.app.dto.StatisticDto;
-import ua.kostenko.recollector.app.entity.ItemStatus;
-import ua.kostenko.recollector.app.entity.User;
-import ua.kostenko.recollector.app.exception.UserNotFoundException;
-import ua.kostenko.recollector.app.repository.CategoryRepository;
-import ua.kostenko.recollector.app.repository.ItemRepository;
+import ua.kostenko.recollector.app.dto.UserSettingsDto;
+import ua.kostenko.recollector.app.entity.UserSettings;
+import ua.kostenko.recollector.app.repository.CategoryItemCountRepository;
 import ua.kostenko.recollector.app.repository.UserRepository;
 import ua.kostenko.recollector.app.repository.UserSettingsRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 import ua.kostenko.recollector.app.security.AuthenticationService;
 
+import javax.sql.DataSource;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,26 +38,35 @@ class HelperServiceTest {
     private AuthenticationService authService;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private CategoryItemCountRepository categoryItemCountRepository;
     @Mock
     private UserSettingsRepository userSettingsRepository;
     @Mock
     private UserRepository userRepository;
-
     @Mock
-    private ItemRepository itemRepository;
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
+    private UserStatisticsCache userStatisticsCache;
+    private UserSettingsCache userSettingsCache;
     private HelperService helperService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        Mockito.reset(authService, categoryRepository, itemRepository);
+        Mockito.reset(authService, categoryItemCountRepository);
+        userStatisticsCache = new UserStatisticsCache(60L, 100, new SimpleMeterRegistry());
+        userSettingsCache = new UserSettingsCache(jdbcTemplate, dataSource, 60L, 100, new SimpleMeterRegistry());
         helperService = new HelperService(authService,
-                                          categoryRepository,
-                                          itemRepository,
+                                          categoryItemCountRepository,
                                           userRepository,
-                                          userSettingsRepository);
+                                          userSettingsRepository,
+                                          userStatisticsCache,
+                                          userSettingsCache,
+                                          transactionManager);
     }
 
     @Test
@@ -64,21 +82,20 @@ class HelperServiceTest {
     }
 
     @Test
-    void getStatistics_validUserEmail_returnsStatisticsDto() {
+    void getStatistics_authenticatedUser_returnsStatisticsDto() {
         // Arrange
         var userEmail = "test@example.com";
         var userId = 1L;
-        User user = User.builder().userId(userId).email(userEmail).build();
+        var user = new AuthenticatedUser(userId, userEmail, null, null);
 
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.countByUser_UserId(userId)).thenReturn(5L);
-        when(itemRepository.countAllItemsByUserId(userId)).thenReturn(20L);
-        when(itemRepository.countAllItemsByUserIdAndStatus(userId, ItemStatus.TODO_LATER.name())).thenReturn(10L);
-        when(itemRepository.countAllItemsByUserIdAndStatus(userId, ItemStatus.IN_PROGRESS.name())).thenReturn(7L);
-        when(itemRepository.countAllItemsByUserIdAndStatus(userId, ItemStatus.FINISHED.name())).thenReturn(3L);
+        when(categoryItemCountRepository.getStatisticsByUserId(userId)).thenReturn(new StatisticDto(5L,
+                                                                                                  20L,
+                                                                                                  10L,
+                                                                                                  7L,
+                                                                                                  3L));
 
         // Act
-        StatisticDto statistics = helperService.getStatistics(userEmail);
+        StatisticDto statistics = helperService.getStatistics(user);
 
         // Assert
         assertNotNull(statistics, "Statistics should not be null");
@@ -88,26 +105,86 @@ class HelperServiceTest {
         assertEquals(7L, statistics.getTotalNumberOfItemsInProgress(), "Total number of IN_PROGRESS items should be 7");
         assertEquals(3L, statistics.getTotalNumberOfItemsFinished(), "Total number of FINISHED items should be 3");
 
-        verify(authService).findUserByEmail(userEmail);
-        verify(categoryRepository).countByUser_UserId(userId);
-        verify(itemRepository).countAllItemsByUserId(userId);
-        verify(itemRepository).countAllItemsByUserIdAndStatus(userId, ItemStatus.TODO_LATER.name());
-        verify(itemRepository).countAllItemsByUserIdAndStatus(userId, ItemStatus.IN_PROGRESS.name());
-        verify(itemRepository).countAllItemsByUserIdAndStatus(userId, ItemStatus.FINISHED.name());
+        verifyNoInteractions(authService);
+        verify(categoryItemCountRepository).getStatisticsByUserId(userId);
     }
 
     @Test
-    void getStatistics_userNotFound_throwsException() {
+    void getStatistics_repeatedCall_readsStatisticsOnce() {
         // Arrange
-        String userEmail = "nonexistent@example.com";
-        when(authService.findUserByEmail(userEmail)).thenThrow(new UserNotFoundException("User not found"));
+        var user = new AuthenticatedUser(1L, "test@example.com", null, null);
+        when(categoryItemCountRepository.getStatisticsByUserId(1L)).thenReturn(new StatisticDto(1L, 2L, 2L, 0L, 0L));
+
+        // Act
+        helperService.getStatistics(user);
+        StatisticDto statistics = helperService.getStatistics(user);
+
+        // Assert
+        assertEquals(2L, statistics.getTotalNumberOfItems());
+        verify(categoryItemCountRepository, times(1)).getStatisticsByUserId(1L);
+    }
 
-        // Act & Assert
-        UserNotFoundException thrown = assertThrows(UserNotFoundException.class,
-                                                    () -> helperService.getStatistics(userEmail));
-        assertEquals("User not found", thrown.getMessage(), "Exception message should match");
+    @Test
+    void getStatistics_afterEviction_readsStatisticsAgain() {
+        // Arrange
+        var user = new AuthenticatedUser(1L, "test@example.com", null, null);
+        when(categoryItemCountRepository.getStatisticsByUserId(1L)).thenReturn(new StatisticDto(1L, 2L, 2L, 0L, 0L),
+                                                                               new StatisticDto(1L, 3L, 3L, 0L, 0L));
+
+        // Act
+        helperService.getStatistics(user);
+        userStatisticsCache.evict(1L);
+        StatisticDto statistics = helperService.getStatistics(user);
+
+        // Assert
+        assertEquals(3L, statistics.getTotalNumberOfItems());
+        verify(categoryItemCountRepository, times(2)).getStatisticsByUserId(1L);
+    }
 
-        verify(authService).findUserByEmail(userEmail);
-        verifyNoInteractions(categoryRepository, itemRepository);
+    @Test
+    void getUserSettings_repeatedCall_readsSettingsOnce() {
+        // Arrange
+        var user = new AuthenticatedUser(1L, "test@example.com", null, null);
+        var settings = UserSettings.builder()
+                                   .categoryBackgroundColor("#000000")
+                                   .categoryItemColor("#000000")
+                                   .categoryFabColor("#000000")
+                                   .categoryPageSize(20)
+                                   .itemBackgroundColor("#ffffff")
+                                   .itemItemColor("#ffffff")
+                                   .itemFabColor("#ffffff")
+                                   .itemPageSize(30)
+                                   .build();
+        when(userSettingsRepository.findByUser_UserId(1L)).thenReturn(Optional.of(settings));
+
+        // Act
+        helperService.getUserSettings(user);
+        UserSettingsDto result = helperService.getUserSettings(user);
+
+        // Assert
+        assertEquals("test@example.com", result.getUserEmail());
+        assertEquals(20, result.getCategoryPageSize());
+        verify(userSettingsRepository, times(1)).findByUser_UserId(1L);
+    }
+
+    @Test
+    void getUserSettings_afterSave_returnsSavedSettingsWithoutReading() {
+        // Arrange
+        var user = new AuthenticatedUser(1L, "test@example.com", null, null);
+        var newSettings = UserSettingsDto.getDefault("test@example.com");
+        newSettings.setItemPageSize(50);
+        ReflectionTestUtils.setField(userSettingsCache, "clusterSyncEnabled", true);
+        when(userSettingsRepository.findByUser_UserId(1L)).thenReturn(Optional.empty());
+        when(userSettingsRepository.saveAndFlush(any(UserSettings.class))).thenAnswer(invocation -> invocation.getArgument(
+                0));
+
+        // Act
+        helperService.saveUserSettings(user, newSettings);
+        UserSettingsDto result = helperService.getUserSettings(user);
+
+        // Assert
+        assertEquals(50, result.getItemPageSize());
+        verify(userSettingsRepository, times(1)).findByUser_UserId(1L);
+        verify(jdbcTemplate).queryForList(anyString(), eq(UserSettingsCache.CHANNEL), endsWith(":1"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package ua.kostenko.recollector.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ImportErrorDto;
+import ua.kostenko.recollector.app.dto.ImportResultDto;
+import ua.kostenko.recollector.app.dto.ImportRow;
+import ua.kostenko.recollector.app.exception.ImportUnavailableException;
+import ua.kostenko.recollector.app.exception.ImportValidationException;
+import ua.kostenko.recollector.app.repository.ItemImportRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "test@example.com", null, null);
+
+    @Mock
+    private ItemImportRepository itemImportRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private UserStatisticsCache userStatisticsCache;
+    private ImportService importService;
+    private List<ImportRow> copiedRows;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ImportService(itemImportRepository, transactionTemplate, new ObjectMapper(),
+                                          userStatisticsCache, 1, 5);
+        ReflectionTestUtils.setField(importService, "maxErrors", 2);
+        copiedRows = new ArrayList<>();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void importLibrary_ndjson_copiesValidRowsAndReportsInvalidOnes() {
+        // Arrange
+        stubCopy();
+        when(itemImportRepository.insertCategories(USER.userId())).thenReturn(1);
+        when(itemImportRepository.insertItems(USER.userId())).thenReturn(1);
+        when(itemImportRepository.countRejectedRows()).thenReturn(0L);
+        when(itemImportRepository.findRejectedRows(2)).thenReturn(List.of());
+        String file = """
+                {"categoryName":"Books","itemName":"Dune","itemStatus":"FINISHED"}
+
+                {"categoryName":"Books","itemName":"Solaris","itemStatus":"DONE"}
+                not json
+                """;
+
+        // Act
+        ImportResultDto result = importService.importLibrary(USER, ExportFormat.NDJSON, toStream(file));
+
+        // Assert
+        assertEquals(List.of(new ImportRow(1, "Books", "Dune", "FINISHED", null)), copiedRows);
+        assertEquals(3, result.getRowsRead());
+        assertEquals(1, result.getCategoriesCreated());
+        assertEquals(1, result.getItemsCreated());
+        assertEquals(2, result.getRowsRejected());
+        assertEquals(List.of(new ImportErrorDto(3, "Item status must be one of: FINISHED, IN_PROGRESS, TODO_LATER"),
+                             new ImportErrorDto(4, "Row is not valid JSON")), result.getErrors());
+        verify(itemImportRepository).createStagingTable();
+        verify(userStatisticsCache).evict(USER.userId());
+    }
+
+    @Test
+    void importLibrary_csvWithRejectedRows_mergesErrorsByRowUpToLimit() {
+        // Arrange
+        stubCopy();
+        when(itemImportRepository.insertCategories(USER.userId())).thenReturn(0);
+        when(itemImportRepository.insertItems(USER.userId())).thenReturn(0);
+        when(itemImportRepository.countRejectedRows()).thenReturn(2L);
+        when(itemImportRepository.findRejectedRows(2)).thenReturn(List.of(new ImportErrorDto(1, "Item already exists in the category"),
+                                                                          new ImportErrorDto(3, "Duplicate item in the import file")));
+        String file = "categoryName,itemName,itemStatus,itemNotes\r\n"
+                      + "Books,Dune,FINISHED,\r\n"
+                      + ",Solaris,FINISHED,\r\n"
+                      + "Books,Dune,TODO_LATER,\"Second, copy\"\r\n";
+
+        // Act
+        ImportResultDto result = importService.importLibrary(USER, ExportFormat.CSV, toStream(file));
+
+        // Assert
+        assertEquals(List.of(new ImportRow(1, "Books", "Dune", "FINISHED", null),
+                             new ImportRow(3, "Books", "Dune", "TODO_LATER", "Second, copy")), copiedRows);
+        assertEquals(3, result.getRowsRead());
+        assertEquals(3, result.getRowsRejected());
+        assertEquals(List.of(new ImportErrorDto(1, "Item already exists in the category"),
+                             new ImportErrorDto(2, "Category name cannot be empty")), result.getErrors());
+    }
+
+    @Test
+    void importLibrary_csvWithoutHeader_throwsImportValidationException() {
+        // Act & Assert
+        assertThrows(ImportValidationException.class,
+                     () -> importService.importLibrary(USER, ExportFormat.CSV, toStream("")));
+        verify(itemImportRepository, never()).copyRows(any());
+        verifyNoInteractions(userStatisticsCache);
+    }
+
+    @Test
+    void importLibrary_csvWithUnclosedQuote_throwsImportValidationException() {
+        // Arrange
+        String file = "categoryName,itemName\r\nBooks,\"Dune\r\n";
+
+        // Act & Assert
+        ImportValidationException exception = assertThrows(ImportValidationException.class,
+                                                           () -> importService.importLibrary(USER, ExportFormat.CSV,
+                                                                                             toStream(file)));
+        assertEquals("Import file could not be read: Quoted field is not closed", exception.getMessage());
+        verifyNoInteractions(userStatisticsCache);
+    }
+
+    @Test
+    void importLibrary_importAlreadyRunning_throwsImportUnavailableExceptionWithoutReadingBody() {
+        // Arrange
+        InputStream concurrentBody = mock(InputStream.class);
+        doAnswer(invocation -> {
+            ImportUnavailableException exception = assertThrows(ImportUnavailableException.class,
+                                                                () -> importService.importLibrary(
+                                                                        USER, ExportFormat.NDJSON, concurrentBody));
+            assertEquals(5, exception.getRetryAfterSeconds());
+            return null;
+        }).when(itemImportRepository).createStagingTable();
+
+        // Act
+        importService.importLibrary(USER, ExportFormat.NDJSON, toStream(""));
+        // The permit is released after the import, so the next import runs
+        importService.importLibrary(USER, ExportFormat.NDJSON, toStream(""));
+
+        // Assert
+        verify(itemImportRepository, times(2)).createStagingTable();
+        verifyNoInteractions(concurrentBody);
+    }
+
+    private void stubCopy() {
+        when(itemImportRepository.copyRows(any())).thenAnswer(invocation -> {
+            Iterator<ImportRow> rows = invocation.getArgument(0);
+            rows.forEachRemaining(copiedRows::add);
+            return (long) copiedRows.size();
+        });
+    }
+
+    private static InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,286 @@
+package ua.kostenko.recollector.app.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationDto;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationType;
+import ua.kostenko.recollector.app.dto.ItemBatchRequestDto;
+import ua.kostenko.recollector.app.dto.ItemDto;
+import ua.kostenko.recollector.app.entity.Category;
+import ua.kostenko.recollector.app.entity.Item;
+import ua.kostenko.recollector.app.entity.ItemStatus;
+import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
+import ua.kostenko.recollector.app.exception.ItemAlreadyExistsException;
+import ua.kostenko.recollector.app.exception.ItemNotFoundException;
+import ua.kostenko.recollector.app.exception.ItemValidationException;
+import ua.kostenko.recollector.app.repository.CategoryRepository;
+import ua.kostenko.recollector.app.repository.ItemRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBatchServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "user@example.com", null, null);
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private UserStatisticsCache userStatisticsCache;
+
+    private ItemBatchService itemBatchService;
+    private Category category;
+    private Category targetCategory;
+
+    @BeforeEach
+    void setUp() {
+        itemBatchService = new ItemBatchService(itemRepository,
+                                                categoryRepository,
+                                                transactionTemplate,
+                                                userStatisticsCache);
+        ReflectionTestUtils.setField(itemBatchService, "maxOperations", 3);
+        category = Category.builder().categoryId(10L).categoryName("Books").build();
+        targetCategory = Category.builder().categoryId(11L).categoryName("Films").build();
+    }
+
+    @Test
+    void applyBatch_mixedOperations_appliesAllInOneTransaction() {
+        // Arrange
+        var updatedItem = item(1L, "Old name");
+        var movedItem = item(2L, "Moved");
+        var deletedItem = item(3L, "Deleted");
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAllByUser_UserIdAndCategoryIdIn(1L, Set.of(11L))).thenReturn(List.of(
+                targetCategory));
+        when(itemRepository.findAllByCategory_CategoryIdAndItemIdIn(10L, Set.of(1L, 2L, 3L))).thenReturn(List.of(
+                updatedItem,
+                movedItem,
+                deletedItem));
+        var request = request(create("New"),
+                              update(1L, "New name"),
+                              ItemBatchOperationDto.builder()
+                                                   .type(ItemBatchOperationType.MOVE)
+                                                   .itemId(2L)
+                                                   .targetCategoryId(11L)
+                                                   .build(),
+                              ItemBatchOperationDto.builder().type(ItemBatchOperationType.DELETE).itemId(3L).build());
+        ReflectionTestUtils.setField(itemBatchService, "maxOperations", 4);
+
+        // Act
+        var result = itemBatchService.applyBatch(USER, 10L, request);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getMoved());
+        assertEquals(1, result.getDeleted());
+        assertEquals(List.of("New", "New name", "Moved"),
+                     result.getItems().stream().map(ItemDto::getItemName).toList());
+        assertEquals(ItemStatus.FINISHED.name(), updatedItem.getItemStatus());
+        assertSame(targetCategory, movedItem.getCategory());
+        var inOrder = inOrder(itemRepository);
+        inOrder.verify(itemRepository).deleteAllInBatch(List.of(deletedItem));
+        inOrder.verify(itemRepository).saveAll(anyList());
+        inOrder.verify(itemRepository).flush();
+        verify(transactionTemplate).execute(any());
+        verify(userStatisticsCache).evict(1L);
+    }
+
+    @Test
+    void applyBatch_onlyCreates_skipsItemAndTargetLookups() {
+        // Arrange
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.of(category));
+
+        // Act
+        var result = itemBatchService.applyBatch(USER, 10L, request(create("First"), create("Second")));
+
+        // Assert
+        assertEquals(2, result.getCreated());
+        verify(categoryRepository, never()).findAllByUser_UserIdAndCategoryIdIn(any(), anyCollection());
+        verify(itemRepository, never()).findAllByCategory_CategoryIdAndItemIdIn(any(), anyCollection());
+        verify(itemRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void applyBatch_moveIntoSameCategory_isNotCountedAsMoved() {
+        // Arrange
+        var item = item(1L, "Stays");
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.of(category));
+        when(itemRepository.findAllByCategory_CategoryIdAndItemIdIn(10L, Set.of(1L))).thenReturn(List.of(item));
+        var move = ItemBatchOperationDto.builder()
+                                        .type(ItemBatchOperationType.MOVE)
+                                        .itemId(1L)
+                                        .targetCategoryId(10L)
+                                        .build();
+
+        // Act
+        var result = itemBatchService.applyBatch(USER, 10L, request(move));
+
+        // Assert
+        assertEquals(0, result.getMoved());
+        assertTrue(result.getItems().isEmpty());
+        assertSame(category, item.getCategory());
+        verify(categoryRepository, never()).findAllByUser_UserIdAndCategoryIdIn(any(), any());
+    }
+
+    @Test
+    void applyBatch_emptyBatch_throwsItemValidationException() {
+        // Arrange
+        var request = new ItemBatchRequestDto(List.of());
+
+        // Act & Assert
+        var exception = assertThrows(ItemValidationException.class,
+                                     () -> itemBatchService.applyBatch(USER, 10L, request));
+        assertEquals("Batch must contain at least one operation", exception.getMessage());
+        verifyNoInteractions(transactionTemplate, itemRepository, categoryRepository);
+    }
+
+    @Test
+    void applyBatch_tooManyOperations_throwsItemValidationException() {
+        // Arrange
+        var request = request(create("1"), create("2"), create("3"), create("4"));
+
+        // Act & Assert
+        var exception = assertThrows(ItemValidationException.class,
+                                     () -> itemBatchService.applyBatch(USER, 10L, request));
+        assertEquals("Batch cannot contain more than 3 operations", exception.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void applyBatch_itemReferencedTwice_throwsItemValidationException() {
+        // Arrange
+        var request = request(update(1L, "Name"),
+                              ItemBatchOperationDto.builder().type(ItemBatchOperationType.DELETE).itemId(1L).build());
+
+        // Act & Assert
+        var exception = assertThrows(ItemValidationException.class,
+                                     () -> itemBatchService.applyBatch(USER, 10L, request));
+        assertEquals("Item with id '1' is referenced by more than one operation", exception.getMessage());
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void applyBatch_categoryOfOtherUser_throwsCategoryNotFoundException() {
+        // Arrange
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CategoryNotFoundException.class,
+                     () -> itemBatchService.applyBatch(USER, 10L, request(create("New"))));
+        verify(itemRepository, never()).flush();
+        verify(userStatisticsCache, never()).evict(any());
+    }
+
+    @Test
+    void applyBatch_targetCategoryOfOtherUser_throwsCategoryNotFoundException() {
+        // Arrange
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAllByUser_UserIdAndCategoryIdIn(1L, Set.of(12L))).thenReturn(List.of());
+        var move = ItemBatchOperationDto.builder()
+                                        .type(ItemBatchOperationType.MOVE)
+                                        .itemId(1L)
+                                        .targetCategoryId(12L)
+                                        .build();
+
+        // Act & Assert
+        var exception = assertThrows(CategoryNotFoundException.class,
+                                     () -> itemBatchService.applyBatch(USER, 10L, request(move)));
+        assertEquals("Category with id '12' not found", exception.getMessage());
+    }
+
+    @Test
+    void applyBatch_itemNotInCategory_throwsItemNotFoundException() {
+        // Arrange
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.of(category));
+        when(itemRepository.findAllByCategory_CategoryIdAndItemIdIn(10L, Set.of(5L))).thenReturn(List.of());
+
+        // Act & Assert
+        var exception = assertThrows(ItemNotFoundException.class,
+                                     () -> itemBatchService.applyBatch(USER, 10L, request(update(5L, "Name"))));
+        assertEquals("Item with id '5' not found in category with id '10'", exception.getMessage());
+        verify(itemRepository, never()).flush();
+    }
+
+    @Test
+    void applyBatch_duplicateName_throwsItemAlreadyExistsException() {
+        // Arrange
+        stubTransaction();
+        when(categoryRepository.findByCategoryIdAndUser_UserId(10L, 1L)).thenReturn(Optional.of(category));
+        doThrow(new DataIntegrityViolationException("duplicate",
+                                                    new ConstraintViolationException("duplicate key",
+                                                                                     new SQLException(),
+                                                                                     ItemService.ITEM_NAME_UNIQUE_CONSTRAINT))).when(
+                itemRepository).flush();
+
+        // Act & Assert
+        assertThrows(ItemAlreadyExistsException.class,
+                     () -> itemBatchService.applyBatch(USER, 10L, request(create("Taken"))));
+        verify(userStatisticsCache, never()).evict(any());
+    }
+
+    private void stubTransaction() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    private Item item(Long itemId, String itemName) {
+        return Item.builder()
+                   .itemId(itemId)
+                   .itemName(itemName)
+                   .itemStatus(ItemStatus.TODO_LATER.name())
+                   .category(category)
+                   .build();
+    }
+
+    private static ItemBatchRequestDto request(ItemBatchOperationDto... operations) {
+        return new ItemBatchRequestDto(List.of(operations));
+    }
+
+    private static ItemBatchOperationDto create(String itemName) {
+        return ItemBatchOperationDto.builder()
+                                    .type(ItemBatchOperationType.CREATE)
+                                    .itemName(itemName)
+                                    .itemStatus(ItemStatus.TODO_LATER)
+                                    .build();
+    }
+
+    private static ItemBatchOperationDto update(Long itemId, String itemName) {
+        return ItemBatchOperationDto.builder()
+                                    .type(ItemBatchOperationType.UPDATE)
+                                    .itemId(itemId)
+                                    .itemName(itemName)
+                                    .itemStatus(ItemStatus.FINISHED)
+                                    .build();
+    }
+}
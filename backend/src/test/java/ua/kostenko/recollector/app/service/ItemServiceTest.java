@@ -1,5 +1,6 @@
 package ua.kostenko.recollector.app.service;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,46 +8,54 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 import ua.kostenko.recollector.app.dto.ItemDto;
 import ua.kostenko.recollector.app.dto.ItemFilter;
 import ua.kostenko.recollector.app.entity.Category;
 import ua.kostenko.recollector.app.entity.Item;
 import ua.kostenko.recollector.app.entity.ItemStatus;
-import ua.kostenko.recollector.app.entity.User;
+import ua.kostenko.recollector.app.entity.ItemSummary;
 import ua.kostenko.recollector.app.entity.specification.ItemSpecification;
+import ua.kostenko.recollector.app.exception.CategoryNotFoundException;
+import ua.kostenko.recollector.app.exception.ItemAlreadyExistsException;
 import ua.kostenko.recollector.app.exception.ItemNotFoundException;
 import ua.kostenko.recollector.app.exception.ItemValidationException;
 import ua.kostenko.recollector.app.repository.CategoryRepository;
 import ua.kostenko.recollector.app.repository.ItemRepository;
-import ua.kostenko.recollector.app.security.AuthenticationService;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceTest {
 
-    @Mock
-    private AuthenticationService authService;
-
     @Mock
     private ItemRepository itemRepository;
 
     @Mock
     private CategoryRepository categoryRepository;
+    @Mock
+    private UserStatisticsCache userStatisticsCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
     private ItemService itemService;
 
     private String userEmail;
-    private User user;
+    private AuthenticatedUser user;
     private Category category;
     private ItemDto itemDto;
     private Item item;
@@ -55,10 +64,10 @@ class ItemServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         Mockito.reset(itemRepository, categoryRepository);
-        itemService = new ItemService(authService, itemRepository, categoryRepository);
+        itemService = new ItemService(itemRepository, categoryRepository, userStatisticsCache, transactionManager);
 
         userEmail = "user@example.com";
-        user = User.builder().userId(1L).email(userEmail).build();
+        user = new AuthenticatedUser(1L, userEmail, null, null);
         category = Category.builder().categoryId(1L).categoryName("Test").build();
         itemDto = ItemDto.builder()
                          .itemId(1L).categoryId(1L).itemName("Test Item").itemStatus(ItemStatus.IN_PROGRESS)
@@ -74,20 +83,40 @@ class ItemServiceTest {
     @Test
     void createItem_validItemDto_returnsCreatedItemDto() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
                 Optional.of(category));
-        when(itemRepository.existsByItemNameAndCategory_CategoryId(itemDto.getItemName(),
-                                                                   category.getCategoryId())).thenReturn(false);
         when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
 
         // Act
-        ItemDto result = itemService.createItem(userEmail, itemDto);
+        ItemDto result = itemService.createItem(user, itemDto);
 
         // Assert
         assertNotNull(result);
         assertEquals(itemDto, result);
         verify(itemRepository).saveAndFlush(any(Item.class));
+        verify(userStatisticsCache).evict(user.userId());
+    }
+
+    @Test
+    void createItem_duplicateName_throwsItemAlreadyExistsException() {
+        // Arrange
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
+                Optional.of(category));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(duplicateNameViolation());
+
+        // Act & Assert
+        assertThrows(ItemAlreadyExistsException.class, () -> itemService.createItem(user, itemDto));
+    }
+
+    @Test
+    void createItem_otherIntegrityViolation_rethrowsException() {
+        // Arrange
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
+                Optional.of(category));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(new DataIntegrityViolationException("not null"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> itemService.createItem(user, itemDto));
     }
 
     @Test
@@ -96,14 +125,13 @@ class ItemServiceTest {
         ItemDto invalidItemDto = ItemDto.builder().categoryId(null).itemName("").itemStatus(null).build();
 
         // Act & Assert
-        assertThrows(ItemValidationException.class, () -> itemService.createItem(userEmail, invalidItemDto));
+        assertThrows(ItemValidationException.class, () -> itemService.createItem(user, invalidItemDto));
     }
 
     @Test
-    void getItemsByFilters_validFilters_returnsPagedItemDto() {
+    void getItemsByFilters_includeNotes_returnsPagedItemDto() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
                 Optional.of(category));
         ItemFilter itemFilter = ItemFilter.builder()
                                           .categoryId(category.getCategoryId())
@@ -112,13 +140,14 @@ class ItemServiceTest {
                                           .itemStatus(itemDto.getItemStatus().name())
                                           .page(0)
                                           .size(10)
+                                          .includeNotes(true)
                                           .build();
         Page<Item> page = new PageImpl<>(List.of(item));
 
         when(itemRepository.findAll(any(ItemSpecification.class), any(Pageable.class))).thenReturn(page);
 
         // Act
-        Page<ItemDto> result = itemService.getItemsByFilters(userEmail, category.getCategoryId(), itemFilter);
+        Page<ItemDto> result = itemService.getItemsByFilters(user, category.getCategoryId(), itemFilter);
 
         // Assert
         assertNotNull(result);
@@ -127,16 +156,40 @@ class ItemServiceTest {
     }
 
     @Test
-    void getItem_existingItemId_returnsItemDto() {
+    void getItemsByFilters_defaultFilter_returnsSummariesWithoutNotes() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
                 Optional.of(category));
-        when(itemRepository.findByItemIdAndCategory_CategoryId(itemDto.getItemId(),
-                                                               category.getCategoryId())).thenReturn(Optional.of(item));
+        ItemFilter itemFilter = ItemFilter.builder()
+                                          .categoryId(category.getCategoryId())
+                                          .direction(Sort.Direction.ASC)
+                                          .page(0)
+                                          .size(10)
+                                          .build();
+        ItemSummary summary = new ItemSummary(1L, 1L, "Test Item", ItemStatus.IN_PROGRESS.name());
+        when(itemRepository.findSummaries(any(ItemSpecification.class), any(Sort.class), eq(0L), eq(10))).thenReturn(
+                List.of(summary));
 
         // Act
-        ItemDto result = itemService.getItem(userEmail, category.getCategoryId(), itemDto.getItemId());
+        Page<ItemDto> result = itemService.getItemsByFilters(user, category.getCategoryId(), itemFilter);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(itemDto, result.getContent().get(0));
+        assertNull(result.getContent().get(0).getItemNotes());
+        verify(itemRepository, never()).findAll(any(ItemSpecification.class), any(Pageable.class));
+        // The total is known from the first page, no count query is needed
+        verify(itemRepository, never()).count(any(ItemSpecification.class));
+    }
+
+    @Test
+    void getItem_existingItemId_returnsItemDto() {
+        // Arrange
+        when(itemRepository.findOwnedItem(itemDto.getItemId(), category.getCategoryId(), user.userId())).thenReturn(
+                Optional.of(item));
+
+        // Act
+        ItemDto result = itemService.getItem(user, category.getCategoryId(), itemDto.getItemId());
 
         // Assert
         assertNotNull(result);
@@ -149,79 +202,104 @@ class ItemServiceTest {
         Long categoryId = category.getCategoryId();
         Long itemId = itemDto.getItemId();
 
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.getUserId())).thenReturn(Optional.of(
+        when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.userId())).thenReturn(Optional.of(
                 category));
-        when(itemRepository.findByItemIdAndCategory_CategoryId(itemId, categoryId)).thenReturn(Optional.empty());
+        when(itemRepository.findOwnedItem(itemId, categoryId, user.userId())).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ItemNotFoundException.class, () -> itemService.getItem(userEmail, categoryId, itemId));
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItem(user, categoryId, itemId));
+    }
+
+    @Test
+    void getItem_categoryOfAnotherUser_throwsCategoryNotFoundException() {
+        // Arrange
+        Long categoryId = category.getCategoryId();
+        Long itemId = itemDto.getItemId();
+
+        when(itemRepository.findOwnedItem(itemId, categoryId, user.userId())).thenReturn(Optional.empty());
+        when(categoryRepository.findByCategoryIdAndUser_UserId(categoryId, user.userId())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CategoryNotFoundException.class, () -> itemService.getItem(user, categoryId, itemId));
     }
 
     @Test
     void updateItem_existingItem_updatesAndReturnsItemDto() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
-                Optional.of(category));
-        when(itemRepository.findByItemIdAndCategory_CategoryId(itemDto.getItemId(),
-                                                               itemDto.getCategoryId())).thenReturn(Optional.of(item));
+        when(itemRepository.findOwnedItem(itemDto.getItemId(), itemDto.getCategoryId(), user.userId())).thenReturn(
+                Optional.of(item));
         when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
 
         // Act
-        ItemDto result = itemService.updateItem(userEmail, itemDto);
+        ItemDto result = itemService.updateItem(user, itemDto);
 
         // Assert
         assertNotNull(result);
         assertEquals(itemDto, result);
         verify(itemRepository).saveAndFlush(any(Item.class));
+        verify(userStatisticsCache).evict(user.userId());
     }
 
     @Test
     void updateItem_nonExistingItem_throwsItemNotFoundException() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
                 Optional.of(category));
-        when(itemRepository.findByItemIdAndCategory_CategoryId(itemDto.getItemId(),
-                                                               itemDto.getCategoryId())).thenReturn(Optional.empty());
+        when(itemRepository.findOwnedItem(itemDto.getItemId(), itemDto.getCategoryId(), user.userId())).thenReturn(
+                Optional.empty());
 
         // Act & Assert
-        assertThrows(ItemNotFoundException.class, () -> itemService.updateItem(userEmail, itemDto));
+        assertThrows(ItemNotFoundException.class, () -> itemService.updateItem(user, itemDto));
+    }
+
+    @Test
+    void updateItem_duplicateName_throwsItemAlreadyExistsException() {
+        // Arrange
+        when(itemRepository.findOwnedItem(itemDto.getItemId(), itemDto.getCategoryId(), user.userId())).thenReturn(
+                Optional.of(item));
+        when(itemRepository.saveAndFlush(any(Item.class))).thenThrow(duplicateNameViolation());
+
+        // Act & Assert
+        assertThrows(ItemAlreadyExistsException.class, () -> itemService.updateItem(user, itemDto));
     }
 
     @Test
     void deleteItem_existingItemId_returnsConfirmationMessage() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
-                Optional.of(category));
-        when(itemRepository.findByItemIdAndCategory_CategoryId(itemDto.getItemId(),
-                                                               category.getCategoryId())).thenReturn(Optional.of(item));
+        when(itemRepository.deleteOwnedItem(itemDto.getItemId(), category.getCategoryId(), user.userId())).thenReturn(
+                1);
 
         // Act
-        String result = itemService.deleteItem(userEmail, category.getCategoryId(), itemDto.getItemId());
+        String result = itemService.deleteItem(user, category.getCategoryId(), itemDto.getItemId());
 
         // Assert
         assertEquals("Item with id '" + itemDto.getItemId() + "' deleted from category with id '" + category.getCategoryId() + "'",
                      result);
-        verify(itemRepository).deleteById(itemDto.getItemId());
+        verify(itemRepository, never()).deleteById(any());
+        verify(userStatisticsCache).evict(user.userId());
     }
 
     @Test
     void deleteItem_nonExistingItemId_returnsNotFoundMessage() {
         // Arrange
-        when(authService.findUserByEmail(userEmail)).thenReturn(user);
-        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.getUserId())).thenReturn(
+        when(itemRepository.deleteOwnedItem(itemDto.getItemId(), itemDto.getCategoryId(), user.userId())).thenReturn(
+                0);
+        when(categoryRepository.findByCategoryIdAndUser_UserId(category.getCategoryId(), user.userId())).thenReturn(
                 Optional.of(category));
-        when(itemRepository.findByItemIdAndCategory_CategoryId(itemDto.getItemId(),
-                                                               itemDto.getCategoryId())).thenReturn(Optional.empty());
 
         // Act
-        String result = itemService.deleteItem(userEmail, category.getCategoryId(), itemDto.getItemId());
+        String result = itemService.deleteItem(user, category.getCategoryId(), itemDto.getItemId());
 
         // Assert
         assertEquals("Item with id '" + itemDto.getItemId() + "' not found in category with id '" + itemDto.getCategoryId() + "'",
                      result);
+        verify(userStatisticsCache, never()).evict(any());
+    }
+
+    private static DataIntegrityViolationException duplicateNameViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                                                   new ConstraintViolationException("duplicate key",
+                                                                                    new SQLException(),
+                                                                                    ItemService.ITEM_NAME_UNIQUE_CONSTRAINT));
     }
 }
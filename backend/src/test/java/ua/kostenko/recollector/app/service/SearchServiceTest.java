@@ -0,0 +1,75 @@
+package ua.kostenko.recollector.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
+import ua.kostenko.recollector.app.dto.SearchFilter;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.exception.SearchValidationException;
+import ua.kostenko.recollector.app.repository.ItemSearchRepository;
+import ua.kostenko.recollector.app.security.AuthenticatedUser;
+import ua.kostenko.recollector.app.util.SearchUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "test@example.com", null, null);
+
+    @Mock
+    private ItemSearchRepository itemSearchRepository;
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(itemSearchRepository);
+    }
+
+    @Test
+    void searchItems_firstPage_readsOneExtraRowToDetectNextPage() {
+        // Arrange
+        SearchResultDto first = SearchResultDto.builder().itemId(3L).rank(0.6f).build();
+        SearchResultDto second = SearchResultDto.builder().itemId(2L).rank(0.3f).build();
+        SearchFilter filter = SearchFilter.builder().query(" milk ").size(1).build();
+        when(itemSearchRepository.search(1L, "milk", null, null, 2)).thenReturn(List.of(first, second));
+
+        // Act
+        Slice<SearchResultDto> result = searchService.searchItems(USER, filter);
+
+        // Assert
+        assertEquals(List.of(first), result.getContent());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void searchItems_withCursor_searchesAfterCursorPosition() {
+        // Arrange
+        SearchResultDto last = SearchResultDto.builder().itemId(3L).rank(0.6f).build();
+        SearchFilter filter = SearchFilter.builder().query("milk").size(10).after(SearchUtils.toCursor(last)).build();
+        when(itemSearchRepository.search(1L, "milk", 0.6f, 3L, 11)).thenReturn(List.of());
+
+        // Act
+        Slice<SearchResultDto> result = searchService.searchItems(USER, filter);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.hasNext());
+    }
+
+    @Test
+    void searchItems_blankQuery_throwsSearchValidationException() {
+        // Arrange
+        SearchFilter filter = SearchFilter.builder().query(" ").size(10).build();
+
+        // Act & Assert
+        assertThrows(SearchValidationException.class, () -> searchService.searchItems(USER, filter));
+        verifyNoInteractions(itemSearchRepository);
+    }
+}
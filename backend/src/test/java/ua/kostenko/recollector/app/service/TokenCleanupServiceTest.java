@@ -0,0 +1,86 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.kostenko.recollector.app.repository.InvalidatedTokenRepository;
+import ua.kostenko.recollector.app.security.TokenRevocationIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenCleanupServiceTest {
+
+    @Mock
+    private InvalidatedTokenRepository invalidatedTokenRepository;
+    @Mock
+    private TokenRevocationIndex tokenRevocationIndex;
+    @Mock
+    private ClusterLockService clusterLockService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenCleanupService tokenCleanupService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCleanupService = new TokenCleanupService(invalidatedTokenRepository,
+                                                      tokenRevocationIndex,
+                                                      clusterLockService,
+                                                      meterRegistry);
+        ReflectionTestUtils.setField(tokenCleanupService, "batchSize", 2);
+        ReflectionTestUtils.setField(tokenCleanupService, "maxBatches", 3);
+    }
+
+    @Test
+    void cleanUpExpiredTokens_lockAcquired_deletesInBatchesUntilDone() {
+        when(clusterLockService.runWithLock(eq(TokenCleanupService.CLEANUP_LOCK_KEY), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return true;
+        });
+        when(invalidatedTokenRepository.deleteExpiredBatch(any(), eq(2))).thenReturn(2, 1);
+        when(invalidatedTokenRepository.countByExpiresAtBefore(any())).thenReturn(0L);
+
+        tokenCleanupService.cleanUpExpiredTokens();
+
+        verify(invalidatedTokenRepository, times(2)).deleteExpiredBatch(any(), eq(2));
+        verify(tokenRevocationIndex).purgeExpired();
+        assertEquals(3.0, meterRegistry.get("recollector.token.cleanup.deleted").counter().count());
+        assertEquals(2, meterRegistry.get("recollector.token.cleanup.batch").timer().count());
+        assertEquals(0.0, meterRegistry.get("recollector.token.cleanup.backlog").gauge().value());
+    }
+
+    @Test
+    void cleanUpExpiredTokens_batchLimitReached_reportsBacklog() {
+        when(clusterLockService.runWithLock(eq(TokenCleanupService.CLEANUP_LOCK_KEY), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return true;
+        });
+        when(invalidatedTokenRepository.deleteExpiredBatch(any(), anyInt())).thenReturn(2);
+        when(invalidatedTokenRepository.countByExpiresAtBefore(any())).thenReturn(10L);
+
+        tokenCleanupService.cleanUpExpiredTokens();
+
+        verify(invalidatedTokenRepository, times(3)).deleteExpiredBatch(any(), anyInt());
+        assertEquals(10.0, meterRegistry.get("recollector.token.cleanup.backlog").gauge().value());
+    }
+
+    @Test
+    void cleanUpExpiredTokens_lockHeldByOtherInstance_skipsDeletion() {
+        when(clusterLockService.runWithLock(anyLong(), any())).thenReturn(false);
+
+        tokenCleanupService.cleanUpExpiredTokens();
+
+        verify(invalidatedTokenRepository, never()).deleteExpiredBatch(any(), anyInt());
+        verify(tokenRevocationIndex).purgeExpired();
+    }
+}
@@ -0,0 +1,221 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import ua.kostenko.recollector.app.dto.UserSettingsDto;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSettingsCacheTest {
+
+    private static final UserSettingsDto SETTINGS = UserSettingsDto.getDefault("user@example.com");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private PGConnection pgConnection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserSettingsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserSettingsCache(jdbcTemplate, dataSource, 60L, 100, meterRegistry);
+        ReflectionTestUtils.setField(cache, "clusterSyncEnabled", true);
+    }
+
+    @Test
+    void get_cachedSettings_doesNotLoadAgain() {
+        cache.get(1L, () -> SETTINGS);
+
+        var result = cache.get(1L, () -> {
+            throw new AssertionError("Settings must be served from the cache");
+        });
+
+        assertSame(SETTINGS, result);
+    }
+
+    @Test
+    void get_changeOfSameUserDuringLoad_returnsValueWithoutCachingIt() {
+        var saved = UserSettingsDto.getDefault("user@example.com");
+
+        var result = cache.get(1L, () -> {
+            cache.evict(1L);
+            return SETTINGS;
+        });
+        var reloaded = cache.get(1L, () -> saved);
+
+        assertSame(SETTINGS, result);
+        assertSame(saved, reloaded);
+    }
+
+    @Test
+    void get_saveDuringLoad_keepsSavedSettings() {
+        var saved = UserSettingsDto.getDefault("user@example.com");
+
+        cache.get(1L, () -> {
+            cache.put(1L, saved);
+            return SETTINGS;
+        });
+
+        assertSame(saved, cache.get(1L, () -> {
+            throw new AssertionError("Settings must be served from the cache");
+        }));
+    }
+
+    @Test
+    void get_changeOfOtherUserDuringLoad_cachesValue() {
+        cache.get(1L, () -> {
+            cache.put(2L, UserSettingsDto.getDefault("other@example.com"));
+            cache.evict(3L);
+            return SETTINGS;
+        });
+
+        var result = cache.get(1L, () -> {
+            throw new AssertionError("Settings must be served from the cache");
+        });
+
+        assertSame(SETTINGS, result);
+    }
+
+    @Test
+    void evict_cachedSettings_loadsAgainAndPublishesChange() {
+        var updated = UserSettingsDto.getDefault("user@example.com");
+        cache.get(1L, () -> SETTINGS);
+
+        cache.evict(1L);
+        var result = cache.get(1L, () -> updated);
+
+        assertSame(updated, result);
+        verify(jdbcTemplate).queryForList(anyString(), eq(UserSettingsCache.CHANNEL), endsWith(":1"));
+    }
+
+    @Test
+    void receiveRemoteChanges_notificationOfOtherInstance_evictsUser() throws SQLException {
+        stubListenConnection();
+        var notification = notification("other-node:1");
+        when(pgConnection.getNotifications()).thenReturn(null, new PGNotification[]{notification});
+        cache.receiveRemoteChanges();
+        cache.get(1L, () -> SETTINGS);
+        cache.get(2L, () -> SETTINGS);
+
+        cache.receiveRemoteChanges();
+
+        var updated = UserSettingsDto.getDefault("user@example.com");
+        assertSame(updated, cache.get(1L, () -> updated));
+        assertSame(SETTINGS, cache.get(2L, () -> updated));
+        assertEquals(1.0, meterRegistry.get("recollector.settings.cache.remote-evictions").counter().count());
+        verify(statement).execute("LISTEN " + UserSettingsCache.CHANNEL);
+        verify(dataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void receiveRemoteChanges_ownNotification_keepsSettings() throws SQLException {
+        stubListenConnection();
+        var notification = notification(ReflectionTestUtils.getField(cache, "instanceId") + ":1");
+        when(pgConnection.getNotifications()).thenReturn(null, new PGNotification[]{notification});
+        cache.receiveRemoteChanges();
+        cache.get(1L, () -> SETTINGS);
+
+        cache.receiveRemoteChanges();
+
+        assertSame(SETTINGS, cache.get(1L, () -> UserSettingsDto.getDefault("user@example.com")));
+        assertEquals(0.0, meterRegistry.get("recollector.settings.cache.remote-evictions").counter().count());
+    }
+
+    @Test
+    void receiveRemoteChanges_connectionLost_reconnectsAndClearsCache() throws SQLException {
+        stubListenConnection();
+        when(pgConnection.getNotifications()).thenThrow(new SQLException("Connection reset")).thenReturn(null);
+        cache.get(1L, () -> SETTINGS);
+
+        cache.receiveRemoteChanges();
+        cache.get(1L, () -> SETTINGS);
+        cache.receiveRemoteChanges();
+
+        var updated = UserSettingsDto.getDefault("user@example.com");
+        assertSame(updated, cache.get(1L, () -> updated));
+        verify(connection).close();
+        verify(dataSource, times(2)).getConnection();
+    }
+
+    @Test
+    void receiveRemoteChanges_clusterSyncDisabled_doesNotListen() {
+        ReflectionTestUtils.setField(cache, "clusterSyncEnabled", false);
+
+        cache.receiveRemoteChanges();
+        cache.evict(1L);
+
+        verifyNoInteractions(dataSource, jdbcTemplate);
+    }
+
+    @Test
+    void startListening_clusterSyncEnabled_pollsOnDedicatedThreadUntilClosed() throws Exception {
+        stubListenConnection();
+        ReflectionTestUtils.setField(cache, "pollMillis", 10L);
+        var pollThreadName = new CompletableFuture<String>();
+        when(pgConnection.getNotifications()).thenAnswer(invocation -> {
+            pollThreadName.complete(Thread.currentThread().getName());
+            return null;
+        });
+
+        cache.startListening();
+        var threadName = pollThreadName.get(5, TimeUnit.SECONDS);
+        cache.close();
+        cache.receiveRemoteChanges();
+
+        assertEquals("settings-cluster-sync", threadName);
+        verify(connection).close();
+        verify(dataSource).getConnection();
+    }
+
+    @Test
+    void startListening_clusterSyncDisabled_doesNotListen() {
+        ReflectionTestUtils.setField(cache, "clusterSyncEnabled", false);
+
+        cache.startListening();
+        cache.close();
+
+        verifyNoInteractions(dataSource);
+    }
+
+    private void stubListenConnection() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    }
+
+    private static PGNotification notification(String payload) {
+        var notification = mock(PGNotification.class);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
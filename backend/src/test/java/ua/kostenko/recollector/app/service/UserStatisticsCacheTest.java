@@ -0,0 +1,93 @@
+package ua.kostenko.recollector.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.kostenko.recollector.app.dto.StatisticDto;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserStatisticsCacheTest {
+
+    private static final StatisticDto STATISTICS = StatisticDto.builder().totalNumberOfCategories(1).build();
+    private static final StatisticDto UPDATED_STATISTICS = StatisticDto.builder().totalNumberOfCategories(2).build();
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserStatisticsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserStatisticsCache(60L, 100, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_cachedStatistics_doesNotLoadAgain() {
+        cache.get(1L, () -> STATISTICS);
+
+        var result = cache.get(1L, () -> {
+            throw new AssertionError("Statistics must be served from the cache");
+        });
+
+        assertSame(STATISTICS, result);
+        assertEquals(1.0, meterRegistry.get("recollector.statistics.cache.size").gauge().value());
+    }
+
+    @Test
+    void evict_insideTransaction_evictsAgainAfterCommit() {
+        cache.get(1L, () -> STATISTICS);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evict(1L);
+        // A concurrent read caches the state before the commit
+        cache.get(1L, () -> STATISTICS);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertSame(UPDATED_STATISTICS, cache.get(1L, () -> UPDATED_STATISTICS));
+    }
+
+    @Test
+    void get_evictionDuringLoad_returnsValueWithoutCachingIt() {
+        var loads = new AtomicInteger();
+
+        var result = cache.get(1L, () -> {
+            loads.incrementAndGet();
+            cache.evict(1L);
+            return STATISTICS;
+        });
+        var reloaded = cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return UPDATED_STATISTICS;
+        });
+
+        assertSame(STATISTICS, result);
+        assertSame(UPDATED_STATISTICS, reloaded);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_evictionOfOtherUserDuringLoad_cachesValue() {
+        cache.get(1L, () -> {
+            cache.evict(2L);
+            return STATISTICS;
+        });
+
+        var result = cache.get(1L, () -> {
+            throw new AssertionError("Statistics must be served from the cache");
+        });
+
+        assertSame(STATISTICS, result);
+    }
+}
@@ -0,0 +1,45 @@
+package ua.kostenko.recollector.app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readRecord_plainFieldsWithCrlfAndLf_returnsRecordsUntilEnd() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\r\nc,d\ne,f"));
+
+        assertEquals(List.of("a", "b"), reader.readRecord());
+        assertEquals(List.of("c", "d"), reader.readRecord());
+        assertEquals(List.of("e", "f"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readRecord_quotedFields_keepsSeparatorsLineBreaksAndQuotes() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"a,b\",\"line 1\r\nline 2\",\"say \"\"hi\"\"\"\r\n"));
+
+        assertEquals(List.of("a,b", "line 1\r\nline 2", "say \"hi\""), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readRecord_emptyFields_returnsNullForUnquotedAndEmptyStringForQuoted() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("1,,\"\",\n"));
+
+        assertEquals(Arrays.asList("1", null, "", null), reader.readRecord());
+    }
+
+    @Test
+    void readRecord_unclosedQuote_throwsIOException() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"not closed"));
+
+        assertThrows(IOException.class, reader::readRecord);
+    }
+}
@@ -0,0 +1,39 @@
+package ua.kostenko.recollector.app.util;
+
+import org.junit.jupiter.api.Test;
+import ua.kostenko.recollector.app.exception.InvalidCursorException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorUtilsTest {
+
+    @Test
+    void decodeCursor_encodedCursor_returnsSamePosition() {
+        String cursor = CursorUtils.encodeCursor("Buy: milk & bread", 42L);
+
+        CursorUtils.Cursor decoded = CursorUtils.decodeCursor(cursor);
+
+        assertEquals("Buy: milk & bread", decoded.name());
+        assertEquals(42L, decoded.id());
+    }
+
+    @Test
+    void encodeCursor_anyName_returnsUrlSafeToken() {
+        String cursor = CursorUtils.encodeCursor("??>>~~", 1L);
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), "Cursor should be URL-safe: " + cursor);
+    }
+
+    @Test
+    void decodeCursor_blankCursor_returnsNull() {
+        assertNull(CursorUtils.decodeCursor(""));
+        assertNull(CursorUtils.decodeCursor(null));
+    }
+
+    @Test
+    void decodeCursor_malformedCursor_throwsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decodeCursor("not a cursor!"));
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decodeCursor("YWJjOm5hbWU"));
+        assertThrows(InvalidCursorException.class, () -> CursorUtils.decodeCursor("bmFtZQ"));
+    }
+}
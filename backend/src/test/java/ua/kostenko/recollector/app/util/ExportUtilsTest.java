@@ -0,0 +1,84 @@
+package ua.kostenko.recollector.app.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.junit.jupiter.api.Test;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ExportRow;
+import ua.kostenko.recollector.app.exception.ExportValidationException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportUtilsTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 8, 1, 10, 15, 30);
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 8, 2, 9, 0);
+
+    @Test
+    void parseFormat_knownFormatInAnyCase_returnsFormat() {
+        assertEquals(ExportFormat.CSV, ExportUtils.parseFormat("csv"));
+        assertEquals(ExportFormat.NDJSON, ExportUtils.parseFormat(" NDJSON "));
+    }
+
+    @Test
+    void parseFormat_blankFormat_returnsNdjson() {
+        assertEquals(ExportFormat.NDJSON, ExportUtils.parseFormat(null));
+        assertEquals(ExportFormat.NDJSON, ExportUtils.parseFormat(""));
+    }
+
+    @Test
+    void parseFormat_unknownFormat_throwsExportValidationException() {
+        assertThrows(ExportValidationException.class, () -> ExportUtils.parseFormat("xml"));
+    }
+
+    @Test
+    void fileName_withAndWithoutGzip_returnsNameWithExtensions() {
+        assertEquals("recollector-export.csv", ExportUtils.fileName(ExportFormat.CSV, false));
+        assertEquals("recollector-export.ndjson.gz", ExportUtils.fileName(ExportFormat.NDJSON, true));
+    }
+
+    @Test
+    void writeCsvRow_valuesWithSeparatorsAndQuotes_quotesValues() throws IOException {
+        ExportRow row = new ExportRow(1L, "Books, films", 2L, "Read \"Dune\"", "FINISHED", "line 1\nline 2",
+                                      CREATED_AT, UPDATED_AT);
+        StringWriter writer = new StringWriter();
+
+        ExportUtils.writeCsvRow(writer, row);
+
+        assertEquals("1,\"Books, films\",2,\"Read \"\"Dune\"\"\",FINISHED,\"line 1\nline 2\","
+                     + "2024-08-01T10:15:30,2024-08-02T09:00:00\r\n", writer.toString());
+    }
+
+    @Test
+    void writeCsvRow_categoryWithoutItems_leavesItemColumnsEmpty() throws IOException {
+        ExportRow row = new ExportRow(1L, "Empty", null, null, null, null, null, null);
+        StringWriter writer = new StringWriter();
+
+        ExportUtils.writeCsvRow(writer, row);
+
+        assertEquals("1,Empty,,,,,,\r\n", writer.toString());
+    }
+
+    @Test
+    void writeJsonRow_rowsWithAndWithoutItem_writesOneObjectPerLine() throws IOException {
+        ExportRow item = new ExportRow(1L, "Books", 2L, "Dune", "TODO_LATER", null, CREATED_AT, UPDATED_AT);
+        ExportRow emptyCategory = new ExportRow(3L, "Empty", null, null, null, null, null, null);
+        StringWriter writer = new StringWriter();
+
+        try (JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.setRootValueSeparator(null);
+            ExportUtils.writeJsonRow(generator, item);
+            ExportUtils.writeJsonRow(generator, emptyCategory);
+        }
+
+        assertEquals("""
+                     {"categoryId":1,"categoryName":"Books","itemId":2,"itemName":"Dune","itemStatus":"TODO_LATER",\
+                     "createdAt":"2024-08-01T10:15:30","updatedAt":"2024-08-02T09:00:00"}
+                     {"categoryId":3,"categoryName":"Empty"}
+                     """, writer.toString());
+    }
+}
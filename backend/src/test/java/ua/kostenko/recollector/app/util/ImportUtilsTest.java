@@ -0,0 +1,83 @@
+package ua.kostenko.recollector.app.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ua.kostenko.recollector.app.dto.ExportFormat;
+import ua.kostenko.recollector.app.dto.ImportRow;
+import ua.kostenko.recollector.app.exception.ImportValidationException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportUtilsTest {
+
+    @Test
+    void parseFormat_knownBlankAndUnknownFormats_returnsFormatOrThrows() {
+        assertEquals(ExportFormat.CSV, ImportUtils.parseFormat("CSV"));
+        assertEquals(ExportFormat.NDJSON, ImportUtils.parseFormat(null));
+        assertThrows(ImportValidationException.class, () -> ImportUtils.parseFormat("xlsx"));
+    }
+
+    @Test
+    void readCsvHeader_exportHeader_mapsColumnPositions() {
+        Map<String, Integer> columns = ImportUtils.readCsvHeader(List.of(ExportUtils.CSV_HEADER.split(",")));
+
+        assertEquals(1, columns.get("categoryName"));
+        assertEquals(3, columns.get("itemName"));
+    }
+
+    @Test
+    void readCsvHeader_missingHeaderOrColumns_throwsImportValidationException() {
+        assertThrows(ImportValidationException.class, () -> ImportUtils.readCsvHeader(null));
+        assertThrows(ImportValidationException.class, () -> ImportUtils.readCsvHeader(List.of("categoryName")));
+    }
+
+    @Test
+    void toImportRow_csvRecordWithBlankItemNameAndShortRecord_returnsRowWithoutItem() {
+        Map<String, Integer> columns = ImportUtils.readCsvHeader(List.of("itemName", "categoryName", "itemStatus"));
+
+        ImportRow row = ImportUtils.toImportRow(3, Arrays.asList(" ", "Books"), columns);
+
+        assertEquals(new ImportRow(3, "Books", null, null, null), row);
+    }
+
+    @Test
+    void toImportRow_jsonObject_readsFieldsByName() throws JsonProcessingException {
+        ImportRow row = ImportUtils.toImportRow(1, new ObjectMapper().readTree("""
+                {"categoryId":7,"categoryName":"Books","itemName":"Dune","itemStatus":" FINISHED ","itemNotes":null}
+                """));
+
+        assertEquals(new ImportRow(1, "Books", "Dune", "FINISHED", null), row);
+    }
+
+    @Test
+    void validateRow_validRows_returnsNull() {
+        assertNull(ImportUtils.validateRow(new ImportRow(1, "Books", "Dune", "FINISHED", "Notes")));
+        assertNull(ImportUtils.validateRow(new ImportRow(2, "Empty", null, null, null)));
+    }
+
+    @Test
+    void validateRow_invalidRows_returnsReason() {
+        assertEquals("Category name cannot be empty", ImportUtils.validateRow(new ImportRow(1, " ", "Dune", "FINISHED",
+                                                                                            null)));
+        assertEquals("Item name cannot be empty", ImportUtils.validateRow(new ImportRow(1, "Books", null, "FINISHED",
+                                                                                        null)));
+        assertEquals("Item name cannot be longer than 255 characters",
+                     ImportUtils.validateRow(new ImportRow(1, "Books", "a".repeat(256), "FINISHED", null)));
+        assertEquals("Item status must be one of: FINISHED, IN_PROGRESS, TODO_LATER",
+                     ImportUtils.validateRow(new ImportRow(1, "Books", "Dune", "DONE", null)));
+        assertEquals("Text cannot contain NUL characters",
+                     ImportUtils.validateRow(new ImportRow(1, "Books", "Dune", "FINISHED", "a\0b")));
+    }
+
+    @Test
+    void validateRow_nameOfSupplementaryCharacters_countsCharactersNotCodeUnits() {
+        String name = "📚".repeat(255);
+
+        assertNull(ImportUtils.validateRow(new ImportRow(1, name, name, "FINISHED", null)));
+    }
+}
@@ -1,6 +1,8 @@
 package ua.kostenko.recollector.app.util;
 
 import org.junit.jupiter.api.Test;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationDto;
+import ua.kostenko.recollector.app.dto.ItemBatchOperationType;
 import ua.kostenko.recollector.app.dto.ItemDto;
 import ua.kostenko.recollector.app.entity.Category;
 import ua.kostenko.recollector.app.entity.Item;
@@ -167,4 +169,44 @@ class ItemUtilsTest {
                                                          "validateItemId should throw ItemValidationException for null itemId");
         assertEquals("ItemId is null", exception.getMessage());
     }
+
+    @Test
+    void validateBatchOperation_whenMoveHasTarget_doesNotThrowException() {
+        // Arrange
+        ItemBatchOperationDto operation = ItemBatchOperationDto.builder()
+                                                               .type(ItemBatchOperationType.MOVE)
+                                                               .itemId(1L)
+                                                               .targetCategoryId(2L)
+                                                               .build();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> ItemUtils.validateBatchOperation(1, operation),
+                           "validateBatchOperation should not throw an exception for a valid move");
+    }
+
+    @Test
+    void validateBatchOperation_whenTypeIsNull_throwsItemValidationException() {
+        // Arrange
+        ItemBatchOperationDto operation = ItemBatchOperationDto.builder().itemId(1L).build();
+
+        // Act & Assert
+        ItemValidationException exception = assertThrows(ItemValidationException.class,
+                                                         () -> ItemUtils.validateBatchOperation(3, operation));
+        assertEquals("Operation 3 has no type", exception.getMessage());
+    }
+
+    @Test
+    void validateBatchOperation_whenCreateHasBlankName_throwsItemValidationException() {
+        // Arrange
+        ItemBatchOperationDto operation = ItemBatchOperationDto.builder()
+                                                               .type(ItemBatchOperationType.CREATE)
+                                                               .itemName(" ")
+                                                               .itemStatus(ItemStatus.TODO_LATER)
+                                                               .build();
+
+        // Act & Assert
+        ItemValidationException exception = assertThrows(ItemValidationException.class,
+                                                         () -> ItemUtils.validateBatchOperation(2, operation));
+        assertEquals("Operation 2 (CREATE) has invalid field values", exception.getMessage());
+    }
 }
@@ -6,6 +6,7 @@ import ua.kostenko.recollector.app.dto.response.MetaInfo;
 import ua.kostenko.recollector.app.dto.response.PaginationInfo;
 
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +73,47 @@ class PageRequestUtilsTest {
         assertNull(actual.getPagination(), "Pagination should be null for a null Page");
     }
 
+    @Test
+    void createSlice_whenExtraRowRead_returnsSliceWithNext() {
+        Sort sort = Sort.by("name", "id");
+
+        Slice<String> slice = PageRequestUtils.createSlice(List.of("a", "b", "c"), 2, sort);
+
+        assertEquals(List.of("a", "b"), slice.getContent());
+        assertTrue(slice.hasNext(), "Slice should have a next page");
+        assertEquals(2, slice.getSize());
+        assertEquals(sort, slice.getSort());
+    }
+
+    @Test
+    void createSlice_whenNoExtraRowRead_returnsLastSlice() {
+        Slice<String> slice = PageRequestUtils.createSlice(List.of("a", "b"), 2, Sort.by("name"));
+
+        assertEquals(List.of("a", "b"), slice.getContent());
+        assertFalse(slice.hasNext(), "Slice should be the last one");
+    }
+
+    @Test
+    void buildMetaInfo_whenSliceGiven_returnsCursorMetaInfo() {
+        Slice<String> slice = new SliceImpl<>(List.of("item"), PageRequest.of(0, 10, Sort.by("name")), true);
+
+        PaginationInfo pagination = PageRequestUtils.buildMetaInfo(slice, "cursor", null).getPagination();
+
+        assertNotNull(pagination, "PaginationInfo should not be null");
+        assertEquals(10, pagination.getItemsPerPage(), "Items per page should be 10");
+        assertEquals("cursor", pagination.getNextCursor(), "Next cursor should be set");
+        assertTrue(pagination.getHasNext(), "Has next should be true");
+        assertNull(pagination.getTotalItems(), "Total items should not be calculated");
+        assertNull(pagination.getCurrentPage(), "Current page should not be set");
+        assertEquals("name", pagination.getSortField(), "Sort field should be 'name'");
+    }
+
+    @Test
+    void validateCursorPageSize_whenSizeIsLessThanOne_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> PageRequestUtils.validateCursorPageSize(0));
+        assertEquals(5, PageRequestUtils.validateCursorPageSize(5));
+    }
+
     @Test
     void createPageRequest_whenValidInput_returnsPageable() {
         Pageable pageable = PageRequestUtils.createPageRequest(2, 10, Sort.by("name").ascending());
@@ -0,0 +1,46 @@
+package ua.kostenko.recollector.app.util;
+
+import org.junit.jupiter.api.Test;
+import ua.kostenko.recollector.app.dto.SearchResultDto;
+import ua.kostenko.recollector.app.exception.InvalidCursorException;
+import ua.kostenko.recollector.app.exception.SearchValidationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchUtilsTest {
+
+    @Test
+    void validateQuery_queryWithSpaces_returnsTrimmedQuery() {
+        assertEquals("buy milk", SearchUtils.validateQuery("  buy milk "));
+    }
+
+    @Test
+    void validateQuery_blankQuery_throwsSearchValidationException() {
+        assertThrows(SearchValidationException.class, () -> SearchUtils.validateQuery(null));
+        assertThrows(SearchValidationException.class, () -> SearchUtils.validateQuery("   "));
+    }
+
+    @Test
+    void validateQuery_tooLongQuery_throwsSearchValidationException() {
+        String query = "a".repeat(SearchUtils.MAX_QUERY_LENGTH + 1);
+
+        assertThrows(SearchValidationException.class, () -> SearchUtils.validateQuery(query));
+    }
+
+    @Test
+    void toRank_cursorOfSearchResult_returnsSameRank() {
+        SearchResultDto result = SearchResultDto.builder().itemId(42L).rank(0.6079271f).build();
+
+        CursorUtils.Cursor cursor = CursorUtils.decodeCursor(SearchUtils.toCursor(result));
+
+        assertEquals(0.6079271f, SearchUtils.toRank(cursor));
+        assertEquals(42L, cursor.id());
+    }
+
+    @Test
+    void toRank_cursorWithoutRank_throwsInvalidCursorException() {
+        CursorUtils.Cursor cursor = CursorUtils.decodeCursor(CursorUtils.encodeCursor("Buy milk", 42L));
+
+        assertThrows(InvalidCursorException.class, () -> SearchUtils.toRank(cursor));
+    }
+}
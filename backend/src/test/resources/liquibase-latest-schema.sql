@@ -91,4 +91,206 @@ CREATE TABLE "recollector"."invalidated_tokens" (
                                                 );
 
 -- Create an index on the expires_at column for efficient deletion
-CREATE INDEX "idx_invalidated_tokens_expires_at" ON "recollector"."invalidated_tokens" ("expires_at");
\ No newline at end of file
+CREATE INDEX "idx_invalidated_tokens_expires_at" ON "recollector"."invalidated_tokens" ("expires_at");
+
+-- Add per-user token version
+ALTER TABLE "recollector"."users"
+    ADD COLUMN "token_version" INTEGER NOT NULL DEFAULT 0;
+
+-- Store invalidated tokens as SHA-256 digests
+ALTER TABLE "recollector"."invalidated_tokens"
+    ADD COLUMN "token_digest" BYTEA NOT NULL;
+ALTER TABLE "recollector"."invalidated_tokens"
+    DROP CONSTRAINT "unique_invalid_token_per_user";
+ALTER TABLE "recollector"."invalidated_tokens"
+    DROP COLUMN "token";
+ALTER TABLE "recollector"."invalidated_tokens"
+    ADD CONSTRAINT "unique_invalid_token_digest_per_user" UNIQUE ("user_id", "token_digest");
+
+-- Trigram indexes for the substring filters on names
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX "idx_items_item_name_trgm" ON "recollector"."items" USING GIN (lower("item_name") gin_trgm_ops);
+CREATE INDEX "idx_categories_category_name_trgm" ON "recollector"."categories" USING GIN (lower("category_name") gin_trgm_ops);
+
+-- Full-text search vector of item names and notes
+ALTER TABLE "recollector"."items"
+    ADD COLUMN "search_vector" tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce("item_name", '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce("item_notes", '')), 'B')
+        ) STORED;
+CREATE INDEX "idx_items_search_vector" ON "recollector"."items" USING GIN ("search_vector");
+
+-- Item counters per category and status, maintained by triggers on items.
+-- The category_item_counts view reads the counters instead of grouping all items of the listed categories
+CREATE TABLE "recollector"."category_stats" (
+    "category_id"       bigint PRIMARY KEY REFERENCES "recollector"."categories" ("category_id") ON DELETE CASCADE,
+    "count_todo_later"  bigint NOT NULL DEFAULT 0,
+    "count_in_progress" bigint NOT NULL DEFAULT 0,
+    "count_finished"    bigint NOT NULL DEFAULT 0
+);
+
+-- Every category gets its counters row when it is created
+CREATE FUNCTION "recollector"."create_category_stats"() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO "recollector"."category_stats" ("category_id") VALUES (NEW."category_id");
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER "trg_categories_create_stats"
+    AFTER INSERT
+    ON "recollector"."categories"
+    FOR EACH ROW
+EXECUTE FUNCTION "recollector"."create_category_stats"();
+
+-- Adds the delta to the counter of the status. A missing row means the category is being deleted
+CREATE FUNCTION "recollector"."add_category_stats_delta"("p_category_id" bigint, "p_item_status" text, "p_delta" bigint)
+    RETURNS void
+    LANGUAGE sql AS
+$$
+UPDATE "recollector"."category_stats"
+SET "count_todo_later"  = "count_todo_later" + CASE WHEN "p_item_status" = 'TODO_LATER' THEN "p_delta" ELSE 0 END,
+    "count_in_progress" = "count_in_progress" + CASE WHEN "p_item_status" = 'IN_PROGRESS' THEN "p_delta" ELSE 0 END,
+    "count_finished"    = "count_finished" + CASE WHEN "p_item_status" = 'FINISHED' THEN "p_delta" ELSE 0 END
+WHERE "category_id" = "p_category_id"
+$$;
+
+-- Counts the old row out and the new row in, which covers a status change and a move
+CREATE FUNCTION "recollector"."maintain_category_stats"() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM "recollector"."add_category_stats_delta"(OLD."category_id", OLD."item_status", -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM "recollector"."add_category_stats_delta"(NEW."category_id", NEW."item_status", 1);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- Adds one grouped delta per category, read from the transition table of the statement
+CREATE FUNCTION "recollector"."maintain_category_stats_per_statement"() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE "recollector"."category_stats" "s"
+        SET "count_todo_later"  = "s"."count_todo_later" + "d"."count_todo_later",
+            "count_in_progress" = "s"."count_in_progress" + "d"."count_in_progress",
+            "count_finished"    = "s"."count_finished" + "d"."count_finished"
+        FROM (SELECT "category_id",
+                     COUNT(*) FILTER (WHERE "item_status" = 'TODO_LATER')  AS "count_todo_later",
+                     COUNT(*) FILTER (WHERE "item_status" = 'IN_PROGRESS') AS "count_in_progress",
+                     COUNT(*) FILTER (WHERE "item_status" = 'FINISHED')    AS "count_finished"
+              FROM "new_items"
+              GROUP BY "category_id") "d"
+        WHERE "s"."category_id" = "d"."category_id";
+    ELSE
+        UPDATE "recollector"."category_stats" "s"
+        SET "count_todo_later"  = "s"."count_todo_later" - "d"."count_todo_later",
+            "count_in_progress" = "s"."count_in_progress" - "d"."count_in_progress",
+            "count_finished"    = "s"."count_finished" - "d"."count_finished"
+        FROM (SELECT "category_id",
+                     COUNT(*) FILTER (WHERE "item_status" = 'TODO_LATER')  AS "count_todo_later",
+                     COUNT(*) FILTER (WHERE "item_status" = 'IN_PROGRESS') AS "count_in_progress",
+                     COUNT(*) FILTER (WHERE "item_status" = 'FINISHED')    AS "count_finished"
+              FROM "old_items"
+              GROUP BY "category_id") "d"
+        WHERE "s"."category_id" = "d"."category_id";
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- A trigger with transition tables can only fire for one event
+CREATE TRIGGER "trg_items_stats_insert"
+    AFTER INSERT
+    ON "recollector"."items"
+    REFERENCING NEW TABLE AS "new_items"
+    FOR EACH STATEMENT
+EXECUTE FUNCTION "recollector"."maintain_category_stats_per_statement"();
+
+CREATE TRIGGER "trg_items_stats_delete"
+    AFTER DELETE
+    ON "recollector"."items"
+    REFERENCING OLD TABLE AS "old_items"
+    FOR EACH STATEMENT
+EXECUTE FUNCTION "recollector"."maintain_category_stats_per_statement"();
+
+-- Hibernate writes every column on update, the condition skips updates of other fields
+CREATE TRIGGER "trg_items_stats_update"
+    AFTER UPDATE OF "category_id", "item_status"
+    ON "recollector"."items"
+    FOR EACH ROW
+    WHEN (OLD."category_id" IS DISTINCT FROM NEW."category_id" OR OLD."item_status" IS DISTINCT FROM NEW."item_status")
+EXECUTE FUNCTION "recollector"."maintain_category_stats"();
+
+CREATE OR REPLACE VIEW "recollector"."category_item_counts" AS
+SELECT "c"."category_id",
+       "c"."user_id",
+       "c"."category_name",
+       "c"."created_at",
+       "c"."updated_at",
+       COALESCE("s"."count_todo_later", 0)  AS "count_todo_later",
+       COALESCE("s"."count_in_progress", 0) AS "count_in_progress",
+       COALESCE("s"."count_finished", 0)    AS "count_finished"
+FROM "recollector"."categories" "c"
+         LEFT JOIN "recollector"."category_stats" "s" ON "c"."category_id" = "s"."category_id";
+
+-- Item IDs are allocated by the application in blocks of 50
+ALTER TABLE "recollector"."items"
+    ALTER COLUMN "item_id" SET INCREMENT BY 50;
+
+-- Deleted categories and accounts are marked first and purged in batches by a background job
+ALTER TABLE "recollector"."categories"
+    ADD COLUMN "deleted_at" timestamptz;
+ALTER TABLE "recollector"."users"
+    ADD COLUMN "deleted_at" timestamptz;
+
+-- The name of a deleted category can be used again before the category is purged
+DROP INDEX "recollector"."idx_category_name_user_id";
+CREATE UNIQUE INDEX "idx_category_name_user_id" ON "recollector"."categories" ("category_name", "user_id")
+    WHERE "deleted_at" IS NULL;
+
+-- The purge deletes the items of a category in batches by category
+CREATE INDEX "idx_items_category_id_item_id" ON "recollector"."items" ("category_id", "item_id");
+
+-- The user_id has no foreign key, the job of an account deletion outlives the user
+CREATE TABLE "recollector"."deletion_jobs" (
+    "job_id"             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    "user_id"            bigint      NOT NULL,
+    "job_type"           VARCHAR(20) NOT NULL CHECK ("job_type" IN ('CATEGORY', 'ACCOUNT')),
+    "target_id"          bigint      NOT NULL,
+    "job_status"         VARCHAR(20) NOT NULL CHECK ("job_status" IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    "items_total"        bigint      NOT NULL DEFAULT 0,
+    "items_deleted"      bigint      NOT NULL DEFAULT 0,
+    "categories_total"   bigint      NOT NULL DEFAULT 0,
+    "categories_deleted" bigint      NOT NULL DEFAULT 0,
+    "error_message"      text,
+    "created_at"         timestamptz NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    "updated_at"         timestamptz NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    "completed_at"       timestamptz,
+    "attempts"           integer     NOT NULL DEFAULT 0,
+    "next_attempt_at"    timestamptz
+);
+
+CREATE INDEX "idx_deletion_jobs_user_id" ON "recollector"."deletion_jobs" ("user_id");
+CREATE INDEX "idx_deletion_jobs_open" ON "recollector"."deletion_jobs" ("job_id")
+    WHERE "job_status" IN ('PENDING', 'RUNNING');
+
+CREATE OR REPLACE VIEW "recollector"."category_item_counts" AS
+SELECT "c"."category_id",
+       "c"."user_id",
+       "c"."category_name",
+       "c"."created_at",
+       "c"."updated_at",
+       COALESCE("s"."count_todo_later", 0)  AS "count_todo_later",
+       COALESCE("s"."count_in_progress", 0) AS "count_in_progress",
+       COALESCE("s"."count_finished", 0)    AS "count_finished"
+FROM "recollector"."categories" "c"
+         LEFT JOIN "recollector"."category_stats" "s" ON "c"."category_id" = "s"."category_id"
+WHERE "c"."deleted_at" IS NULL;
\ No newline at end of file
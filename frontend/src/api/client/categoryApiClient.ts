@@ -1,8 +1,8 @@
-import { AxiosInstance }               from "axios";
-import { logger }                      from "../../config/appConfig.ts";
-import { CategoryDto, CategoryFilter } from "../dto/categoryDto";
-import { Response }                    from "../dto/common";
-import { handleError, handleResponse } from "./utils";
+import { AxiosInstance }                               from "axios";
+import { logger }                                      from "../../config/appConfig.ts";
+import { CategoryDto, CategoryFilter, DeletionJobDto } from "../dto/categoryDto";
+import { Response }                                    from "../dto/common";
+import { handleError, handleResponse }                 from "./utils";
 
 
 const BASE_URL = "/v1/categories";
@@ -111,15 +111,15 @@ class CategoryApiClient {
     }
 
     /**
-     * Deletes a category by its ID.
+     * Deletes a category by its ID. The items are purged in the background by the returned deletion job.
      * @param categoryId - The ID of the category to delete.
      */
-    async deleteCategory(categoryId: number): Promise<Response<string>> {
+    async deleteCategory(categoryId: number): Promise<Response<DeletionJobDto>> {
         log.info("deleteCategory called");
         log.debug(`Deleting category with ID: ${ categoryId }`);
 
         try {
-            const response = await this.apiClient.delete<Response<string>>(
+            const response = await this.apiClient.delete<Response<DeletionJobDto>>(
                 `${ BASE_URL }/${ categoryId }`
             );
             log.info("Category deletion successful");
@@ -1,11 +1,13 @@
-import { AxiosInstance }               from "axios";
-import { logger }                      from "../../config/appConfig.ts";
-import { Response }                    from "../dto/common";
-import { SettingsDto, StatisticDto }   from "../dto/helperDto";
-import { handleError, handleResponse } from "./utils";
+import { AxiosInstance }                           from "axios";
+import { logger }                                  from "../../config/appConfig.ts";
+import { CategoryFilter }                          from "../dto/categoryDto";
+import { Response }                                from "../dto/common";
+import { BootstrapDto, SettingsDto, StatisticDto } from "../dto/helperDto";
+import { handleError, handleResponse }             from "./utils";
 
 
 const BASE_URL = "/v1/helper";
+const BOOTSTRAP_URL = "/v1/bootstrap";
 const log = logger.getLogger("HelperApiClient");
 
 /**
@@ -93,6 +95,29 @@ class HelperApiClient {
             return handleError(error);
         }
     }
+
+    /**
+     * Retrieves settings, statistics, item statuses and the first page of categories in one request.
+     * @param categoryFilter - The filter of the categories page.
+     */
+    async getBootstrap(categoryFilter?: CategoryFilter): Promise<Response<BootstrapDto>> {
+        log.info("getBootstrap called");
+        log.debug("Category filter data", categoryFilter);
+
+        try {
+            const response = await this.apiClient.get<Response<BootstrapDto>>(
+                `${ BOOTSTRAP_URL }`,
+                {
+                    params: categoryFilter
+                }
+            );
+            log.info("getBootstrap successful");
+            return handleResponse(response);
+        } catch (error) {
+            log.error("Error during getBootstrap", error);
+            return handleError(error);
+        }
+    }
 }
 
 export default HelperApiClient;
@@ -16,4 +16,18 @@ export interface CategoryFilter {
     direction?: FilterDirectionEnum;
 }
 
+export interface DeletionJobDto {
+    jobId?: number;
+    jobType?: "CATEGORY" | "ACCOUNT";
+    targetId?: number;
+    jobStatus?: "PENDING" | "RUNNING" | "COMPLETED" | "FAILED";
+    itemsTotal?: number;
+    itemsDeleted?: number;
+    categoriesTotal?: number;
+    categoriesDeleted?: number;
+    errorMessage?: string;
+    createdAt?: string;
+    completedAt?: string;
+}
+
 
@@ -10,6 +10,8 @@ export interface PaginationInfo {
     totalItems?: number;
     sortField?: string;
     sortDirection?: string;
+    hasNext?: boolean;
+    nextCursor?: string;
 }
 
 export interface MetaInfo {
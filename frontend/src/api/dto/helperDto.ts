@@ -1,3 +1,7 @@
+import { CategoryDto } from "./categoryDto.ts";
+import { MetaInfo }    from "./common.ts";
+
+
 export interface StatisticDto {
     totalNumberOfCategories: number;
     totalNumberOfItems: number;
@@ -16,4 +20,12 @@ export interface SettingsDto {
     itemItemColor: string;
     itemFabColor: string;
     itemPageSize: number;
+}
+
+export interface BootstrapDto {
+    settings: SettingsDto;
+    statistics: StatisticDto;
+    itemStatuses: string[];
+    categories: CategoryDto[];
+    categoriesMeta?: MetaInfo;
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import {
     createItem,
     deleteItem,
     getAllItems,
+    getItem,
     ItemGetRequest,
     setItemFilterItemName,
     setItemFilterPage,
@@ -85,6 +86,10 @@ const DashboardItems: FC = () => {
     const selectItem = (itemId: number | null | undefined) => {
         const chosenCat = allItems.find((c) => c.itemId === itemId) || null;
         dispatch(setItemSelectedItem(chosenCat));
+        if (chosenCat?.itemId) {
+            // The list contains items without notes, the complete item is fetched on selection
+            dispatch(getItem({ categoryId: currentCategoryId, itemId: chosenCat.itemId }));
+        }
     };
 
     // Handlers
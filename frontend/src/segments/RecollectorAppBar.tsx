@@ -8,7 +8,7 @@ import { getDateFromSeconds }                                              from
 import { drawerSwitchOn }                                                  from "../store/features/drawer/drawerSlice";
 import { logoutUser }                                                      from "../store/features/global/globalSlice";
 import {
-    getSettings
+    getBootstrap
 }                                                                          from "../store/features/helper/helperSlice.ts";
 import { useAppDispatch, useAppSelector }                                  from "../store/hooks";
 
@@ -26,11 +26,13 @@ const RecollectorAppBar: FC = () => {
     const { userIsLoggedIn, userEmail, userTimeExp } = useAppSelector(
         (state) => state.globals
     );
+    const categoryFilter = useAppSelector((state) => state.categories.filter);
     // Effect hook for logging when the component mounts
     useEffect(() => {
         log.debug("RecollectorAppBar component mounted");
         if (userIsLoggedIn) {
-            dispatch(getSettings());
+            // Settings, statistics, statuses and the first categories page in one request
+            dispatch(getBootstrap({ filter: categoryFilter }));
         }
     }, [dispatch, userIsLoggedIn]);
 
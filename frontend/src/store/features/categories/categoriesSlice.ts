@@ -5,6 +5,7 @@ import { CategoryDto, CategoryFilter }                  from "../../../api/dto/c
 import { FilterDirectionEnum }                          from "../../../api/dto/common";
 import { logger }                                       from "../../../config/appConfig";
 import axiosClient                                      from "../../../config/axiosConfig";
+import { getBootstrap }                                 from "../helper/helperSlice.ts";
 
 
 const log = logger.getLogger("categorySlice");
@@ -184,6 +185,17 @@ export const categoriesSlice = createSlice(
                     state.error = action.payload as string;
                     log.error("Failed to fetch categories", action.payload);
                 })
+                .addCase(getBootstrap.fulfilled, (state, action) => {
+                    if (JSON.stringify(action.meta.arg.filter) !== JSON.stringify(state.filter)) {
+                        log.debug("Filter changed while loading bootstrap data, ignoring its categories");
+                        return;
+                    }
+                    state.allCategories = action.payload.data?.categories ?? [];
+                    state.currentPage = action.payload.data?.categoriesMeta?.pagination?.currentPage ?? 0;
+                    state.totalPages = action.payload.data?.categoriesMeta?.pagination?.totalPages ?? 0;
+                    state.totalItems = action.payload.data?.categoriesMeta?.pagination?.totalItems ?? 0;
+                    log.info("Categories loaded with bootstrap data");
+                })
                 .addCase(getCategory.pending, (state) => {
                     state.loading = true;
                     state.error = null;
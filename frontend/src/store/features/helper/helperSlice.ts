@@ -1,8 +1,9 @@
 import { createAsyncThunk, createSlice, PayloadAction } from "@reduxjs/toolkit";
 import HelperApiClient                                  from "../../../api/client/helperApiClient.ts";
 import { parseErrorMessage }                            from "../../../api/client/utils";
+import { CategoryFilter }                               from "../../../api/dto/categoryDto.ts";
 import { Response }                                     from "../../../api/dto/common.ts";
-import { SettingsDto, StatisticDto }                    from "../../../api/dto/helperDto.ts";
+import { BootstrapDto, SettingsDto, StatisticDto }      from "../../../api/dto/helperDto.ts";
 import { logger }                                       from "../../../config/appConfig";
 import axiosClient                                      from "../../../config/axiosConfig";
 
@@ -85,6 +86,23 @@ export const getSettings = createAsyncThunk(
         }
     }
 );
+type BootstrapRequest = {
+    filter: CategoryFilter;
+}
+export const getBootstrap = createAsyncThunk(
+    "helper/bootstrap",
+    async ({ filter }: BootstrapRequest, { rejectWithValue }) => {
+        log.info("Attempting to get bootstrap data");
+        try {
+            const client = new HelperApiClient(axiosClient);
+            return await client.getBootstrap(filter);
+        } catch (error: any) {
+            const errorMessage = parseErrorMessage(error, "Failed to get bootstrap data");
+            log.error("Bootstrap API call failed", error);
+            return rejectWithValue(errorMessage);
+        }
+    }
+);
 type SettingsUpdateRequest = {
     settings: SettingsDto;
 }
@@ -156,6 +174,22 @@ export const helperSlice = createSlice(
                     log.error("getSettings request was rejected", action.payload);
                     state.error = action.payload as string || "getSettings request was rejected";
                 })
+                .addCase(getBootstrap.pending, (state: HelperState) => {
+                    log.debug("getBootstrap request pending");
+                    state.error = "";
+                })
+                .addCase(getBootstrap.fulfilled, (state: HelperState, action: PayloadAction<Response<BootstrapDto>>) => {
+                    log.info("getBootstrap request fulfilled successfully");
+                    const bootstrap = action.payload.data;
+                    state.settings = bootstrap?.settings ?? defaultSettings;
+                    state.statistics = bootstrap?.statistics ?? initialState.statistics;
+                    state.statuses = bootstrap?.itemStatuses ?? [];
+                    state.error = action.payload.error ?? "";
+                })
+                .addCase(getBootstrap.rejected, (state: HelperState, action) => {
+                    log.error("getBootstrap request was rejected", action.payload);
+                    state.error = action.payload as string || "getBootstrap request was rejected";
+                })
                 .addCase(updateSettings.pending, (state: HelperState) => {
                     log.debug("updateSettings request pending");
                     state.error = "";
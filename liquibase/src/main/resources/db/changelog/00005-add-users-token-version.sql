@@ -0,0 +1,4 @@
+-- Add per-user token version. Every JWT carries the version it was issued with,
+-- bumping the value invalidates all previously issued tokens of the user
+ALTER TABLE "recollector"."users"
+    ADD COLUMN "token_version" INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- Store invalidated tokens as SHA-256 digests instead of the raw JWT strings.
+-- The digest is a fixed 32-byte value, which keeps the unique index small and the lookups cheap
+ALTER TABLE "recollector"."invalidated_tokens"
+    ADD COLUMN "token_digest" BYTEA;
+
+UPDATE "recollector"."invalidated_tokens"
+SET "token_digest" = sha256(convert_to("token", 'UTF8'));
+
+ALTER TABLE "recollector"."invalidated_tokens"
+    ALTER COLUMN "token_digest" SET NOT NULL;
+
+ALTER TABLE "recollector"."invalidated_tokens"
+    DROP CONSTRAINT "unique_invalid_token_per_user";
+
+ALTER TABLE "recollector"."invalidated_tokens"
+    DROP COLUMN "token";
+
+ALTER TABLE "recollector"."invalidated_tokens"
+    ADD CONSTRAINT "unique_invalid_token_digest_per_user" UNIQUE ("user_id", "token_digest");
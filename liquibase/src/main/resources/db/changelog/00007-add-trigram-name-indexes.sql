@@ -0,0 +1,9 @@
+-- Trigram indexes for the case-insensitive substring filters on item and category names.
+-- The filters compare lower(name) with LIKE '%term%', which a B-tree index cannot serve
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS "idx_items_item_name_trgm"
+    ON "recollector"."items" USING GIN (lower("item_name") gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS "idx_categories_category_name_trgm"
+    ON "recollector"."categories" USING GIN (lower("category_name") gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- Full-text search over item names and notes.
+-- The vector is generated from the row, so it never goes stale; the name is weighted above the notes.
+-- The 'simple' configuration does not stem words, items are written in any language
+ALTER TABLE "recollector"."items"
+    ADD COLUMN "search_vector" tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce("item_name", '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce("item_notes", '')), 'B')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS "idx_items_search_vector"
+    ON "recollector"."items" USING GIN ("search_vector");
@@ -0,0 +1,89 @@
+--liquibase formatted sql
+
+--changeset recollector:00009-add-category-stats splitStatements:false
+-- Item counters per category and status, maintained by triggers on items.
+-- The category_item_counts view reads the counters instead of grouping all items of the listed categories
+CREATE TABLE "recollector"."category_stats" (
+    "category_id"       bigint PRIMARY KEY REFERENCES "recollector"."categories" ("category_id") ON DELETE CASCADE,
+    "count_todo_later"  bigint NOT NULL DEFAULT 0,
+    "count_in_progress" bigint NOT NULL DEFAULT 0,
+    "count_finished"    bigint NOT NULL DEFAULT 0
+);
+
+INSERT INTO "recollector"."category_stats" ("category_id", "count_todo_later", "count_in_progress", "count_finished")
+SELECT "c"."category_id",
+       COUNT(CASE WHEN "i"."item_status" = 'TODO_LATER' THEN 1 END),
+       COUNT(CASE WHEN "i"."item_status" = 'IN_PROGRESS' THEN 1 END),
+       COUNT(CASE WHEN "i"."item_status" = 'FINISHED' THEN 1 END)
+FROM "recollector"."categories" "c"
+         LEFT JOIN "recollector"."items" "i" ON "c"."category_id" = "i"."category_id"
+GROUP BY "c"."category_id";
+
+-- Every category gets its counters row when it is created
+CREATE FUNCTION "recollector"."create_category_stats"() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    INSERT INTO "recollector"."category_stats" ("category_id") VALUES (NEW."category_id");
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER "trg_categories_create_stats"
+    AFTER INSERT
+    ON "recollector"."categories"
+    FOR EACH ROW
+EXECUTE FUNCTION "recollector"."create_category_stats"();
+
+-- Adds the delta to the counter of the status. A missing row means the category is being deleted
+CREATE FUNCTION "recollector"."add_category_stats_delta"("p_category_id" bigint, "p_item_status" text, "p_delta" bigint)
+    RETURNS void
+    LANGUAGE sql AS
+$$
+UPDATE "recollector"."category_stats"
+SET "count_todo_later"  = "count_todo_later" + CASE WHEN "p_item_status" = 'TODO_LATER' THEN "p_delta" ELSE 0 END,
+    "count_in_progress" = "count_in_progress" + CASE WHEN "p_item_status" = 'IN_PROGRESS' THEN "p_delta" ELSE 0 END,
+    "count_finished"    = "count_finished" + CASE WHEN "p_item_status" = 'FINISHED' THEN "p_delta" ELSE 0 END
+WHERE "category_id" = "p_category_id"
+$$;
+
+-- Counts the old row out and the new row in, which covers create, delete, status change and move
+CREATE FUNCTION "recollector"."maintain_category_stats"() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM "recollector"."add_category_stats_delta"(OLD."category_id", OLD."item_status", -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM "recollector"."add_category_stats_delta"(NEW."category_id", NEW."item_status", 1);
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+CREATE TRIGGER "trg_items_stats_insert_delete"
+    AFTER INSERT OR DELETE
+    ON "recollector"."items"
+    FOR EACH ROW
+EXECUTE FUNCTION "recollector"."maintain_category_stats"();
+
+-- Hibernate writes every column on update, the condition skips updates of other fields
+CREATE TRIGGER "trg_items_stats_update"
+    AFTER UPDATE OF "category_id", "item_status"
+    ON "recollector"."items"
+    FOR EACH ROW
+    WHEN (OLD."category_id" IS DISTINCT FROM NEW."category_id" OR OLD."item_status" IS DISTINCT FROM NEW."item_status")
+EXECUTE FUNCTION "recollector"."maintain_category_stats"();
+
+CREATE OR REPLACE VIEW "recollector"."category_item_counts" AS
+SELECT "c"."category_id",
+       "c"."user_id",
+       "c"."category_name",
+       "c"."created_at",
+       "c"."updated_at",
+       COALESCE("s"."count_todo_later", 0)  AS "count_todo_later",
+       COALESCE("s"."count_in_progress", 0) AS "count_in_progress",
+       COALESCE("s"."count_finished", 0)    AS "count_finished"
+FROM "recollector"."categories" "c"
+         LEFT JOIN "recollector"."category_stats" "s" ON "c"."category_id" = "s"."category_id";
@@ -0,0 +1,4 @@
+-- Item IDs are allocated by the application in blocks of 50 from the identity sequence of the column,
+-- which lets new items be inserted in JDBC batches. The increment must match the allocation size of the entity
+ALTER TABLE "recollector"."items"
+    ALTER COLUMN "item_id" SET INCREMENT BY 50;
@@ -0,0 +1,48 @@
+-- Deleted categories and accounts are marked first and purged in batches by a background job.
+-- Marked rows are excluded from every read, so a delete takes effect as soon as it returns
+ALTER TABLE "recollector"."categories"
+    ADD COLUMN "deleted_at" timestamptz;
+ALTER TABLE "recollector"."users"
+    ADD COLUMN "deleted_at" timestamptz;
+
+-- The name of a deleted category can be used again before the category is purged
+DROP INDEX "recollector"."idx_category_name_user_id";
+CREATE UNIQUE INDEX "idx_category_name_user_id" ON "recollector"."categories" ("category_name", "user_id")
+    WHERE "deleted_at" IS NULL;
+
+-- The purge deletes the items of a category in batches by category
+CREATE INDEX "idx_items_category_id_item_id" ON "recollector"."items" ("category_id", "item_id");
+
+-- The user_id has no foreign key, the job of an account deletion outlives the user
+CREATE TABLE "recollector"."deletion_jobs" (
+    "job_id"             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    "user_id"            bigint      NOT NULL,
+    "job_type"           VARCHAR(20) NOT NULL CHECK ("job_type" IN ('CATEGORY', 'ACCOUNT')),
+    "target_id"          bigint      NOT NULL,
+    "job_status"         VARCHAR(20) NOT NULL CHECK ("job_status" IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    "items_total"        bigint      NOT NULL DEFAULT 0,
+    "items_deleted"      bigint      NOT NULL DEFAULT 0,
+    "categories_total"   bigint      NOT NULL DEFAULT 0,
+    "categories_deleted" bigint      NOT NULL DEFAULT 0,
+    "error_message"      text,
+    "created_at"         timestamptz NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    "updated_at"         timestamptz NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    "completed_at"       timestamptz
+);
+
+CREATE INDEX "idx_deletion_jobs_user_id" ON "recollector"."deletion_jobs" ("user_id");
+CREATE INDEX "idx_deletion_jobs_open" ON "recollector"."deletion_jobs" ("job_id")
+    WHERE "job_status" IN ('PENDING', 'RUNNING');
+
+CREATE OR REPLACE VIEW "recollector"."category_item_counts" AS
+SELECT "c"."category_id",
+       "c"."user_id",
+       "c"."category_name",
+       "c"."created_at",
+       "c"."updated_at",
+       COALESCE("s"."count_todo_later", 0)  AS "count_todo_later",
+       COALESCE("s"."count_in_progress", 0) AS "count_in_progress",
+       COALESCE("s"."count_finished", 0)    AS "count_finished"
+FROM "recollector"."categories" "c"
+         LEFT JOIN "recollector"."category_stats" "s" ON "c"."category_id" = "s"."category_id"
+WHERE "c"."deleted_at" IS NULL;
@@ -0,0 +1,6 @@
+-- A failed deletion job is retried with a growing delay before it is marked as failed,
+-- its rows stay marked as deleted until the job completes
+ALTER TABLE "recollector"."deletion_jobs"
+    ADD COLUMN "attempts" integer NOT NULL DEFAULT 0;
+ALTER TABLE "recollector"."deletion_jobs"
+    ADD COLUMN "next_attempt_at" timestamptz;
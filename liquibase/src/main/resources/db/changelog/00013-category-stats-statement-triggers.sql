@@ -0,0 +1,55 @@
+--liquibase formatted sql
+
+--changeset recollector:00013-category-stats-statement-triggers splitStatements:false
+-- Inserted and deleted items are counted once per statement instead of once per row.
+-- A row-level trigger updated the same counters row for every item of a bulk insert or purge batch
+DROP TRIGGER "trg_items_stats_insert_delete" ON "recollector"."items";
+
+-- Adds one grouped delta per category, read from the transition table of the statement
+CREATE FUNCTION "recollector"."maintain_category_stats_per_statement"() RETURNS trigger
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE "recollector"."category_stats" "s"
+        SET "count_todo_later"  = "s"."count_todo_later" + "d"."count_todo_later",
+            "count_in_progress" = "s"."count_in_progress" + "d"."count_in_progress",
+            "count_finished"    = "s"."count_finished" + "d"."count_finished"
+        FROM (SELECT "category_id",
+                     COUNT(*) FILTER (WHERE "item_status" = 'TODO_LATER')  AS "count_todo_later",
+                     COUNT(*) FILTER (WHERE "item_status" = 'IN_PROGRESS') AS "count_in_progress",
+                     COUNT(*) FILTER (WHERE "item_status" = 'FINISHED')    AS "count_finished"
+              FROM "new_items"
+              GROUP BY "category_id") "d"
+        WHERE "s"."category_id" = "d"."category_id";
+    ELSE
+        UPDATE "recollector"."category_stats" "s"
+        SET "count_todo_later"  = "s"."count_todo_later" - "d"."count_todo_later",
+            "count_in_progress" = "s"."count_in_progress" - "d"."count_in_progress",
+            "count_finished"    = "s"."count_finished" - "d"."count_finished"
+        FROM (SELECT "category_id",
+                     COUNT(*) FILTER (WHERE "item_status" = 'TODO_LATER')  AS "count_todo_later",
+                     COUNT(*) FILTER (WHERE "item_status" = 'IN_PROGRESS') AS "count_in_progress",
+                     COUNT(*) FILTER (WHERE "item_status" = 'FINISHED')    AS "count_finished"
+              FROM "old_items"
+              GROUP BY "category_id") "d"
+        WHERE "s"."category_id" = "d"."category_id";
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+-- A trigger with transition tables can only fire for one event
+CREATE TRIGGER "trg_items_stats_insert"
+    AFTER INSERT
+    ON "recollector"."items"
+    REFERENCING NEW TABLE AS "new_items"
+    FOR EACH STATEMENT
+EXECUTE FUNCTION "recollector"."maintain_category_stats_per_statement"();
+
+CREATE TRIGGER "trg_items_stats_delete"
+    AFTER DELETE
+    ON "recollector"."items"
+    REFERENCING OLD TABLE AS "old_items"
+    FOR EACH STATEMENT
+EXECUTE FUNCTION "recollector"."maintain_category_stats_per_statement"();